@@ -0,0 +1,100 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen;
+
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.PathItem;
+import io.swagger.v3.oas.models.media.Schema;
+import org.openapitools.codegen.utils.ModelUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Converts all schemas, properties and operations of a synthetic specification with a fresh {@link DefaultCodegen},
+ * i.e. with empty caches.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DefaultCodegenBenchmark {
+    @Param({"100", "1000", "20000"})
+    public int schemaCount;
+
+    private OpenAPI openAPI;
+    private DefaultCodegen codegen;
+
+    @Setup(Level.Trial)
+    public void buildSpec() {
+        openAPI = SyntheticSpec.build(schemaCount, schemaCount);
+    }
+
+    @Setup(Level.Invocation)
+    public void newCodegen() {
+        codegen = new DefaultCodegen();
+        codegen.setOpenAPI(openAPI);
+    }
+
+    @Benchmark
+    @SuppressWarnings("rawtypes")
+    public void fromModel(Blackhole blackhole) {
+        for (Map.Entry<String, Schema> schema : ModelUtils.getSchemas(openAPI).entrySet()) {
+            blackhole.consume(codegen.fromModel(schema.getKey(), schema.getValue()));
+        }
+    }
+
+    @Benchmark
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    public void fromProperty(Blackhole blackhole) {
+        for (Schema schema : ModelUtils.getSchemas(openAPI).values()) {
+            Map<String, Schema> properties = schema.getProperties();
+            if (properties == null) {
+                continue;
+            }
+            for (Map.Entry<String, Schema> property : properties.entrySet()) {
+                blackhole.consume(codegen.fromProperty(property.getKey(), property.getValue()));
+            }
+        }
+    }
+
+    @Benchmark
+    public void fromOperation(Blackhole blackhole) {
+        for (Map.Entry<String, PathItem> path : openAPI.getPaths().entrySet()) {
+            for (Map.Entry<PathItem.HttpMethod, Operation> operation : path.getValue().readOperationsMap().entrySet()) {
+                blackhole.consume(codegen.fromOperation(path.getKey(), operation.getKey().name().toLowerCase(Locale.ROOT), operation.getValue(), null));
+            }
+        }
+    }
+}
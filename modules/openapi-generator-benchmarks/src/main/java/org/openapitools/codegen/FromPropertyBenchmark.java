@@ -0,0 +1,89 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen;
+
+import io.swagger.v3.oas.models.media.IntegerSchema;
+import io.swagger.v3.oas.models.media.ObjectSchema;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.media.StringSchema;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Converts a large inline object schema which was already converted, i.e. measures a lookup of the
+ * {@link DefaultCodegen#fromProperty(String, Schema)} cache. The schema nests {@code depth} levels of objects with
+ * {@code width} properties each, every tenth property being a nested object.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FromPropertyBenchmark {
+    @Param({"10", "50"})
+    public int width;
+
+    @Param({"2", "3"})
+    public int depth;
+
+    private DefaultCodegen codegen;
+    private Schema<?> schema;
+
+    @Setup(Level.Trial)
+    public void convert() {
+        schema = nested(depth);
+        codegen = new DefaultCodegen();
+        codegen.setOpenAPI(SyntheticSpec.build(1, 0));
+        codegen.fromProperty("payload", schema);
+    }
+
+    @SuppressWarnings("rawtypes")
+    private Schema<?> nested(int level) {
+        ObjectSchema object = new ObjectSchema();
+        for (int i = 0; i < width; i++) {
+            Schema property;
+            if (level > 1 && i % 10 == 0) {
+                property = nested(level - 1);
+            } else if (i % 2 == 0) {
+                property = new StringSchema().maxLength(64).description("Property " + i);
+            } else {
+                property = new IntegerSchema().minimum(BigDecimal.ZERO);
+            }
+            object.addProperty("property" + level + "_" + i, property);
+        }
+        return object;
+    }
+
+    @Benchmark
+    public CodegenProperty cachedFromProperty() {
+        return codegen.fromProperty("payload", schema);
+    }
+}
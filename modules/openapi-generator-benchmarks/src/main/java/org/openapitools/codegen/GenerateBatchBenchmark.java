@@ -0,0 +1,124 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen;
+
+import io.airlift.airline.Cli;
+import org.apache.commons.io.FileUtils;
+import org.openapitools.codegen.cmd.GenerateBatch;
+import org.openapitools.codegen.utils.VirtualThreads;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the {@code batch} command over several configurations of a Java client with a post-processor which waits for a
+ * few milliseconds per file, on the fixed pool of generator threads or with {@code --virtual-threads}.
+ * <p>
+ * Virtual threads need Java 21: on older runtimes the {@code --virtual-threads} run would only measure the platform
+ * thread fallback, so it fails instead.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GenerateBatchBenchmark {
+    @Param({"false", "true"})
+    public boolean virtualThreads;
+
+    @Param({"8"})
+    public int configCount;
+
+    @Param({"100"})
+    public int schemaCount;
+
+    @Param({"5"})
+    public long postProcessMillis;
+
+    private Path spec;
+    private Path rootDir;
+    private List<String> args;
+
+    @Setup(Level.Trial)
+    public void writeSpec() throws IOException {
+        if (virtualThreads && !VirtualThreads.isSupported()) {
+            throw new IllegalStateException("Virtual threads need Java 21 or later, this is Java " + System.getProperty("java.version"));
+        }
+        spec = Files.createTempFile("synthetic", ".yaml");
+        SyntheticSpec.write(SyntheticSpec.build(schemaCount, schemaCount), spec);
+        VirtualThreadsBenchmark.SlowPostProcessorCodegen.postProcessMillis = postProcessMillis;
+    }
+
+    @Setup(Level.Invocation)
+    public void writeConfigs() throws IOException {
+        rootDir = Files.createTempDirectory("benchmark-batch");
+        args = new ArrayList<>();
+        args.add("batch");
+        args.add("--root-dir");
+        args.add(rootDir.toString());
+        if (virtualThreads) {
+            args.add("--virtual-threads");
+        }
+        for (int i = 0; i < configCount; i++) {
+            Path config = rootDir.resolve("config" + i + ".json");
+            Files.write(config, String.format(Locale.ROOT,
+                    "{\"generatorName\": \"%s\", \"inputSpec\": \"%s\", \"outputDir\": \"client%d\", \"enablePostProcessFile\": true}",
+                    VirtualThreadsBenchmark.SlowPostProcessorCodegen.class.getName(),
+                    spec.toString().replace("\\", "\\\\"), i).getBytes(StandardCharsets.UTF_8));
+            args.add(config.toString());
+        }
+    }
+
+    @TearDown(Level.Invocation)
+    public void deleteOutput() throws IOException {
+        FileUtils.deleteDirectory(rootDir.toFile());
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteSpec() throws IOException {
+        Files.deleteIfExists(spec);
+    }
+
+    @Benchmark
+    public void generateBatch() {
+        Cli.<Runnable>builder("openapi-generator-cli")
+                .withCommand(GenerateBatch.class)
+                .build()
+                .parse(args)
+                .run();
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen;
+
+import io.swagger.v3.oas.models.OpenAPI;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Normalizes a fresh synthetic specification, with the default rules or with the given comma-separated rules.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OpenAPINormalizerBenchmark {
+    @Param({"100", "1000", "20000"})
+    public int schemaCount;
+
+    @Param({"default", "REF_AS_PARENT_IN_ALLOF=true,SIMPLIFY_ONEOF_ANYOF=true,SET_TAGS_FOR_ALL_OPERATIONS=all"})
+    public String rules;
+
+    private OpenAPI openAPI;
+    private Map<String, String> inputRules;
+
+    @Setup(Level.Trial)
+    public void parseRules() {
+        inputRules = new HashMap<>();
+        if (!"default".equals(rules)) {
+            for (String rule : rules.split(",")) {
+                String[] keyValue = rule.split("=", 2);
+                inputRules.put(keyValue[0], keyValue[1]);
+            }
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void buildSpec() {
+        openAPI = SyntheticSpec.build(schemaCount, schemaCount);
+    }
+
+    @Benchmark
+    public OpenAPI normalize() {
+        new OpenAPINormalizer(openAPI, inputRules).normalize();
+        return openAPI;
+    }
+}
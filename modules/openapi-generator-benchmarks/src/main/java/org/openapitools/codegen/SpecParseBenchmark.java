@@ -0,0 +1,83 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen;
+
+import io.swagger.parser.OpenAPIParser;
+import io.swagger.v3.parser.core.models.ParseOptions;
+import io.swagger.v3.parser.core.models.SwaggerParseResult;
+import org.openapitools.codegen.config.ParsedSpecCache;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parses a synthetic specification written to a YAML file, as {@code CodegenConfigurator.toContext()} does, either
+ * with the parser or through the parsed specification cache, where every call but the first copies the cached result.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SpecParseBenchmark {
+    // the YAML parser rejects documents larger than 3 MB, that is around 1900 schemas and operations
+    @Param({"500", "1500"})
+    public int schemaCount;
+
+    @Param({"false", "true"})
+    public boolean cached;
+
+    private Path file;
+
+    @Setup(Level.Trial)
+    public void writeSpec() throws IOException {
+        file = Files.createTempFile("synthetic", ".yaml");
+        SyntheticSpec.write(SyntheticSpec.build(schemaCount, schemaCount), file);
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteSpec() throws IOException {
+        ParsedSpecCache.getInstance().clear();
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public SwaggerParseResult parse() {
+        ParseOptions options = new ParseOptions();
+        options.setResolve(true);
+        options.setResolveResponses(true);
+        return cached
+                ? ParsedSpecCache.getInstance().parse(file.toString(), null, options)
+                : new OpenAPIParser().readLocation(file.toString(), null, options);
+    }
+}
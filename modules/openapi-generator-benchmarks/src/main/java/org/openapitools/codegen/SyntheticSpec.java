@@ -0,0 +1,210 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen;
+
+import io.swagger.v3.core.util.Yaml;
+import io.swagger.v3.oas.models.Components;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.PathItem;
+import io.swagger.v3.oas.models.Paths;
+import io.swagger.v3.oas.models.info.Info;
+import io.swagger.v3.oas.models.media.ArraySchema;
+import io.swagger.v3.oas.models.media.ComposedSchema;
+import io.swagger.v3.oas.models.media.Content;
+import io.swagger.v3.oas.models.media.DateTimeSchema;
+import io.swagger.v3.oas.models.media.IntegerSchema;
+import io.swagger.v3.oas.models.media.MapSchema;
+import io.swagger.v3.oas.models.media.MediaType;
+import io.swagger.v3.oas.models.media.ObjectSchema;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.media.StringSchema;
+import io.swagger.v3.oas.models.parameters.PathParameter;
+import io.swagger.v3.oas.models.parameters.QueryParameter;
+import io.swagger.v3.oas.models.parameters.RequestBody;
+import io.swagger.v3.oas.models.responses.ApiResponse;
+import io.swagger.v3.oas.models.responses.ApiResponses;
+import io.swagger.v3.oas.models.servers.Server;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Builds synthetic specifications of a given size for the benchmarks.
+ * <p>
+ * Every schema {@code Model<i>} has primitive, enum, date-time, array and map properties, an inline object property and
+ * a reference to the next schema; every tenth schema extends the previous one with {@code allOf}. Every operation
+ * {@code /resource<j>/{id}} references a schema, every other operation takes an inline request body, and operations
+ * are spread over ten tags.
+ */
+public final class SyntheticSpec {
+    public static final int TAGS = 10;
+
+    private SyntheticSpec() {
+    }
+
+    /**
+     * Builds a specification.
+     *
+     * @param schemaCount    the number of schemas, at least 1
+     * @param operationCount the number of operations
+     * @return the specification
+     */
+    @SuppressWarnings("rawtypes")
+    public static OpenAPI build(int schemaCount, int operationCount) {
+        OpenAPI openAPI = new OpenAPI()
+                .info(new Info().title("Synthetic").version("1.0.0"))
+                .servers(Collections.singletonList(new Server().url("http://localhost:8080/api")))
+                .components(new Components());
+
+        for (int i = 0; i < schemaCount; i++) {
+            openAPI.getComponents().addSchemas(modelName(i), model(i, schemaCount));
+        }
+
+        Paths paths = new Paths();
+        for (int j = 0; j < operationCount; j++) {
+            String model = modelName(j % schemaCount);
+            Operation operation = new Operation()
+                    .operationId("operation" + j)
+                    .addTagsItem("tag" + (j % TAGS))
+                    .addParametersItem(new PathParameter().name("id").schema(new IntegerSchema().format("int64")))
+                    .addParametersItem(new QueryParameter().name("filter").schema(new StringSchema()))
+                    .responses(new ApiResponses()
+                            .addApiResponse("200", new ApiResponse().description("OK").content(json(ref(model))))
+                            .addApiResponse("404", new ApiResponse().description("Not found")));
+            PathItem pathItem = new PathItem();
+            if (j % 2 == 0) {
+                pathItem.get(operation);
+            } else {
+                Schema body = new ObjectSchema()
+                        .addProperty("name", new StringSchema())
+                        .addProperty("count", new IntegerSchema())
+                        .addProperty("items", new ArraySchema().items(ref(model)));
+                pathItem.post(operation.requestBody(new RequestBody().required(true).content(json(body))));
+            }
+            paths.addPathItem("/resource" + j + "/{id}", pathItem);
+        }
+        openAPI.setPaths(paths);
+        return openAPI;
+    }
+
+    /**
+     * Builds a specification whose operations only use inline schemas: every operation {@code /inline<j>} takes an
+     * inline request body and returns an inline response, both with nested inline objects, and the bodies of the
+     * operations only have {@code shapeCount} distinct structures, so that most inline schemas are reused when
+     * flattened.
+     *
+     * @param operationCount the number of operations
+     * @param shapeCount     the number of distinct body structures, at least 1
+     * @return the specification
+     */
+    @SuppressWarnings("rawtypes")
+    public static OpenAPI buildInlineHeavy(int operationCount, int shapeCount) {
+        OpenAPI openAPI = new OpenAPI()
+                .info(new Info().title("Synthetic inline").version("1.0.0"))
+                .components(new Components());
+
+        Paths paths = new Paths();
+        for (int j = 0; j < operationCount; j++) {
+            int shape = j % shapeCount;
+            Operation operation = new Operation()
+                    .operationId("inline" + j)
+                    .addTagsItem("tag" + (j % TAGS))
+                    .requestBody(new RequestBody().required(true).content(json(inlineBody(shape, "Request"))))
+                    .responses(new ApiResponses()
+                            .addApiResponse("200", new ApiResponse().description("OK").content(json(inlineBody(shape, "Response")))));
+            paths.addPathItem("/inline" + j, new PathItem().post(operation));
+        }
+        openAPI.setPaths(paths);
+        return openAPI;
+    }
+
+    @SuppressWarnings("rawtypes")
+    private static Schema inlineBody(int shape, String kind) {
+        Schema address = new ObjectSchema()
+                .addProperty("street", new StringSchema())
+                .addProperty("city", new StringSchema())
+                .addProperty("zip" + shape, new StringSchema().maxLength(10));
+        Schema item = new ObjectSchema()
+                .addProperty("sku", new StringSchema())
+                .addProperty("quantity", new IntegerSchema())
+                .addProperty("attributes", new MapSchema().additionalProperties(new StringSchema()));
+        return new ObjectSchema()
+                .description(kind + " shape " + shape)
+                .addProperty("id", new IntegerSchema().format("int64"))
+                .addProperty("status", new StringSchema()._enum(Arrays.asList("open", "closed")))
+                .addProperty("createdAt", new DateTimeSchema())
+                .addProperty("address", address)
+                .addProperty("items", new ArraySchema().items(item));
+    }
+
+    /**
+     * Writes a specification to a YAML file.
+     *
+     * @param openAPI the specification
+     * @param file    the file
+     * @throws IOException if the file cannot be written
+     */
+    public static void write(OpenAPI openAPI, Path file) throws IOException {
+        Files.write(file, Yaml.pretty().writeValueAsString(openAPI).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static String modelName(int i) {
+        return "Model" + i;
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static Schema model(int i, int schemaCount) {
+        Map<String, Schema> properties = new LinkedHashMap<>();
+        properties.put("id", new IntegerSchema().format("int64"));
+        properties.put("name", new StringSchema().maxLength(64));
+        properties.put("status", new StringSchema()._enum(Arrays.asList("available", "pending", "sold")));
+        properties.put("createdAt", new DateTimeSchema());
+        properties.put("tags", new ArraySchema().items(new StringSchema()));
+        properties.put("attributes", new MapSchema().additionalProperties(new StringSchema()));
+        properties.put("details", new ObjectSchema()
+                .addProperty("code", new IntegerSchema())
+                .addProperty("label", new StringSchema()));
+        properties.put("next", ref(modelName((i + 1) % schemaCount)));
+
+        Schema object = new ObjectSchema().description("Synthetic model " + i);
+        object.setProperties(properties);
+        object.setRequired(Arrays.asList("id", "name"));
+        if (i > 0 && i % 10 == 0) {
+            return new ComposedSchema()
+                    .addAllOfItem(ref(modelName(i - 1)))
+                    .addAllOfItem(object);
+        }
+        return object;
+    }
+
+    @SuppressWarnings("rawtypes")
+    private static Schema ref(String model) {
+        return new Schema().$ref("#/components/schemas/" + model);
+    }
+
+    @SuppressWarnings("rawtypes")
+    private static Content json(Schema schema) {
+        return new Content().addMediaType("application/json", new MediaType().schema(schema));
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen;
+
+import org.apache.commons.io.FileUtils;
+import org.openapitools.codegen.config.CodegenConfigurator;
+import org.openapitools.codegen.languages.JavaClientCodegen;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Generates a Java client with a post-processor which waits for a few milliseconds per file, as an external formatter
+ * would, with the post-processors run on the rendering threads or on virtual threads.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class VirtualThreadsBenchmark {
+    @Param({"false", "true"})
+    public boolean virtualThreads;
+
+    @Param({"1", "4"})
+    public int parallelism;
+
+    @Param({"200"})
+    public int schemaCount;
+
+    @Param({"5"})
+    public long postProcessMillis;
+
+    private Path spec;
+    private Path outputDir;
+    private ClientOptInput input;
+
+    @Setup(Level.Trial)
+    public void writeSpec() throws IOException {
+        spec = Files.createTempFile("synthetic", ".yaml");
+        SyntheticSpec.write(SyntheticSpec.build(schemaCount, schemaCount), spec);
+        SlowPostProcessorCodegen.postProcessMillis = postProcessMillis;
+    }
+
+    @Setup(Level.Invocation)
+    public void configure() throws IOException {
+        outputDir = Files.createTempDirectory("benchmark-virtual-threads");
+        input = new CodegenConfigurator()
+                .setGeneratorName(SlowPostProcessorCodegen.class.getName())
+                .setInputSpec(spec.toString())
+                .setOutputDir(outputDir.toString())
+                .setEnablePostProcessFile(true)
+                .setParallelism(parallelism)
+                .setUseVirtualThreads(virtualThreads)
+                .toClientOptInput();
+    }
+
+    @TearDown(Level.Invocation)
+    public void deleteOutput() throws IOException {
+        FileUtils.deleteDirectory(outputDir.toFile());
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteSpec() throws IOException {
+        Files.deleteIfExists(spec);
+    }
+
+    @Benchmark
+    public List<File> generate() {
+        return new DefaultGenerator().opts(input).generate();
+    }
+
+    public static class SlowPostProcessorCodegen extends JavaClientCodegen {
+        static volatile long postProcessMillis;
+
+        @Override
+        public void postProcessFile(File file, String fileType) {
+            try {
+                Thread.sleep(postProcessMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
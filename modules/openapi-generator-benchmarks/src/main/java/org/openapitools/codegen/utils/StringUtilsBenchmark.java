@@ -0,0 +1,79 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen.utils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Camelizes and underscores a set of distinct words. Sets larger than the name cache (see
+ * {@link StringUtils#NAME_CACHE_SIZE_PROPERTY}) mostly miss the cache.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StringUtilsBenchmark {
+    @Param({"100", "20000"})
+    public int wordCount;
+
+    private String[] words;
+
+    @Setup(Level.Trial)
+    public void buildWords() {
+        words = new String[wordCount];
+        for (int i = 0; i < wordCount; i++) {
+            words[i] = "synthetic_model-name." + i + "_withSuffix";
+        }
+    }
+
+    @Benchmark
+    public void camelize(Blackhole blackhole) {
+        for (String word : words) {
+            blackhole.consume(StringUtils.camelize(word));
+        }
+    }
+
+    @Benchmark
+    public void camelizeLowercaseFirst(Blackhole blackhole) {
+        for (String word : words) {
+            blackhole.consume(StringUtils.camelize(word, CamelizeOption.LOWERCASE_FIRST_LETTER));
+        }
+    }
+
+    @Benchmark
+    public void underscore(Blackhole blackhole) {
+        for (String word : words) {
+            blackhole.consume(StringUtils.underscore(word));
+        }
+    }
+}
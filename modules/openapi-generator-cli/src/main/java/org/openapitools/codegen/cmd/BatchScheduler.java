@@ -0,0 +1,193 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen.cmd;
+
+import org.openapitools.codegen.utils.VirtualThreads;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Runs the jobs of a batch, the most expensive first, on up to a number of threads while the heap estimates of the
+ * running jobs fit in a heap budget.
+ * <p>
+ * Whenever a thread is free, the first pending job, in decreasing cost order, whose heap estimate fits in what is left
+ * of the budget is started; a job is always started when no other job runs, so that a job larger than the budget still
+ * runs, alone.
+ */
+final class BatchScheduler {
+    enum Status {NOT_STARTED, RUNNING, SUCCESS, FAILED, TIMED_OUT}
+
+    static final class Job {
+        final String id;
+        final long cost;
+        final long heapEstimate;
+        final Runnable task;
+
+        /**
+         * @param id           identifies the job in the results
+         * @param cost         the expected cost, such as the duration of the previous run or the spec size; jobs are
+         *                     started in decreasing cost order
+         * @param heapEstimate the heap the job is expected to use, in bytes
+         * @param task         the work, which fails by throwing
+         */
+        Job(String id, long cost, long heapEstimate, Runnable task) {
+            this.id = id;
+            this.cost = cost;
+            this.heapEstimate = heapEstimate;
+            this.task = task;
+        }
+    }
+
+    static final class Result {
+        final Job job;
+        volatile Status status = Status.NOT_STARTED;
+        volatile long startMillis;
+        volatile long durationMillis;
+        volatile String thread;
+        volatile Throwable error;
+
+        private Result(Job job) {
+            this.job = job;
+        }
+    }
+
+    private final int threads;
+    private final long heapBudget;
+    private final boolean virtualThreads;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+    private int running;
+    private long reserved;
+
+    /**
+     * @param threads    the maximum number of jobs running at once
+     * @param heapBudget the heap which the running jobs may use, in bytes
+     */
+    BatchScheduler(int threads, long heapBudget) {
+        this(threads, heapBudget, false);
+    }
+
+    /**
+     * @param threads        the maximum number of jobs running at once
+     * @param heapBudget     the heap which the running jobs may use, in bytes
+     * @param virtualThreads true to run each job on a virtual thread rather than on a pool of platform threads
+     */
+    BatchScheduler(int threads, long heapBudget, boolean virtualThreads) {
+        this.threads = Math.max(threads, 1);
+        this.heapBudget = heapBudget;
+        this.virtualThreads = virtualThreads;
+    }
+
+    /**
+     * Runs jobs until they are all finished or the timeout elapses. Jobs still running at the timeout are interrupted
+     * and reported as {@link Status#TIMED_OUT}, and jobs not started as {@link Status#NOT_STARTED}.
+     *
+     * @param jobs    the jobs
+     * @param timeout the timeout
+     * @param unit    the unit of the timeout
+     * @return the result of each job, in the order of the jobs
+     * @throws InterruptedException if interrupted while waiting for the jobs
+     */
+    List<Result> run(List<Job> jobs, long timeout, TimeUnit unit) throws InterruptedException {
+        List<Result> results = new ArrayList<>(jobs.size());
+        jobs.forEach(job -> results.add(new Result(job)));
+        LinkedList<Result> pending = new LinkedList<>(results);
+        pending.sort(Comparator.comparingLong((Result result) -> result.job.cost).reversed());
+
+        long start = System.nanoTime();
+        long deadline = start + unit.toNanos(timeout);
+        ExecutorService executor = virtualThreads
+                ? VirtualThreads.newThreadPerTaskExecutor("batch-")
+                : Executors.newFixedThreadPool(Math.min(threads, Math.max(jobs.size(), 1)));
+        lock.lock();
+        try {
+            while (!pending.isEmpty() || running > 0) {
+                Result next = running < threads ? nextFitting(pending) : null;
+                if (next != null) {
+                    pending.remove(next);
+                    next.status = Status.RUNNING;
+                    next.startMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                    running++;
+                    reserved += next.job.heapEstimate;
+                    executor.execute(() -> execute(next, start));
+                    continue;
+                }
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    // the jobs still running are interrupted, and must not be reported as succeeding once they return
+                    long now = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                    for (Result result : results) {
+                        if (result.status == Status.RUNNING) {
+                            result.status = Status.TIMED_OUT;
+                            result.durationMillis = now - result.startMillis;
+                        }
+                    }
+                    break;
+                }
+                changed.awaitNanos(remaining);
+            }
+        } finally {
+            lock.unlock();
+            executor.shutdownNow();
+        }
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+        return results;
+    }
+
+    private Result nextFitting(List<Result> pending) {
+        for (Result result : pending) {
+            if (running == 0 || reserved + result.job.heapEstimate <= heapBudget) {
+                return result;
+            }
+        }
+        return null;
+    }
+
+    private void execute(Result result, long batchStart) {
+        long start = System.nanoTime();
+        result.startMillis = TimeUnit.NANOSECONDS.toMillis(start - batchStart);
+        result.thread = Thread.currentThread().getName();
+        Status status = Status.SUCCESS;
+        try {
+            result.job.task.run();
+        } catch (Throwable e) {
+            result.error = e;
+            status = Status.FAILED;
+        } finally {
+            lock.lock();
+            try {
+                if (result.status == Status.RUNNING) {
+                    result.durationMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                    result.status = status;
+                }
+                running--;
+                reserved -= result.job.heapEstimate;
+                changed.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
@@ -25,10 +25,14 @@ import org.apache.commons.lang3.StringUtils;
 import org.openapitools.codegen.*;
 import org.openapitools.codegen.config.CodegenConfigurator;
 import org.openapitools.codegen.config.MergedSpecBuilder;
+import org.openapitools.codegen.templating.ArchiveOutputSink;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Stream;
@@ -331,6 +335,38 @@ public class Generate extends OpenApiGeneratorCommand {
             description = "Only write output files that have changed.")
     private Boolean minimalUpdate;
 
+    @Option(name = {"--parallelism"},
+            title = "parallelism",
+            description = "Number of threads used to render and write model and API files (default: 1). " +
+                    "Files are rendered one at a time for generators whose templates keep state across files, such as the C# generators.")
+    private Integer parallelism;
+
+    @Option(name = {"--incremental-generation"},
+            title = "Incremental generation",
+            description = "Record content hashes of generated files and an input fingerprint in .openapi-generator/MANIFEST.json, " +
+                    "and skip unchanged files (or the whole run, if the inputs are unchanged) on the next run.")
+    private Boolean incrementalGeneration;
+
+    @Option(name = {"--skip-spec-cache"},
+            title = "Skip spec cache",
+            description = "Parse the input spec again rather than reusing the result of a previous parse of the same spec in this JVM.")
+    private Boolean skipSpecCache;
+
+    @Option(name = {"--virtual-threads"},
+            title = "virtual threads",
+            description = "Run the external file post-processors on virtual threads (Java 21+, platform threads otherwise), so that they do not hold the threads rendering files.")
+    private Boolean virtualThreads;
+
+    @Option(name = {"--profile"}, title = "profile report",
+            description = "Write a JSON report of the wall-clock time, CPU time and allocations per phase, model, API and template, " +
+                    "and of the name cache hits, to the given file.")
+    private String profile;
+
+    @Option(name = {"--output-archive"}, title = "output archive",
+            description = "Write the generated files to the given .zip, .tar, .tar.gz or .tgz archive rather than to the output directory. " +
+                    "Minimal updates, incremental generation and file post-processing do not apply.")
+    private String outputArchive;
+
     @Override
     public void execute() {
         if (StringUtils.isNotBlank(inputSpecRootDirectory)) {
@@ -502,6 +538,26 @@ public class Generate extends OpenApiGeneratorCommand {
             configurator.setStrictSpecBehavior(strictSpecBehavior);
         }
 
+        if (parallelism != null) {
+            configurator.setParallelism(parallelism);
+        }
+
+        if (incrementalGeneration != null) {
+            configurator.setEnableIncrementalGeneration(incrementalGeneration);
+        }
+
+        if (skipSpecCache != null) {
+            configurator.setUseSpecCache(!skipSpecCache);
+        }
+
+        if (virtualThreads != null) {
+            configurator.setUseVirtualThreads(virtualThreads);
+        }
+
+        if (isNotEmpty(profile)) {
+            configurator.setProfileReport(profile);
+        }
+
         if (globalProperties != null && !globalProperties.isEmpty()) {
             applyGlobalPropertiesKvpList(globalProperties, configurator);
         }
@@ -531,8 +587,21 @@ public class Generate extends OpenApiGeneratorCommand {
                 generator = new DefaultGenerator(isDryRun);
             }
 
-            generator.opts(clientOptInput);
-            generator.generate();
+            if (isNotEmpty(outputArchive) && generator instanceof DefaultGenerator) {
+                Path root = Paths.get(clientOptInput.getConfig().getOutputDir());
+                try (ArchiveOutputSink archive = ArchiveOutputSink.open(Paths.get(outputArchive), root)) {
+                    ((DefaultGenerator) generator).setOutputSink(archive);
+                    generator.opts(clientOptInput);
+                    generator.generate();
+                    archive.finish();
+                }
+            } else {
+                generator.opts(clientOptInput);
+                generator.generate();
+            }
+        } catch (IOException e) {
+            System.err.println("[error] Unable to write " + outputArchive + ": " + e.getMessage());
+            System.exit(1);
         } catch (GeneratorNotFoundException e) {
             System.err.println(e.getMessage());
             System.err.println("[error] Check the spelling of the generator's name and try again.");
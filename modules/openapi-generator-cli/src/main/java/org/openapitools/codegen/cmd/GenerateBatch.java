@@ -30,12 +30,15 @@ import io.airlift.airline.Command;
 import io.airlift.airline.Option;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.openapitools.codegen.ClientOptInput;
 import org.openapitools.codegen.CodegenConfig;
 import org.openapitools.codegen.DefaultGenerator;
 import org.openapitools.codegen.config.CodegenConfigurator;
 import org.openapitools.codegen.config.DynamicSettings;
 import org.openapitools.codegen.config.GlobalSettings;
+import org.openapitools.codegen.config.ParsedSpecCache;
+import org.openapitools.codegen.utils.VirtualThreads;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -43,28 +46,36 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 @SuppressWarnings({"unused", "MismatchedQueryAndUpdateOfCollection", "java:S106"})
 @Command(name = "batch", description = "Generate code in batch via external configs.")
 public class GenerateBatch extends OpenApiGeneratorCommand {
-    private static AtomicInteger failures = new AtomicInteger(0);
-    private static AtomicInteger successes = new AtomicInteger(0);
+    // rough heap used by a generation besides its parsed spec, and by the parsed spec and its copy per byte of spec
+    private static final long JOB_HEAP = 64L * 1024 * 1024;
+    private static final long HEAP_PER_SPEC_BYTE = 100;
+
     private final Logger LOGGER = LoggerFactory.getLogger(GenerateBatch.class);
 
     @Option(name = {"-v", "--verbose"}, description = "verbose mode")
     private Boolean verbose;
 
-    @Option(name = {"-r", "--threads"}, description = "thread count")
+    @Option(name = {"-r", "--threads"}, description = "maximum number of generators running at once; generators also only start while the heap can hold them")
     private Integer threads;
 
     @Arguments(description = "Generator configuration files.", required = true)
@@ -82,6 +93,14 @@ public class GenerateBatch extends OpenApiGeneratorCommand {
     @Option(name = {"--includes-base-dir"}, description = "base directory used for includes")
     private String includes;
 
+    @Option(name = {"--virtual-threads"}, description = "run generators and their file post-processors on virtual threads "
+            + "(Java 21+, platform threads otherwise), fetch and parse the input specs up front, and default the thread count to the core count")
+    private Boolean virtualThreads;
+
+    @Option(name = {"--summary"}, description = "JSON file where the status and timing of each configuration is written; "
+            + "the durations it holds from the previous run order the generators, longest first")
+    private String summary;
+
     @Option(name = {"--root-dir"}, description = "root directory used output/includes (includes can be overridden)")
     private String root;
 
@@ -103,8 +122,10 @@ public class GenerateBatch extends OpenApiGeneratorCommand {
             System.exit(1);
         }
 
+        boolean useVirtualThreads = Boolean.TRUE.equals(virtualThreads);
         int cores = Runtime.getRuntime().availableProcessors();
-        int numThreads = 2 * cores;
+        // generators waiting on I/O do not hold a platform thread with virtual threads, so the cores bound the generators
+        int numThreads = useVirtualThreads ? cores : 2 * cores;
         if (null != threads && (threads > 0 && threads < Thread.activeCount())) {
             numThreads = threads;
         }
@@ -145,29 +166,46 @@ public class GenerateBatch extends OpenApiGeneratorCommand {
                 .map(lc::getLogger)
                 .forEach(logger -> logger.setLevel(Level.ERROR));
 
-        ExecutorService executor = Executors.newFixedThreadPool(numThreads);
+        // Configurators sharing an input spec parse it once for the whole batch.
+        Set<String> specs = configurators.stream().map(CodegenConfigurator::getInputSpec).filter(Objects::nonNull).collect(Collectors.toSet());
+        ParsedSpecCache specCache = ParsedSpecCache.forBatch(Math.max(specs.size(), 1));
+        configurators.forEach(configurator -> configurator.setSpecCache(specCache));
+        if (useVirtualThreads) {
+            configurators.forEach(configurator -> configurator.setUseVirtualThreads(true));
+            preloadSpecs(configurators);
+        }
+
+        // Jobs run longest first, by the durations of the previous run when the summary has them all, or by spec size.
+        Map<String, Long> previousDurations = readPreviousDurations();
+        boolean byPreviousDurations = previousDurations.keySet().containsAll(configs);
 
-        // Execute each configurator on a separate pooled thread.
-        configurators.forEach(configurator -> {
+        List<BatchScheduler.Job> jobs = new ArrayList<>(configs.size());
+        for (int i = 0; i < configs.size(); i++) {
+            CodegenConfigurator configurator = configurators.get(i);
+            long specSize = specSize(configurator.getInputSpec());
+            long cost = byPreviousDurations ? previousDurations.get(configs.get(i)) : specSize;
             GenerationRunner runner = new GenerationRunner(configurator, rootDir, Boolean.TRUE.equals(failFast), Boolean.TRUE.equals(clean));
-            executor.execute(runner);
-        });
+            jobs.add(new BatchScheduler.Job(configs.get(i), cost, JOB_HEAP + HEAP_PER_SPEC_BYTE * specSize, runner));
+        }
 
-        executor.shutdown();
+        Runtime runtime = Runtime.getRuntime();
+        long heapBudget = runtime.maxMemory() - (runtime.totalMemory() - runtime.freeMemory());
 
         try {
-            // Allow the batch job to terminate, never running for more than 30 minutes (defaulted to max 10 minutes)
+            // Allow the batch job to terminate, never running for more than the timeout (defaulted to 10 minutes)
             if (timeout == null) timeout = 10;
-            int awaitFor = Math.min(Math.max(timeout, 1), 30);
+            int awaitFor = Math.max(timeout, 1);
 
-            executor.awaitTermination(awaitFor, TimeUnit.MINUTES);
+            List<BatchScheduler.Result> results = new BatchScheduler(numThreads, heapBudget, useVirtualThreads).run(jobs, awaitFor, TimeUnit.MINUTES);
+            reportResults(results, configurators);
 
-            int failCount = failures.intValue();
+            long failCount = results.stream().filter(result -> result.status != BatchScheduler.Status.SUCCESS).count();
+            long successCount = results.size() - failCount;
             if (failCount > 0) {
-                System.err.println(String.format(Locale.ROOT, "[FAIL] Completed with %d failures, %d successes", failCount, successes.intValue()));
+                System.err.println(String.format(Locale.ROOT, "[FAIL] Completed with %d failures, %d successes", failCount, successCount));
                 System.exit(1);
             } else {
-                System.out.println(String.format(Locale.ROOT, "[SUCCESS] Batch generation finished %d generators successfully.", successes.intValue()));
+                System.out.println(String.format(Locale.ROOT, "[SUCCESS] Batch generation finished %d generators successfully.", successCount));
             }
         } catch (InterruptedException e) {
             e.printStackTrace();
@@ -176,11 +214,89 @@ public class GenerateBatch extends OpenApiGeneratorCommand {
         }
     }
 
+    /**
+     * Starts fetching and parsing each input spec on its own virtual thread, without waiting for them: the generators
+     * get their spec from the batch cache, waiting for it if it is still being parsed.
+     */
+    private static void preloadSpecs(List<CodegenConfigurator> configurators) {
+        ExecutorService preloading = VirtualThreads.newThreadPerTaskExecutor("preload-");
+        Set<String> preloaded = new HashSet<>();
+        for (CodegenConfigurator configurator : configurators) {
+            if (configurator.getInputSpec() != null && preloaded.add(configurator.getInputSpec())) {
+                preloading.submit(GlobalSettings.propagate(() -> {
+                    configurator.preloadSpec();
+                    return null;
+                }));
+            }
+        }
+        preloading.shutdown();
+    }
+
+    private static long specSize(String inputSpec) {
+        try {
+            return inputSpec != null && Files.isRegularFile(Paths.get(inputSpec)) ? Files.size(Paths.get(inputSpec)) : 0;
+        } catch (IOException | InvalidPathException e) {
+            return 0;
+        }
+    }
+
+    private Map<String, Long> readPreviousDurations() {
+        Map<String, Long> durations = new HashMap<>();
+        if (summary == null || !new File(summary).isFile()) {
+            return durations;
+        }
+        try {
+            new ObjectMapper().readTree(new File(summary)).path("jobs").forEach(job -> {
+                if ("SUCCESS".equals(job.path("status").asText())) {
+                    durations.put(job.path("config").asText(), job.path("durationMillis").asLong());
+                }
+            });
+        } catch (IOException e) {
+            LOGGER.warn("Unable to read the previous summary {}: {}", summary, e.getMessage());
+        }
+        return durations;
+    }
+
+    /**
+     * Prints one line per job, in the order of the configurations, and writes the summary file when requested.
+     */
+    private void reportResults(List<BatchScheduler.Result> results, List<CodegenConfigurator> configurators) {
+        List<Map<String, Object>> jobs = new ArrayList<>(results.size());
+        for (int i = 0; i < results.size(); i++) {
+            BatchScheduler.Result result = results.get(i);
+            GenerationRunner runner = (GenerationRunner) result.job.task;
+            Map<String, Object> job = new LinkedHashMap<>();
+            job.put("config", result.job.id);
+            job.put("generator", configurators.get(i).getGeneratorName());
+            job.put("inputSpec", configurators.get(i).getInputSpec());
+            job.put("outputDir", runner.outputDir);
+            job.put("status", result.status.name());
+            job.put("startMillis", result.startMillis);
+            job.put("durationMillis", result.durationMillis);
+            job.put("thread", result.thread);
+            job.put("error", result.error != null ? result.error.getClass().getSimpleName() + ": " + result.error.getMessage() : null);
+            jobs.add(job);
+
+            System.out.printf(Locale.ROOT, "[%s] %s (%s) in %d ms%n", result.status, result.job.id, configurators.get(i).getGeneratorName(), result.durationMillis);
+        }
+
+        if (summary != null) {
+            Map<String, Object> document = new LinkedHashMap<>();
+            document.put("jobs", jobs);
+            try {
+                new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(new File(summary), document);
+            } catch (IOException e) {
+                LOGGER.error("Unable to write the summary {}: {}", summary, e.getMessage());
+            }
+        }
+    }
+
     private static class GenerationRunner implements Runnable {
         private final CodegenConfigurator configurator;
         private final Path rootDir;
         private final boolean exitOnError;
         private final boolean clean;
+        private volatile String outputDir;
 
         private GenerationRunner(CodegenConfigurator configurator, Path rootDir, boolean failFast, boolean clean) {
             this.configurator = configurator;
@@ -213,22 +329,17 @@ public class GenerateBatch extends OpenApiGeneratorCommand {
                 Path target = Paths.get(config.getOutputDir());
                 Path updated = rootDir.resolve(target);
                 config.setOutputDir(updated.toString());
+                outputDir = updated.toString();
 
                 if (this.clean) {
                     cleanPreviousFiles(name, updated);
                 }
 
-                System.out.printf(Locale.ROOT, "[%s] Generating %s (outputs to %s)…%n", Thread.currentThread().getName(), name, updated.toString());
-
                 DefaultGenerator defaultGenerator = new DefaultGenerator();
                 defaultGenerator.opts(opts);
 
                 defaultGenerator.generate();
-
-                System.out.printf(Locale.ROOT, "[%s] Finished generating %s…%n", Thread.currentThread().getName(), name);
-                successes.incrementAndGet();
             } catch (Throwable e) {
-                failures.incrementAndGet();
                 String failedOn = name;
                 if (StringUtils.isEmpty(failedOn)) {
                     failedOn = "unspecified";
@@ -238,6 +349,7 @@ public class GenerateBatch extends OpenApiGeneratorCommand {
                 if (exitOnError) {
                     System.exit(1);
                 }
+                ExceptionUtils.rethrow(e);
             } finally {
                 GlobalSettings.reset();
             }
@@ -52,6 +52,14 @@ public class Validate extends OpenApiGeneratorCommand {
                     + "Pass in a URL-encoded string of name:header with a comma separating multiple values")
     private String auth;
 
+    @Option(name = {"--parallelism"}, title = "parallelism",
+            description = "number of threads evaluating the specification (default: 1)")
+    private Integer parallelism;
+
+    @Option(name = {"--fail-fast"}, title = "fail fast",
+            description = "stop at the first schema, operation, security scheme or parameter having an error")
+    private Boolean failFast;
+
     @Override
     public void execute() {
         System.out.println("Validating spec (" + spec + ")");
@@ -71,6 +79,9 @@ public class Validate extends OpenApiGeneratorCommand {
         if (recommend != null) ruleConfiguration.setEnableRecommendations(recommend);
         else ruleConfiguration.setEnableRecommendations(false);
 
+        if (parallelism != null) ruleConfiguration.setParallelism(parallelism);
+        if (failFast != null) ruleConfiguration.setFailFast(failFast);
+
         OpenApiEvaluator evaluator = new OpenApiEvaluator(ruleConfiguration);
         ValidationResult validationResult = evaluator.validate(specification);
 
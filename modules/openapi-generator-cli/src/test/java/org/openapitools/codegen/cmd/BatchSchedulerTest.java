@@ -0,0 +1,80 @@
+package org.openapitools.codegen.cmd;
+
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.testng.Assert.*;
+
+public class BatchSchedulerTest {
+
+    @Test
+    public void startsMostExpensiveJobsFirst() throws Exception {
+        List<String> started = new CopyOnWriteArrayList<>();
+        List<BatchScheduler.Job> jobs = Arrays.asList(
+                new BatchScheduler.Job("small", 1, 0, () -> started.add("small")),
+                new BatchScheduler.Job("large", 100, 0, () -> started.add("large")),
+                new BatchScheduler.Job("medium", 10, 0, () -> started.add("medium")));
+
+        List<BatchScheduler.Result> results = new BatchScheduler(1, Long.MAX_VALUE).run(jobs, 1, TimeUnit.MINUTES);
+
+        assertEquals(started, Arrays.asList("large", "medium", "small"));
+        assertEquals(results.get(0).job.id, "small");
+        results.forEach(result -> assertEquals(result.status, BatchScheduler.Status.SUCCESS));
+    }
+
+    @Test
+    public void keepsRunningJobsWithinHeapBudget() throws Exception {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maximum = new AtomicInteger();
+        Runnable task = () -> {
+            maximum.accumulateAndGet(running.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            running.decrementAndGet();
+        };
+        List<BatchScheduler.Job> jobs = Arrays.asList(
+                new BatchScheduler.Job("a", 1, 60, task),
+                new BatchScheduler.Job("b", 1, 60, task),
+                new BatchScheduler.Job("c", 1, 60, task),
+                new BatchScheduler.Job("huge", 2, 500, task));
+
+        List<BatchScheduler.Result> results = new BatchScheduler(4, 100).run(jobs, 1, TimeUnit.MINUTES);
+
+        assertEquals(maximum.get(), 1);
+        results.forEach(result -> assertEquals(result.status, BatchScheduler.Status.SUCCESS));
+    }
+
+    @Test
+    public void reportsFailuresAndTimeouts() throws Exception {
+        CountDownLatch never = new CountDownLatch(1);
+        List<BatchScheduler.Job> jobs = Arrays.asList(
+                new BatchScheduler.Job("failing", 3, 0, () -> {
+                    throw new IllegalStateException("broken");
+                }),
+                new BatchScheduler.Job("hanging", 2, 0, () -> {
+                    try {
+                        never.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }),
+                new BatchScheduler.Job("waiting", 1, 0, () -> {
+                }));
+
+        List<BatchScheduler.Result> results = new BatchScheduler(1, Long.MAX_VALUE).run(jobs, 200, TimeUnit.MILLISECONDS);
+
+        assertEquals(results.get(0).status, BatchScheduler.Status.FAILED);
+        assertEquals(results.get(0).error.getMessage(), "broken");
+        assertEquals(results.get(1).status, BatchScheduler.Status.TIMED_OUT);
+        assertEquals(results.get(2).status, BatchScheduler.Status.NOT_STARTED);
+    }
+}
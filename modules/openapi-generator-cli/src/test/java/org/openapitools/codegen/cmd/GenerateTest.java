@@ -24,18 +24,29 @@ import org.openapitools.codegen.DefaultGenerator;
 import org.openapitools.codegen.Generator;
 import org.openapitools.codegen.SpecValidationException;
 import org.openapitools.codegen.config.CodegenConfigurator;
+import org.openapitools.codegen.templating.ArchiveOutputSink;
 import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
+import java.io.DataInputStream;
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
 
 import static org.mockito.Answers.CALLS_REAL_METHODS;
 import static org.mockito.Mockito.*;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
 import static org.testng.Assert.fail;
 
 @SuppressWarnings("unused")
@@ -94,6 +105,85 @@ public class GenerateTest {
         verify(configurator).setArtifactId(value);
     }
 
+    @Test
+    public void testOutputArchive() throws IOException {
+        final Path archive = outputDirectory.resolve("client.tar.gz");
+        setupAndRunGenericTest("--output-archive", archive.toString());
+
+        verify((DefaultGenerator) generator).setOutputSink(any(ArchiveOutputSink.class));
+        verify(generator).generate();
+        // the mocked generator writes no file, which still makes an archive with no entries
+        assertTrue(Files.size(archive) > 0);
+    }
+
+    @Test
+    public void testOutputArchiveContainsGeneratedFiles() throws IOException {
+        final Path output = outputDirectory.resolve("client");
+        final Path zip = outputDirectory.resolve("client.zip");
+        final Path tar = outputDirectory.resolve("client.tar.gz");
+        generateArchive(output, zip);
+        generateArchive(output, tar);
+
+        Map<String, String> zipEntries = new TreeMap<>();
+        try (ZipInputStream in = new ZipInputStream(Files.newInputStream(zip))) {
+            for (ZipEntry entry = in.getNextEntry(); entry != null; entry = in.getNextEntry()) {
+                zipEntries.put(entry.getName(), new String(in.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+        Map<String, String> tarEntries = readTarGz(tar);
+
+        // nothing is written to the output directory, not even the ignore file, and both archives hold the same files
+        assertFalse(Files.exists(output));
+        assertEquals(tarEntries, zipEntries);
+        assertTrue(zipEntries.get("src/main/java/org/openapitools/client/model/Pet.java").contains("public class Pet {"));
+        assertTrue(zipEntries.get("src/main/java/org/openapitools/client/api/PetsApi.java").contains("public class PetsApi {"));
+        assertTrue(zipEntries.containsKey("pom.xml"));
+        assertTrue(zipEntries.get(".openapi-generator-ignore").endsWith("\nbuild.sbt\n"));
+        assertFalse(zipEntries.containsKey("build.sbt"));
+        for (String file : zipEntries.get(".openapi-generator/FILES").split("\\R")) {
+            assertTrue(zipEntries.containsKey(file), file);
+        }
+    }
+
+    private static void generateArchive(Path output, Path archive) {
+        String[] args = {"generate", "-g", "java", "-i", "src/test/resources/swagger.yaml", "-o", output.toString(),
+                "--additional-properties", "hideGenerationTimestamp=true", "--openapi-generator-ignore-list", "build.sbt",
+                "--output-archive", archive.toString()};
+        Cli.<Runnable>builder("openapi-generator-cli").withCommands(Generate.class).build().parse(args).run();
+    }
+
+    /**
+     * Reads the regular files of a gzipped ustar archive, with names given by POSIX extended headers.
+     */
+    private static Map<String, String> readTarGz(Path archive) throws IOException {
+        Map<String, String> entries = new TreeMap<>();
+        try (DataInputStream tar = new DataInputStream(new GZIPInputStream(Files.newInputStream(archive)))) {
+            String extendedName = null;
+            while (true) {
+                byte[] header = new byte[512];
+                tar.readFully(header);
+                if (header[0] == 0) {
+                    return entries;
+                }
+                int size = Integer.parseInt(new String(header, 124, 11, StandardCharsets.US_ASCII).trim(), 8);
+                byte[] contents = new byte[size];
+                tar.readFully(contents);
+                tar.readFully(new byte[(512 - size % 512) % 512]);
+                String body = new String(contents, StandardCharsets.UTF_8);
+                if (header[156] == 'x') {
+                    extendedName = body.substring(body.indexOf("path=") + 5, body.length() - 1);
+                } else {
+                    int end = 0;
+                    while (end < 100 && header[end] != 0) {
+                        end++;
+                    }
+                    entries.put(extendedName != null ? extendedName : new String(header, 0, end, StandardCharsets.UTF_8), body);
+                    extendedName = null;
+                }
+            }
+        }
+    }
+
     private void setupAndRunGenericTest(String... additionalParameters) {
         setupAndRunTest("-i", "src/test/resources/swagger.yaml", "-g", "java", "-o", "src/main/java", false, null,
                 additionalParameters);
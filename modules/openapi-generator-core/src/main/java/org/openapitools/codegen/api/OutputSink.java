@@ -0,0 +1,24 @@
+package org.openapitools.codegen.api;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Path;
+
+/**
+ * Receives the files written by a {@link TemplateProcessor} in place of the file system, for instance to keep them in
+ * memory or to add them to an archive.
+ * <p>
+ * Files may be written concurrently, from several threads.
+ */
+public interface OutputSink {
+    /**
+     * Opens a stream receiving the contents of a file, which is complete once the stream is closed. Opening a file
+     * which was already written replaces it. A stream which is never closed, e.g. because rendering the file failed,
+     * leaves the file unwritten.
+     *
+     * @param path The location the file would be written to on the file system
+     * @return The stream to write the contents to
+     * @throws IOException If the file cannot be written.
+     */
+    OutputStream newOutputStream(Path path) throws IOException;
+}
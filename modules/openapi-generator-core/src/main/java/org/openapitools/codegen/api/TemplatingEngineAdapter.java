@@ -19,6 +19,7 @@ package org.openapitools.codegen.api;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.Writer;
 import java.nio.file.Path;
 import java.util.Arrays;
 import java.util.Locale;
@@ -67,6 +68,23 @@ public interface TemplatingEngineAdapter {
     String compileTemplate(TemplatingExecutor executor, Map<String, Object> bundle,
                            String templateFile) throws IOException;
 
+    /**
+     * Compiles a template and writes the result to the provided writer.
+     * <p>
+     * Adapters which are able to render directly into a {@link Writer} should override this method, so that large
+     * outputs are streamed to their destination rather than held in memory as a single string.
+     *
+     * @param executor     From where we can fetch the templates content (e.g. an instance of DefaultGenerator)
+     * @param bundle       The map of values to pass to the template
+     * @param templateFile The name of the template (e.g. model.mustache )
+     * @param out          The writer receiving the processed template result
+     * @throws IOException an error occurred in the template processing
+     */
+    default void compileTemplate(TemplatingExecutor executor, Map<String, Object> bundle,
+                                 String templateFile, Writer out) throws IOException {
+        out.write(compileTemplate(executor, bundle, templateFile));
+    }
+
     /**
      * Determines whether the template file with supported extensions exists. This may be on the filesystem,
      * external filesystem, or classpath (implementation is up to TemplatingGenerator).
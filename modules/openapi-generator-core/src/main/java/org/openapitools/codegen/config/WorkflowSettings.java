@@ -44,6 +44,10 @@ public class WorkflowSettings {
     public static final boolean DEFAULT_VALIDATE_SPEC = true;
     public static final boolean DEFAULT_ENABLE_POST_PROCESS_FILE = false;
     public static final boolean DEFAULT_ENABLE_MINIMAL_UPDATE = false;
+    public static final int DEFAULT_PARALLELISM = 1;
+    public static final boolean DEFAULT_ENABLE_INCREMENTAL_GENERATION = false;
+    public static final boolean DEFAULT_USE_SPEC_CACHE = true;
+    public static final boolean DEFAULT_USE_VIRTUAL_THREADS = false;
     public static final boolean DEFAULT_STRICT_SPEC_BEHAVIOR = true;
     public static final boolean DEFAULT_GENERATE_ALIAS_AS_MODEL = false;
     public static final String DEFAULT_TEMPLATING_ENGINE_NAME = null; // this is set by the generator
@@ -59,11 +63,16 @@ public class WorkflowSettings {
     private boolean validateSpec = DEFAULT_VALIDATE_SPEC;
     private boolean enablePostProcessFile = DEFAULT_ENABLE_POST_PROCESS_FILE;
     private boolean enableMinimalUpdate = DEFAULT_ENABLE_MINIMAL_UPDATE;
+    private int parallelism = DEFAULT_PARALLELISM;
+    private boolean enableIncrementalGeneration = DEFAULT_ENABLE_INCREMENTAL_GENERATION;
+    private boolean useSpecCache = DEFAULT_USE_SPEC_CACHE;
+    private boolean useVirtualThreads = DEFAULT_USE_VIRTUAL_THREADS;
     private boolean strictSpecBehavior = DEFAULT_STRICT_SPEC_BEHAVIOR;
     private boolean generateAliasAsModel = DEFAULT_GENERATE_ALIAS_AS_MODEL;
     private String templateDir;
     private String templatingEngineName = DEFAULT_TEMPLATING_ENGINE_NAME;
     private String ignoreFileOverride;
+    private String profileReport;
     private Map<String, ?> globalProperties = DEFAULT_GLOBAL_PROPERTIES;
 
     private WorkflowSettings(Builder builder) {
@@ -77,10 +86,15 @@ public class WorkflowSettings {
         this.validateSpec = builder.validateSpec;
         this.enablePostProcessFile = builder.enablePostProcessFile;
         this.enableMinimalUpdate = builder.enableMinimalUpdate;
+        this.parallelism = builder.parallelism;
+        this.enableIncrementalGeneration = builder.enableIncrementalGeneration;
+        this.useSpecCache = builder.useSpecCache;
+        this.useVirtualThreads = builder.useVirtualThreads;
         this.strictSpecBehavior = builder.strictSpecBehavior;
         this.templateDir = builder.templateDir;
         this.templatingEngineName = builder.templatingEngineName;
         this.ignoreFileOverride = builder.ignoreFileOverride;
+        this.profileReport = builder.profileReport;
         this.globalProperties = Collections.unmodifiableMap(builder.globalProperties);
         this.generateAliasAsModel = builder.generateAliasAsModel;
     }
@@ -109,10 +123,15 @@ public class WorkflowSettings {
         builder.validateSpec = copy.isValidateSpec();
         builder.enablePostProcessFile = copy.isEnablePostProcessFile();
         builder.enableMinimalUpdate = copy.isEnableMinimalUpdate();
+        builder.parallelism = copy.getParallelism();
+        builder.enableIncrementalGeneration = copy.isEnableIncrementalGeneration();
+        builder.useSpecCache = copy.isUseSpecCache();
+        builder.useVirtualThreads = copy.isUseVirtualThreads();
         builder.generateAliasAsModel = copy.isGenerateAliasAsModel();
         builder.strictSpecBehavior = copy.isStrictSpecBehavior();
         builder.templatingEngineName = copy.getTemplatingEngineName();
         builder.ignoreFileOverride = copy.getIgnoreFileOverride();
+        builder.profileReport = copy.getProfileReport();
 
         // this, and any other collections, must be mutable in the builder.
         builder.globalProperties = new HashMap<>(copy.getGlobalProperties());
@@ -227,6 +246,47 @@ public class WorkflowSettings {
         return enableMinimalUpdate;
     }
 
+    /**
+     * Gets the number of threads used to render and write model and API files. A value of <code>1</code> (the default)
+     * renders all files on the calling thread. Model and operation processing is always single-threaded.
+     *
+     * @return the number of threads used to render and write files
+     */
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Indicates whether or not the generation should record a manifest of content hashes and input fingerprint, and use
+     * the manifest of the previous run to skip writing unchanged files, or the whole run when its inputs are unchanged.
+     *
+     * @return <code>true</code> if incremental generation is enabled, otherwise <code>false</code>.
+     */
+    public boolean isEnableIncrementalGeneration() {
+        return enableIncrementalGeneration;
+    }
+
+    /**
+     * Indicates whether or not the parsed specification may be shared with the other generations of the JVM which use
+     * the same specification, rather than parsed again.
+     *
+     * @return <code>true</code> if the parsed specification cache is used, otherwise <code>false</code>.
+     */
+    public boolean isUseSpecCache() {
+        return useSpecCache;
+    }
+
+    /**
+     * Indicates whether or not the blocking work of the generation, such as running the external file post-processors,
+     * is run on virtual threads, so that it does not hold the threads rendering files. Virtual threads require Java 21
+     * or later; on older runtimes, the blocking work runs on platform threads started for it.
+     *
+     * @return <code>true</code> if virtual threads are used, otherwise <code>false</code>.
+     */
+    public boolean isUseVirtualThreads() {
+        return useVirtualThreads;
+    }
+
     /**
      * Indicates whether or not the generation should convert aliases (primitives defined as schema for use within documents) as models.
      *
@@ -275,6 +335,15 @@ public class WorkflowSettings {
         return ignoreFileOverride;
     }
 
+    /**
+     * Gets the location of the JSON report of the time spent per phase, model, API and template of the generation run.
+     *
+     * @return the profile report location, or null if no report is written
+     */
+    public String getProfileReport() {
+        return profileReport;
+    }
+
     /**
      * Gets system properties applied to the generator.
      *
@@ -307,11 +376,16 @@ public class WorkflowSettings {
         private Boolean validateSpec = DEFAULT_VALIDATE_SPEC;
         private Boolean enablePostProcessFile = DEFAULT_ENABLE_POST_PROCESS_FILE;
         private Boolean enableMinimalUpdate = DEFAULT_ENABLE_MINIMAL_UPDATE;
+        private Integer parallelism = DEFAULT_PARALLELISM;
+        private Boolean enableIncrementalGeneration = DEFAULT_ENABLE_INCREMENTAL_GENERATION;
+        private Boolean useSpecCache = DEFAULT_USE_SPEC_CACHE;
+        private Boolean useVirtualThreads = DEFAULT_USE_VIRTUAL_THREADS;
         private Boolean strictSpecBehavior = DEFAULT_STRICT_SPEC_BEHAVIOR;
         private Boolean generateAliasAsModel = DEFAULT_GENERATE_ALIAS_AS_MODEL;
         private String templateDir;
         private String templatingEngineName = DEFAULT_TEMPLATING_ENGINE_NAME;
         private String ignoreFileOverride;
+        private String profileReport;
 
         // NOTE: All collections must be mutable in the builder, and copied to a new immutable collection in .build()
         private Map<String, String> globalProperties = new HashMap<>();
@@ -436,6 +510,50 @@ public class WorkflowSettings {
             return this;
         }
 
+        /**
+         * Sets the {@code parallelism} and returns a reference to this Builder so that the methods can be chained together.
+         *
+         * @param parallelism the {@code parallelism} to set; values lower than 1 fall back to the default
+         * @return a reference to this Builder
+         */
+        public Builder withParallelism(Integer parallelism) {
+            this.parallelism = parallelism != null && parallelism > 0 ? parallelism : Integer.valueOf(DEFAULT_PARALLELISM);
+            return this;
+        }
+
+        /**
+         * Sets the {@code enableIncrementalGeneration} and returns a reference to this Builder so that the methods can be chained together.
+         *
+         * @param enableIncrementalGeneration the {@code enableIncrementalGeneration} to set
+         * @return a reference to this Builder
+         */
+        public Builder withEnableIncrementalGeneration(Boolean enableIncrementalGeneration) {
+            this.enableIncrementalGeneration = enableIncrementalGeneration != null ? enableIncrementalGeneration : Boolean.valueOf(DEFAULT_ENABLE_INCREMENTAL_GENERATION);
+            return this;
+        }
+
+        /**
+         * Sets the {@code useSpecCache} and returns a reference to this Builder so that the methods can be chained together.
+         *
+         * @param useSpecCache the {@code useSpecCache} to set
+         * @return a reference to this Builder
+         */
+        public Builder withUseSpecCache(Boolean useSpecCache) {
+            this.useSpecCache = useSpecCache != null ? useSpecCache : Boolean.valueOf(DEFAULT_USE_SPEC_CACHE);
+            return this;
+        }
+
+        /**
+         * Sets the {@code useVirtualThreads} and returns a reference to this Builder so that the methods can be chained together.
+         *
+         * @param useVirtualThreads the {@code useVirtualThreads} to set
+         * @return a reference to this Builder
+         */
+        public Builder withUseVirtualThreads(Boolean useVirtualThreads) {
+            this.useVirtualThreads = useVirtualThreads != null ? useVirtualThreads : Boolean.valueOf(DEFAULT_USE_VIRTUAL_THREADS);
+            return this;
+        }
+
         /**
          * Sets the {@code strictSpecBehavior} and returns a reference to this Builder so that the methods can be chained together.
          *
@@ -527,6 +645,17 @@ public class WorkflowSettings {
             return this;
         }
 
+        /**
+         * Sets the {@code profileReport} and returns a reference to this Builder so that the methods can be chained together.
+         *
+         * @param profileReport the {@code profileReport} to set
+         * @return a reference to this Builder
+         */
+        public Builder withProfileReport(String profileReport) {
+            this.profileReport = profileReport;
+            return this;
+        }
+
         /**
          * Sets the {@code globalProperties} and returns a reference to this Builder so that the methods can be chained together.
          *
@@ -580,10 +709,15 @@ public class WorkflowSettings {
                 ", validateSpec=" + validateSpec +
                 ", enablePostProcessFile=" + enablePostProcessFile +
                 ", enableMinimalUpdate=" + enableMinimalUpdate +
+                ", parallelism=" + parallelism +
+                ", enableIncrementalGeneration=" + enableIncrementalGeneration +
+                ", useSpecCache=" + useSpecCache +
+                ", useVirtualThreads=" + useVirtualThreads +
                 ", strictSpecBehavior=" + strictSpecBehavior +
                 ", templateDir='" + templateDir + '\'' +
                 ", templatingEngineName='" + templatingEngineName + '\'' +
                 ", ignoreFileOverride='" + ignoreFileOverride + '\'' +
+                ", profileReport='" + profileReport + '\'' +
                 ", globalProperties=" + globalProperties +
                 ", generateAliasAsModel=" + generateAliasAsModel +
                 '}';
@@ -602,6 +736,10 @@ public class WorkflowSettings {
                 isValidateSpec() == that.isValidateSpec() &&
                 isEnablePostProcessFile() == that.isEnablePostProcessFile() &&
                 isEnableMinimalUpdate() == that.isEnableMinimalUpdate() &&
+                getParallelism() == that.getParallelism() &&
+                isEnableIncrementalGeneration() == that.isEnableIncrementalGeneration() &&
+                isUseSpecCache() == that.isUseSpecCache() &&
+                isUseVirtualThreads() == that.isUseVirtualThreads() &&
                 isStrictSpecBehavior() == that.isStrictSpecBehavior() &&
                 isGenerateAliasAsModel() == that.isGenerateAliasAsModel() &&
                 Objects.equals(getInputSpec(), that.getInputSpec()) &&
@@ -609,6 +747,7 @@ public class WorkflowSettings {
                 Objects.equals(getTemplateDir(), that.getTemplateDir()) &&
                 Objects.equals(getTemplatingEngineName(), that.getTemplatingEngineName()) &&
                 Objects.equals(getIgnoreFileOverride(), that.getIgnoreFileOverride()) &&
+                Objects.equals(getProfileReport(), that.getProfileReport()) &&
                 Objects.equals(getGlobalProperties(), that.getGlobalProperties());
     }
 
@@ -626,10 +765,15 @@ public class WorkflowSettings {
                 isGenerateAliasAsModel(),
                 isEnablePostProcessFile(),
                 isEnableMinimalUpdate(),
+                getParallelism(),
+                isEnableIncrementalGeneration(),
+                isUseSpecCache(),
+                isUseVirtualThreads(),
                 isStrictSpecBehavior(),
                 getTemplateDir(),
                 getTemplatingEngineName(),
                 getIgnoreFileOverride(),
+                getProfileReport(),
                 getGlobalProperties()
         );
     }
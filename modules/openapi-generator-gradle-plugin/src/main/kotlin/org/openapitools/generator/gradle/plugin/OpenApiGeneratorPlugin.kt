@@ -86,6 +86,8 @@ class OpenApiGeneratorPlugin : Plugin<Project> {
                     inputSpec.set(validate.inputSpec)
                     recommend.set(validate.recommend)
                     treatWarningsAsErrors.set(validate.treatWarningsAsErrors)
+                    parallelism.set(validate.parallelism)
+                    failFast.set(validate.failFast)
                 }
 
                 register("openApiGenerate", GenerateTask::class.java).configure {
@@ -151,6 +153,10 @@ class OpenApiGeneratorPlugin : Plugin<Project> {
                     configOptions.set(generate.configOptions)
                     logToStderr.set(generate.logToStderr)
                     enablePostProcessFile.set(generate.enablePostProcessFile)
+                    parallelism.set(generate.parallelism)
+                    incrementalGeneration.set(generate.incrementalGeneration)
+                    skipSpecCache.set(generate.skipSpecCache)
+                    virtualThreads.set(generate.virtualThreads)
                     skipValidateSpec.set(generate.skipValidateSpec)
                     generateAliasAsModel.set(generate.generateAliasAsModel)
                     engine.set(generate.engine)
@@ -374,6 +374,29 @@ open class OpenApiGeneratorGenerateExtension(project: Project) {
      */
     val enablePostProcessFile = project.objects.property<Boolean>()
 
+    /**
+     * Number of threads used to render and write model and API files. Model and operation processing always stays
+     * single-threaded.
+     */
+    val parallelism = project.objects.property<Int>()
+
+    /**
+     * Record content hashes of generated files and an input fingerprint in .openapi-generator/MANIFEST.json, and skip
+     * unchanged files (or the whole run, if the inputs are unchanged) on the next run.
+     */
+    val incrementalGeneration = project.objects.property<Boolean>()
+
+    /**
+     * Parse the input spec again rather than reusing the result of a previous parse of the same spec in this build.
+     */
+    val skipSpecCache = project.objects.property<Boolean>()
+
+    /**
+     * Run the external file post-processors on virtual threads (Java 21 or later, platform threads otherwise), so that
+     * they do not hold the threads rendering files.
+     */
+    val virtualThreads = project.objects.property<Boolean>()
+
     /**
      * To skip spec validation. When true, we will skip the default behavior of validating a spec before generation.
      */
@@ -39,4 +39,14 @@ open class OpenApiGeneratorValidateExtension(project: Project) {
      * Whether to treat warnings as errors and fail the task.
      */
     val treatWarningsAsErrors = project.objects.property<Boolean>().convention(false)
+
+    /**
+     * The number of threads evaluating the specification.
+     */
+    val parallelism = project.objects.property<Int>().convention(1)
+
+    /**
+     * Whether to stop at the first schema, operation, security scheme or parameter failing validation.
+     */
+    val failFast = project.objects.property<Boolean>().convention(false)
 }
\ No newline at end of file
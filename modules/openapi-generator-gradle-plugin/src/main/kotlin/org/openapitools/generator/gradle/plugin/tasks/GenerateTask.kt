@@ -553,6 +553,37 @@ open class GenerateTask @Inject constructor(private val objectFactory: ObjectFac
     @get:Input
     val enablePostProcessFile = project.objects.property<Boolean>()
 
+    /**
+     * Number of threads used to render and write model and API files. Model and operation processing always stays
+     * single-threaded.
+     */
+    @get:Optional
+    @get:Internal
+    val parallelism = project.objects.property<Int>()
+
+    /**
+     * Record content hashes of generated files and an input fingerprint in .openapi-generator/MANIFEST.json, and skip
+     * unchanged files (or the whole run, if the inputs are unchanged) on the next run.
+     */
+    @get:Optional
+    @get:Internal
+    val incrementalGeneration = project.objects.property<Boolean>()
+
+    /**
+     * Parse the input spec again rather than reusing the result of a previous parse of the same spec in this build.
+     */
+    @get:Optional
+    @get:Internal
+    val skipSpecCache = project.objects.property<Boolean>()
+
+    /**
+     * Run the external file post-processors on virtual threads (Java 21 or later, platform threads otherwise), so that
+     * they do not hold the threads rendering files.
+     */
+    @get:Optional
+    @get:Internal
+    val virtualThreads = project.objects.property<Boolean>()
+
     /**
      * To skip spec validation. When true, we will skip the default behavior of validating a spec before generation.
      */
@@ -835,6 +866,22 @@ open class GenerateTask @Inject constructor(private val objectFactory: ObjectFac
                 configurator.setEnablePostProcessFile(value)
             }
 
+            parallelism.ifNotEmpty { value ->
+                configurator.setParallelism(value)
+            }
+
+            incrementalGeneration.ifNotEmpty { value ->
+                configurator.setEnableIncrementalGeneration(value)
+            }
+
+            skipSpecCache.ifNotEmpty { value ->
+                configurator.setUseSpecCache(!value)
+            }
+
+            virtualThreads.ifNotEmpty { value ->
+                configurator.setUseVirtualThreads(value)
+            }
+
             skipValidateSpec.ifNotEmpty { value ->
                 configurator.setValidateSpec(!value)
             }
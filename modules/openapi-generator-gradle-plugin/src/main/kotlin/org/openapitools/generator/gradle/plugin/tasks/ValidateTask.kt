@@ -66,6 +66,13 @@ open class ValidateTask : DefaultTask() {
     @get:Input
     val treatWarningsAsErrors = project.objects.property<Boolean>().convention(false)
 
+    @get:Internal
+    val parallelism = project.objects.property<Int>().convention(1)
+
+    @get:Optional
+    @get:Input
+    val failFast = project.objects.property<Boolean>().convention(false)
+
     @get:Internal
     @set:Option(option = "input", description = "The input specification.")
     var input: String? = null
@@ -92,6 +99,9 @@ open class ValidateTask : DefaultTask() {
 
         val ruleConfiguration = RuleConfiguration()
         ruleConfiguration.isEnableRecommendations = recommendations
+        ruleConfiguration.parallelism = parallelism.get()
+        ruleConfiguration.isFailFast = failFast.get()
+        ruleConfiguration.isFailFastOnWarnings = failOnWarnings
 
         val evaluator = OpenApiEvaluator(ruleConfiguration)
         val validationResult = evaluator.validate(result.openAPI)
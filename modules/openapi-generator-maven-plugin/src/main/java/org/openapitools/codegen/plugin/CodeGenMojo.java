@@ -327,6 +327,30 @@ public class CodeGenMojo extends AbstractMojo {
     @Parameter(name = "minimalUpdate", property = "openapi.generator.maven.plugin.minimalUpdate")
     private Boolean minimalUpdate;
 
+    /**
+     * Number of threads used to render and write model and API files.
+     */
+    @Parameter(name = "parallelism", property = "openapi.generator.maven.plugin.parallelism")
+    private Integer parallelism;
+
+    /**
+     * Record content hashes of generated files and skip unchanged files, or the whole run if its inputs are unchanged.
+     */
+    @Parameter(name = "incrementalGeneration", property = "openapi.generator.maven.plugin.incrementalGeneration")
+    private Boolean incrementalGeneration;
+
+    /**
+     * Parse the input spec again rather than reusing the result of a previous parse of the same spec in this build.
+     */
+    @Parameter(name = "skipSpecCache", property = "openapi.generator.maven.plugin.skipSpecCache")
+    private Boolean skipSpecCache;
+
+    /**
+     * Run the external file post-processors on virtual threads, so that they do not hold the threads rendering files.
+     */
+    @Parameter(name = "virtualThreads", property = "openapi.generator.maven.plugin.virtualThreads")
+    private Boolean virtualThreads;
+
     /**
      * A map of language-specific parameters as passed with the -c option to the command line
      */
@@ -708,6 +732,22 @@ public class CodeGenMojo extends AbstractMojo {
                 configurator.setEnableMinimalUpdate(minimalUpdate);
             }
 
+            if (parallelism != null) {
+                configurator.setParallelism(parallelism);
+            }
+
+            if (incrementalGeneration != null) {
+                configurator.setEnableIncrementalGeneration(incrementalGeneration);
+            }
+
+            if (skipSpecCache != null) {
+                configurator.setUseSpecCache(!skipSpecCache);
+            }
+
+            if (virtualThreads != null) {
+                configurator.setUseVirtualThreads(virtualThreads);
+            }
+
             if (isNotEmpty(generatorName)) {
                 configurator.setGeneratorName(generatorName);
             } else {
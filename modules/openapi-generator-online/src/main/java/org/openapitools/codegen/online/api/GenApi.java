@@ -25,13 +25,14 @@ package org.openapitools.codegen.online.api;
 import io.swagger.annotations.*;
 import org.openapitools.codegen.CliOption;
 import org.openapitools.codegen.online.model.GeneratorInput;
+import org.openapitools.codegen.online.model.JobStatus;
 import org.openapitools.codegen.online.model.ResponseCode;
-import org.springframework.core.io.Resource;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.multipart.MultipartFile;
 
 import javax.validation.Valid;
@@ -52,13 +53,15 @@ public interface GenApi {
     }
 
 
-    @ApiOperation(value = "Downloads a pre-generated file", nickname = "downloadFile", notes = "A valid `fileId` is generated by the `/clients/{language}` or `/servers/{language}` POST operations.  The fileId code can be used just once, after which a new `fileId` will need to be requested.", response = MultipartFile.class, tags = {"clients", "servers",})
+    @ApiOperation(value = "Downloads a pre-generated file", nickname = "downloadFile", notes = "A valid `fileId` is generated by the `/clients/{language}` or `/servers/{language}` POST operations, or is the code of a job submitted to `/jobs/clients/{language}` or `/jobs/servers/{framework}`.  The file is kept for a limited time, after which a new `fileId` will need to be requested.", response = MultipartFile.class, tags = {"clients", "servers",})
     @ApiResponses(value = {
-            @ApiResponse(code = 200, message = "successful operation", response = MultipartFile.class)})
+            @ApiResponse(code = 200, message = "successful operation", response = MultipartFile.class),
+            @ApiResponse(code = 404, message = "unknown or expired file"),
+            @ApiResponse(code = 409, message = "the job is not finished yet")})
     @RequestMapping(value = "/gen/download/{fileId}",
             produces = {"application/octet-stream"},
             method = RequestMethod.GET)
-    default ResponseEntity<Resource> downloadFile(@ApiParam(value = "", required = true) @PathVariable("fileId") String fileId) {
+    default ResponseEntity<StreamingResponseBody> downloadFile(@ApiParam(value = "", required = true) @PathVariable("fileId") String fileId) {
         return getDelegate().downloadFile(fileId);
     }
 
@@ -83,6 +86,42 @@ public interface GenApi {
     }
 
 
+    @ApiOperation(value = "Submits the generation of a client library", nickname = "submitClientJob", notes = "Accepts a `GeneratorInput` options map for spec location and generation options. The returned job code can be polled with `/jobs/{jobId}`, and used to download the library once it is generated.", response = JobStatus.class, tags = {"clients",})
+    @ApiResponses(value = {
+            @ApiResponse(code = 202, message = "job accepted", response = JobStatus.class),
+            @ApiResponse(code = 429, message = "too many jobs are queued")})
+    @RequestMapping(value = "/gen/jobs/clients/{language}",
+            produces = {"application/json"},
+            method = RequestMethod.POST)
+    default ResponseEntity<JobStatus> submitClientJob(@ApiParam(value = "The target language for the client library", required = true) @PathVariable("language") String language, @ApiParam(value = "Configuration for building the client library", required = true) @Valid @RequestBody GeneratorInput generatorInput) {
+        return getDelegate().submitClientJob(language, generatorInput);
+    }
+
+
+    @ApiOperation(value = "Submits the generation of a server library", nickname = "submitServerJob", notes = "Accepts a `GeneratorInput` options map for spec location and generation options. The returned job code can be polled with `/jobs/{jobId}`, and used to download the library once it is generated.", response = JobStatus.class, tags = {"servers",})
+    @ApiResponses(value = {
+            @ApiResponse(code = 202, message = "job accepted", response = JobStatus.class),
+            @ApiResponse(code = 429, message = "too many jobs are queued")})
+    @RequestMapping(value = "/gen/jobs/servers/{framework}",
+            produces = {"application/json"},
+            method = RequestMethod.POST)
+    default ResponseEntity<JobStatus> submitServerJob(@ApiParam(value = "framework", required = true) @PathVariable("framework") String framework, @ApiParam(value = "parameters", required = true) @Valid @RequestBody GeneratorInput generatorInput) {
+        return getDelegate().submitServerJob(framework, generatorInput);
+    }
+
+
+    @ApiOperation(value = "Returns the status of a generation job", nickname = "getJob", notes = "", response = JobStatus.class, tags = {"clients", "servers",})
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "successful operation", response = JobStatus.class),
+            @ApiResponse(code = 404, message = "unknown or expired job")})
+    @RequestMapping(value = "/gen/jobs/{jobId}",
+            produces = {"application/json"},
+            method = RequestMethod.GET)
+    default ResponseEntity<JobStatus> getJob(@ApiParam(value = "", required = true) @PathVariable("jobId") String jobId) {
+        return getDelegate().getJob(jobId);
+    }
+
+
     @ApiOperation(value = "Returns options for a client library", nickname = "getClientOptions", notes = "", tags = {"clients",})
     @ApiResponses(value = {
             @ApiResponse(code = 200, message = "successful operation")})
@@ -19,12 +19,13 @@ package org.openapitools.codegen.online.api;
 
 import org.openapitools.codegen.CliOption;
 import org.openapitools.codegen.online.model.GeneratorInput;
+import org.openapitools.codegen.online.model.JobStatus;
 import org.openapitools.codegen.online.model.ResponseCode;
-import org.springframework.core.io.Resource;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.Map;
@@ -60,10 +61,10 @@ public interface GenApiDelegate {
 
     /**
      * @param fileId The unique id of the file, provided in a {@link ResponseCode} response.
-     * @return A {@link ResponseEntity} of the requested {@link Resource}.
+     * @return A {@link ResponseEntity} streaming the requested zip archive.
      * @see GenApi#downloadFile
      */
-    default ResponseEntity<Resource> downloadFile(String fileId) {
+    default ResponseEntity<StreamingResponseBody> downloadFile(String fileId) {
         return new ResponseEntity<>(HttpStatus.NOT_IMPLEMENTED);
 
     }
@@ -108,6 +109,40 @@ public interface GenApiDelegate {
 
     }
 
+    /**
+     * @param language       The target generator (language is a misnomer here, but kept for API consistency).
+     * @param generatorInput The configuration settings to be used during client generation.
+     * @return A {@link ResponseEntity} with the {@link JobStatus} of the queued generation.
+     * @see GenApi#submitClientJob
+     */
+    default ResponseEntity<JobStatus> submitClientJob(String language,
+                                                      GeneratorInput generatorInput) {
+        return new ResponseEntity<>(HttpStatus.NOT_IMPLEMENTED);
+
+    }
+
+    /**
+     * @param framework      The target generator name.
+     * @param generatorInput The configuration settings to be used during server generation.
+     * @return A {@link ResponseEntity} with the {@link JobStatus} of the queued generation.
+     * @see GenApi#submitServerJob
+     */
+    default ResponseEntity<JobStatus> submitServerJob(String framework,
+                                                      GeneratorInput generatorInput) {
+        return new ResponseEntity<>(HttpStatus.NOT_IMPLEMENTED);
+
+    }
+
+    /**
+     * @param jobId The code of the job, provided in a {@link JobStatus} response.
+     * @return A {@link ResponseEntity} with the current {@link JobStatus} of the job.
+     * @see GenApi#getJob
+     */
+    default ResponseEntity<JobStatus> getJob(String jobId) {
+        return new ResponseEntity<>(HttpStatus.NOT_IMPLEMENTED);
+
+    }
+
     /**
      * @param language The target generator (language is a misnomer here, but kept for API consistency).
      * @return A {@link ResponseEntity} of {@link CliOption}, grouped by language (generator name).
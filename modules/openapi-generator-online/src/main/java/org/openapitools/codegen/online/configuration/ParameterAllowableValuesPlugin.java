@@ -39,10 +39,12 @@ public class ParameterAllowableValuesPlugin implements ParameterBuilderPlugin {
         switch (name) {
             case "getClientOptions":
             case "generateClient":
+            case "submitClientJob":
                 parameterContext.parameterBuilder().allowableValues(new AllowableListValues(clients, "string"));
                 break;
             case "getServerOptions":
             case "generateServerForLanguage":
+            case "submitServerJob":
                 parameterContext.parameterBuilder().allowableValues(new AllowableListValues(servers, "string"));
         }
     }
@@ -19,10 +19,11 @@ package org.openapitools.codegen.online.model;
 
 import lombok.Getter;
 import lombok.Setter;
+import org.openapitools.codegen.online.service.GeneratedFiles;
 
 @Getter
 @Setter
 public class Generated {
-    private String filename;
+    private GeneratedFiles files;
     private String friendlyName;
 }
@@ -17,7 +17,6 @@
 
 package org.openapitools.codegen.online.service;
 
-import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.openapitools.codegen.CliOption;
 import org.openapitools.codegen.CodegenConfig;
@@ -26,25 +25,19 @@ import org.openapitools.codegen.CodegenType;
 import org.openapitools.codegen.online.api.GenApiDelegate;
 import org.openapitools.codegen.online.model.Generated;
 import org.openapitools.codegen.online.model.GeneratorInput;
+import org.openapitools.codegen.online.model.JobStatus;
 import org.openapitools.codegen.online.model.ResponseCode;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.core.io.ByteArrayResource;
-import org.springframework.core.io.Resource;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.web.context.request.NativeWebRequest;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import org.springframework.web.util.UriComponentsBuilder;
 
-import java.io.File;
-import java.io.FileNotFoundException;
-import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.util.*;
 
 @Service
@@ -52,7 +45,6 @@ public class GenApiService implements GenApiDelegate {
 
     private static List<String> clients = new ArrayList<>();
     private static List<String> servers = new ArrayList<>();
-    private static Map<String, Generated> fileMap = new HashMap<>();
 
     static {
         List<CodegenConfig> extensions = CodegenConfigLoader.getAll();
@@ -72,46 +64,43 @@ public class GenApiService implements GenApiDelegate {
     @Autowired
     private NativeWebRequest request;
 
+    @Autowired
+    private GenerationJobService jobService;
+
     @Override
     public Optional<NativeWebRequest> getRequest() {
         return Optional.ofNullable(request);
     }
 
     @Override
-    public ResponseEntity<Resource> downloadFile(String fileId) {
-        Generated g = fileMap.get(fileId);
-        System.out.println("looking for fileId " + fileId);
-        System.out.println("got filename " + g.getFilename());
-
-        File file = new File(g.getFilename());
-        Path path = Paths.get(file.getAbsolutePath());
-        ByteArrayResource resource;
-        try {
-            resource = new ByteArrayResource(Files.readAllBytes(path));
-        } catch (FileNotFoundException e) {
-            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "File not found", e);
-        } catch (IOException e) {
-            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "I/O error while reading file", e);
-        }
-        try {
-            FileUtils.deleteDirectory(file.getParentFile());
-        } catch (IOException e) {
-            System.out.println("failed to delete file " + file.getAbsolutePath());
+    public ResponseEntity<StreamingResponseBody> downloadFile(String fileId) {
+        Generated g = getGenerated(fileId);
+        GeneratedFiles files = g.getFiles();
+        // keep the files while they are sent, even if they are evicted in the meantime
+        if (!files.acquire()) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Unknown or expired file " + fileId);
         }
+
+        // the archive is compressed while it is sent, so its length is not known upfront
         return ResponseEntity
                 .ok()
                 .contentType(MediaType.valueOf("application/zip"))
                 .header("Content-Disposition",
                         "attachment; filename=\"" + g.getFriendlyName() + "-generated.zip\"")
-                .header("Accept-Range", "bytes")
-                //.header("Content-Length", bytes.length)
-                .body(resource);
+                .body(out -> {
+                    try {
+                        files.writeZip(out);
+                    } finally {
+                        files.release();
+                    }
+                });
     }
 
     @Override
     public ResponseEntity<ResponseCode> generateClient(String language, GeneratorInput generatorInput) {
-        String filename = Generator.generateClient(language, generatorInput);
-        return getResponse(filename, language + "-client");
+        GenerationJobService.Job job = jobService.submit(language, generatorInput, Generator.Type.CLIENT);
+        job.await();
+        return getResponse(job.getId());
     }
 
     @Override
@@ -151,33 +140,78 @@ public class GenApiService implements GenApiDelegate {
         if (framework == null) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Framework is required");
         }
-        String filename = Generator.generateServer(framework, generatorInput);
-        System.out.println("generated name: " + filename);
+        GenerationJobService.Job job = jobService.submit(framework, generatorInput, Generator.Type.SERVER);
+        job.await();
+        return getResponse(job.getId());
+    }
 
-        return getResponse(filename, framework + "-server");
+    @Override
+    public ResponseEntity<JobStatus> submitClientJob(String language, GeneratorInput generatorInput) {
+        return accepted(jobService.submit(language, generatorInput, Generator.Type.CLIENT));
     }
 
-    private ResponseEntity<ResponseCode> getResponse(String filename, String friendlyName) {
-        String host = System.getenv("GENERATOR_HOST");
+    @Override
+    public ResponseEntity<JobStatus> submitServerJob(String framework, GeneratorInput generatorInput) {
+        return accepted(jobService.submit(framework, generatorInput, Generator.Type.SERVER));
+    }
 
-        UriComponentsBuilder uriBuilder;
-        if (!StringUtils.isBlank(host)) {
-            uriBuilder = UriComponentsBuilder.fromUriString(host);
-        } else {
-            uriBuilder = ServletUriComponentsBuilder.fromCurrentContextPath();
+    @Override
+    public ResponseEntity<JobStatus> getJob(String jobId) {
+        GenerationJobService.Job job = jobService.getJob(jobId);
+        if (job == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Unknown or expired job " + jobId);
+        }
+        return ResponseEntity.ok().body(toStatus(job));
+    }
+
+    private Generated getGenerated(String fileId) {
+        GenerationJobService.Job job = jobService.getJob(fileId);
+        if (job == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Unknown or expired file " + fileId);
         }
+        switch (job.getStatus()) {
+            case DONE:
+                return job.getGenerated();
+            case FAILED:
+                throw GenerationJobService.Job.failure(job.getError());
+            default:
+                throw new ResponseStatusException(HttpStatus.CONFLICT, "The generation of " + fileId + " is not finished");
+        }
+    }
+
+    private ResponseEntity<JobStatus> accepted(GenerationJobService.Job job) {
+        return ResponseEntity
+                .accepted()
+                .location(uriBuilder().path("/api/gen/jobs/").path(job.getId()).build().toUri())
+                .body(toStatus(job));
+    }
+
+    private JobStatus toStatus(GenerationJobService.Job job) {
+        GenerationJobService.Status status = job.getStatus();
+        String link = status == GenerationJobService.Status.DONE ? downloadLink(job.getId()) : null;
+        String message = null;
+        if (status == GenerationJobService.Status.FAILED) {
+            Throwable error = job.getError();
+            message = error instanceof ResponseStatusException ? ((ResponseStatusException) error).getReason() : error.getMessage();
+        }
+        return new JobStatus(job.getId(), status.name(), link, message);
+    }
 
-        if (filename != null) {
-            String code = UUID.randomUUID().toString();
-            Generated g = new Generated();
-            g.setFilename(filename);
-            g.setFriendlyName(friendlyName);
-            fileMap.put(code, g);
-            System.out.println(code + ", " + filename);
-            String link = uriBuilder.path("/api/gen/download/").path(code).toUriString();
-            return ResponseEntity.ok().body(new ResponseCode(code, link));
+    private ResponseEntity<ResponseCode> getResponse(String code) {
+        return ResponseEntity.ok().body(new ResponseCode(code, downloadLink(code)));
+    }
+
+    private String downloadLink(String code) {
+        return uriBuilder().path("/api/gen/download/").path(code).toUriString();
+    }
+
+    private UriComponentsBuilder uriBuilder() {
+        String host = System.getenv("GENERATOR_HOST");
+
+        if (!StringUtils.isBlank(host)) {
+            return UriComponentsBuilder.fromUriString(host);
         } else {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+            return ServletUriComponentsBuilder.fromCurrentContextPath();
         }
     }
 
@@ -0,0 +1,193 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen.online.service;
+
+import org.apache.commons.io.FileUtils;
+import org.openapitools.codegen.api.OutputSink;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Collects generated files in memory, up to a number of bytes beyond which files are spilled to a temporary
+ * directory, and writes them out as a zip archive.
+ * <p>
+ * The files are released once their owner has deleted them and every download which {@link #acquire() acquired}
+ * them has {@link #release() released} them.
+ */
+public class GeneratedFiles implements OutputSink {
+    // the modification time of all entries, so that archives of identical requests are identical
+    private static final LocalDateTime ENTRY_TIME = LocalDateTime.of(1980, 1, 1, 0, 0);
+
+    private final Path root;
+    private final long maxMemoryBytes;
+
+    // entries by their path in the archive, sorted so that archives of identical requests are identical
+    private final Map<String, Object> entries = new TreeMap<>();
+    private long memoryBytes;
+    private long size;
+    private Path spillDirectory;
+    private int spilled;
+    // the owner's reference, and one for each download in progress
+    private int references = 1;
+    private boolean deleted;
+
+    /**
+     * @param root           the directory the generator writes to, whose last segment is the root folder of the archive
+     * @param maxMemoryBytes the number of bytes kept in memory, beyond which files are spilled to disk
+     */
+    public GeneratedFiles(Path root, long maxMemoryBytes) {
+        this.root = root.toAbsolutePath().normalize();
+        this.maxMemoryBytes = maxMemoryBytes;
+    }
+
+    @Override
+    public OutputStream newOutputStream(Path path) {
+        Path absolute = path.toAbsolutePath().normalize();
+        if (!absolute.startsWith(root)) {
+            throw new IllegalArgumentException("Generated file " + path + " is outside of " + root);
+        }
+        String name = root.getParent().relativize(absolute).toString().replace('\\', '/');
+        return new ByteArrayOutputStream() {
+            @Override
+            public void close() throws IOException {
+                add(name, toByteArray());
+            }
+        };
+    }
+
+    private synchronized void add(String name, byte[] contents) throws IOException {
+        remove(entries.get(name));
+        if (memoryBytes + contents.length <= maxMemoryBytes) {
+            memoryBytes += contents.length;
+            entries.put(name, contents);
+        } else {
+            if (spillDirectory == null) {
+                spillDirectory = Files.createTempDirectory("codegen-spill");
+            }
+            Path file = spillDirectory.resolve(Integer.toString(spilled++));
+            Files.write(file, contents);
+            entries.put(name, file);
+        }
+        size += contents.length;
+    }
+
+    private void remove(Object previous) throws IOException {
+        if (previous instanceof byte[]) {
+            memoryBytes -= ((byte[]) previous).length;
+            size -= ((byte[]) previous).length;
+        } else if (previous instanceof Path) {
+            size -= Files.size((Path) previous);
+            Files.delete((Path) previous);
+        }
+    }
+
+    /**
+     * @return the number of generated files
+     */
+    public synchronized int getCount() {
+        return entries.size();
+    }
+
+    /**
+     * @return the total size of the generated files, in bytes
+     */
+    public synchronized long getSize() {
+        return size;
+    }
+
+    synchronized Path getSpillDirectory() {
+        return spillDirectory;
+    }
+
+    /**
+     * Writes the generated files as a zip archive. The stream is finished, but not closed.
+     *
+     * @param out the stream to write the archive to
+     * @throws IOException if the archive cannot be written, or a spilled file read
+     */
+    public void writeZip(OutputStream out) throws IOException {
+        Map<String, Object> snapshot;
+        synchronized (this) {
+            snapshot = new TreeMap<>(entries);
+        }
+        ZipOutputStream zip = new ZipOutputStream(out);
+        for (Map.Entry<String, Object> entry : snapshot.entrySet()) {
+            ZipEntry zipEntry = new ZipEntry(entry.getKey());
+            zipEntry.setTimeLocal(ENTRY_TIME);
+            zip.putNextEntry(zipEntry);
+            if (entry.getValue() instanceof byte[]) {
+                zip.write((byte[]) entry.getValue());
+            } else {
+                Files.copy((Path) entry.getValue(), zip);
+            }
+            zip.closeEntry();
+        }
+        zip.finish();
+    }
+
+    /**
+     * Keeps the generated files until {@link #release()} is called, e.g. while they are downloaded.
+     *
+     * @return false if the files have already been released
+     */
+    public synchronized boolean acquire() {
+        if (references == 0) {
+            return false;
+        }
+        references++;
+        return true;
+    }
+
+    /**
+     * Releases a reference obtained by {@link #acquire()}, deleting the files if they have been deleted by their owner
+     * in the meantime.
+     */
+    public synchronized void release() {
+        if (references > 0 && --references == 0) {
+            clear();
+        }
+    }
+
+    /**
+     * Releases the generated files, deleting those spilled to disk once no download is in progress.
+     */
+    public synchronized void delete() {
+        if (!deleted) {
+            deleted = true;
+            release();
+        }
+    }
+
+    private void clear() {
+        entries.clear();
+        memoryBytes = 0;
+        size = 0;
+        if (spillDirectory != null) {
+            FileUtils.deleteQuietly(spillDirectory.toFile());
+            spillDirectory = null;
+        }
+    }
+}
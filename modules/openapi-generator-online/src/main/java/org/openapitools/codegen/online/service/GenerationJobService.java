@@ -0,0 +1,378 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen.online.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.swagger.v3.parser.core.models.AuthorizationValue;
+import org.openapitools.codegen.config.GlobalSettings;
+import org.openapitools.codegen.online.model.Generated;
+import org.openapitools.codegen.online.model.GeneratorInput;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import javax.annotation.PreDestroy;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * Runs generation requests on a bounded pool of workers and keeps the generated files for later downloads.
+ * <p>
+ * Requests are rejected with {@code 429 Too Many Requests} once every worker is busy and the queue is full. Results
+ * are keyed by a digest of the specification, the generator and its options, so an identical request is served from
+ * the files of the earlier one (or joins it while it is still running) under the same job id, so that only requests
+ * which run a generation add a job. Specifications given by URL are fetched by each request, as their contents may
+ * have changed since an earlier one. Generated files are released, along with those spilled to disk, once they are
+ * older than the configured time to live, or least recently used first when there are more of them than the
+ * configured count or size.
+ */
+@Service
+public class GenerationJobService {
+    private static final Logger LOGGER = LoggerFactory.getLogger(GenerationJobService.class);
+
+    private static final ObjectMapper KEY_MAPPER = new ObjectMapper()
+            .configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true);
+
+    public enum Status {QUEUED, RUNNING, DONE, FAILED}
+
+    interface Generation {
+        GeneratedFiles generate(String generatorName, GeneratorInput input, Generator.Type type);
+    }
+
+    private final ThreadPoolExecutor executor;
+    private final ScheduledExecutorService evictor;
+    private final Generation generation;
+    private final LongSupplier clock;
+    private final long ttlMillis;
+    private final int maxResults;
+    private final long maxBytes;
+
+    private final Map<String, Result> results = new HashMap<>();
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+
+    @Autowired
+    public GenerationJobService(@Value("${generator.jobs.workers:0}") int workers,
+                                @Value("${generator.jobs.queue-capacity:100}") int queueCapacity,
+                                @Value("${generator.jobs.ttl-seconds:1800}") long ttlSeconds,
+                                @Value("${generator.jobs.max-cached-results:100}") int maxResults,
+                                @Value("${generator.jobs.max-cached-bytes:536870912}") long maxBytes,
+                                @Value("${generator.jobs.max-memory-bytes:16777216}") long maxMemoryBytes) {
+        this(workers, queueCapacity, TimeUnit.SECONDS.toMillis(ttlSeconds), maxResults, maxBytes,
+                (name, input, type) -> Generator.generate(name, input, type, maxMemoryBytes), System::currentTimeMillis);
+        long period = Math.max(1000L, Math.min(ttlMillis, TimeUnit.MINUTES.toMillis(1)));
+        evictor.scheduleWithFixedDelay(this::evict, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    GenerationJobService(int workers, int queueCapacity, long ttlMillis, int maxResults, long maxBytes,
+                         Generation generation, LongSupplier clock) {
+        int threads = workers > 0 ? workers : Runtime.getRuntime().availableProcessors();
+        BlockingQueue<Runnable> queue = queueCapacity > 0 ? new ArrayBlockingQueue<>(queueCapacity) : new SynchronousQueue<>();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS, queue, daemonThreads("generator-job-"));
+        this.evictor = Executors.newSingleThreadScheduledExecutor(daemonThreads("generator-job-evictor-"));
+        this.generation = generation;
+        this.clock = clock;
+        this.ttlMillis = ttlMillis;
+        this.maxResults = maxResults;
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Queues the generation of an archive, unless an identical request has already been generated or queued, in which
+     * case the job of that request is returned.
+     *
+     * @param generatorName the name of the generator
+     * @param input         the specification and generation options
+     * @param type          whether a client or a server is generated
+     * @return the job, whose id can be used to poll its status and download its archive
+     * @throws ResponseStatusException with {@code 429 Too Many Requests} when the queue is full
+     */
+    public Job submit(String generatorName, GeneratorInput input, Generator.Type type) {
+        // a unique key, so that the request is neither served from nor joined by another one
+        String key = hasSpec(input) ? key(generatorName, input, type) : "url-" + UUID.randomUUID();
+        long now = clock.getAsLong();
+        Result result;
+        synchronized (results) {
+            result = results.get(key);
+            if (result == null || result.isExpired(now)) {
+                if (result != null) {
+                    remove(result);
+                }
+                result = new Result(key, generatorName + "-" + type.getTypeName(), now);
+                Result queued = result;
+                Callable<Void> task = GlobalSettings.propagate(() -> {
+                    run(queued, generatorName, input, type);
+                    return null;
+                });
+                try {
+                    executor.submit(task);
+                } catch (RejectedExecutionException e) {
+                    throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS,
+                            "Too many generation requests are queued, please retry later");
+                }
+                results.put(key, result);
+                jobs.put(result.job.getId(), result.job);
+            } else {
+                LOGGER.debug("serving {} {} from the result of {}", type.getTypeName(), generatorName, key);
+            }
+            result.lastAccessMillis = now;
+        }
+        return result.job;
+    }
+
+    /**
+     * @param jobId the id of a submitted job
+     * @return the job, or null if there is no such job or its archive has been evicted
+     */
+    public Job getJob(String jobId) {
+        Job job = jobs.get(jobId);
+        long now = clock.getAsLong();
+        if (job == null || job.result.evicted || job.result.isExpired(now)) {
+            return null;
+        }
+        job.result.lastAccessMillis = now;
+        return job;
+    }
+
+    private void run(Result result, String generatorName, GeneratorInput input, Generator.Type type) {
+        result.started = true;
+        try {
+            GeneratedFiles files = generation.generate(generatorName, input, type);
+            Generated generated = new Generated();
+            generated.setFiles(files);
+            generated.setFriendlyName(generatorName + "-" + type.getTypeName());
+            result.size = files.getSize();
+            result.future.complete(generated);
+        } catch (Throwable e) {
+            synchronized (results) {
+                results.remove(result.key, result);
+            }
+            result.future.completeExceptionally(e);
+        }
+        evict();
+    }
+
+    /**
+     * Releases generated files which are expired, then the least recently used ones until the cache is within its limits.
+     */
+    void evict() {
+        long now = clock.getAsLong();
+        synchronized (results) {
+            List<Result> done = new ArrayList<>();
+            for (Result result : new ArrayList<>(results.values())) {
+                if (result.isExpired(now)) {
+                    remove(result);
+                } else if (result.future.isDone()) {
+                    done.add(result);
+                }
+            }
+            done.sort(Comparator.comparingLong(r -> r.lastAccessMillis));
+            long bytes = 0;
+            for (Result result : done) {
+                bytes += result.size;
+            }
+            Iterator<Result> eldest = done.iterator();
+            while (eldest.hasNext() && (results.size() > maxResults || bytes > maxBytes)) {
+                Result result = eldest.next();
+                bytes -= result.size;
+                remove(result);
+            }
+        }
+        jobs.values().removeIf(job -> job.result.evicted || now - job.createdMillis > ttlMillis);
+    }
+
+    private void remove(Result result) {
+        results.remove(result.key, result);
+        jobs.remove(result.job.getId(), result.job);
+        result.evicted = true;
+        Generated generated = result.future.isCompletedExceptionally() ? null : result.future.getNow(null);
+        if (generated != null) {
+            LOGGER.debug("evicting {} of {}", generated.getFriendlyName(), result.key);
+            generated.getFiles().delete();
+        }
+    }
+
+    int cachedResults() {
+        synchronized (results) {
+            return results.size();
+        }
+    }
+
+    int trackedJobs() {
+        return jobs.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        evictor.shutdownNow();
+        executor.shutdownNow();
+        synchronized (results) {
+            for (Result result : new ArrayList<>(results.values())) {
+                remove(result);
+            }
+        }
+        jobs.clear();
+    }
+
+    static String key(String generatorName, GeneratorInput input, Generator.Type type) {
+        Map<String, Object> key = new HashMap<>();
+        key.put("generator", generatorName);
+        key.put("type", type.getTypeName());
+        if (input != null) {
+            key.put("spec", input.getSpec());
+            key.put("options", input.getOptions());
+            key.put("openapiNormalizer", input.getOpenapiNormalizer());
+            AuthorizationValue authorization = input.getAuthorizationValue();
+            if (authorization != null) {
+                key.put("authorization", Arrays.asList(authorization.getKeyName(), authorization.getValue(), authorization.getType()));
+            }
+        }
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = digest.digest(KEY_MAPPER.writeValueAsString(key).getBytes(StandardCharsets.UTF_8));
+            return String.format(Locale.ROOT, "%064x", new BigInteger(1, hash));
+        } catch (NoSuchAlgorithmException | JsonProcessingException e) {
+            throw new IllegalStateException("Unable to compute the cache key", e);
+        }
+    }
+
+    private static boolean hasSpec(GeneratorInput input) {
+        JsonNode spec = input != null ? input.getSpec() : null;
+        // an empty specification is ignored in favour of the URL
+        return spec != null && !"{}".equals(spec.toString());
+    }
+
+    private static ThreadFactory daemonThreads(String namePrefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return task -> {
+            Thread thread = new Thread(task, namePrefix + counter.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private final class Result {
+        private final String key;
+        private final long createdMillis;
+        private final Job job;
+        private final CompletableFuture<Generated> future = new CompletableFuture<>();
+        private volatile boolean started;
+        private volatile boolean evicted;
+        private volatile long lastAccessMillis;
+        private volatile long size;
+
+        private Result(String key, String friendlyName, long createdMillis) {
+            this.key = key;
+            this.createdMillis = createdMillis;
+            this.job = new Job(UUID.randomUUID().toString(), friendlyName, this, createdMillis);
+            this.lastAccessMillis = createdMillis;
+        }
+
+        private boolean isExpired(long now) {
+            return future.isDone() && now - createdMillis > ttlMillis;
+        }
+    }
+
+    /**
+     * A submitted generation request. Identical requests share the same job, and thus the same archive.
+     */
+    public static final class Job {
+        private final String id;
+        private final String friendlyName;
+        private final Result result;
+        private final long createdMillis;
+
+        private Job(String id, String friendlyName, Result result, long createdMillis) {
+            this.id = id;
+            this.friendlyName = friendlyName;
+            this.result = result;
+            this.createdMillis = createdMillis;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public String getFriendlyName() {
+            return friendlyName;
+        }
+
+        public Status getStatus() {
+            if (result.future.isCompletedExceptionally()) {
+                return Status.FAILED;
+            } else if (result.future.isDone()) {
+                return Status.DONE;
+            }
+            return result.started ? Status.RUNNING : Status.QUEUED;
+        }
+
+        /**
+         * @return the cause of the failure of a {@link Status#FAILED} job, otherwise null
+         */
+        public Throwable getError() {
+            try {
+                result.future.getNow(null);
+                return null;
+            } catch (CompletionException | CancellationException e) {
+                return e.getCause() != null ? e.getCause() : e;
+            }
+        }
+
+        /**
+         * @return the generated archive of a {@link Status#DONE} job, otherwise null
+         */
+        public Generated getGenerated() {
+            return getStatus() == Status.DONE ? result.future.getNow(null) : null;
+        }
+
+        /**
+         * Waits for the job to finish.
+         *
+         * @return the generated archive
+         * @throws ResponseStatusException if the generation failed
+         */
+        public Generated await() {
+            try {
+                return result.future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Interrupted while generating", e);
+            } catch (ExecutionException e) {
+                throw failure(e.getCause());
+            }
+        }
+
+        static ResponseStatusException failure(Throwable error) {
+            if (error instanceof ResponseStatusException) {
+                return (ResponseStatusException) error;
+            }
+            return new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Unable to build target: " + error.getMessage(), error);
+        }
+    }
+}
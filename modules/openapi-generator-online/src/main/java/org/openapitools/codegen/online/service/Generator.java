@@ -22,6 +22,7 @@ import io.swagger.parser.OpenAPIParser;
 import io.swagger.v3.oas.models.OpenAPI;
 import io.swagger.v3.parser.core.models.AuthorizationValue;
 import io.swagger.v3.parser.core.models.ParseOptions;
+import org.apache.commons.io.FileUtils;
 import org.openapitools.codegen.*;
 import org.openapitools.codegen.online.model.GeneratorInput;
 import org.slf4j.Logger;
@@ -30,12 +31,15 @@ import org.springframework.http.HttpStatus;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.io.File;
-import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.util.*;
 
 public class Generator {
     private static Logger LOGGER = LoggerFactory.getLogger(Generator.class);
 
+    // the generated files kept in memory by default, beyond which they are spilled to disk
+    static final long DEFAULT_MAX_MEMORY_BYTES = 16L * 1024 * 1024;
+
     public static Map<String, CliOption> getOptions(String language) {
         CodegenConfig config;
         try {
@@ -65,15 +69,15 @@ public class Generator {
         }
     }
 
-    public static String generateClient(String language, GeneratorInput opts) {
-        return generate(language, opts, Type.CLIENT);
+    public static GeneratedFiles generateClient(String language, GeneratorInput opts) {
+        return generate(language, opts, Type.CLIENT, DEFAULT_MAX_MEMORY_BYTES);
     }
 
-    public static String generateServer(String language, GeneratorInput opts) {
-        return generate(language, opts, Type.SERVER);
+    public static GeneratedFiles generateServer(String language, GeneratorInput opts) {
+        return generate(language, opts, Type.SERVER, DEFAULT_MAX_MEMORY_BYTES);
     }
 
-    private static String generate(String language, GeneratorInput opts, Type type) {
+    static GeneratedFiles generate(String language, GeneratorInput opts, Type type, long maxMemoryBytes) {
         LOGGER.debug(String.format(Locale.ROOT, "generate %s for %s", type.getTypeName(), language));
         if (opts == null) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "No options were supplied");
@@ -116,8 +120,6 @@ public class Generator {
         String destPath = language + "-" + type.getTypeName();
 
         ClientOptInput clientOptInput = new ClientOptInput();
-        String outputFolder = getTmpFolder().getAbsolutePath() + File.separator + destPath;
-        String outputFilename = outputFolder + "-bundle.zip";
 
         clientOptInput.openAPI(openapi);
 
@@ -143,48 +145,33 @@ public class Generator {
             }
         }
 
+        // the files are generated into memory, the output folder is where they would otherwise be written
+        File workFolder = new File(System.getProperty("java.io.tmpdir"), "codegen-" + UUID.randomUUID());
+        String outputFolder = workFolder.getAbsolutePath() + File.separator + destPath;
         codegenConfig.setOutputDir(outputFolder);
 
         clientOptInput.config(codegenConfig);
 
+        GeneratedFiles generated = new GeneratedFiles(Paths.get(outputFolder), maxMemoryBytes);
         try {
-            List<File> files = new DefaultGenerator().opts(clientOptInput).generate();
-            if (files.size() > 0) {
-                List<File> filesToAdd = new ArrayList<>();
-                LOGGER.debug("adding to {}", outputFolder);
-                filesToAdd.add(new File(outputFolder));
-                ZipUtil zip = new ZipUtil();
-                zip.compressFiles(filesToAdd, outputFilename);
-            } else {
+            DefaultGenerator generator = new DefaultGenerator();
+            generator.setOutputSink(generated);
+            List<File> files = generator.opts(clientOptInput).generate();
+            if (files.isEmpty()) {
                 throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
                         "A target generation was attempted, but no files were created!");
             }
-            for (File file : files) {
-                try {
-                    file.delete();
-                } catch (Exception e) {
-                    LOGGER.error("unable to delete file " + file.getAbsolutePath(), e);
-                }
-            }
-            try {
-                new File(outputFolder).delete();
-            } catch (Exception e) {
-                LOGGER.error("unable to delete output folder " + outputFolder, e);
-            }
+            LOGGER.debug("generated {} files ({} bytes) for {}", generated.getCount(), generated.getSize(), destPath);
+        } catch (ResponseStatusException e) {
+            generated.delete();
+            throw e;
         } catch (Exception e) {
+            generated.delete();
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unable to build target: " + e.getMessage(), e);
+        } finally {
+            // options writing straight to the output folder, such as the ignore file list, bypass the sink
+            FileUtils.deleteQuietly(workFolder);
         }
-        return outputFilename;
-    }
-
-    private static File getTmpFolder() {
-        try {
-            File outputFolder = Files.createTempDirectory("codegen-tmp").toFile();
-            outputFolder.deleteOnExit();
-            return outputFolder;
-        } catch (Exception e) {
-            e.printStackTrace();
-            throw new RuntimeException("Cannot access tmp folder");
-        }
+        return generated;
     }
 }
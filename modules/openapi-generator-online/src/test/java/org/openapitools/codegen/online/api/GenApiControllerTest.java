@@ -3,6 +3,7 @@ package org.openapitools.codegen.online.api;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.openapitools.codegen.online.model.JobStatus;
 import org.openapitools.codegen.online.model.ResponseCode;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
@@ -10,11 +11,19 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.util.Assert;
 
+import java.io.ByteArrayInputStream;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
 import static org.hamcrest.Matchers.hasItem;
-import static org.hamcrest.Matchers.not;
 import static org.hamcrest.text.MatchesPattern.matchesPattern;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -24,6 +33,8 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 public class GenApiControllerTest {
 
     private static final String OPENAPI_URL = "https://raw.githubusercontent.com/OpenAPITools/openapi-generator/v4.3.1/modules/openapi-generator/src/test/resources/petstore.json";
+    private static final String PING_SPEC = "{\"spec\": {\"openapi\": \"3.0.0\", \"info\": {\"title\": \"ping\", \"version\": \"1.0\"}, "
+            + "\"paths\": {\"/ping\": {\"get\": {\"operationId\": \"ping\", \"responses\": {\"200\": {\"description\": \"OK\"}}}}}}}";
     private static final String UUID_REGEX = "[a-fA-F0-9]{8}-[a-fA-F0-9]{4}-4[a-fA-F0-9]{3}-[89aAbB][a-fA-F0-9]{3}-[a-fA-F0-9]{12}";
 
     @Autowired
@@ -98,10 +109,7 @@ public class GenApiControllerTest {
 
         String code = new ObjectMapper().readValue(result, ResponseCode.class).getCode();
 
-        mockMvc.perform(get("http://test.com:1234/api/gen/download/" + code))
-                .andExpect(content().contentType("application/zip"))
-                .andExpect(status().isOk())
-                .andExpect(header().string(HttpHeaders.CONTENT_LENGTH, not(0)));
+        download("http://test.com:1234/api/gen/download/" + code);
     }
 
     @Test
@@ -120,10 +128,7 @@ public class GenApiControllerTest {
 
         String code = new ObjectMapper().readValue(result, ResponseCode.class).getCode();
 
-        mockMvc.perform(get("http://test.com:1234/api/gen/download/" + code))
-                .andExpect(content().contentType("application/zip"))
-                .andExpect(status().isOk())
-                .andExpect(header().string(HttpHeaders.CONTENT_LENGTH, not(0)));
+        download("http://test.com:1234/api/gen/download/" + code);
     }
 
     @Test
@@ -145,9 +150,7 @@ public class GenApiControllerTest {
                         .content(withOpenAPINormalizer))
                 .andExpect(status().isOk()).andReturn().getResponse().getContentAsString();
         String codeOfNormalized = new ObjectMapper().readValue(responseOfNormalized, ResponseCode.class).getCode();
-        Long lengthOfNormalized = Long.parseLong(mockMvc.perform(get("http://test.com:1234/api/gen/download/" + codeOfNormalized))
-                .andExpect(content().contentType("application/zip"))
-                .andExpect(status().isOk()).andReturn().getResponse().getHeader("Content-Length"));
+        int lengthOfNormalized = download("http://test.com:1234/api/gen/download/" + codeOfNormalized).length;
 
         String responseOfNotNormalized = mockMvc.perform(post("http://test.com:1234/api/gen/clients/java")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -155,11 +158,62 @@ public class GenApiControllerTest {
                 .andExpect(status().isOk()).andReturn().getResponse().getContentAsString();
 
         String codeOfNotNormalized = new ObjectMapper().readValue(responseOfNotNormalized, ResponseCode.class).getCode();
-        Long lengthOfNotNormalized = Long.parseLong(mockMvc.perform(get("http://test.com:1234/api/gen/download/" + codeOfNotNormalized))
-                .andExpect(content().contentType("application/zip"))
-                .andExpect(status().isOk()).andReturn().getResponse().getHeader("Content-Length"));
+        int lengthOfNotNormalized = download("http://test.com:1234/api/gen/download/" + codeOfNotNormalized).length;
 
         Assert.isTrue(lengthOfNormalized <= lengthOfNotNormalized, "Using the normalizer should result in a smaller or equal file size");
 
     }
+
+    @Test
+    public void submitJobAndDownload() throws Exception {
+        String result = mockMvc.perform(post("http://test.com:1234/api/gen/jobs/clients/java")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(PING_SPEC))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string(HttpHeaders.LOCATION, matchesPattern("http\\:\\/\\/test.com\\:1234\\/api\\/gen\\/jobs\\/" + UUID_REGEX)))
+                .andExpect(jsonPath("$.code").value(matchesPattern(UUID_REGEX)))
+                .andReturn().getResponse().getContentAsString();
+        String code = new ObjectMapper().readValue(result, JobStatus.class).getCode();
+
+        JobStatus job;
+        do {
+            Thread.sleep(50);
+            job = new ObjectMapper().readValue(mockMvc.perform(get("http://test.com:1234/api/gen/jobs/" + code))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString(), JobStatus.class);
+        } while ("QUEUED".equals(job.getStatus()) || "RUNNING".equals(job.getStatus()));
+
+        Assert.isTrue("DONE".equals(job.getStatus()), "The job should be done, but was " + job.getStatus() + ": " + job.getMessage());
+        Assert.isTrue(("http://test.com:1234/api/gen/download/" + code).equals(job.getLink()), "The job should link to its download");
+        byte[] archive = download(job.getLink());
+        Assert.isTrue(Arrays.equals(archive, download(job.getLink())), "The archive should be downloadable again");
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(archive))) {
+            Set<String> entries = new HashSet<>();
+            for (ZipEntry entry = zip.getNextEntry(); entry != null; entry = zip.getNextEntry()) {
+                entries.add(entry.getName());
+            }
+            Assert.isTrue(entries.contains("java-client/pom.xml"), "The archive should contain the generated files, but was " + entries);
+            Assert.isTrue(entries.contains("java-client/src/main/java/org/openapitools/client/api/DefaultApi.java"), "The archive should contain the generated API");
+        }
+    }
+
+    @Test
+    public void unknownJob() throws Exception {
+        mockMvc.perform(get("/api/gen/jobs/unknown"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/gen/download/unknown"))
+                .andExpect(status().isNotFound());
+    }
+
+    private byte[] download(String link) throws Exception {
+        MvcResult started = mockMvc.perform(get(link))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        byte[] archive = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/zip"))
+                .andReturn().getResponse().getContentAsByteArray();
+        Assert.isTrue(archive.length > 0, "The archive should not be empty");
+        return archive;
+    }
 }
@@ -0,0 +1,115 @@
+package org.openapitools.codegen.online.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GeneratedFilesTest {
+
+    private final Path root = Paths.get("work", "java-client").toAbsolutePath();
+
+    @Test
+    public void zipsFilesUnderTheRootFolder() throws IOException {
+        GeneratedFiles files = new GeneratedFiles(root, Long.MAX_VALUE);
+        write(files, "src/Pet.java", "class Pet {}");
+        write(files, "README.md", "draft");
+        write(files, "README.md", "# Petstore");
+
+        Map<String, String> entries = unzip(files);
+
+        assertEquals(2, files.getCount());
+        assertEquals("class Pet {}".length() + "# Petstore".length(), files.getSize());
+        assertEquals("{java-client/README.md=# Petstore, java-client/src/Pet.java=class Pet {}}", entries.toString());
+        assertNull(files.getSpillDirectory());
+    }
+
+    @Test
+    public void spillsFilesBeyondTheMemoryLimit() throws IOException {
+        GeneratedFiles files = new GeneratedFiles(root, 10);
+        write(files, "a.txt", "0123456789");
+        write(files, "b.txt", "spilled");
+        Path spillDirectory = files.getSpillDirectory();
+
+        assertNotNull(spillDirectory);
+        assertEquals(1, spillDirectory.toFile().list().length);
+        assertEquals("{java-client/a.txt=0123456789, java-client/b.txt=spilled}", unzip(files).toString());
+
+        files.delete();
+
+        assertFalse(Files.exists(spillDirectory));
+        assertEquals(0, files.getCount());
+        assertEquals(0, files.getSize());
+    }
+
+    @Test
+    public void keepsAcquiredFilesUntilReleased() throws IOException {
+        GeneratedFiles files = new GeneratedFiles(root, 0);
+        write(files, "a.txt", "spilled");
+        Path spillDirectory = files.getSpillDirectory();
+
+        assertTrue(files.acquire());
+        files.delete();
+        files.delete();
+
+        assertTrue(Files.exists(spillDirectory));
+        assertEquals("{java-client/a.txt=spilled}", unzip(files).toString());
+
+        files.release();
+
+        assertFalse(Files.exists(spillDirectory));
+        assertFalse(files.acquire());
+    }
+
+    @Test
+    public void writesEntriesWithAFixedTime() throws IOException {
+        GeneratedFiles files = new GeneratedFiles(root, Long.MAX_VALUE);
+        write(files, "README.md", "# Petstore");
+        ByteArrayOutputStream archive = new ByteArrayOutputStream();
+        files.writeZip(archive);
+
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(archive.toByteArray()))) {
+            assertEquals(LocalDateTime.of(1980, 1, 1, 0, 0), zip.getNextEntry().getTimeLocal());
+        }
+    }
+
+    @Test
+    public void rejectsFilesOutsideOfTheRootFolder() {
+        GeneratedFiles files = new GeneratedFiles(root, Long.MAX_VALUE);
+
+        assertThrows(IllegalArgumentException.class, () -> files.newOutputStream(root.resolve("../other/a.txt")));
+    }
+
+    private void write(GeneratedFiles files, String name, String contents) throws IOException {
+        try (OutputStream out = files.newOutputStream(root.resolve(name))) {
+            out.write(contents.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private static Map<String, String> unzip(GeneratedFiles files) throws IOException {
+        ByteArrayOutputStream archive = new ByteArrayOutputStream();
+        files.writeZip(archive);
+        Map<String, String> entries = new LinkedHashMap<>();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(archive.toByteArray()))) {
+            for (ZipEntry entry = zip.getNextEntry(); entry != null; entry = zip.getNextEntry()) {
+                ByteArrayOutputStream contents = new ByteArrayOutputStream();
+                zip.transferTo(contents);
+                entries.put(entry.getName(), contents.toString(StandardCharsets.UTF_8.name()));
+            }
+        }
+        return entries;
+    }
+}
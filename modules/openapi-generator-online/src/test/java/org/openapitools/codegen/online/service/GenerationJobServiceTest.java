@@ -0,0 +1,182 @@
+package org.openapitools.codegen.online.service;
+
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.openapitools.codegen.online.model.GeneratorInput;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GenerationJobServiceTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000L);
+    private final AtomicInteger generations = new AtomicInteger();
+    private final List<Path> spillDirectories = Collections.synchronizedList(new ArrayList<>());
+    private GenerationJobService service;
+
+    @AfterEach
+    public void shutdown() {
+        if (service != null) {
+            service.shutdown();
+        }
+    }
+
+    @Test
+    public void identicalRequestsShareTheArchive() {
+        service = new GenerationJobService(1, 10, 60_000L, 10, Long.MAX_VALUE, this::generate, clock::get);
+
+        GenerationJobService.Job first = service.submit("java", input("a"), Generator.Type.CLIENT);
+        GenerationJobService.Job second = service.submit("java", input("a"), Generator.Type.CLIENT);
+        GenerationJobService.Job server = service.submit("java", input("a"), Generator.Type.SERVER);
+
+        assertEquals(first.getId(), second.getId());
+        assertNotEquals(first.getId(), server.getId());
+        assertSame(first.await(), second.await());
+        assertNotSame(first.await(), server.await());
+        assertEquals(2, generations.get());
+        assertEquals(GenerationJobService.Status.DONE, service.getJob(second.getId()).getStatus());
+        assertEquals("java-client", first.getGenerated().getFriendlyName());
+
+        // requests served from the cache do not add jobs
+        for (int i = 0; i < 100; i++) {
+            service.submit("java", input("a"), Generator.Type.CLIENT);
+        }
+        assertEquals(2, service.trackedJobs());
+    }
+
+    @Test
+    public void requestsForSpecificationUrlsDoNotShareTheArchive() {
+        service = new GenerationJobService(1, 10, 60_000L, 10, Long.MAX_VALUE, this::generate, clock::get);
+        GeneratorInput input = new GeneratorInput();
+        input.setOpenAPIUrl("https://example.com/petstore.yaml");
+
+        GenerationJobService.Job first = service.submit("java", input, Generator.Type.CLIENT);
+        GenerationJobService.Job second = service.submit("java", input, Generator.Type.CLIENT);
+
+        // the contents behind the URL may have changed in the meantime
+        assertNotEquals(first.getId(), second.getId());
+        assertNotSame(first.await(), second.await());
+        assertEquals(2, generations.get());
+    }
+
+    @Test
+    public void rejectsRequestsWhenTheQueueIsFull() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        service = new GenerationJobService(1, 1, 60_000L, 10, Long.MAX_VALUE, (name, input, type) -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return generate(name, input, type);
+        }, clock::get);
+
+        GenerationJobService.Job running = service.submit("java", input("a"), Generator.Type.CLIENT);
+        started.await();
+        GenerationJobService.Job queued = service.submit("java", input("b"), Generator.Type.CLIENT);
+        ResponseStatusException rejected = assertThrows(ResponseStatusException.class,
+                () -> service.submit("java", input("c"), Generator.Type.CLIENT));
+
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, rejected.getStatus());
+        assertEquals(GenerationJobService.Status.RUNNING, running.getStatus());
+        assertEquals(GenerationJobService.Status.QUEUED, queued.getStatus());
+        // an identical request joins the queued one instead of being rejected
+        assertEquals(GenerationJobService.Status.QUEUED, service.submit("java", input("b"), Generator.Type.CLIENT).getStatus());
+
+        release.countDown();
+        queued.await();
+        assertEquals(2, generations.get());
+    }
+
+    @Test
+    public void evictsExpiredAndLeastRecentlyUsedArchives() {
+        service = new GenerationJobService(1, 10, 60_000L, 2, Long.MAX_VALUE, this::generate, clock::get);
+
+        GenerationJobService.Job a = service.submit("java", input("a"), Generator.Type.CLIENT);
+        a.await();
+        clock.addAndGet(10);
+        GenerationJobService.Job b = service.submit("java", input("b"), Generator.Type.CLIENT);
+        b.await();
+        clock.addAndGet(10);
+        service.getJob(a.getId());
+        clock.addAndGet(10);
+        GenerationJobService.Job c = service.submit("java", input("c"), Generator.Type.CLIENT);
+        c.await();
+        service.evict();
+
+        assertEquals(2, service.cachedResults());
+        assertNull(service.getJob(b.getId()));
+        assertFalse(Files.exists(spillDirectories.get(1)));
+        assertNotNull(service.getJob(a.getId()));
+
+        clock.addAndGet(60_001L);
+        assertNull(service.getJob(c.getId()));
+        service.evict();
+
+        assertEquals(0, service.cachedResults());
+        assertEquals(0, service.trackedJobs());
+        for (Path spillDirectory : spillDirectories) {
+            assertFalse(Files.exists(spillDirectory));
+        }
+    }
+
+    @Test
+    public void doesNotKeepFailedGenerations() {
+        AtomicInteger attempts = new AtomicInteger();
+        service = new GenerationJobService(1, 10, 60_000L, 10, Long.MAX_VALUE, (name, input, type) -> {
+            if (attempts.getAndIncrement() == 0) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "The OpenAPI specification supplied was not valid");
+            }
+            return generate(name, input, type);
+        }, clock::get);
+
+        GenerationJobService.Job failed = service.submit("java", input("a"), Generator.Type.CLIENT);
+        ResponseStatusException error = assertThrows(ResponseStatusException.class, failed::await);
+
+        assertEquals(HttpStatus.BAD_REQUEST, error.getStatus());
+        assertEquals(GenerationJobService.Status.FAILED, failed.getStatus());
+        assertSame(error, failed.getError());
+        assertNotNull(service.submit("java", input("a"), Generator.Type.CLIENT).await());
+        assertEquals(2, attempts.get());
+    }
+
+    private GeneratedFiles generate(String name, GeneratorInput input, Generator.Type type) {
+        generations.incrementAndGet();
+        Path root = Paths.get(name + "-" + type.getTypeName());
+        // nothing is kept in memory, so that evictions are seen on disk
+        GeneratedFiles files = new GeneratedFiles(root, 0);
+        try (OutputStream out = files.newOutputStream(root.resolve("README.md"))) {
+            out.write(new byte[16]);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        spillDirectories.add(files.getSpillDirectory());
+        return files;
+    }
+
+    private static GeneratorInput input(String title) {
+        GeneratorInput input = new GeneratorInput();
+        ObjectNode spec = JsonNodeFactory.instance.objectNode().put("openapi", "3.0.1");
+        spec.putObject("info").put("title", title);
+        input.setSpec(spec);
+        return input;
+    }
+}
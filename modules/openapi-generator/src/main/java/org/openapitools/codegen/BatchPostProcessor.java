@@ -0,0 +1,247 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen;
+
+import org.openapitools.codegen.config.GlobalSettings;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringTokenizer;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Collects the files passed to a post-processing command and invokes the command once per batch of files,
+ * instead of once per file.
+ * <p>
+ * Files are grouped by command (i.e. the formatter configured for a file type), and each group is split into batches
+ * whose command line stays below {@link #MAX_COMMAND_LENGTH_PROPERTY} characters. Batches are executed on
+ * {@link #WORKERS_PROPERTY} worker threads, and each batch is terminated once {@link #TIMEOUT_PROPERTY} seconds elapse.
+ * <p>
+ * Batching is enabled via the {@link #BATCH_PROPERTY} global property; without it, every file is passed to the
+ * external command individually, as before.
+ */
+public class BatchPostProcessor {
+    private static final Logger LOGGER = LoggerFactory.getLogger(BatchPostProcessor.class);
+
+    public static final String BATCH_PROPERTY = "postProcessBatch";
+    public static final String WORKERS_PROPERTY = "postProcessWorkers";
+    public static final String TIMEOUT_PROPERTY = "postProcessTimeout";
+    public static final String MAX_COMMAND_LENGTH_PROPERTY = "postProcessMaxCommandLength";
+
+    // stays below the 32767 characters Windows allows for a command line
+    static final int DEFAULT_MAX_COMMAND_LENGTH = 30000;
+    static final long DEFAULT_TIMEOUT_SECONDS = 600;
+
+    private final Map<String, List<String>> filesByCommand = new LinkedHashMap<>();
+    private final int workers;
+    private final long timeoutSeconds;
+    private final int maxCommandLength;
+
+    public BatchPostProcessor(int workers, long timeoutSeconds, int maxCommandLength) {
+        this.workers = Math.max(1, workers);
+        this.timeoutSeconds = timeoutSeconds;
+        this.maxCommandLength = maxCommandLength;
+    }
+
+    /**
+     * Whether batched post-processing has been requested via global properties.
+     *
+     * @return true if the {@link #BATCH_PROPERTY} global property is set and not "false"
+     */
+    public static boolean isEnabled() {
+        String value = GlobalSettings.getProperty(BATCH_PROPERTY);
+        return value != null && !"false".equalsIgnoreCase(value.trim());
+    }
+
+    /**
+     * Creates a batch post-processor configured from global properties.
+     *
+     * @return a new batch post-processor
+     */
+    public static BatchPostProcessor fromGlobalSettings() {
+        return new BatchPostProcessor(
+                (int) positiveProperty(WORKERS_PROPERTY, Runtime.getRuntime().availableProcessors(), Integer.MAX_VALUE),
+                positiveProperty(TIMEOUT_PROPERTY, DEFAULT_TIMEOUT_SECONDS, Long.MAX_VALUE),
+                (int) positiveProperty(MAX_COMMAND_LENGTH_PROPERTY, DEFAULT_MAX_COMMAND_LENGTH, Integer.MAX_VALUE));
+    }
+
+    /**
+     * @param name         the name of a global property
+     * @param defaultValue the value used if the property is not set, or is not a positive integer up to maxValue
+     * @param maxValue     the largest valid value
+     * @return the value of the property
+     */
+    static long positiveProperty(String name, long defaultValue, long maxValue) {
+        String property = GlobalSettings.getProperty(name);
+        if (property == null) {
+            return defaultValue;
+        }
+        try {
+            long value = Long.parseLong(property.trim());
+            if (value > 0 && value <= maxValue) {
+                return value;
+            }
+        } catch (NumberFormatException e) {
+            // reported below
+        }
+        LOGGER.warn("Invalid {} '{}', using the default {}", name, property, defaultValue);
+        return defaultValue;
+    }
+
+    /**
+     * Queues a file for post-processing.
+     *
+     * @param commandArr the command and its arguments, excluding the file. They will be concatenated with space and tokenized again.
+     * @param file       the path of the file to pass to the command
+     */
+    public synchronized void add(String[] commandArr, String file) {
+        filesByCommand.computeIfAbsent(String.join(" ", commandArr), k -> new ArrayList<>()).add(file);
+    }
+
+    /**
+     * @return the number of queued files
+     */
+    public synchronized int size() {
+        return filesByCommand.values().stream().mapToInt(List::size).sum();
+    }
+
+    /**
+     * Splits the queued files into batches, grouped by command and bounded by the maximum command length.
+     * Every batch contains at least one file, even if that file alone exceeds the limit.
+     *
+     * @return the command lines to execute, with the files appended as trailing arguments
+     */
+    synchronized List<List<String>> batches() {
+        List<List<String>> batches = new ArrayList<>();
+        for (Map.Entry<String, List<String>> entry : filesByCommand.entrySet()) {
+            List<String> command = tokenize(entry.getKey());
+            int commandLength = entry.getKey().length();
+
+            List<String> batch = new ArrayList<>(command);
+            int length = commandLength;
+            for (String file : entry.getValue()) {
+                if (batch.size() > command.size() && length + 1 + file.length() > maxCommandLength) {
+                    batches.add(batch);
+                    batch = new ArrayList<>(command);
+                    length = commandLength;
+                }
+                batch.add(file);
+                length += 1 + file.length();
+            }
+            batches.add(batch);
+        }
+        return batches;
+    }
+
+    /**
+     * Executes all queued batches and clears the queue.
+     *
+     * @return whether all batches passed (true) or at least one failed (false)
+     */
+    public boolean execute() {
+        List<List<String>> batches = batches();
+        synchronized (this) {
+            filesByCommand.clear();
+        }
+        if (batches.isEmpty()) {
+            return true;
+        }
+
+        List<Callable<Boolean>> tasks = new ArrayList<>(batches.size());
+        for (List<String> batch : batches) {
+            tasks.add(() -> executeBatch(batch));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(workers, batches.size()));
+        try {
+            boolean passed = true;
+            for (Future<Boolean> future : executor.invokeAll(tasks)) {
+                passed &= future.get();
+            }
+            return passed;
+        } catch (InterruptedException e) {
+            LOGGER.error("Interrupted while running post-processing commands");
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException e) {
+            LOGGER.error("Error running post-processing commands. Exception: {}", e.getCause().getMessage());
+            return false;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private boolean executeBatch(List<String> commandLine) {
+        final String command = String.join(" ", commandLine);
+        File output = null;
+        try {
+            output = File.createTempFile("openapi-generator-post-process", ".log");
+            Process p = new ProcessBuilder(commandLine)
+                    .redirectErrorStream(true)
+                    .redirectOutput(output)
+                    .start();
+            if (!p.waitFor(timeoutSeconds, TimeUnit.SECONDS)) {
+                p.destroyForcibly();
+                LOGGER.error("Timed out after {} seconds running the command ({})", timeoutSeconds, command);
+                return false;
+            }
+            int exitValue = p.exitValue();
+            if (exitValue != 0) {
+                String errorOutput = new String(Files.readAllBytes(output.toPath()), StandardCharsets.UTF_8);
+                LOGGER.error("Error running the command ({}). Exit value: {}, Error output: {}", command, exitValue, errorOutput);
+                return false;
+            }
+            LOGGER.info("Successfully executed: {}", command);
+            return true;
+        } catch (IOException e) {
+            LOGGER.error("Error running the command ({}). Exception: {}", command, e.getMessage());
+        } catch (InterruptedException e) {
+            LOGGER.error("Error running the command ({}). Exception: {}", command, e.getMessage());
+            // Restore interrupted state
+            Thread.currentThread().interrupt();
+        } finally {
+            if (output != null && !output.delete()) {
+                output.deleteOnExit();
+            }
+        }
+        return false;
+    }
+
+    // same tokenization as Runtime#exec(String), so that commands such as `/etc/bin prettier -w` keep working
+    private static List<String> tokenize(String command) {
+        StringTokenizer st = new StringTokenizer(command);
+        List<String> tokens = new ArrayList<>(st.countTokens());
+        while (st.hasMoreTokens()) {
+            tokens.add(st.nextToken());
+        }
+        return Collections.unmodifiableList(tokens);
+    }
+}
@@ -313,6 +313,14 @@ public interface CodegenConfig {
 
     void postProcessFile(File file, String fileType);
 
+    /**
+     * Runs the external post-processing commands on the files queued by {@link #postProcessFile(File, String)}
+     * while batched post-processing is enabled.
+     *
+     * @return Whether all commands passed (true) or at least one failed (false)
+     */
+    boolean executeBatchedPostProcessors();
+
     boolean isEnablePostProcessFile();
 
     void setEnablePostProcessFile(boolean isEnablePostProcessFile);
@@ -332,6 +340,22 @@ public interface CodegenConfig {
 
     public void setEnableMinimalUpdate(boolean isEnableMinimalUpdate);
 
+    int getParallelism();
+
+    void setParallelism(int parallelism);
+
+    boolean isUseVirtualThreads();
+
+    void setUseVirtualThreads(boolean useVirtualThreads);
+
+    boolean isEnableIncrementalGeneration();
+
+    void setEnableIncrementalGeneration(boolean enableIncrementalGeneration);
+
+    String getProfileReport();
+
+    void setProfileReport(String profileReport);
+
     boolean isStrictSpecBehavior();
 
     void setStrictSpecBehavior(boolean strictSpecBehavior);
@@ -19,6 +19,7 @@ package org.openapitools.codegen;
 
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 import com.github.benmanes.caffeine.cache.Ticker;
 import com.google.common.base.CaseFormat;
 import com.google.common.collect.ImmutableMap;
@@ -68,7 +69,9 @@ import org.openapitools.codegen.templating.MustacheEngineAdapter;
 import org.openapitools.codegen.templating.mustache.*;
 import org.openapitools.codegen.utils.ExamplesUtils;
 import org.openapitools.codegen.utils.ModelUtils;
+import org.openapitools.codegen.utils.NameCache;
 import org.openapitools.codegen.utils.OneOfImplementorAdditionalData;
+import org.openapitools.codegen.utils.SpecIndex;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -100,7 +103,7 @@ public class DefaultCodegen implements CodegenConfig {
     public static FeatureSet DefaultFeatureSet;
 
     // A cache of sanitized words. The sanitizeName() method is invoked many times with the same
-    // arguments, this cache is used to optimized performance.
+    // arguments, this cache is used to optimized performance outside of a generation run (see NameCache).
     private static final Cache<SanitizeNameOptions, String> sanitizedNameCache;
     private static final String xSchemaTestExamplesKey = "x-schema-test-examples";
     private static final String xSchemaTestExamplesRefPrefix = "#/components/x-schema-test-examples/";
@@ -157,11 +160,16 @@ public class DefaultCodegen implements CodegenConfig {
                 .maximumSize(cacheSize)
                 .expireAfterAccess(cacheExpiry, TimeUnit.SECONDS)
                 .ticker(Ticker.systemTicker())
+                .recordStats()
                 .build();
         falseSchema = new Schema();
         falseSchema.setNot(new Schema());
     }
 
+    static CacheStats sanitizedNameCacheStats() {
+        return sanitizedNameCache.stats();
+    }
+
     protected GeneratorMetadata generatorMetadata;
     protected String inputSpec;
     protected String outputFolder = "";
@@ -287,6 +295,8 @@ public class DefaultCodegen implements CodegenConfig {
     protected String ignoreFilePathOverride;
     // flag to indicate whether to use environment variable to post process file
     protected boolean enablePostProcessFile = false;
+    // files queued for batched post-processing, see BatchPostProcessor
+    private BatchPostProcessor batchPostProcessor;
     private TemplatingEngineAdapter templatingEngine = new MustacheEngineAdapter();
     // flag to indicate whether to use the utils.OneOfImplementorAdditionalData related logic
     protected boolean useOneOfInterfaces = false;
@@ -296,6 +306,11 @@ public class DefaultCodegen implements CodegenConfig {
 
     // flag to indicate whether to only update files whose contents have changed
     protected boolean enableMinimalUpdate = false;
+    protected int parallelism = 1;
+    protected boolean useVirtualThreads = false;
+    protected boolean enableIncrementalGeneration = false;
+    // where to write the report of the time spent per phase, model, API and template, if anywhere
+    protected String profileReport;
 
     // acts strictly upon a spec, potentially modifying it to have consistent behavior across generators.
     protected boolean strictSpecBehavior = true;
@@ -317,6 +332,9 @@ public class DefaultCodegen implements CodegenConfig {
     // make openapi available to all methods
     protected OpenAPI openAPI;
 
+    // An index of the schema usages and compositions of `openAPI`, built on first use after `setOpenAPI()`.
+    private SpecIndex specIndex;
+
     // A cache to efficiently lookup a Schema instance based on the return value of `toModelName()`.
     private Map<String, Schema> modelNameToSchemaCache;
 
@@ -462,6 +480,8 @@ public class DefaultCodegen implements CodegenConfig {
     @Override
     @SuppressWarnings("static-method")
     public Map<String, ModelsMap> postProcessAllModels(Map<String, ModelsMap> objs) {
+        // the properties of each parent model by name, see codegenPropertyIsNew
+        Map<CodegenModel, Map<String, List<CodegenProperty>>> parentVarsByName = new IdentityHashMap<>();
         for (Map.Entry<String, ModelsMap> entry : objs.entrySet()) {
             CodegenModel model = ModelUtils.getModelByName(entry.getKey(), objs);
 
@@ -478,29 +498,33 @@ public class DefaultCodegen implements CodegenConfig {
                 }
             }
 
+            Map<String, List<CodegenProperty>> parentVars = model.parentModel == null
+                    ? Collections.emptyMap()
+                    : parentVarsByName.computeIfAbsent(model.parentModel, parent -> parent.allVars.stream()
+                    .collect(Collectors.groupingBy(p -> p.name)));
             for (CodegenProperty property : model.allVars) {
-                property.isNew = codegenPropertyIsNew(model, property);
+                property.isNew = codegenPropertyIsNew(parentVars, property);
             }
             for (CodegenProperty property : model.vars) {
-                property.isNew = codegenPropertyIsNew(model, property);
+                property.isNew = codegenPropertyIsNew(parentVars, property);
             }
             for (CodegenProperty property : model.readWriteVars) {
-                property.isNew = codegenPropertyIsNew(model, property);
+                property.isNew = codegenPropertyIsNew(parentVars, property);
             }
             for (CodegenProperty property : model.optionalVars) {
-                property.isNew = codegenPropertyIsNew(model, property);
+                property.isNew = codegenPropertyIsNew(parentVars, property);
             }
             for (CodegenProperty property : model.parentVars) {
-                property.isNew = codegenPropertyIsNew(model, property);
+                property.isNew = codegenPropertyIsNew(parentVars, property);
             }
             for (CodegenProperty property : model.requiredVars) {
-                property.isNew = codegenPropertyIsNew(model, property);
+                property.isNew = codegenPropertyIsNew(parentVars, property);
             }
             for (CodegenProperty property : model.readOnlyVars) {
-                property.isNew = codegenPropertyIsNew(model, property);
+                property.isNew = codegenPropertyIsNew(parentVars, property);
             }
             for (CodegenProperty property : model.nonNullableVars) {
-                property.isNew = codegenPropertyIsNew(model, property);
+                property.isNew = codegenPropertyIsNew(parentVars, property);
             }
         }
 
@@ -564,16 +588,13 @@ public class DefaultCodegen implements CodegenConfig {
      * We can also consider discriminators as new because the derived class discriminator will have to be defined again
      * to contain a new value. Doing so prevents having to include the discriminator in the constructor.
      *
-     * @param model
+     * @param parentVars the properties of the parent model (allVars) by name, empty if there is no parent model
      * @param property
      * @return
      */
-    private boolean codegenPropertyIsNew(CodegenModel model, CodegenProperty property) {
-        return model.parentModel == null
-                ? false
-                : model.parentModel.allVars.stream().anyMatch(p ->
-                p.name.equals(property.name) &&
-                        (p.dataType.equals(property.dataType) == false || p.datatypeWithEnum.equals(property.datatypeWithEnum) == false));
+    private boolean codegenPropertyIsNew(Map<String, List<CodegenProperty>> parentVars, CodegenProperty property) {
+        return parentVars.getOrDefault(property.name, Collections.emptyList()).stream().anyMatch(p ->
+                p.dataType.equals(property.dataType) == false || p.datatypeWithEnum.equals(property.datatypeWithEnum) == false);
     }
 
     /**
@@ -638,13 +659,17 @@ public class DefaultCodegen implements CodegenConfig {
         }
 
         // Let parent know about all its children
+        // the permits and the names of the children of each parent, for constant-time membership checks
+        Map<CodegenModel, Set<String>> permits = new IdentityHashMap<>();
+        Map<CodegenModel, Set<String>> childNames = new IdentityHashMap<>();
         for (Map.Entry<String, CodegenModel> allModelsEntry : allModels.entrySet()) {
             CodegenModel cm = allModelsEntry.getValue();
             CodegenModel parent = allModels.get(cm.getParent());
             if (parent != null) {
-                if (!parent.permits.contains(cm.classname) && parent.permits.stream()
-                        .noneMatch(name -> name.equals(cm.getName()))) {
+                Set<String> parentPermits = permits.computeIfAbsent(parent, p -> new HashSet<>(p.permits));
+                if (!parentPermits.contains(cm.classname) && !parentPermits.contains(cm.getName())) {
                     parent.permits.add(cm.classname);
+                    parentPermits.add(cm.classname);
                 }
             }
             // if a discriminator exists on the parent, don't add this child to the inheritance hierarchy
@@ -653,8 +678,9 @@ public class DefaultCodegen implements CodegenConfig {
                 if (parent.getChildren() == null) {
                     parent.setChildren(new ArrayList<>());
                 }
-                if (parent.getChildren().stream().map(CodegenModel::getName)
-                        .noneMatch(name -> name.equals(cm.getName()))) {
+                Set<String> parentChildNames = childNames.computeIfAbsent(parent, p -> p.getChildren().stream()
+                        .map(CodegenModel::getName).collect(Collectors.toCollection(HashSet::new)));
+                if (parentChildNames.add(cm.getName())) {
                     parent.getChildren().add(cm);
                 }
 
@@ -729,13 +755,13 @@ public class DefaultCodegen implements CodegenConfig {
         final Map<String, List<CodegenProperty>> allVarsDependencyMap = models.entrySet().stream()
                 .collect(Collectors.toMap(Entry::getKey, entry -> getModelDependencies(entry.getValue().getAllVars())));
 
-        models.keySet().forEach(name -> setCircularReferencesOnProperties(name, allVarsDependencyMap));
+        setCircularReferencesOnProperties(models.keySet(), allVarsDependencyMap);
 
         // for vars
         final Map<String, List<CodegenProperty>> varsDependencyMap = models.entrySet().stream()
                 .collect(Collectors.toMap(Entry::getKey, entry -> getModelDependencies(entry.getValue().getVars())));
 
-        models.keySet().forEach(name -> setCircularReferencesOnProperties(name, varsDependencyMap));
+        setCircularReferencesOnProperties(models.keySet(), varsDependencyMap);
 
         // for oneOf
         final Map<String, List<CodegenProperty>> oneOfDependencyMap = models.entrySet().stream()
@@ -743,7 +769,7 @@ public class DefaultCodegen implements CodegenConfig {
                         (entry.getValue().getComposedSchemas() != null && entry.getValue().getComposedSchemas().getOneOf() != null)
                                 ? entry.getValue().getComposedSchemas().getOneOf() : new ArrayList<CodegenProperty>())));
 
-        models.keySet().forEach(name -> setCircularReferencesOnProperties(name, oneOfDependencyMap));
+        setCircularReferencesOnProperties(models.keySet(), oneOfDependencyMap);
     }
 
     private List<CodegenProperty> getModelDependencies(List<CodegenProperty> vars) {
@@ -758,35 +784,22 @@ public class DefaultCodegen implements CodegenConfig {
                 .collect(Collectors.toList());
     }
 
-    private void setCircularReferencesOnProperties(final String root,
+    private static String getDependencyName(CodegenProperty prop) {
+        return prop.isContainer ? prop.items.dataType : prop.dataType;
+    }
+
+    private void setCircularReferencesOnProperties(final Set<String> names,
                                                    final Map<String, List<CodegenProperty>> dependencyMap) {
-        dependencyMap.getOrDefault(root, new ArrayList<>())
-                .forEach(prop -> {
-                    final List<String> unvisited =
-                            Collections.singletonList(prop.isContainer ? prop.items.dataType : prop.dataType);
-                    prop.isCircularReference = isCircularReference(root,
-                            new HashSet<>(),
-                            new ArrayList<>(unvisited),
-                            dependencyMap);
-                });
-    }
-
-    private boolean isCircularReference(final String root,
-                                        final Set<String> visited,
-                                        final List<String> unvisited,
-                                        final Map<String, List<CodegenProperty>> dependencyMap) {
-        for (int i = 0; i < unvisited.size(); i++) {
-            final String next = unvisited.get(i);
-            if (!visited.contains(next)) {
-                if (next.equals(root)) {
-                    return true;
-                }
-                dependencyMap.getOrDefault(next, new ArrayList<>())
-                        .forEach(prop -> unvisited.add(prop.isContainer ? prop.items.dataType : prop.dataType));
-                visited.add(next);
+        Map<String, List<String>> dependencies = new HashMap<>();
+        dependencyMap.forEach((name, props) -> dependencies.put(name,
+                props.stream().map(DefaultCodegen::getDependencyName).collect(Collectors.toList())));
+        ModelDependencyGraph graph = new ModelDependencyGraph(dependencies);
+
+        for (String root : names) {
+            for (CodegenProperty prop : dependencyMap.getOrDefault(root, Collections.emptyList())) {
+                prop.isCircularReference = graph.isCircularReference(root, getDependencyName(prop));
             }
         }
-        return false;
     }
 
     // override with any special post-processing
@@ -964,6 +977,11 @@ public class DefaultCodegen implements CodegenConfig {
             LOGGER.warn(UNSUPPORTED_V310_SPEC_MSG);
         }
         this.openAPI = openAPI;
+        this.specIndex = null;
+        // the schemas may have been modified (e.g. by the normalizer) since they were last converted
+        schemaCodegenPropertyCache.clear();
+        schemaInstances.clear();
+        internedSchemas.clear();
         // Set global settings such that helper functions in ModelUtils can lookup the value
         // of the CLI option.
         ModelUtils.setDisallowAdditionalPropertiesIfNotPresent(getDisallowAdditionalPropertiesIfNotPresent());
@@ -2639,6 +2657,7 @@ public class DefaultCodegen implements CodegenConfig {
         }
 
         private String name;
+        // compared by identity, see internSchema()
         private Schema schema;
         private boolean required;
         private boolean schemaIsFromAdditionalProperties;
@@ -2650,18 +2669,33 @@ public class DefaultCodegen implements CodegenConfig {
             NamedSchema that = (NamedSchema) o;
             return Objects.equals(required, that.required) &&
                     Objects.equals(name, that.name) &&
-                    Objects.equals(schema, that.schema) &&
+                    schema == that.schema &&
                     Objects.equals(schemaIsFromAdditionalProperties, that.schemaIsFromAdditionalProperties);
         }
 
         @Override
         public int hashCode() {
-            return Objects.hash(name, schema, required, schemaIsFromAdditionalProperties);
+            return Objects.hash(name, System.identityHashCode(schema), required, schemaIsFromAdditionalProperties);
         }
     }
 
     Map<NamedSchema, CodegenProperty> schemaCodegenPropertyCache = new HashMap<>();
 
+    // Each schema instance is mapped to the first structurally equal schema seen (see Schema#equals), so that equal
+    // schemas share their CodegenProperty while the schema trees are walked once per instance rather than on every
+    // lookup of schemaCodegenPropertyCache. Both are cleared by setOpenAPI().
+    private final Map<Schema, Schema> schemaInstances = new IdentityHashMap<>();
+    private final Map<Schema, Schema> internedSchemas = new HashMap<>();
+
+    private Schema internSchema(Schema schema) {
+        Schema interned = schemaInstances.get(schema);
+        if (interned == null) {
+            interned = internedSchemas.computeIfAbsent(schema, s -> s);
+            schemaInstances.put(schema, interned);
+        }
+        return interned;
+    }
+
     protected void updateModelForComposedSchema(CodegenModel m, Schema schema, Map<String, Schema> allDefinitions) {
         final Schema composed = schema;
         Map<String, Schema> properties = new LinkedHashMap<>();
@@ -3559,61 +3593,71 @@ public class DefaultCodegen implements CodegenConfig {
         return descendentSchemas;
     }
 
+    /**
+     * Returns the index of the schema usages and compositions of the OpenAPI document, built on first use after
+     * {@link #setOpenAPI(OpenAPI)}. During a generation run, this is the index shared by the run.
+     *
+     * @return the index
+     */
+    protected SpecIndex getSpecIndex() {
+        if (specIndex == null) {
+            specIndex = SpecIndex.of(openAPI);
+        }
+        return specIndex;
+    }
+
     protected List<MappedModel> getAllOfDescendants(String thisSchemaName) {
-        ArrayList<String> queue = new ArrayList();
-        List<MappedModel> descendentSchemas = new ArrayList();
+        List<MappedModel> descendentSchemas = new ArrayList<>();
         Map<String, Schema> schemas = ModelUtils.getSchemas(openAPI);
-        String currentSchemaName = thisSchemaName;
-        Set<String> keys = schemas.keySet();
+        SpecIndex index = getSpecIndex();
+        // the schema through which each descendant was found, to tell an inheritance cycle from a descendant
+        // inheriting from several schemas of the hierarchy
+        Map<String, String> foundFrom = new HashMap<>();
+        Deque<String> queue = new ArrayDeque<>();
+        queue.add(thisSchemaName);
+
+        while (!queue.isEmpty()) {
+            String currentSchemaName = queue.remove();
+            if (!currentSchemaName.equals(thisSchemaName)) {
+                Schema cs = schemas.get(currentSchemaName);
+                Map<String, Object> vendorExtensions = cs.getExtensions();
+                String mappingName =
+                        Optional.ofNullable(vendorExtensions)
+                                .map(ve -> ve.get("x-discriminator-value"))
+                                .map(discriminatorValue -> (String) discriminatorValue)
+                                .orElse(currentSchemaName);
+                MappedModel mm = new MappedModel(mappingName, toModelName(currentSchemaName), !mappingName.equals(currentSchemaName));
+                descendentSchemas.add(mm);
+            }
 
-        int count = 0;
-        // hack: avoid infinite loop on potential self-references in event our checks fail.
-        while (100000 > count++) {
-            for (String childName : keys) {
+            // for schemas with an inline schema in allOf, it is not possible to build the discriminator map
+            // because ref is how we get the model name, those are not indexed
+            for (String childName : index.getAllOfChildren(currentSchemaName)) {
                 if (childName.equals(thisSchemaName)) {
                     continue;
                 }
-                Schema child = schemas.get(childName);
-                if (ModelUtils.isComposedSchema(child)) {
-                    List<Schema> parents = child.getAllOf();
-                    if (parents != null) {
-                        for (Schema parent : parents) {
-                            String ref = parent.get$ref();
-                            if (ref == null) {
-                                // for schemas with no ref, it is not possible to build the discriminator map
-                                // because ref is how we get the model name
-                                // we hit this use case when an allOf composed schema contains an inline schema
-                                continue;
-                            }
-                            String parentName = ModelUtils.getSimpleRef(ref);
-                            if (parentName != null && parentName.equals(currentSchemaName)) {
-                                if (queue.contains(childName) || descendentSchemas.stream().anyMatch(i -> childName.equals(i.getMappingName()))) {
-                                    throw new RuntimeException("Stack overflow hit when looking for " + thisSchemaName + " an infinite loop starting and ending at " + childName + " was seen");
-                                }
-                                queue.add(childName);
-                                break;
-                            }
-                        }
+                if (foundFrom.containsKey(childName)) {
+                    if (isFoundThrough(childName, currentSchemaName, foundFrom)) {
+                        throw new RuntimeException("Stack overflow hit when looking for " + thisSchemaName + " an infinite loop starting and ending at " + childName + " was seen");
                     }
+                    continue;
                 }
+                foundFrom.put(childName, currentSchemaName);
+                queue.add(childName);
             }
-            if (queue.size() == 0) {
-                break;
-            }
-            currentSchemaName = queue.remove(0);
-            Schema cs = schemas.get(currentSchemaName);
-            Map<String, Object> vendorExtensions = cs.getExtensions();
-            String mappingName =
-                    Optional.ofNullable(vendorExtensions)
-                            .map(ve -> ve.get("x-discriminator-value"))
-                            .map(discriminatorValue -> (String) discriminatorValue)
-                            .orElse(currentSchemaName);
-            MappedModel mm = new MappedModel(mappingName, toModelName(currentSchemaName), !mappingName.equals(currentSchemaName));
-            descendentSchemas.add(mm);
         }
         return descendentSchemas;
     }
 
+    private static boolean isFoundThrough(String ancestorName, String schemaName, Map<String, String> foundFrom) {
+        for (String name = schemaName; name != null; name = foundFrom.get(name)) {
+            if (name.equals(ancestorName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     protected CodegenDiscriminator createDiscriminator(String schemaName, Schema schema) {
         Discriminator sourceDiscriminator = recursiveGetDiscriminator(schema, new ArrayList<Schema>());
         if (sourceDiscriminator == null) {
@@ -3936,9 +3980,11 @@ public class DefaultCodegen implements CodegenConfig {
      * <p>
      * The return value is cached. An internal cache is looked up to determine
      * if the CodegenProperty return value has already been instantiated for
-     * the (String name, Schema p) arguments.
+     * the (String name, Schema p) arguments, or for an equal schema.
      * Any subsequent processing of the CodegenModel return value must be idempotent
      * for a given (String name, Schema schema).
+     * The cache assumes a schema is not modified once converted, and is cleared by {@link #setOpenAPI(OpenAPI)}:
+     * modify the schemas before (e.g. in {@link #preprocessOpenAPI(OpenAPI)}), not after.
      *
      * @param name                             name of the property
      * @param p                                OAS property schema
@@ -3954,7 +4000,7 @@ public class DefaultCodegen implements CodegenConfig {
             return null;
         }
         LOGGER.debug("debugging fromProperty for {}: {}", name, p);
-        NamedSchema ns = new NamedSchema(name, p, required, schemaIsFromAdditionalProperties);
+        NamedSchema ns = new NamedSchema(name, internSchema(p), required, schemaIsFromAdditionalProperties);
         CodegenProperty cpc = schemaCodegenPropertyCache.get(ns);
         if (cpc != null) {
             LOGGER.debug("Cached fromProperty for {} : {} required={}", name, p.getName(), required);
@@ -6282,28 +6328,32 @@ public class DefaultCodegen implements CodegenConfig {
      * Return a value that is unique, suffixed with _index to make it unique
      * Ensures generated files are unique when compared case-insensitive
      * Not all operating systems support case-sensitive paths
+     * Synchronized on the map of seen values, as model and API files may be rendered concurrently (see
+     * WorkflowSettings#getParallelism)
      */
     private String uniqueCaseInsensitiveString(String value, Map<String, String> seenValues) {
-        if (seenValues.keySet().contains(value)) {
-            return seenValues.get(value);
-        }
+        synchronized (seenValues) {
+            if (seenValues.keySet().contains(value)) {
+                return seenValues.get(value);
+            }
 
-        Optional<Entry<String, String>> foundEntry = seenValues.entrySet().stream().filter(v -> v.getValue().toLowerCase(Locale.ROOT).equals(value.toLowerCase(Locale.ROOT))).findAny();
-        if (foundEntry.isPresent()) {
-            int counter = 0;
-            String uniqueValue = value + "_" + counter;
+            Optional<Entry<String, String>> foundEntry = seenValues.entrySet().stream().filter(v -> v.getValue().toLowerCase(Locale.ROOT).equals(value.toLowerCase(Locale.ROOT))).findAny();
+            if (foundEntry.isPresent()) {
+                int counter = 0;
+                String uniqueValue = value + "_" + counter;
 
-            while (seenValues.values().stream().map(v -> v.toLowerCase(Locale.ROOT)).collect(Collectors.toList()).contains(uniqueValue.toLowerCase(Locale.ROOT))) {
-                counter++;
-                uniqueValue = value + "_" + counter;
+                while (seenValues.values().stream().map(v -> v.toLowerCase(Locale.ROOT)).collect(Collectors.toList()).contains(uniqueValue.toLowerCase(Locale.ROOT))) {
+                    counter++;
+                    uniqueValue = value + "_" + counter;
+                }
+
+                seenValues.put(value, uniqueValue);
+                return uniqueValue;
             }
 
-            seenValues.put(value, uniqueValue);
-            return uniqueValue;
+            seenValues.put(value, value);
+            return value;
         }
-
-        seenValues.put(value, value);
-        return value;
     }
 
     private final Map<String, String> seenApiFilenames = new HashMap<String, String>();
@@ -6668,7 +6718,7 @@ public class DefaultCodegen implements CodegenConfig {
 
         SanitizeNameOptions opts = new SanitizeNameOptions(name, removeCharRegEx, exceptionList);
 
-        return sanitizedNameCache.get(opts, sanitizeNameOptions -> {
+        return NameCache.get("sanitizedNameCache", opts, sanitizedNameCache, sanitizeNameOptions -> {
             String modifiable = sanitizeNameOptions.getName();
             List<String> exceptions = sanitizeNameOptions.getExceptions();
             // input[] => input
@@ -8338,10 +8388,26 @@ public class DefaultCodegen implements CodegenConfig {
     /**
      * Executes an external command for file post processing.
      *
+     * <p>
+     * When batched post-processing is enabled (see {@link BatchPostProcessor}), the last argument is taken to be the file
+     * to process, and the file is queued until {@link #executeBatchedPostProcessors()} runs the command on all queued files.
+     *
      * @param commandArr an array of commands and arguments. They will be concatenated with space and tokenized again.
-     * @return Whether the execution passed (true) or failed (false)
+     * @return Whether the execution passed (true) or failed (false); always true if the file has been queued
      */
     protected boolean executePostProcessor(String[] commandArr) {
+        if (commandArr.length > 1 && BatchPostProcessor.isEnabled()) {
+            BatchPostProcessor queue;
+            synchronized (this) {
+                if (batchPostProcessor == null) {
+                    batchPostProcessor = BatchPostProcessor.fromGlobalSettings();
+                }
+                queue = batchPostProcessor;
+            }
+            queue.add(Arrays.copyOf(commandArr, commandArr.length - 1), commandArr[commandArr.length - 1]);
+            return true;
+        }
+
         final String command = String.join(" ", commandArr);
         try {
             // we don't use the array variant here, because the command passed in by the user is often not only a single binary
@@ -8372,6 +8438,20 @@ public class DefaultCodegen implements CodegenConfig {
         return false;
     }
 
+    @Override
+    public boolean executeBatchedPostProcessors() {
+        BatchPostProcessor queued;
+        synchronized (this) {
+            queued = batchPostProcessor;
+            batchPostProcessor = null;
+        }
+        if (queued == null) {
+            return true;
+        }
+        LOGGER.info("Post-processing {} files in batches", queued.size());
+        return queued.execute();
+    }
+
     /**
      * Boolean value indicating the state of the option for post-processing file using environment variables.
      *
@@ -8410,6 +8490,78 @@ public class DefaultCodegen implements CodegenConfig {
         this.enableMinimalUpdate = enableMinimalUpdate;
     }
 
+    /**
+     * Get the number of threads used to render and write model and API files
+     */
+    @Override
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Set the number of threads used to render and write model and API files
+     *
+     * @param parallelism number of threads, 1 renders everything on the calling thread
+     */
+    @Override
+    public void setParallelism(int parallelism) {
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+    /**
+     * Get whether external file post-processors are run on virtual threads rather than on the threads rendering files
+     */
+    @Override
+    public boolean isUseVirtualThreads() {
+        return useVirtualThreads;
+    }
+
+    /**
+     * Set whether external file post-processors are run on virtual threads rather than on the threads rendering files
+     *
+     * @param useVirtualThreads true to run the post-processors on virtual threads, or on platform threads before Java 21
+     */
+    @Override
+    public void setUseVirtualThreads(boolean useVirtualThreads) {
+        this.useVirtualThreads = useVirtualThreads;
+    }
+
+    /**
+     * Get the boolean value indicating the state of the option for incremental generation based on a manifest of the previous run
+     */
+    @Override
+    public boolean isEnableIncrementalGeneration() {
+        return enableIncrementalGeneration;
+    }
+
+    /**
+     * Set the boolean value indicating the state of the option for incremental generation based on a manifest of the previous run
+     *
+     * @param enableIncrementalGeneration true to enable incremental generation
+     */
+    @Override
+    public void setEnableIncrementalGeneration(boolean enableIncrementalGeneration) {
+        this.enableIncrementalGeneration = enableIncrementalGeneration;
+    }
+
+    /**
+     * Get the location of the JSON report of the time spent per phase, model, API and template of the generation run
+     */
+    @Override
+    public String getProfileReport() {
+        return profileReport;
+    }
+
+    /**
+     * Set the location of the JSON report of the time spent per phase, model, API and template of the generation run
+     *
+     * @param profileReport the report location, or null to not write a report
+     */
+    @Override
+    public void setProfileReport(String profileReport) {
+        this.profileReport = profileReport;
+    }
+
     /**
      * Indicates whether the codegen configuration should treat documents as strictly defined by the OpenAPI specification.
      *
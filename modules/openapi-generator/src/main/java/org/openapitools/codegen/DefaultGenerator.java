@@ -42,6 +42,7 @@ import org.openapitools.codegen.templating.CommonTemplateContentLocator;
 import org.openapitools.codegen.templating.GeneratorTemplateContentLocator;
 import org.openapitools.codegen.templating.MustacheEngineAdapter;
 import org.openapitools.codegen.templating.TemplateManagerOptions;
+import org.openapitools.codegen.templating.mustache.StatefulLambda;
 import org.openapitools.codegen.utils.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -55,7 +56,14 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.ZonedDateTime;
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
@@ -93,6 +101,12 @@ public class DefaultGenerator implements Generator {
     @Getter protected TemplateProcessor templateProcessor = null;
 
     private List<TemplateDefinition> userDefinedTemplates = new ArrayList<>();
+    // the manifest of the previous run, when incremental generation is enabled
+    private GenerationManifest manifest;
+    // the time spent per phase, model, API and template of the generation run
+    private GenerationMetrics metrics = new GenerationMetrics(false);
+    // receives the generated files in place of the output directory, when set
+    private OutputSink outputSink;
     private String generatorCheck = "spring";
     private String templateCheck = "apiController.mustache";
 
@@ -118,7 +132,13 @@ public class DefaultGenerator implements Generator {
             this.userDefinedTemplates = Collections.unmodifiableList(userFiles);
         }
 
-        TemplateManagerOptions templateManagerOptions = new TemplateManagerOptions(this.config.isEnableMinimalUpdate(), this.config.isSkipOverwrite());
+        this.metrics = new GenerationMetrics(this.config.getProfileReport() != null);
+
+        if (this.config.isEnableIncrementalGeneration() && !this.dryRun && this.outputSink == null) {
+            this.manifest = GenerationManifest.load(java.nio.file.Paths.get(this.config.getOutputDir()));
+        }
+
+        TemplateManagerOptions templateManagerOptions = new TemplateManagerOptions(this.config.isEnableMinimalUpdate(), this.config.isSkipOverwrite(), this.manifest, this.outputSink);
 
         if (this.dryRun) {
             this.templateProcessor = new DryRunTemplateManager(templateManagerOptions);
@@ -150,7 +170,10 @@ public class DefaultGenerator implements Generator {
         }
 
         if (this.ignoreProcessor == null) {
-            this.ignoreProcessor = new CodegenIgnoreProcessor(this.config.getOutputDir());
+            // the files written to a sink are not those of the output directory, nor is its ignore file
+            this.ignoreProcessor = this.outputSink == null
+                    ? new CodegenIgnoreProcessor(this.config.getOutputDir())
+                    : new CodegenIgnoreProcessor(new File(this.config.getOutputDir(), ".openapi-generator-ignore"), Collections.emptyList());
         }
 
         return this;
@@ -167,6 +190,20 @@ public class DefaultGenerator implements Generator {
         this.generateMetadata = generateMetadata;
     }
 
+    /**
+     * Programmatically write the generated files to a sink, such as an in-memory tree or an archive, in place of the
+     * output directory. Must be called before {@link #opts(ClientOptInput)}.
+     *
+     * @see org.openapitools.codegen.templating.InMemoryOutputSink
+     * @see org.openapitools.codegen.templating.ArchiveOutputSink
+     *
+     * @param outputSink the sink receiving the generated files, or null to write them to the output directory
+     */
+    @SuppressWarnings("WeakerAccess")
+    public void setOutputSink(OutputSink outputSink) {
+        this.outputSink = outputSink;
+    }
+
     /**
      * Set generator properties otherwise pulled from system properties.
      * Useful for running tests in parallel without relying on System.properties.
@@ -262,7 +299,14 @@ public class DefaultGenerator implements Generator {
                     config.openapiNormalizer().put("NORMALIZE_31SPEC", "true");
                 }
                 OpenAPINormalizer openapiNormalizer = OpenAPINormalizer.createNormalizer(openAPI, config.openapiNormalizer());
-                openapiNormalizer.normalize();
+                if (config.getProfileReport() != null) {
+                    openapiNormalizer.setCollectRuleTimings(true);
+                }
+                try (GenerationMetrics.Measurement ignored = metrics.phase("openapiNormalizer")) {
+                    openapiNormalizer.normalize();
+                }
+                openapiNormalizer.getRuleTimings().forEach((rule, timing) ->
+                        metrics.record(GenerationMetrics.NORMALIZER_RULE, rule, timing.getCount(), timing.getNanos()));
             }
         } catch (Exception e) {
             LOGGER.error("An exception occurred in OpenAPI Normalizer. Please report the issue via https://github.com/openapitools/openapi-generator/issues/new/: ");
@@ -385,15 +429,13 @@ public class DefaultGenerator implements Generator {
             if (generateModelTests) {
                 // do not overwrite test file that already exists (regardless of config's skipOverwrite setting)
                 File modelTestFile = new File(filename);
-                if (modelTestFile.exists()) {
+                if (existsInOutput(modelTestFile)) {
                     this.templateProcessor.skip(modelTestFile.toPath(), "Test files never overwrite an existing file of the same name.");
                 } else {
                     File written = processTemplateToFile(models, templateName, filename, generateModelTests, CodegenConstants.MODEL_TESTS, config.modelTestFileFolder());
                     if (written != null) {
                         files.add(written);
-                        if (config.isEnablePostProcessFile() && !dryRun) {
-                            config.postProcessFile(written, "model-test");
-                        }
+                        postProcessFile(written, "model-test");
                     }
                 }
             } else if (dryRun) {
@@ -412,9 +454,7 @@ public class DefaultGenerator implements Generator {
             File written = processTemplateToFile(models, templateName, filename, generateModelDocumentation, CodegenConstants.MODEL_DOCS);
             if (written != null) {
                 files.add(written);
-                if (config.isEnablePostProcessFile() && !dryRun) {
-                    config.postProcessFile(written, "model-doc");
-                }
+                postProcessFile(written, "model-doc");
             }
         }
     }
@@ -432,9 +472,7 @@ public class DefaultGenerator implements Generator {
             }
             if (written != null) {
                 files.add(written);
-                if (config.isEnablePostProcessFile() && !dryRun) {
-                    config.postProcessFile(written, "model");
-                }
+                postProcessFile(written, "model");
             }
         }
     }
@@ -510,7 +548,10 @@ public class DefaultGenerator implements Generator {
 
                 Map<String, Schema> schemaMap = new HashMap<>();
                 schemaMap.put(name, schema);
-                ModelsMap models = processModels(config, schemaMap);
+                ModelsMap models;
+                try (GenerationMetrics.Measurement ignored = metrics.model(name)) {
+                    models = processModels(config, schemaMap);
+                }
                 models.put("classname", config.toModelName(name));
                 models.putAll(config.additionalProperties());
                 allProcessedModels.put(name, models);
@@ -520,10 +561,14 @@ public class DefaultGenerator implements Generator {
         }
 
         // loop through all models to update children models, isSelfReference, isCircularReference, etc
-        allProcessedModels = config.updateAllModels(allProcessedModels);
+        try (GenerationMetrics.Measurement ignored = metrics.phase("updateAllModels")) {
+            allProcessedModels = config.updateAllModels(allProcessedModels);
+        }
 
         // post process all processed models
-        allProcessedModels = config.postProcessAllModels(allProcessedModels);
+        try (GenerationMetrics.Measurement ignored = metrics.phase("postProcessAllModels")) {
+            allProcessedModels = config.postProcessAllModels(allProcessedModels);
+        }
 
         if (generateRecursiveDependentModels) {
             for (ModelsMap modelsMap : allProcessedModels.values()) {
@@ -544,6 +589,7 @@ public class DefaultGenerator implements Generator {
         }
 
         // generate files based on processed models
+        List<Callable<List<File>>> renderTasks = new ArrayList<>();
         for (String modelName : allProcessedModels.keySet()) {
             ModelsMap models = allProcessedModels.get(modelName);
             models.put("modelPackage", config.modelPackage());
@@ -568,20 +614,29 @@ public class DefaultGenerator implements Generator {
                     }
                     allModels.add(modelTemplate);
                 }
-
-                // to generate model files
-                generateModel(files, models, modelName);
-
-                // to generate model test files
-                generateModelTests(files, models, modelName);
-
-                // to generate model documentation files
-                generateModelDocumentation(files, models, modelName);
-
             } catch (Exception e) {
                 throw new RuntimeException("Could not generate model '" + modelName + "'", e);
             }
+
+            claimModelFilenames(modelName);
+            renderTasks.add(() -> {
+                List<File> written = new ArrayList<>();
+                try (GenerationMetrics.Measurement ignored = metrics.model(modelName)) {
+                    // to generate model files
+                    generateModel(written, models, modelName);
+
+                    // to generate model test files
+                    generateModelTests(written, models, modelName);
+
+                    // to generate model documentation files
+                    generateModelDocumentation(written, models, modelName);
+                } catch (Exception e) {
+                    throw new RuntimeException("Could not generate model '" + modelName + "'", e);
+                }
+                return written;
+            });
         }
+        renderFiles(files, renderTasks);
         if (GlobalSettings.getProperty("debugModels") != null) {
             LOGGER.info("############ Model info ############");
             Json.prettyPrint(allModels);
@@ -682,14 +737,18 @@ public class DefaultGenerator implements Generator {
             }
             paths = updatedPaths;
         }
+        List<Callable<List<File>>> renderTasks = new ArrayList<>();
         for (String tag : paths.keySet()) {
+            OperationsMap operation;
             try {
                 List<CodegenOperation> ops = paths.get(tag);
                 if (!this.config.isSkipSortingOperations()) {
                     // sort operations by operationId
                     ops.sort((one, another) -> ObjectUtils.compare(one.operationId, another.operationId));
                 }
-                OperationsMap operation = processOperations(config, tag, ops, allModels);
+                try (GenerationMetrics.Measurement ignored = metrics.api(tag)) {
+                    operation = processOperations(config, tag, ops, allModels);
+                }
                 URL url = URLPathUtils.getServerURL(openAPI, config.serverVariableOverrides());
                 operation.put("basePath", basePath);
                 operation.put("basePathWithoutHost", removeTrailingSlash(config.encodePath(url.getPath())));
@@ -758,68 +817,71 @@ public class DefaultGenerator implements Generator {
                 allOperations.add(operation);
 
                 addAuthenticationSwitches(operation);
+            } catch (Exception e) {
+                throw new RuntimeException("Could not generate api file for '" + tag + "'", e);
+            }
 
-                for (String templateName : config.apiTemplateFiles().keySet()) {
-                    File written = null;
-                    if (config.templateOutputDirs().containsKey(templateName)) {
-                        String outputDir = config.getOutputDir() + File.separator + config.templateOutputDirs().get(templateName);
-                        String filename = config.apiFilename(templateName, tag, outputDir);
-                        // do not overwrite apiController file for spring server
-                        if (apiFilePreCheck(filename, generatorCheck, templateName, templateCheck)) {
-                            written = processTemplateToFile(operation, templateName, filename, generateApis, CodegenConstants.APIS, outputDir);
-                        } else {
-                            LOGGER.info("Implementation file {} is not overwritten", filename);
-                        }
-                    } else {
-                        String filename = config.apiFilename(templateName, tag);
-                        if (apiFilePreCheck(filename, generatorCheck, templateName, templateCheck)) {
-                            written = processTemplateToFile(operation, templateName, filename, generateApis, CodegenConstants.APIS);
+            claimApiFilenames(tag);
+            renderTasks.add(() -> {
+                List<File> written = new ArrayList<>();
+                try (GenerationMetrics.Measurement ignored = metrics.api(tag)) {
+                    for (String templateName : config.apiTemplateFiles().keySet()) {
+                        File writtenFile = null;
+                        if (config.templateOutputDirs().containsKey(templateName)) {
+                            String outputDir = config.getOutputDir() + File.separator + config.templateOutputDirs().get(templateName);
+                            String filename = config.apiFilename(templateName, tag, outputDir);
+                            // do not overwrite apiController file for spring server
+                            if (apiFilePreCheck(filename, generatorCheck, templateName, templateCheck)) {
+                                writtenFile = processTemplateToFile(operation, templateName, filename, generateApis, CodegenConstants.APIS, outputDir);
+                            } else {
+                                LOGGER.info("Implementation file {} is not overwritten", filename);
+                            }
                         } else {
-                            LOGGER.info("Implementation file {} is not overwritten", filename);
+                            String filename = config.apiFilename(templateName, tag);
+                            if (apiFilePreCheck(filename, generatorCheck, templateName, templateCheck)) {
+                                writtenFile = processTemplateToFile(operation, templateName, filename, generateApis, CodegenConstants.APIS);
+                            } else {
+                                LOGGER.info("Implementation file {} is not overwritten", filename);
+                            }
                         }
-                    }
-                    if (written != null) {
-                        files.add(written);
-                        if (config.isEnablePostProcessFile() && !dryRun) {
-                            config.postProcessFile(written, "api");
+                        if (writtenFile != null) {
+                            written.add(writtenFile);
+                            postProcessFile(writtenFile, "api");
                         }
                     }
-                }
 
-                // to generate api test files
-                for (String templateName : config.apiTestTemplateFiles().keySet()) {
-                    String filename = config.apiTestFilename(templateName, tag);
-                    File apiTestFile = new File(filename);
-                    // do not overwrite test file that already exists
-                    if (apiTestFile.exists()) {
-                        this.templateProcessor.skip(apiTestFile.toPath(), "Test files never overwrite an existing file of the same name.");
-                    } else {
-                        File written = processTemplateToFile(operation, templateName, filename, generateApiTests, CodegenConstants.API_TESTS, config.apiTestFileFolder());
-                        if (written != null) {
-                            files.add(written);
-                            if (config.isEnablePostProcessFile() && !dryRun) {
-                                config.postProcessFile(written, "api-test");
+                    // to generate api test files
+                    for (String templateName : config.apiTestTemplateFiles().keySet()) {
+                        String filename = config.apiTestFilename(templateName, tag);
+                        File apiTestFile = new File(filename);
+                        // do not overwrite test file that already exists
+                        if (existsInOutput(apiTestFile)) {
+                            this.templateProcessor.skip(apiTestFile.toPath(), "Test files never overwrite an existing file of the same name.");
+                        } else {
+                            File writtenFile = processTemplateToFile(operation, templateName, filename, generateApiTests, CodegenConstants.API_TESTS, config.apiTestFileFolder());
+                            if (writtenFile != null) {
+                                written.add(writtenFile);
+                                postProcessFile(writtenFile, "api-test");
                             }
                         }
                     }
-                }
 
-                // to generate api documentation files
-                for (String templateName : config.apiDocTemplateFiles().keySet()) {
-                    String filename = config.apiDocFilename(templateName, tag);
-                    File written = processTemplateToFile(operation, templateName, filename, generateApiDocumentation, CodegenConstants.API_DOCS);
-                    if (written != null) {
-                        files.add(written);
-                        if (config.isEnablePostProcessFile() && !dryRun) {
-                            config.postProcessFile(written, "api-doc");
+                    // to generate api documentation files
+                    for (String templateName : config.apiDocTemplateFiles().keySet()) {
+                        String filename = config.apiDocFilename(templateName, tag);
+                        File writtenFile = processTemplateToFile(operation, templateName, filename, generateApiDocumentation, CodegenConstants.API_DOCS);
+                        if (writtenFile != null) {
+                            written.add(writtenFile);
+                            postProcessFile(writtenFile, "api-doc");
                         }
                     }
+                } catch (Exception e) {
+                    throw new RuntimeException("Could not generate api file for '" + tag + "'", e);
                 }
-
-            } catch (Exception e) {
-                throw new RuntimeException("Could not generate api file for '" + tag + "'", e);
-            }
+                return written;
+            });
         }
+        renderFiles(files, renderTasks);
         if (GlobalSettings.getProperty("debugOperations") != null) {
             LOGGER.info("############ Operation info ############");
             Json.prettyPrint(allOperations);
@@ -844,11 +906,13 @@ public class DefaultGenerator implements Generator {
             }
             webhooks = Webhooks;
         }
+        List<Callable<List<File>>> renderTasks = new ArrayList<>();
         for (String tag : webhooks.keySet()) {
+            WebhooksMap operation;
             try {
                 List<CodegenOperation> wks = webhooks.get(tag);
                 wks.sort((one, another) -> ObjectUtils.compare(one.operationId, another.operationId));
-                WebhooksMap operation = processWebhooks(config, tag, wks, allModels);
+                operation = processWebhooks(config, tag, wks, allModels);
                 URL url = URLPathUtils.getServerURL(openAPI, config.serverVariableOverrides());
                 operation.put("basePath", basePath);
                 operation.put("basePathWithoutHost", removeTrailingSlash(config.encodePath(url.getPath())));
@@ -917,68 +981,71 @@ public class DefaultGenerator implements Generator {
                 allWebhooks.add(operation);
 
                 addAuthenticationSwitches(operation);
+            } catch (Exception e) {
+                throw new RuntimeException("Could not generate api file for '" + tag + "'", e);
+            }
 
-                for (String templateName : config.apiTemplateFiles().keySet()) {
-                    File written = null;
-                    if (config.templateOutputDirs().containsKey(templateName)) {
-                        String outputDir = config.getOutputDir() + File.separator + config.templateOutputDirs().get(templateName);
-                        String filename = config.apiFilename(templateName, tag, outputDir);
-                        // do not overwrite apiController file for spring server
-                        if (apiFilePreCheck(filename, generatorCheck, templateName, templateCheck)) {
-                            written = processTemplateToFile(operation, templateName, filename, generateWebhooks, CodegenConstants.WEBHOOKS, outputDir);
-                        } else {
-                            LOGGER.info("Implementation file {} is not overwritten", filename);
-                        }
-                    } else {
-                        String filename = config.apiFilename(templateName, tag);
-                        if (apiFilePreCheck(filename, generatorCheck, templateName, templateCheck)) {
-                            written = processTemplateToFile(operation, templateName, filename, generateWebhooks, CodegenConstants.WEBHOOKS);
+            claimApiFilenames(tag);
+            renderTasks.add(() -> {
+                List<File> written = new ArrayList<>();
+                try {
+                    for (String templateName : config.apiTemplateFiles().keySet()) {
+                        File writtenFile = null;
+                        if (config.templateOutputDirs().containsKey(templateName)) {
+                            String outputDir = config.getOutputDir() + File.separator + config.templateOutputDirs().get(templateName);
+                            String filename = config.apiFilename(templateName, tag, outputDir);
+                            // do not overwrite apiController file for spring server
+                            if (apiFilePreCheck(filename, generatorCheck, templateName, templateCheck)) {
+                                writtenFile = processTemplateToFile(operation, templateName, filename, generateWebhooks, CodegenConstants.WEBHOOKS, outputDir);
+                            } else {
+                                LOGGER.info("Implementation file {} is not overwritten", filename);
+                            }
                         } else {
-                            LOGGER.info("Implementation file {} is not overwritten", filename);
+                            String filename = config.apiFilename(templateName, tag);
+                            if (apiFilePreCheck(filename, generatorCheck, templateName, templateCheck)) {
+                                writtenFile = processTemplateToFile(operation, templateName, filename, generateWebhooks, CodegenConstants.WEBHOOKS);
+                            } else {
+                                LOGGER.info("Implementation file {} is not overwritten", filename);
+                            }
                         }
-                    }
-                    if (written != null) {
-                        files.add(written);
-                        if (config.isEnablePostProcessFile() && !dryRun) {
-                            config.postProcessFile(written, "api");
+                        if (writtenFile != null) {
+                            written.add(writtenFile);
+                            postProcessFile(writtenFile, "api");
                         }
                     }
-                }
 
-                // to generate api test files
-                for (String templateName : config.apiTestTemplateFiles().keySet()) {
-                    String filename = config.apiTestFilename(templateName, tag);
-                    File apiTestFile = new File(filename);
-                    // do not overwrite test file that already exists
-                    if (apiTestFile.exists()) {
-                        this.templateProcessor.skip(apiTestFile.toPath(), "Test files never overwrite an existing file of the same name.");
-                    } else {
-                        File written = processTemplateToFile(operation, templateName, filename, generateApiTests, CodegenConstants.API_TESTS, config.apiTestFileFolder());
-                        if (written != null) {
-                            files.add(written);
-                            if (config.isEnablePostProcessFile() && !dryRun) {
-                                config.postProcessFile(written, "api-test");
+                    // to generate api test files
+                    for (String templateName : config.apiTestTemplateFiles().keySet()) {
+                        String filename = config.apiTestFilename(templateName, tag);
+                        File apiTestFile = new File(filename);
+                        // do not overwrite test file that already exists
+                        if (existsInOutput(apiTestFile)) {
+                            this.templateProcessor.skip(apiTestFile.toPath(), "Test files never overwrite an existing file of the same name.");
+                        } else {
+                            File writtenFile = processTemplateToFile(operation, templateName, filename, generateApiTests, CodegenConstants.API_TESTS, config.apiTestFileFolder());
+                            if (writtenFile != null) {
+                                written.add(writtenFile);
+                                postProcessFile(writtenFile, "api-test");
                             }
                         }
                     }
-                }
 
-                // to generate api documentation files
-                for (String templateName : config.apiDocTemplateFiles().keySet()) {
-                    String filename = config.apiDocFilename(templateName, tag);
-                    File written = processTemplateToFile(operation, templateName, filename, generateApiDocumentation, CodegenConstants.API_DOCS);
-                    if (written != null) {
-                        files.add(written);
-                        if (config.isEnablePostProcessFile() && !dryRun) {
-                            config.postProcessFile(written, "api-doc");
+                    // to generate api documentation files
+                    for (String templateName : config.apiDocTemplateFiles().keySet()) {
+                        String filename = config.apiDocFilename(templateName, tag);
+                        File writtenFile = processTemplateToFile(operation, templateName, filename, generateApiDocumentation, CodegenConstants.API_DOCS);
+                        if (writtenFile != null) {
+                            written.add(writtenFile);
+                            postProcessFile(writtenFile, "api-doc");
                         }
                     }
+                } catch (Exception e) {
+                    throw new RuntimeException("Could not generate api file for '" + tag + "'", e);
                 }
-
-            } catch (Exception e) {
-                throw new RuntimeException("Could not generate api file for '" + tag + "'", e);
-            }
+                return written;
+            });
         }
+        renderFiles(files, renderTasks);
         if (GlobalSettings.getProperty("debugOperations") != null) {
             LOGGER.info("############ Operation info ############");
             Json.prettyPrint(allWebhooks);
@@ -989,7 +1056,14 @@ public class DefaultGenerator implements Generator {
     // checking if apiController file is already existed for spring generator
     private boolean apiFilePreCheck(String filename, String generator, String templateName, String apiControllerTemplate) {
         File apiFile = new File(filename);
-        return !(apiFile.exists() && config.getName().equals(generator) && templateName.equals(apiControllerTemplate));
+        return !(existsInOutput(apiFile) && config.getName().equals(generator) && templateName.equals(apiControllerTemplate));
+    }
+
+    /**
+     * @return whether the file exists in the output, which is always empty when writing to a sink
+     */
+    private boolean existsInOutput(File file) {
+        return outputSink == null && file.exists();
     }
 
     /*
@@ -1006,11 +1080,6 @@ public class DefaultGenerator implements Generator {
         // use the entries provided by the users to pre-populate .openapi-generator-ignore
         try {
             LOGGER.info("Writing file " + ignoreFileNameTarget + " (which is always overwritten when the option `openapiGeneratorIgnoreFile` is enabled.)");
-            new File(config.outputFolder()).mkdirs();
-            if (!ignoreFile.createNewFile()) {
-                // file may already exist, do nothing
-            }
-
             String header = String.join("\n",
                     "# IMPORTANT: this file is generated with the option `openapiGeneratorIgnoreList` enabled",
                     "# (--openapi-generator-ignore-list in CLI for example) so the entries below are pre-populated based",
@@ -1045,6 +1114,18 @@ public class DefaultGenerator implements Generator {
                     "# The following entries are pre-populated based on the input obtained via",
                     "# the option `openapiGeneratorIgnoreList` (--openapi-generator-ignore-list in CLI for example).",
                     "");
+            if (outputSink != null) {
+                // written along with the generated files, the rules are taken from the entries in memory
+                List<String> lines = new ArrayList<>(Arrays.asList(header.split("\n")));
+                lines.addAll(config.getOpenapiGeneratorIgnoreList());
+                this.templateProcessor.writeToFile(ignoreFileNameTarget, (String.join("\n", lines) + "\n").getBytes(StandardCharsets.UTF_8));
+                this.ignoreProcessor = new CodegenIgnoreProcessor(ignoreFile, lines);
+                return;
+            }
+            new File(config.outputFolder()).mkdirs();
+            if (!ignoreFile.createNewFile()) {
+                // file may already exist, do nothing
+            }
             Writer fileWriter = Files.newBufferedWriter(ignoreFile.toPath(), StandardCharsets.UTF_8);
             fileWriter.write(header);
             // add entries provided by the users
@@ -1081,7 +1162,7 @@ public class DefaultGenerator implements Generator {
 
                 if (!of.isDirectory()) {
                     // check that its not a dryrun and the files in the directory aren't ignored before we make the directory
-                    if (!dryRun && ignoreProcessor.allowsFile(new File(outputFilename)) && !of.mkdirs()) {
+                    if (!dryRun && outputSink == null && ignoreProcessor.allowsFile(new File(outputFilename)) && !of.mkdirs()) {
                         once(LOGGER).debug("Output directory {} not created. It {}.", outputFolder, of.exists() ? "already exists." : "may not have appropriate permissions.");
                     }
                 }
@@ -1095,9 +1176,7 @@ public class DefaultGenerator implements Generator {
                 File written = processTemplateToFile(bundle, support.getTemplateFile(), outputFilename, shouldGenerate, CodegenConstants.SUPPORTING_FILES);
                 if (written != null) {
                     files.add(written);
-                    if (config.isEnablePostProcessFile() && !dryRun) {
-                        config.postProcessFile(written, "supporting-file");
-                    }
+                    postProcessFile(written, "supporting-file");
                 }
             } catch (Exception e) {
                 throw new RuntimeException("Could not generate supporting file '" + support + "'", e);
@@ -1113,16 +1192,14 @@ public class DefaultGenerator implements Generator {
             File ignoreFile = new File(ignoreFileNameTarget);
             if (generateMetadata) {
                 try {
-                    boolean shouldGenerate = !ignoreFile.exists();
+                    boolean shouldGenerate = !existsInOutput(ignoreFile);
                     if (shouldGenerate && supportingFilesToGenerate != null && !supportingFilesToGenerate.isEmpty()) {
                         shouldGenerate = supportingFilesToGenerate.contains(openapiGeneratorIgnore);
                     }
                     File written = processTemplateToFile(bundle, openapiGeneratorIgnore, ignoreFileNameTarget, shouldGenerate, CodegenConstants.SUPPORTING_FILES);
                     if (written != null) {
                         files.add(written);
-                        if (config.isEnablePostProcessFile() && !dryRun) {
-                            config.postProcessFile(written, "openapi-generator-ignore");
-                        }
+                        postProcessFile(written, "openapi-generator-ignore");
                     }
                 } catch (Exception e) {
                     throw new RuntimeException("Could not generate supporting file '" + ignoreFileNameTarget + "'", e);
@@ -1248,6 +1325,21 @@ public class DefaultGenerator implements Generator {
 
     @Override
     public List<File> generate() {
+        // the names transformed during the run are memoized until it ends, see NameCache
+        try (NameCache nameCache = NameCache.open()) {
+            List<File> generated = generateFiles();
+            LOGGER.debug("Name transformations of the run: {}", nameCache.stats());
+            return generated;
+        } finally {
+            if (openAPI != null) {
+                SpecIndex.release(openAPI);
+            }
+            // reset GlobalSettings, so that the running thread can be reused for another generator-run, even after a failure
+            GlobalSettings.reset();
+        }
+    }
+
+    private List<File> generateFiles() {
         if (openAPI == null) {
             throw new RuntimeException("Issues with the OpenAPI input. Possible causes: invalid/missing spec, malformed JSON/YAML files, etc.");
         }
@@ -1273,31 +1365,62 @@ public class DefaultGenerator implements Generator {
             }
         }
 
-        configureGeneratorProperties();
-        configureOpenAPIInfo();
+        String fingerprint = null;
+        if (manifest != null) {
+            try (GenerationMetrics.Measurement ignored = metrics.phase("fingerprint")) {
+                fingerprint = GenerationManifest.fingerprint(config, openAPI);
+            }
+            if (manifest.isUpToDate(fingerprint)) {
+                LOGGER.info("Inputs and generated files are unchanged since the last generation, skipping. Delete {}/{} to force a regeneration.",
+                        METADATA_DIR, GenerationManifest.MANIFEST_FILENAME);
+                writeProfileReport();
+                return manifest.getPreviousFiles();
+            }
+        }
+
+        try (GenerationMetrics.Measurement ignored = metrics.phase("configureGeneratorProperties")) {
+            configureGeneratorProperties();
+            configureOpenAPIInfo();
+        }
 
-        config.processOpenAPI(openAPI);
+        try (GenerationMetrics.Measurement ignored = metrics.phase("processOpenAPI")) {
+            config.processOpenAPI(openAPI);
+        }
 
         processUserDefinedTemplates();
 
+        // the specification is no longer modified, share its index with the lookups of this run
+        SpecIndex specIndex;
+        try (GenerationMetrics.Measurement ignored = metrics.phase("specIndex")) {
+            specIndex = SpecIndex.cache(openAPI);
+        }
+
         // generate .openapi-generator-ignore if the option openapiGeneratorIgnoreFile is enabled
         generateOpenapiGeneratorIgnoreFile();
 
         List<File> files = new ArrayList<>();
         // models
-        List<String> filteredSchemas = ModelUtils.getSchemasUsedOnlyInFormParam(openAPI);
+        List<String> filteredSchemas = specIndex.getSchemasUsedOnlyInFormParam();
         List<ModelMap> allModels = new ArrayList<>();
         List<ModelMap> aliasModels = new ArrayList<>();
-        generateModels(files, allModels, filteredSchemas, aliasModels);
+        try (GenerationMetrics.Measurement ignored = metrics.phase("generateModels")) {
+            generateModels(files, allModels, filteredSchemas, aliasModels);
+        }
         // apis
         List<OperationsMap> allOperations = new ArrayList<>();
-        generateApis(files, allOperations, allModels);
+        try (GenerationMetrics.Measurement ignored = metrics.phase("generateApis")) {
+            generateApis(files, allOperations, allModels);
+        }
         // webhooks
         List<WebhooksMap> allWebhooks = new ArrayList<>();
-        generateWebhooks(files, allWebhooks, allModels);
-        // supporting files
-        Map<String, Object> bundle = buildSupportFileBundle(allOperations, allModels, aliasModels, allWebhooks);
-        generateSupportingFiles(files, bundle);
+        try (GenerationMetrics.Measurement ignored = metrics.phase("generateWebhooks")) {
+            generateWebhooks(files, allWebhooks, allModels);
+        }
+        // supporting files, which depend on all models and operations
+        try (GenerationMetrics.Measurement ignored = metrics.phase("generateSupportingFiles")) {
+            Map<String, Object> bundle = buildSupportFileBundle(allOperations, allModels, aliasModels, allWebhooks);
+            generateSupportingFiles(files, bundle);
+        }
 
         if (dryRun) {
             boolean verbose = Boolean.parseBoolean(GlobalSettings.getProperty("verbose"));
@@ -1343,15 +1466,45 @@ public class DefaultGenerator implements Generator {
             }
         }
 
+        // wait for the post-processors started on virtual threads, then run those queued for batched post-processing
+        if (config.isEnablePostProcessFile() && !dryRun && outputSink == null) {
+            try (GenerationMetrics.Measurement ignored = metrics.phase("executeBatchedPostProcessors")) {
+                awaitPostProcessing();
+                config.executeBatchedPostProcessors();
+            }
+        }
+
+        if (manifest != null) {
+            try {
+                manifest.save(fingerprint);
+            } catch (IOException e) {
+                LOGGER.warn("Failed to write {} to track generated files: {}", GenerationManifest.MANIFEST_FILENAME, e.getMessage());
+            }
+        }
+
         // post-process
-        config.postProcess();
+        try (GenerationMetrics.Measurement ignored = metrics.phase("postProcess")) {
+            config.postProcess();
+        }
 
-        // reset GlobalSettings, so that the running thread can be reused for another generator-run
-        GlobalSettings.reset();
+        writeProfileReport();
 
         return files;
     }
 
+    private void writeProfileReport() {
+        if (config.getProfileReport() == null) {
+            return;
+        }
+        File report = new File(config.getProfileReport());
+        try {
+            metrics.writeReport(report);
+            LOGGER.info("Wrote profile report to {}", report.getAbsolutePath());
+        } catch (IOException e) {
+            LOGGER.warn("Failed to write profile report {}: {}", report, e.getMessage());
+        }
+    }
+
     private void processUserDefinedTemplates() {
         // TODO: initial behavior is "merge" user defined with built-in templates. consider offering user a "replace" option.
         if (userDefinedTemplates != null && !userDefinedTemplates.isEmpty()) {
@@ -1425,11 +1578,154 @@ public class DefaultGenerator implements Generator {
         }
     }
 
+    /**
+     * Runs the given render tasks and adds the files they've written to {@code files}, in task order.
+     * <p>
+     * Each task only renders and writes files from data which has been fully processed beforehand, so with a
+     * configured parallelism greater than 1 the tasks are run on a bounded thread pool, unless the generator registers
+     * a {@link StatefulLambda}. The order of the resulting file list does not depend on the parallelism.
+     *
+     * @param files The list of all generated files
+     * @param tasks The render tasks, each returning the files it has written
+     */
+    /**
+     * Claims the file names of a model in the order models are processed when files are rendered in parallel, so that
+     * names only differing by case get the same suffixes as in a serial run, whichever file is rendered first.
+     */
+    private void claimModelFilenames(String modelName) {
+        if (config.getParallelism() > 1) {
+            config.modelTemplateFiles().keySet().forEach(templateName -> config.modelFilename(templateName, modelName));
+        }
+    }
+
+    /**
+     * Claims the file names of an API group in the order groups are processed, see {@link #claimModelFilenames(String)}.
+     */
+    private void claimApiFilenames(String tag) {
+        if (config.getParallelism() > 1) {
+            config.apiTemplateFiles().keySet().forEach(templateName -> config.apiFilename(templateName, tag));
+            config.apiTestTemplateFiles().keySet().forEach(templateName -> config.apiTestFilename(templateName, tag));
+            config.apiDocTemplateFiles().keySet().forEach(templateName -> config.apiDocFilename(templateName, tag));
+        }
+    }
+
+    private void renderFiles(List<File> files, List<Callable<List<File>>> tasks) {
+        int parallelism = hasStatefulLambdas() ? 1 : Math.min(config.getParallelism(), tasks.size());
+        if (parallelism <= 1) {
+            for (Callable<List<File>> task : tasks) {
+                files.addAll(callRenderTask(task));
+            }
+            return;
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+        try {
+            List<Future<List<File>>> results = new ArrayList<>(tasks.size());
+            for (Callable<List<File>> task : tasks) {
+                results.add(executor.submit(() -> callRenderTask(task)));
+            }
+            for (Future<List<File>> result : results) {
+                files.addAll(result.get());
+            }
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new RuntimeException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while generating files", e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * @return true if the template lambdas of the generator keep state across executions, such as the copied text of
+     * the C# generators, whose output would then depend on which thread renders which file
+     */
+    private boolean hasStatefulLambdas() {
+        Object lambdas = config.additionalProperties().get("lambda");
+        if (lambdas instanceof Map && ((Map<?, ?>) lambdas).values().stream().anyMatch(StatefulLambda.class::isInstance)) {
+            if (config.getParallelism() > 1) {
+                LOGGER.debug("Rendering files one at a time, as generator '{}' registers stateful lambdas", config.getName());
+            }
+            return true;
+        }
+        return false;
+    }
+
+    private static List<File> callRenderTask(Callable<List<File>> task) {
+        try {
+            return task.call();
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
     protected File processTemplateToFile(Map<String, Object> templateData, String templateName, String outputFilename, boolean shouldGenerate, String skippedByOption) throws IOException {
         return processTemplateToFile(templateData, templateName, outputFilename, shouldGenerate, skippedByOption, this.config.getOutputDir());
     }
 
-    private final Set<String> seenFiles = new HashSet<>();
+    // lower-cased absolute paths of all generated files; files may be rendered concurrently (see renderFiles)
+    private final Set<String> seenFiles = ConcurrentHashMap.newKeySet();
+
+    // external post-processors started on virtual threads, see postProcessFile
+    private ExecutorService postProcessExecutor;
+    private final List<Future<?>> pendingPostProcessing = new ArrayList<>();
+
+    // files left untouched by an incremental generation are not post-processed again
+    private void postProcessFile(File file, String fileType) {
+        if (config.isEnablePostProcessFile() && !dryRun && outputSink == null && (manifest == null || !manifest.isUnchanged(file))) {
+            if (!config.isUseVirtualThreads()) {
+                config.postProcessFile(file, fileType);
+                return;
+            }
+            // the post-processor mostly waits for an external process, which should not hold a rendering thread;
+            // at most one process per core runs at a time, however many files are generated
+            synchronized (pendingPostProcessing) {
+                if (postProcessExecutor == null) {
+                    postProcessExecutor = VirtualThreads.newBoundedExecutor("post-process-", Runtime.getRuntime().availableProcessors());
+                }
+                pendingPostProcessing.add(postProcessExecutor.submit(GlobalSettings.propagate(() -> {
+                    config.postProcessFile(file, fileType);
+                    return null;
+                })));
+            }
+        }
+    }
+
+    /**
+     * Waits for the post-processors started on virtual threads by {@link #postProcessFile(File, String)}.
+     */
+    private void awaitPostProcessing() {
+        List<Future<?>> pending;
+        synchronized (pendingPostProcessing) {
+            if (postProcessExecutor == null) {
+                return;
+            }
+            pending = new ArrayList<>(pendingPostProcessing);
+            pendingPostProcessing.clear();
+            postProcessExecutor.shutdown();
+            postProcessExecutor = null;
+        }
+        try {
+            for (Future<?> result : pending) {
+                try {
+                    result.get();
+                } catch (ExecutionException e) {
+                    LOGGER.error("Error post-processing a file: {}", e.getCause().getMessage());
+                } catch (CancellationException e) {
+                    LOGGER.error("Post-processing of a file was cancelled");
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while post-processing files", e);
+        }
+    }
 
     private File processTemplateToFile(Map<String, Object> templateData, String templateName, String outputFilename, boolean shouldGenerate, String skippedByOption, String intendedOutputDir) throws IOException {
         String adjustedOutputFilename = outputFilename.replaceAll("//", "/").replace('/', File.separatorChar);
@@ -1442,11 +1738,12 @@ public class DefaultGenerator implements Generator {
                     throw new RuntimeException(String.format(Locale.ROOT, "Target files must be generated within the output directory; absoluteTarget=%s outDir=%s", absoluteTarget, outDir));
                 }
 
-                if (seenFiles.stream().filter(f -> f.toLowerCase(Locale.ROOT).equals(absoluteTarget.toString().toLowerCase(Locale.ROOT))).findAny().isPresent()) {
+                if (!seenFiles.add(absoluteTarget.toString().toLowerCase(Locale.ROOT))) {
                     LOGGER.warn("Duplicate file path detected. Not all operating systems can handle case sensitive file paths. path={}", absoluteTarget.toString());
                 }
-                seenFiles.add(absoluteTarget.toString());
-                return this.templateProcessor.write(templateData, templateName, target);
+                try (GenerationMetrics.Measurement ignored = metrics.template(templateName)) {
+                    return this.templateProcessor.write(templateData, templateName, target);
+                }
             } else {
                 this.templateProcessor.skip(target.toPath(), String.format(Locale.ROOT, "Skipped by %s options supplied by user.", skippedByOption));
                 return null;
@@ -1939,9 +2236,7 @@ public class DefaultGenerator implements Generator {
                 File written = this.templateProcessor.writeToFile(versionMetadata, (ImplementationVersion.read() + "\n").getBytes(StandardCharsets.UTF_8));
                 if (written != null) {
                     files.add(versionMetadataFile);
-                    if (config.isEnablePostProcessFile() && !dryRun) {
-                        config.postProcessFile(written, "openapi-generator-version");
-                    }
+                    postProcessFile(written, "openapi-generator-version");
                 }
             } catch (IOException e) {
                 throw new RuntimeException("Could not generate supporting file '" + versionMetadata + "'", e);
@@ -2001,13 +2296,13 @@ public class DefaultGenerator implements Generator {
                     }
                 });
 
+                String targetFile = config.outputFolder() + File.separator + METADATA_DIR + File.separator + config.getFilesMetadataFilename();
+
                 Collections.sort(relativePaths, (a, b) -> IOCase.SENSITIVE.checkCompareTo(a, b));
                 relativePaths.forEach(relativePath -> {
                     sb.append(relativePath).append(System.lineSeparator());
                 });
 
-                String targetFile = config.outputFolder() + File.separator + METADATA_DIR + File.separator + config.getFilesMetadataFilename();
-
                 File filesFile = this.templateProcessor.writeToFile(targetFile, sb.toString().getBytes(StandardCharsets.UTF_8));
                 if (filesFile != null) {
                     files.add(filesFile);
@@ -9,17 +9,17 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Manages templates for a generator "dry run"
  */
 public class DryRunTemplateManager implements TemplateProcessor {
     private final TemplateManagerOptions options;
-    private final Map<String, DryRunStatus> dryRunStatusMap = new HashMap<>();
+    private final Map<String, DryRunStatus> dryRunStatusMap = new ConcurrentHashMap<>();
 
-    private final Map<String, Map<String, Object>> capturedTemplateData = new HashMap<>();
+    private final Map<String, Map<String, Object>> capturedTemplateData = new ConcurrentHashMap<>();
     private boolean recordTemplateData = false;
 
     /**
@@ -0,0 +1,367 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.swagger.v3.oas.models.OpenAPI;
+import lombok.Getter;
+import org.openapitools.codegen.config.GlobalSettings;
+import org.openapitools.codegen.serializer.SerializerUtils;
+import org.openapitools.codegen.utils.ImplementationVersion;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * The manifest of an incremental generation run, stored as {@code .openapi-generator/MANIFEST.json}.
+ * <p>
+ * The manifest records a fingerprint of the inputs of a generation run (see {@link #fingerprint(CodegenConfig, OpenAPI)}) and, for
+ * every generated file, the hash of its rendered contents along with the size and modification time of the file as
+ * left on disk (i.e. after post-processing). On the next run:
+ * <ul>
+ *     <li>the whole run is skipped if the input fingerprint is unchanged and no generated file has been modified since</li>
+ *     <li>files whose rendered contents hash to the recorded value, and which have not been modified since, are not written
+ *     (nor post-processed) again</li>
+ * </ul>
+ * Deleting the manifest forces a full regeneration.
+ */
+public class GenerationManifest {
+    private static final Logger LOGGER = LoggerFactory.getLogger(GenerationManifest.class);
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static final String METADATA_DIR = ".openapi-generator";
+    private static final String IGNORE_FILENAME = ".openapi-generator-ignore";
+    public static final String MANIFEST_FILENAME = "MANIFEST.json";
+
+    private final Path outputDir;
+    private final File manifestFile;
+    /**
+     * -- GETTER --
+     * The input fingerprint recorded by the previous run, or null if there is none.
+     */
+    @Getter private final String previousFingerprint;
+    private final Map<String, Entry> previous;
+    private final Map<String, String> current = new ConcurrentHashMap<>();
+    private final Set<String> unchanged = ConcurrentHashMap.newKeySet();
+
+    private GenerationManifest(Path outputDir, String previousFingerprint, Map<String, Entry> previous) {
+        this.outputDir = outputDir;
+        this.manifestFile = outputDir.resolve(METADATA_DIR).resolve(MANIFEST_FILENAME).toFile();
+        this.previousFingerprint = previousFingerprint;
+        this.previous = previous;
+    }
+
+    /**
+     * Loads the manifest of the previous run in the given output directory. A missing or unreadable manifest results in
+     * an empty one, so that all files are generated.
+     *
+     * @param outputDir the output directory of the generation run
+     * @return the manifest
+     */
+    public static GenerationManifest load(Path outputDir) {
+        Path absoluteOutputDir = outputDir.toAbsolutePath().normalize();
+        File manifestFile = absoluteOutputDir.resolve(METADATA_DIR).resolve(MANIFEST_FILENAME).toFile();
+        if (!manifestFile.isFile()) {
+            return new GenerationManifest(absoluteOutputDir, null, Collections.emptyMap());
+        }
+        try {
+            JsonNode root = MAPPER.readTree(manifestFile);
+            Map<String, Entry> entries = new HashMap<>();
+            Iterator<Map.Entry<String, JsonNode>> files = root.path("files").fields();
+            while (files.hasNext()) {
+                Map.Entry<String, JsonNode> file = files.next();
+                JsonNode node = file.getValue();
+                entries.put(file.getKey(), new Entry(node.path("hash").asText(), node.path("size").asLong(-1), node.path("modified").asLong(-1)));
+            }
+            return new GenerationManifest(absoluteOutputDir, root.path("fingerprint").asText(null), entries);
+        } catch (IOException e) {
+            LOGGER.warn("Unable to read generation manifest {}, generating all files: {}", manifestFile, e.getMessage());
+            return new GenerationManifest(absoluteOutputDir, null, Collections.emptyMap());
+        }
+    }
+
+    /**
+     * Whether the previous run was made with the same inputs, and all files it generated are still as it left them.
+     *
+     * @param fingerprint the input fingerprint of the current run
+     * @return true if the current run can be skipped
+     */
+    public boolean isUpToDate(String fingerprint) {
+        if (fingerprint == null || !fingerprint.equals(previousFingerprint) || previous.isEmpty()) {
+            return false;
+        }
+        for (Map.Entry<String, Entry> entry : previous.entrySet()) {
+            if (!entry.getValue().matches(resolve(entry.getKey()))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return the files generated by the previous run
+     */
+    public List<File> getPreviousFiles() {
+        List<File> files = new ArrayList<>(previous.size());
+        new TreeMap<>(previous).keySet().forEach(path -> files.add(resolve(path)));
+        return files;
+    }
+
+    /**
+     * Records the hash of a file's rendered contents, and determines whether the file on disk can be kept as is.
+     *
+     * @param file the generated file
+     * @param hash the hash of the rendered contents
+     * @return true if the previous run rendered the same contents and the file has not been modified since
+     */
+    public boolean record(File file, byte[] hash) {
+        String key = relativize(file);
+        String hex = toHex(hash);
+        current.put(key, hex);
+
+        Entry entry = previous.get(key);
+        if (entry != null && entry.hash.equals(hex) && entry.matches(file)) {
+            unchanged.add(key);
+            return true;
+        }
+        unchanged.remove(key);
+        return false;
+    }
+
+    /**
+     * @param file a generated file
+     * @return true if the file has been kept as is by {@link #record(File, byte[])}
+     */
+    public boolean isUnchanged(File file) {
+        return unchanged.contains(relativize(file));
+    }
+
+    /**
+     * Writes the manifest for the current run, recording the size and modification time of every generated file
+     * as currently found on disk.
+     *
+     * @param fingerprint the input fingerprint of the current run
+     * @throws IOException if the manifest cannot be written
+     */
+    public void save(String fingerprint) throws IOException {
+        ObjectNode root = MAPPER.createObjectNode();
+        root.put("fingerprint", fingerprint);
+        ObjectNode files = root.putObject("files");
+        Map<String, String> tracked = new TreeMap<>(current);
+        // the ignore file is only generated once, but changes to it affect the files generated by the next run
+        File ignoreFile = resolve(IGNORE_FILENAME);
+        if (!tracked.containsKey(IGNORE_FILENAME) && ignoreFile.isFile()) {
+            MessageDigest digest = newDigest();
+            digest.update(Files.readAllBytes(ignoreFile.toPath()));
+            tracked.put(IGNORE_FILENAME, toHex(digest.digest()));
+        }
+        for (Map.Entry<String, String> entry : tracked.entrySet()) {
+            File file = resolve(entry.getKey());
+            if (!file.isFile()) {
+                continue;
+            }
+            files.putObject(entry.getKey())
+                    .put("hash", entry.getValue())
+                    .put("size", file.length())
+                    .put("modified", file.lastModified());
+        }
+        Files.createDirectories(manifestFile.getParentFile().toPath());
+        MAPPER.writerWithDefaultPrettyPrinter().writeValue(manifestFile, root);
+    }
+
+    /**
+     * Computes a fingerprint of the inputs of a generation run: the specification, the generator and its version,
+     * the generator options and mappings, the user-defined templates, the ignore file override, the global properties set for
+     * this run and the post-processing commands. It must be computed before the generator processes its options.
+     *
+     * @param config  the generator
+     * @param openAPI the specification
+     * @return the hex-encoded fingerprint
+     */
+    public static String fingerprint(CodegenConfig config, OpenAPI openAPI) {
+        MessageDigest digest = newDigest();
+        update(digest, "spec", SerializerUtils.toJsonString(openAPI));
+        update(digest, "generator", config.getClass().getName());
+        update(digest, "version", ImplementationVersion.read());
+        update(digest, "library", config.getLibrary());
+        update(digest, "options", describe(Arrays.asList(
+                config.getOutputDir(),
+                config.getIgnoreFilePathOverride(),
+                config.isRemoveOperationIdPrefix(),
+                config.isSkipOperationExample(),
+                config.isStrictSpecBehavior(),
+                config.isEnablePostProcessFile())));
+        update(digest, "additionalProperties", describe(config.additionalProperties()));
+        update(digest, "mappings", describe(Arrays.asList(
+                config.typeMapping(),
+                config.instantiationTypes(),
+                config.importMapping(),
+                config.schemaMapping(),
+                config.inlineSchemaNameMapping(),
+                config.inlineSchemaOption(),
+                config.nameMapping(),
+                config.parameterNameMapping(),
+                config.modelNameMapping(),
+                config.enumNameMapping(),
+                config.operationIdNameMapping(),
+                config.openapiNormalizer(),
+                config.languageSpecificPrimitives(),
+                config.openapiGeneratorIgnoreList(),
+                config.reservedWordsMappings(),
+                config.serverVariableOverrides())));
+
+        // only the properties set for this run, rather than all system properties
+        Map<String, String> globalProperties = new TreeMap<>();
+        for (String key : GlobalSettings.getProperties().stringPropertyNames()) {
+            String value = GlobalSettings.getProperty(key);
+            if (!value.equals(System.getProperty(key))) {
+                globalProperties.put(key, value);
+            }
+        }
+        update(digest, "globalProperties", describe(globalProperties));
+
+        Map<String, String> postProcessors = new TreeMap<>();
+        System.getenv().forEach((key, value) -> {
+            if (key.endsWith("_POST_PROCESS_FILE")) {
+                postProcessors.put(key, value);
+            }
+        });
+        update(digest, "postProcessors", describe(postProcessors));
+
+        try {
+            Object templateDir = config.additionalProperties().get(CodegenConstants.TEMPLATE_DIR);
+            if (templateDir != null) {
+                updateWithDirectory(digest, Paths.get(templateDir.toString()));
+            }
+            // an ignore file in the output directory is tracked as a generated file instead, see save()
+            if (config.getIgnoreFilePathOverride() != null) {
+                updateWithDirectory(digest, Paths.get(config.getIgnoreFilePathOverride()));
+            }
+        } catch (IOException e) {
+            LOGGER.warn("Unable to read templates or ignore file, generating all files: {}", e.getMessage());
+            return null;
+        }
+
+        return toHex(digest.digest());
+    }
+
+    private static void update(MessageDigest digest, String name, String value) {
+        digest.update(name.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+        digest.update(String.valueOf(value).getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+    }
+
+    private static void updateWithDirectory(MessageDigest digest, Path path) throws IOException {
+        if (!Files.exists(path)) {
+            return;
+        }
+        List<Path> files;
+        try (Stream<Path> walk = Files.walk(path)) {
+            files = walk.filter(Files::isRegularFile).sorted().collect(Collectors.toList());
+        }
+        for (Path file : files) {
+            update(digest, "file", path.relativize(file).toString());
+            digest.update(Files.readAllBytes(file));
+        }
+    }
+
+    // a stable description of option values; objects other than strings, numbers, booleans and collections
+    // (e.g. lambdas) are described by their type only, as their string representation may differ between runs
+    private static String describe(Object value) {
+        if (value == null || value instanceof CharSequence || value instanceof Number || value instanceof Boolean || value instanceof Enum) {
+            return String.valueOf(value);
+        }
+        if (value instanceof Map) {
+            Map<String, String> sorted = new TreeMap<>();
+            ((Map<?, ?>) value).forEach((k, v) -> sorted.put(String.valueOf(k), describe(v)));
+            return sorted.toString();
+        }
+        if (value instanceof Set) {
+            return ((Set<?>) value).stream().map(GenerationManifest::describe).sorted().collect(Collectors.toList()).toString();
+        }
+        if (value instanceof Collection) {
+            return ((Collection<?>) value).stream().map(GenerationManifest::describe).collect(Collectors.toList()).toString();
+        }
+        return value.getClass().getName();
+    }
+
+    static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // every Java platform is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+        StringBuilder sb = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            sb.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return sb.toString();
+    }
+
+    private String relativize(File file) {
+        // NOTE: paths are stored linux-style, so that the manifest is the same on all platforms
+        return outputDir.relativize(file.toPath().toAbsolutePath().normalize()).toString().replace(File.separatorChar, '/');
+    }
+
+    private File resolve(String relativePath) {
+        return outputDir.resolve(relativePath.replace('/', File.separatorChar)).toFile();
+    }
+
+    private static class Entry {
+        private final String hash;
+        private final long size;
+        private final long modified;
+
+        private Entry(String hash, long size, long modified) {
+            this.hash = hash;
+            this.size = size;
+            this.modified = modified;
+        }
+
+        private boolean matches(File file) {
+            return file.isFile() && file.length() == size && file.lastModified() == modified;
+        }
+    }
+}
@@ -0,0 +1,245 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.openapitools.codegen.utils.NameCache;
+import org.openapitools.codegen.utils.StringUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Records where the time of a generation run goes: wall-clock time, CPU time and allocated bytes per phase
+ * (e.g. {@code generateModels}), per model, per API group and per template, and the time spent in each normalizer rule,
+ * along with the hits and misses of the name caches and of the name memo of the run (see {@link NameCache}).
+ * <p>
+ * Every measurement is also emitted as a {@code org.openapitools.codegen.Generation} JFR event, so that a run can be
+ * analyzed with a JFR recording. The report itself is only collected when requested, see
+ * {@link CodegenConfig#getProfileReport()}.
+ */
+public class GenerationMetrics {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+    private static final boolean CPU_TIME_SUPPORTED = THREADS.isCurrentThreadCpuTimeSupported() && THREADS.isThreadCpuTimeEnabled();
+
+    public static final String PHASE = "phase";
+    public static final String MODEL = "model";
+    public static final String API = "api";
+    public static final String TEMPLATE = "template";
+    public static final String NORMALIZER_RULE = "normalizerRule";
+
+    private final boolean collect;
+    private final long start = System.nanoTime();
+    private final Map<String, Map<String, Timing>> timings = new LinkedHashMap<>();
+    private final Map<String, CacheStats> cacheBaseline;
+
+    /**
+     * @param collect whether to collect the measurements for {@link #writeReport(File)}, rather than only emitting JFR events
+     */
+    public GenerationMetrics(boolean collect) {
+        this.collect = collect;
+        for (String category : new String[]{PHASE, MODEL, API, TEMPLATE, NORMALIZER_RULE}) {
+            // phases are reported in the order they ran
+            timings.put(category, PHASE.equals(category) ? Collections.synchronizedMap(new LinkedHashMap<>()) : new ConcurrentHashMap<>());
+        }
+        this.cacheBaseline = collect ? cacheStats() : Collections.emptyMap();
+    }
+
+    /**
+     * Starts measuring a phase of the generation run. Meant to be used in a try-with-resources statement.
+     *
+     * @param name the phase
+     * @return the measurement, which ends when closed
+     */
+    public Measurement phase(String name) {
+        return start(PHASE, name);
+    }
+
+    /**
+     * Starts measuring the processing or rendering of a model.
+     *
+     * @param name the model
+     * @return the measurement, which ends when closed
+     */
+    public Measurement model(String name) {
+        return start(MODEL, name);
+    }
+
+    /**
+     * Starts measuring the processing or rendering of an API group.
+     *
+     * @param tag the API group
+     * @return the measurement, which ends when closed
+     */
+    public Measurement api(String tag) {
+        return start(API, tag);
+    }
+
+    /**
+     * Starts measuring the rendering of a template.
+     *
+     * @param templateName the template
+     * @return the measurement, which ends when closed
+     */
+    public Measurement template(String templateName) {
+        return start(TEMPLATE, templateName);
+    }
+
+    /**
+     * Records a measurement taken elsewhere, e.g. the time spent in a rule of the {@link OpenAPINormalizer}. Unlike
+     * the other measurements, it is not emitted as a JFR event.
+     *
+     * @param category  the category, e.g. {@link #NORMALIZER_RULE}
+     * @param name      the measured item
+     * @param count     the number of times the item was measured
+     * @param wallNanos the total wall-clock time
+     */
+    public void record(String category, String name, long count, long wallNanos) {
+        if (collect) {
+            Timing timing = timings.get(category).computeIfAbsent(name, k -> new Timing());
+            timing.count.add(count);
+            timing.wallNanos.add(wallNanos);
+        }
+    }
+
+    private Measurement start(String category, String name) {
+        Runnable event = JvmProfiling.startEvent(category, name);
+        Timing timing = collect ? timings.get(category).computeIfAbsent(name, k -> new Timing()) : null;
+        return new Measurement(event, timing);
+    }
+
+    /**
+     * Writes the collected measurements as a JSON report.
+     *
+     * @param file the report file
+     * @throws IOException if the report cannot be written
+     */
+    public void writeReport(File file) throws IOException {
+        ObjectNode root = MAPPER.createObjectNode();
+        root.put("wallMillis", millis(System.nanoTime() - start));
+        root.put("cpuTimeSupported", CPU_TIME_SUPPORTED);
+        timings.forEach((category, byName) -> {
+            List<Map.Entry<String, Timing>> entries;
+            synchronized (byName) {
+                entries = new ArrayList<>(byName.entrySet());
+            }
+            if (!PHASE.equals(category)) {
+                // the most expensive first
+                entries.sort(Comparator.comparingLong((Map.Entry<String, Timing> e) -> e.getValue().wallNanos.sum()).reversed());
+            }
+            ArrayNode array = root.putArray(category + "s");
+            for (Map.Entry<String, Timing> entry : entries) {
+                Timing timing = entry.getValue();
+                array.addObject()
+                        .put("name", entry.getKey())
+                        .put("count", timing.count.sum())
+                        .put("wallMillis", millis(timing.wallNanos.sum()))
+                        .put("cpuMillis", millis(timing.cpuNanos.sum()))
+                        .put("allocatedBytes", timing.allocatedBytes.sum());
+            }
+        });
+        ObjectNode caches = root.putObject("caches");
+        cacheStats().forEach((name, stats) -> {
+            CacheStats run = cacheBaseline.containsKey(name) ? stats.minus(cacheBaseline.get(name)) : stats;
+            caches.putObject(name)
+                    .put("hits", run.hitCount())
+                    .put("misses", run.missCount())
+                    .put("hitRate", run.hitRate())
+                    .put("evictions", run.evictionCount());
+        });
+        NameCache nameCache = NameCache.current();
+        if (nameCache != null) {
+            ObjectNode memo = root.putObject("nameMemo");
+            nameCache.stats().forEach((name, stats) -> memo.putObject(name)
+                    .put("hits", stats.hitCount())
+                    .put("misses", stats.missCount())
+                    .put("hitRate", stats.hitRate())
+                    .put("size", stats.size()));
+        }
+        File parent = file.getAbsoluteFile().getParentFile();
+        if (parent != null && !parent.exists() && !parent.mkdirs()) {
+            throw new IOException("Unable to create directory " + parent);
+        }
+        MAPPER.writerWithDefaultPrettyPrinter().writeValue(file, root);
+    }
+
+    private static Map<String, CacheStats> cacheStats() {
+        Map<String, CacheStats> stats = new LinkedHashMap<>();
+        stats.put("sanitizedNameCache", DefaultCodegen.sanitizedNameCacheStats());
+        stats.putAll(StringUtils.cacheStats());
+        return stats;
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private static long cpuTime() {
+        return CPU_TIME_SUPPORTED ? THREADS.getCurrentThreadCpuTime() : 0;
+    }
+
+    /**
+     * A running measurement, recorded when closed. Must be closed on the thread which started it.
+     */
+    public static class Measurement implements AutoCloseable {
+        private final Runnable event;
+        private final Timing timing;
+        private final long startNanos;
+        private final long startCpu;
+        private final long startAllocated;
+
+        private Measurement(Runnable event, Timing timing) {
+            this.event = event;
+            this.timing = timing;
+            this.startNanos = timing != null ? System.nanoTime() : 0;
+            this.startCpu = timing != null ? cpuTime() : 0;
+            this.startAllocated = timing != null ? JvmProfiling.allocatedBytes() : 0;
+        }
+
+        @Override
+        public void close() {
+            event.run();
+            if (timing != null) {
+                timing.count.increment();
+                timing.wallNanos.add(System.nanoTime() - startNanos);
+                timing.cpuNanos.add(cpuTime() - startCpu);
+                timing.allocatedBytes.add(JvmProfiling.allocatedBytes() - startAllocated);
+            }
+        }
+    }
+
+    private static class Timing {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder wallNanos = new LongAdder();
+        private final LongAdder cpuNanos = new LongAdder();
+        private final LongAdder allocatedBytes = new LongAdder();
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * The JVM specific parts of {@link GenerationMetrics}: JFR events and per-thread allocation counters.
+ * <p>
+ * NOTE: this is the only class using these APIs, and is therefore excluded from the forbidden API checks.
+ * Nothing of their types may leak into other classes.
+ */
+final class JvmProfiling {
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    private JvmProfiling() {
+    }
+
+    /**
+     * Starts a {@code org.openapitools.codegen.Generation} JFR event.
+     *
+     * @param category the category of the measurement, e.g. {@link GenerationMetrics#PHASE}
+     * @param name     the name of the measured phase, model, API or template
+     * @return the action ending and committing the event
+     */
+    static Runnable startEvent(String category, String name) {
+        GenerationEvent event = new GenerationEvent();
+        event.category = category;
+        event.name = name;
+        event.begin();
+        return event::commit;
+    }
+
+    /**
+     * @return the bytes allocated by the current thread so far, or 0 if the JVM does not support measuring them
+     */
+    static long allocatedBytes() {
+        if (THREADS instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) THREADS;
+            if (threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled()) {
+                return threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+            }
+        }
+        return 0;
+    }
+
+    @Name("org.openapitools.codegen.Generation")
+    @Label("Generation")
+    @Category("OpenAPI Generator")
+    @Description("A phase of a generation run, or the processing or rendering of a model, API group or template")
+    static class GenerationEvent extends Event {
+        @Label("Category")
+        String category;
+
+        @Label("Name")
+        String name;
+    }
+}
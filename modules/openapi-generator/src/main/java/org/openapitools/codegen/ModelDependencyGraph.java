@@ -0,0 +1,201 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen;
+
+import java.util.AbstractMap;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The dependencies between models (e.g. through their properties), grouped in strongly connected components: the
+ * models of a component all depend on each other, directly or not. Computed once, in linear time, so that telling
+ * whether a dependency is circular is a constant-time lookup.
+ * <p>
+ * The dependencies may name types which are not models (e.g. "String"): those have no dependencies.
+ */
+public final class ModelDependencyGraph {
+    private final Map<String, List<String>> dependencies;
+    private final Map<String, Integer> components = new HashMap<>();
+    private final List<Set<String>> componentMembers = new ArrayList<>();
+    private final Set<String> selfDependent = new HashSet<>();
+    private final Map<Integer, Set<String>> closures = new HashMap<>();
+
+    /**
+     * @param dependencies the names of the types each model depends on
+     */
+    public ModelDependencyGraph(Map<String, ? extends Collection<String>> dependencies) {
+        this.dependencies = new LinkedHashMap<>();
+        dependencies.forEach((name, names) -> this.dependencies.put(name, new ArrayList<>(names)));
+        for (Map.Entry<String, List<String>> entry : this.dependencies.entrySet()) {
+            if (entry.getValue().contains(entry.getKey())) {
+                selfDependent.add(entry.getKey());
+            }
+        }
+        computeComponents();
+    }
+
+    /**
+     * Tarjan's algorithm, with an explicit stack so that long dependency chains do not overflow the thread stack.
+     */
+    private void computeComponents() {
+        Map<String, Integer> indexes = new HashMap<>();
+        Map<String, Integer> lowLinks = new HashMap<>();
+        Deque<String> stack = new ArrayDeque<>();
+        Set<String> onStack = new HashSet<>();
+        Deque<Map.Entry<String, Iterator<String>>> calls = new ArrayDeque<>();
+
+        for (String start : allNames()) {
+            if (indexes.containsKey(start)) {
+                continue;
+            }
+            visit(start, indexes, lowLinks, stack, onStack, calls);
+            while (!calls.isEmpty()) {
+                Map.Entry<String, Iterator<String>> call = calls.peek();
+                String name = call.getKey();
+                Iterator<String> next = call.getValue();
+                if (next.hasNext()) {
+                    String dependency = next.next();
+                    if (!indexes.containsKey(dependency)) {
+                        visit(dependency, indexes, lowLinks, stack, onStack, calls);
+                    } else if (onStack.contains(dependency)) {
+                        lowLinks.put(name, Math.min(lowLinks.get(name), indexes.get(dependency)));
+                    }
+                    continue;
+                }
+                calls.pop();
+                if (lowLinks.get(name).equals(indexes.get(name))) {
+                    Set<String> members = new HashSet<>();
+                    String member;
+                    do {
+                        member = stack.pop();
+                        onStack.remove(member);
+                        members.add(member);
+                        components.put(member, componentMembers.size());
+                    } while (!member.equals(name));
+                    componentMembers.add(members);
+                }
+                if (!calls.isEmpty()) {
+                    String caller = calls.peek().getKey();
+                    lowLinks.put(caller, Math.min(lowLinks.get(caller), lowLinks.get(name)));
+                }
+            }
+        }
+    }
+
+    private void visit(String name, Map<String, Integer> indexes, Map<String, Integer> lowLinks, Deque<String> stack,
+                       Set<String> onStack, Deque<Map.Entry<String, Iterator<String>>> calls) {
+        indexes.put(name, indexes.size());
+        lowLinks.put(name, indexes.get(name));
+        stack.push(name);
+        onStack.add(name);
+        calls.push(new AbstractMap.SimpleImmutableEntry<>(name, getDependencies(name).iterator()));
+    }
+
+    private Set<String> allNames() {
+        Set<String> names = new LinkedHashSet<>(dependencies.keySet());
+        dependencies.values().forEach(names::addAll);
+        return names;
+    }
+
+    private List<String> getDependencies(String name) {
+        return dependencies.getOrDefault(name, Collections.emptyList());
+    }
+
+    /**
+     * Tells whether a dependency of a model depends on the model again, directly or not.
+     *
+     * @param model      the name of the model
+     * @param dependency the name of one of its dependencies
+     * @return true if the dependency is the model itself or belongs to the same component
+     */
+    public boolean isCircularReference(String model, String dependency) {
+        if (model.equals(dependency)) {
+            return true;
+        }
+        Integer component = components.get(model);
+        return component != null && component.equals(components.get(dependency));
+    }
+
+    /**
+     * @param model the name of a model
+     * @return the models depending on each other with this model, including the model itself if it depends on
+     * itself, or an empty set if the model is not part of a cycle
+     */
+    public Set<String> getCycle(String model) {
+        Integer component = components.get(model);
+        if (component == null) {
+            return Collections.emptySet();
+        }
+        Set<String> members = componentMembers.get(component);
+        if (members.size() == 1 && !selfDependent.contains(model)) {
+            return Collections.emptySet();
+        }
+        return Collections.unmodifiableSet(members);
+    }
+
+    /**
+     * @param model the name of a model
+     * @return the names of the types the model depends on, directly or not, including the model itself if it is part
+     * of a cycle
+     */
+    public Set<String> getTransitiveDependencies(String model) {
+        Set<String> transitiveDependencies = new HashSet<>();
+        for (String dependency : getDependencies(model)) {
+            transitiveDependencies.addAll(closure(components.get(dependency)));
+        }
+        return transitiveDependencies;
+    }
+
+    /**
+     * The members of a component and all their transitive dependencies. Tarjan's algorithm numbers the components in
+     * reverse topological order, the closures of the dependencies of a component are computed first.
+     */
+    private Set<String> closure(int component) {
+        Set<String> closure = closures.get(component);
+        if (closure != null) {
+            return closure;
+        }
+        for (int c = 0; c <= component; c++) {
+            if (closures.containsKey(c)) {
+                continue;
+            }
+            Set<String> members = componentMembers.get(c);
+            Set<String> names = new HashSet<>(members);
+            for (String member : members) {
+                for (String dependency : getDependencies(member)) {
+                    int dependencyComponent = components.get(dependency);
+                    if (dependencyComponent != c) {
+                        names.addAll(closures.get(dependencyComponent));
+                    }
+                }
+            }
+            closures.put(c, names);
+        }
+        return closures.get(component);
+    }
+}
@@ -35,6 +35,7 @@ import org.slf4j.LoggerFactory;
 import java.lang.reflect.Constructor;
 import java.util.*;
 import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import static org.openapitools.codegen.utils.ModelUtils.simplifyOneOfAnyOfWithOnlyOneNonNullSubSchema;
@@ -154,6 +155,15 @@ public class OpenAPINormalizer {
 
     // ============= end of rules =============
 
+    // the rules registered in addition to the built-in ones
+    private final List<OpenAPINormalizerRule> customRules = new ArrayList<>();
+
+    // the time spent in each enabled rule, excluding the time spent in the rules it applies in turn (e.g. to nested
+    // schemas), only measured for debugging or profiling
+    private final Map<String, RuleTiming> ruleTimings = new LinkedHashMap<>();
+    private long nestedRuleNanos;
+    private boolean collectRuleTimings = LOGGER.isDebugEnabled();
+
     /**
      * Factory constructor for OpenAPINormalizer.
      *
@@ -226,6 +236,35 @@ public class OpenAPINormalizer {
         anyTypeTreeSet.add("array");
     }
 
+    /**
+     * Registers a custom rule, applied during the same traversal of the specification as the built-in rules.
+     *
+     * @param rule the rule
+     */
+    public void addRule(OpenAPINormalizerRule rule) {
+        customRules.add(rule);
+    }
+
+    /**
+     * Sets whether to measure the time spent in each rule, which is done by default when debug logging is enabled.
+     *
+     * @param collectRuleTimings true to measure the rules, see {@link #getRuleTimings()}
+     */
+    public void setCollectRuleTimings(boolean collectRuleTimings) {
+        this.collectRuleTimings = collectRuleTimings;
+    }
+
+    /**
+     * The time spent in each rule during {@link #normalize()}, built-in or custom, excluding the time spent in the
+     * rules applied to nested schemas. Only measured when enabled with {@link #setCollectRuleTimings(boolean)} or
+     * debug logging; built-in rules which are not enabled are not reported.
+     *
+     * @return the timing of each enabled rule applied at least once, by rule name
+     */
+    public Map<String, RuleTiming> getRuleTimings() {
+        return Collections.unmodifiableMap(ruleTimings);
+    }
+
     /**
      * Get the rule.
      *
@@ -365,6 +404,56 @@ public class OpenAPINormalizer {
         normalizeComponentsSecuritySchemes();
         normalizeComponentsSchemas();
         normalizeComponentsResponses();
+
+        if (LOGGER.isDebugEnabled() && collectRuleTimings) {
+            ruleTimings.forEach((name, timing) -> LOGGER.debug("openapi-normalizer rule {}: {}", name, timing));
+        }
+    }
+
+    /**
+     * Applies a rule, measuring the time spent in it if enabled.
+     *
+     * @param ruleName the name of the rule
+     * @param rule     the rule
+     * @param <T>      the type of the result of the rule
+     * @return the result of the rule
+     */
+    protected <T> T applyRule(String ruleName, Supplier<T> rule) {
+        // disabled built-in rules return right away, see their process methods
+        if (!collectRuleTimings || (ruleNames.contains(ruleName) && !getRule(ruleName))) {
+            return rule.get();
+        }
+        long outerNestedNanos = nestedRuleNanos;
+        nestedRuleNanos = 0;
+        long start = System.nanoTime();
+        try {
+            return rule.get();
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            ruleTimings.computeIfAbsent(ruleName, k -> new RuleTiming()).add(elapsed - nestedRuleNanos);
+            nestedRuleNanos = outerNestedNanos + elapsed;
+        }
+    }
+
+    /**
+     * Applies a rule which returns nothing, measuring the time spent in it.
+     *
+     * @param ruleName the name of the rule
+     * @param rule     the rule
+     */
+    protected void applyRule(String ruleName, Runnable rule) {
+        applyRule(ruleName, () -> {
+            rule.run();
+            return null;
+        });
+    }
+
+    /**
+     * @return a new set of visited schemas, compared by identity: distinct schemas are normalized separately even if
+     * they are equal, and a schema modified while being normalized is still known as visited
+     */
+    protected Set<Schema> newVisitedSchemas() {
+        return Collections.newSetFromMap(new IdentityHashMap<>());
     }
 
     /**
@@ -459,17 +548,21 @@ public class OpenAPINormalizer {
      * @param operation Operation
      */
     protected void normalizeOperation(Operation operation) {
-        processRemoveXInternalFromOperation(operation);
+        applyRule(REMOVE_X_INTERNAL, () -> processRemoveXInternalFromOperation(operation));
 
-        processKeepOnlyFirstTagInOperation(operation);
+        applyRule(KEEP_ONLY_FIRST_TAG_IN_OPERATION, () -> processKeepOnlyFirstTagInOperation(operation));
 
-        processSetTagsForAllOperations(operation);
+        applyRule(SET_TAGS_FOR_ALL_OPERATIONS, () -> processSetTagsForAllOperations(operation));
 
-        processSetTagsToOperationId(operation);
+        applyRule(SET_TAGS_TO_OPERATIONID, () -> processSetTagsToOperationId(operation));
 
-        processSetTagsToVendorExtension(operation);
+        applyRule(SET_TAGS_TO_VENDOR_EXTENSION, () -> processSetTagsToVendorExtension(operation));
 
-        processFixDuplicatedOperationId(operation);
+        applyRule(FIX_DUPLICATED_OPERATIONID, () -> processFixDuplicatedOperationId(operation));
+
+        for (OpenAPINormalizerRule rule : customRules) {
+            applyRule(rule.getName(), () -> rule.visitOperation(operation));
+        }
     }
 
     /**
@@ -489,7 +582,7 @@ public class OpenAPINormalizer {
             } else if (mediaType.getSchema() == null) {
                 continue;
             } else {
-                Schema newSchema = normalizeSchema(mediaType.getSchema(), new HashSet<>());
+                Schema newSchema = normalizeSchema(mediaType.getSchema(), newVisitedSchemas());
                 mediaType.setSchema(newSchema);
             }
         }
@@ -537,7 +630,7 @@ public class OpenAPINormalizer {
             }
 
             if (parameter.getSchema() != null) {
-                Schema newSchema = normalizeSchema(parameter.getSchema(), new HashSet<>());
+                Schema newSchema = normalizeSchema(parameter.getSchema(), newVisitedSchemas());
                 parameter.setSchema(newSchema);
             }
         }
@@ -583,7 +676,7 @@ public class OpenAPINormalizer {
 
         for (String headerKey : headers.keySet()) {
             Header h = headers.get(headerKey);
-            Schema updatedHeader = normalizeSchema(h.getSchema(), new HashSet<>());
+            Schema updatedHeader = normalizeSchema(h.getSchema(), newVisitedSchemas());
             h.setSchema(updatedHeader);
         }
     }
@@ -644,7 +737,7 @@ public class OpenAPINormalizer {
                 fixSelfReferenceSchema(schemaName, schema);
 
                 // normalize the schemas
-                schemas.put(schemaName, normalizeSchema(schema, new HashSet<>()));
+                schemas.put(schemaName, normalizeSchema(schema, newVisitedSchemas()));
             }
         }
     }
@@ -725,6 +818,14 @@ public class OpenAPINormalizer {
         }
         markSchemaAsVisited(schema, visitedSchemas);
 
+        for (OpenAPINormalizerRule rule : customRules) {
+            Schema visited = schema;
+            schema = applyRule(rule.getName(), () -> rule.visitSchema(visited));
+            if (schema == null || StringUtils.isNotEmpty(schema.get$ref())) {
+                return schema;
+            }
+        }
+
         if (ModelUtils.isArraySchema(schema)) { // array
             Schema result = normalizeArraySchema(schema);
             normalizeSchema(result.getItems(), visitedSchemas);
@@ -820,27 +921,27 @@ public class OpenAPINormalizer {
     }
 
     protected Schema normalizeArraySchema(Schema schema) {
-        Schema result = processNormalize31Spec(schema, new HashSet<>());
-        return processSetArraytoNullable(result);
+        Schema result = applyRule(NORMALIZE_31SPEC, () -> processNormalize31Spec(schema, newVisitedSchemas()));
+        return applyRule(SET_CONTAINER_TO_NULLABLE, () -> processSetArraytoNullable(result));
     }
 
     protected Schema normalizeMapSchema(Schema schema) {
-        return processSetMapToNullable(schema);
+        return applyRule(SET_CONTAINER_TO_NULLABLE, () -> processSetMapToNullable(schema));
     }
 
     protected Schema normalizeSimpleSchema(Schema schema, Set<Schema> visitedSchemas) {
-        Schema result = processNormalize31Spec(schema, visitedSchemas);
-        return processSetPrimitiveTypesToNullable(result);
+        Schema result = applyRule(NORMALIZE_31SPEC, () -> processNormalize31Spec(schema, visitedSchemas));
+        return applyRule(SET_PRIMITIVE_TYPES_TO_NULLABLE, () -> processSetPrimitiveTypesToNullable(result));
     }
 
     protected void normalizeBooleanSchema(Schema schema, Set<Schema> visitedSchemas) {
-        processSimplifyBooleanEnum(schema);
-        processSetPrimitiveTypesToNullable(schema);
+        applyRule(SIMPLIFY_BOOLEAN_ENUM, () -> processSimplifyBooleanEnum(schema));
+        applyRule(SET_PRIMITIVE_TYPES_TO_NULLABLE, () -> processSetPrimitiveTypesToNullable(schema));
     }
 
     protected void normalizeIntegerSchema(Schema schema, Set<Schema> visitedSchemas) {
-        processAddUnsignedToIntegerWithInvalidMaxValue(schema);
-        processSetPrimitiveTypesToNullable(schema);
+        applyRule(ADD_UNSIGNED_TO_INTEGER_WITH_INVALID_MAX_VALUE, () -> processAddUnsignedToIntegerWithInvalidMaxValue(schema));
+        applyRule(SET_PRIMITIVE_TYPES_TO_NULLABLE, () -> processSetPrimitiveTypesToNullable(schema));
     }
 
     protected void normalizeProperties(Map<String, Schema> properties, Set<Schema> visitedSchemas) {
@@ -849,7 +950,7 @@ public class OpenAPINormalizer {
         }
         for (Map.Entry<String, Schema> propertiesEntry : properties.entrySet()) {
             Schema property = propertiesEntry.getValue();
-            Schema newProperty = normalizeSchema(property, new HashSet<>());
+            Schema newProperty = normalizeSchema(property, newVisitedSchemas());
             propertiesEntry.setValue(newProperty);
         }
     }
@@ -946,7 +1047,7 @@ public class OpenAPINormalizer {
         }
 
         // process rules here
-        processUseAllOfRefAsParent(schema);
+        applyRule(REF_AS_PARENT_IN_ALLOF, () -> processUseAllOfRefAsParent(schema));
 
         return schema;
     }
@@ -959,7 +1060,8 @@ public class OpenAPINormalizer {
         }
 
         // process rule to refactor properties into allOf sub-schema
-        schema = processRefactorAllOfWithPropertiesOnly(schema);
+        Schema allOfWithProperties = schema;
+        schema = applyRule(REFACTOR_ALLOF_WITH_PROPERTIES_ONLY, () -> processRefactorAllOfWithPropertiesOnly(allOfWithProperties));
 
         for (Object item : schema.getAllOf()) {
             if (!(item instanceof Schema)) {
@@ -976,10 +1078,11 @@ public class OpenAPINormalizer {
         // Remove duplicate oneOf entries
         ModelUtils.deduplicateOneOfSchema(schema);
 
-        schema = processSimplifyOneOfEnum(schema);
+        Schema oneOf = schema;
+        Schema simplifiedOneOfEnum = applyRule(SIMPLIFY_ONEOF_ANYOF_ENUM, () -> processSimplifyOneOfEnum(oneOf));
 
         // simplify first as the schema may no longer be a oneOf after processing the rule below
-        schema = processSimplifyOneOf(schema);
+        schema = applyRule(SIMPLIFY_ONEOF_ANYOF, () -> processSimplifyOneOf(simplifiedOneOfEnum));
 
         // if it's still a oneOf, loop through the sub-schemas
         if (schema.getOneOf() != null) {
@@ -999,7 +1102,7 @@ public class OpenAPINormalizer {
             }
         } else {
             // normalize it as it's no longer an oneOf
-            schema = normalizeSchema(schema, visitedSchemas);
+            schema = normalizeModifiedSchema(schema, visitedSchemas);
         }
 
         return schema;
@@ -1007,7 +1110,8 @@ public class OpenAPINormalizer {
 
     protected Schema normalizeAnyOf(Schema schema, Set<Schema> visitedSchemas) {
         //transform anyOf into enums if needed
-        schema = processSimplifyAnyOfEnum(schema);
+        Schema anyOf = schema;
+        schema = applyRule(SIMPLIFY_ONEOF_ANYOF_ENUM, () -> processSimplifyAnyOfEnum(anyOf));
         if (schema.getAnyOf() == null) {
             return schema;
         }
@@ -1028,10 +1132,17 @@ public class OpenAPINormalizer {
         }
 
         // process rules here
-        schema = processSimplifyAnyOf(schema);
+        Schema normalizedAnyOf = schema;
+        Schema simplifiedAnyOf = applyRule(SIMPLIFY_ONEOF_ANYOF, () -> processSimplifyAnyOf(normalizedAnyOf));
 
         // last rule to process as the schema may become String schema (not "anyOf") after the completion
-        return normalizeSchema(processSimplifyAnyOfStringAndEnumString(schema), visitedSchemas);
+        Schema result = applyRule(SIMPLIFY_ANYOF_STRING_AND_ENUM_STRING,
+                () -> processSimplifyAnyOfStringAndEnumString(simplifiedAnyOf));
+        if (result == null || (result.getAnyOf() != null && !result.getAnyOf().isEmpty())) {
+            // still an anyOf, whose sub-schemas were normalized above
+            return result;
+        }
+        return normalizeModifiedSchema(result, visitedSchemas);
     }
 
     protected Schema normalizeComplexComposedSchema(Schema schema, Set<Schema> visitedSchemas) {
@@ -1040,8 +1151,28 @@ public class OpenAPINormalizer {
             normalizeProperties(schema.getProperties(), visitedSchemas);
         }
 
-        processRemoveAnyOfOneOfAndKeepPropertiesOnly(schema);
+        boolean oneOfOrAnyOf = schema.getOneOf() != null || schema.getAnyOf() != null;
+        applyRule(REMOVE_ANYOF_ONEOF_AND_KEEP_PROPERTIES_ONLY, () -> processRemoveAnyOfOneOfAndKeepPropertiesOnly(schema));
+
+        if (oneOfOrAnyOf && schema.getOneOf() == null && schema.getAnyOf() == null) {
+            // normalize it as it's no longer a oneOf or anyOf
+            return normalizeModifiedSchema(schema, visitedSchemas);
+        }
+        return schema;
+    }
 
+    /**
+     * Normalizes a schema again after a rule modified it in place, e.g. a oneOf simplified to its only sub-schema,
+     * although it was already visited, as it may now be normalized differently.
+     *
+     * @param schema         the modified schema
+     * @param visitedSchemas a set of visited schemas
+     * @return the normalized schema
+     */
+    protected Schema normalizeModifiedSchema(Schema schema, Set<Schema> visitedSchemas) {
+        if (schema != null) {
+            visitedSchemas.remove(schema);
+        }
         return normalizeSchema(schema, visitedSchemas);
     }
 
@@ -1698,7 +1829,7 @@ public class OpenAPINormalizer {
 
         // at this point the schema becomes a simple allOf (no properties) with an additional schema containing
         // the properties. Normalize it before returning.
-        return normalizeSchema(schema, new HashSet<>());
+        return normalizeSchema(schema, newVisitedSchemas());
     }
 
     /**
@@ -1811,4 +1942,30 @@ public class OpenAPINormalizer {
     }
 
     // ===================== end of rules =====================
+
+    /**
+     * The number of times a rule was applied and the time spent in it.
+     */
+    public static final class RuleTiming {
+        private long count;
+        private long nanos;
+
+        private void add(long elapsedNanos) {
+            count++;
+            nanos += elapsedNanos;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getNanos() {
+            return nanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "%d call(s), %.3f ms", count, nanos / 1_000_000.0);
+        }
+    }
 }
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen;
+
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.media.Schema;
+
+/**
+ * A custom rule of the {@link OpenAPINormalizer}, applied during the normalizer's traversal of the specification along
+ * with the built-in rules, rather than in a traversal of its own.
+ * <p>
+ * Rules are registered with {@link OpenAPINormalizer#addRule(OpenAPINormalizerRule)}, e.g. in the constructor of a
+ * normalizer subclass set with the {@code NORMALIZER_CLASS} rule. The time spent in each rule is reported along with
+ * the time spent in the built-in rules, see {@link OpenAPINormalizer#getRuleTimings()}.
+ */
+public interface OpenAPINormalizerRule {
+
+    /**
+     * @return the name of the rule, e.g. "REMOVE_DEPRECATED_OPERATIONS"
+     */
+    String getName();
+
+    /**
+     * Called for each operation, including the operations of the callbacks, after the built-in rules.
+     *
+     * @param operation the operation
+     */
+    default void visitOperation(Operation operation) {
+    }
+
+    /**
+     * Called for each schema which is not a $ref (in paths, components and nested in other schemas), once per
+     * traversal of the schema, before the built-in rules.
+     *
+     * @param schema the schema
+     * @return the schema replacing it, or the schema itself
+     */
+    @SuppressWarnings("rawtypes")
+    default Schema visitSchema(Schema schema) {
+        return schema;
+    }
+}
@@ -0,0 +1,202 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openapitools.codegen;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.swagger.v3.oas.models.media.Schema;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The structure of the schemas generated by the {@link InlineModelResolver}, for finding an existing schema with the
+ * same structure as an inline one.
+ * <p>
+ * Two schemas have the same structure if they serialize to the same JSON. Rather than keying the generated schemas by
+ * their JSON, which allocates the JSON of every inline schema looked up, the schemas are keyed by a 64-bit hash of
+ * their JSON, computed while it is streamed. The JSON of a schema is only compared in full with the one of a
+ * generated schema with the same hash, so that a hash collision never reuses a schema of a different structure.
+ * <p>
+ * The JSON of every generated schema is kept, as UTF-8 bytes, as it was when the schema was recorded: the schema
+ * itself may be changed afterward. The memory kept per generated schema is therefore about the same as when the
+ * schemas were keyed by their JSON.
+ */
+final class SchemaSignatures {
+    private final ObjectMapper mapper;
+    private final Map<Long, List<Signature>> signatures = new HashMap<>();
+
+    /**
+     * @param mapper the mapper serializing the schemas, consistently (e.g. with its properties sorted)
+     */
+    SchemaSignatures(ObjectMapper mapper) {
+        this.mapper = mapper;
+    }
+
+    /**
+     * @param schema a schema
+     * @return the name of the last generated schema with the same structure, or null
+     * @throws IOException if the schema cannot be serialized
+     */
+    @SuppressWarnings("rawtypes")
+    String find(Schema schema) throws IOException {
+        HashingOutputStream hash = new HashingOutputStream(null);
+        mapper.writeValue(hash, schema);
+        List<Signature> candidates = signatures.get(hash.getHash());
+        if (candidates == null) {
+            return null;
+        }
+        for (Signature candidate : candidates) {
+            if (candidate.json.length == hash.getLength()) {
+                ComparingOutputStream comparison = new ComparingOutputStream(candidate.json);
+                mapper.writeValue(comparison, schema);
+                if (comparison.matches()) {
+                    return candidate.name;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Records a generated schema, replacing the one with the same structure if any. The structure is recorded as it
+     * is now: later changes to the schema do not change it.
+     *
+     * @param name   the name of the generated schema
+     * @param schema the generated schema
+     * @throws IOException if the schema cannot be serialized
+     */
+    @SuppressWarnings("rawtypes")
+    void add(String name, Schema schema) throws IOException {
+        ByteArrayOutputStream json = new ByteArrayOutputStream();
+        HashingOutputStream hash = new HashingOutputStream(json);
+        mapper.writeValue(hash, schema);
+        Signature signature = new Signature(name, json.toByteArray());
+        List<Signature> candidates = signatures.computeIfAbsent(hash.getHash(), k -> new ArrayList<>(1));
+        for (int i = 0; i < candidates.size(); i++) {
+            if (Arrays.equals(candidates.get(i).json, signature.json)) {
+                candidates.set(i, signature);
+                return;
+            }
+        }
+        candidates.add(signature);
+    }
+
+    private static final class Signature {
+        private final String name;
+        private final byte[] json;
+
+        private Signature(String name, byte[] json) {
+            this.name = name;
+            this.json = json;
+        }
+    }
+
+    /**
+     * Hashes (FNV-1a, 64-bit) the bytes written, and passes them on to another stream if any.
+     */
+    private static final class HashingOutputStream extends OutputStream {
+        private static final long OFFSET_BASIS = 0xcbf29ce484222325L;
+        private static final long PRIME = 0x100000001b3L;
+
+        private final OutputStream out;
+        private long hash = OFFSET_BASIS;
+        private long length;
+
+        private HashingOutputStream(OutputStream out) {
+            this.out = out;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            hash = (hash ^ (b & 0xff)) * PRIME;
+            length++;
+            if (out != null) {
+                out.write(b);
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            long h = hash;
+            for (int i = off; i < off + len; i++) {
+                h = (h ^ (b[i] & 0xff)) * PRIME;
+            }
+            hash = h;
+            length += len;
+            if (out != null) {
+                out.write(b, off, len);
+            }
+        }
+
+        private long getHash() {
+            return hash;
+        }
+
+        private long getLength() {
+            return length;
+        }
+    }
+
+    /**
+     * Compares the bytes written with the expected ones, without keeping them.
+     */
+    private static final class ComparingOutputStream extends OutputStream {
+        private final byte[] expected;
+        private int position;
+        private boolean mismatch;
+
+        private ComparingOutputStream(byte[] expected) {
+            this.expected = expected;
+        }
+
+        @Override
+        public void write(int b) {
+            if (mismatch || position >= expected.length || expected[position] != (byte) b) {
+                mismatch = true;
+                return;
+            }
+            position++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            if (mismatch) {
+                return;
+            }
+            if (len > expected.length - position) {
+                mismatch = true;
+                return;
+            }
+            for (int i = 0; i < len; i++) {
+                if (expected[position + i] != b[off + i]) {
+                    mismatch = true;
+                    return;
+                }
+            }
+            position += len;
+        }
+
+        private boolean matches() {
+            return !mismatch && position == expected.length;
+        }
+    }
+}
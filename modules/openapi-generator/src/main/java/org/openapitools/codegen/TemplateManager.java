@@ -2,6 +2,7 @@ package org.openapitools.codegen;
 
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.openapitools.codegen.api.OutputSink;
 import org.openapitools.codegen.api.TemplatePathLocator;
 import org.openapitools.codegen.api.TemplateProcessor;
 import org.openapitools.codegen.api.TemplatingEngineAdapter;
@@ -14,23 +15,35 @@ import org.slf4j.LoggerFactory;
 import java.io.*;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.LinkOption;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Arrays;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Scanner;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Pattern;
 
 /**
- * Manages the lookup, compilation, and writing of template files
+ * Manages the lookup, compilation, and writing of template files. Files are written to the file system, or to the
+ * {@link OutputSink} of the {@link TemplateManagerOptions} when there is one.
  */
 public class TemplateManager implements TemplatingExecutor, TemplateProcessor {
     private final TemplateManagerOptions options;
     private final TemplatingEngineAdapter engineAdapter;
     private final TemplatePathLocator[] templateLoaders;
 
+    // A template manager lives for a single generation run, so template resolution (file system and classpath probes)
+    // and template contents are memoized for its lifetime. Unresolvable names are stored as an empty location, and
+    // contents read from a file (rather than the classpath) are read again once the file is modified. The templating
+    // engines keep their own per-run caches, so contents are only requested again on a miss there.
+    private final Map<String, String> resolvedTemplates = new ConcurrentHashMap<>();
+    private final Map<String, CachedContents> templateContents = new ConcurrentHashMap<>();
+
     private final Logger LOGGER = LoggerFactory.getLogger(TemplateManager.class);
 
     /**
@@ -50,11 +63,7 @@ public class TemplateManager implements TemplatingExecutor, TemplateProcessor {
     }
 
     private String getFullTemplateFile(String name) {
-        String template = Arrays.stream(this.templateLoaders)
-                .map(i -> i.getFullTemplatePath(name))
-                .filter(Objects::nonNull)
-                .findFirst()
-                .orElse("");
+        String template = name == null ? resolveTemplateFile(null) : resolvedTemplates.computeIfAbsent(name, this::resolveTemplateFile);
 
         if (StringUtils.isEmpty(template)) {
             throw new TemplateNotFoundException(name);
@@ -67,6 +76,14 @@ public class TemplateManager implements TemplatingExecutor, TemplateProcessor {
         return template;
     }
 
+    private String resolveTemplateFile(String name) {
+        return Arrays.stream(this.templateLoaders)
+                .map(i -> i.getFullTemplatePath(name))
+                .filter(Objects::nonNull)
+                .findFirst()
+                .orElse("");
+    }
+
     /**
      * returns the template content by name
      *
@@ -114,19 +131,50 @@ public class TemplateManager implements TemplatingExecutor, TemplateProcessor {
         if (name == null || name.contains("..")) {
             throw new IllegalArgumentException("Template location must be constrained to template directory.");
         }
-        try (Reader reader = getTemplateReader(name)) {
-            if (reader == null) {
-                throw new RuntimeException("no file found");
-            }
-            try (Scanner s = new Scanner(reader).useDelimiter("\\A")) {
-                return s.hasNext() ? s.next() : "";
-            }
+        CachedContents cached = templateContents.get(name);
+        if (cached != null && cached.isUpToDate(name)) {
+            return cached.contents;
+        }
+        try {
+            CachedContents contents = readContents(name);
+            templateContents.put(name, contents);
+            return contents.contents;
         } catch (Exception e) {
             LOGGER.error("{}", e.getMessage(), e);
         }
         throw new RuntimeException("can't load template " + name);
     }
 
+    private CachedContents readContents(String name) throws IOException {
+        InputStream is = this.getClass().getClassLoader().getResourceAsStream(getCPResourcePath(name));
+        // embedded (classpath) templates can't change during a run; only templates read from a file are checked
+        long lastModified = CachedContents.EMBEDDED;
+        if (is == null) {
+            File file = new File(name);
+            lastModified = file.lastModified();
+            is = new FileInputStream(file);
+        }
+        try (Reader reader = new InputStreamReader(is, StandardCharsets.UTF_8)) {
+            return new CachedContents(IOUtils.toString(reader), lastModified);
+        }
+    }
+
+    private static class CachedContents {
+        private static final long EMBEDDED = -1L;
+
+        private final String contents;
+        private final long lastModified;
+
+        private CachedContents(String contents, long lastModified) {
+            this.contents = contents;
+            this.lastModified = lastModified;
+        }
+
+        private boolean isUpToDate(String name) {
+            return lastModified == EMBEDDED || new File(name).lastModified() == lastModified;
+        }
+    }
+
     @SuppressWarnings({"squid:S2095", "java:S112"})
     // ignored rule squid:S2095 as used in the CLI and it's required to return a reader
     // ignored rule java:S112 as RuntimeException is used to match previous exception type
@@ -163,9 +211,8 @@ public class TemplateManager implements TemplatingExecutor, TemplateProcessor {
     @Override
     public File write(Map<String, Object> data, String template, File target) throws IOException {
         if (this.engineAdapter.handlesFile(template)) {
-            // Only pass files with valid endings through template engine
-            String templateContent = this.engineAdapter.compileTemplate(this, data, template);
-            return writeToFile(target.getPath(), templateContent);
+            // Only pass files with valid endings through template engine, rendering straight into the target file
+            return writeToFile(target.getPath(), out -> this.engineAdapter.compileTemplate(this, data, template, out));
         } else {
             // Do a straight copy of the file if not listed as supported by the template engine.
             InputStream is;
@@ -215,27 +262,24 @@ public class TemplateManager implements TemplatingExecutor, TemplateProcessor {
         // Use Paths.get here to normalize path (for Windows file separator, space escaping on Linux/Mac, etc)
         File outputFile = Paths.get(filename).toFile();
 
-        if (this.options.isMinimalUpdate()) {
-            String tempFilename = filename + ".tmp";
-            File tempFile = null;
-            try {
-                tempFile = writeToFileRaw(tempFilename, contents);
-                if (!filesEqual(tempFile, outputFile)) {
-                    LOGGER.info("writing file {}", filename);
-                    Files.move(tempFile.toPath(), outputFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
-                    tempFile = null;
-                } else {
-                    LOGGER.info("skipping unchanged file {}", filename);
-                }
-            } finally {
-                if (tempFile != null && tempFile.exists()) {
-                    try {
-                        Files.delete(tempFile.toPath());
-                    } catch (Exception ex) {
-                        LOGGER.error("Error removing temporary file {}", tempFile, ex);
-                    }
-                }
+        OutputSink sink = this.options.getOutputSink();
+        if (sink != null) {
+            LOGGER.info("writing file {}", filename);
+            try (OutputStream out = sink.newOutputStream(outputFile.toPath())) {
+                out.write(contents);
             }
+            return outputFile;
+        }
+
+        GenerationManifest manifest = this.options.getManifest();
+        if (manifest != null && manifest.record(outputFile, newDigest().digest(contents))) {
+            LOGGER.info("skipping unchanged file {}", filename);
+            return outputFile;
+        }
+
+        if (this.options.isMinimalUpdate() && outputFile.exists() && outputFile.length() == contents.length
+                && MessageDigest.isEqual(newDigest().digest(contents), digestOf(outputFile))) {
+            LOGGER.info("skipping unchanged file {}", filename);
         } else {
             LOGGER.info("writing file {}", filename);
             outputFile = writeToFileRaw(filename, contents);
@@ -244,24 +288,115 @@ public class TemplateManager implements TemplatingExecutor, TemplateProcessor {
         return outputFile;
     }
 
-    private File writeToFileRaw(String filename, byte[] contents) throws IOException {
+    /**
+     * Streams content to a file, formatting as UTF-8. The content is never held in memory as a whole. With an output
+     * sink, it is streamed to the sink, and the stream is only closed, which adds the file, once rendering succeeded.
+     * Otherwise it is streamed to a temporary file next to the target, so that a failure while rendering leaves the
+     * previous file intact. With minimal update or incremental generation enabled, the digest of the temporary file
+     * is compared against that of the existing file or the one recorded in the manifest of the previous run, and the
+     * existing file is kept if they match. The temporary file is then moved into place or, when the target exists,
+     * copied into it, which keeps the permissions and links of the existing file.
+     *
+     * @param filename The name of file to write
+     * @param contents Writes the contents to the provided writer
+     * @return File representing the written file.
+     * @throws IOException If file cannot be written.
+     */
+    private File writeToFile(String filename, ContentWriter contents) throws IOException {
         // Use Paths.get here to normalize path (for Windows file separator, space escaping on Linux/Mac, etc)
-        File output = Paths.get(filename).toFile();
-        if (this.options.isSkipOverwrite() && output.exists()) {
+        File outputFile = Paths.get(filename).toFile();
+        OutputSink sink = this.options.getOutputSink();
+        if (sink != null) {
+            LOGGER.info("writing file {}", filename);
+            Writer out = new BufferedWriter(new OutputStreamWriter(sink.newOutputStream(outputFile.toPath()), StandardCharsets.UTF_8));
+            contents.writeTo(out);
+            // not closed when rendering fails, so that the sink never receives a partial file
+            out.close();
+            return outputFile;
+        }
+        if (this.options.isSkipOverwrite() && outputFile.exists()) {
             LOGGER.info("skip overwrite of file {}", filename);
-            return output;
+            return outputFile;
+        }
+
+        createParentDirectories(outputFile);
+
+        GenerationManifest manifest = this.options.getManifest();
+        boolean compare = this.options.isMinimalUpdate() || manifest != null;
+        File tempFile = Paths.get(filename + ".tmp").toFile();
+        try {
+            MessageDigest digest = compare ? newDigest() : null;
+            OutputStream stream = Files.newOutputStream(tempFile.toPath());
+            try (Writer out = new BufferedWriter(new OutputStreamWriter(
+                    digest != null ? new DigestOutputStream(stream, digest) : stream, StandardCharsets.UTF_8))) {
+                contents.writeTo(out);
+            }
+            byte[] hash = digest != null ? digest.digest() : null;
+            boolean unchanged = manifest != null && manifest.record(outputFile, hash);
+            if (unchanged || (this.options.isMinimalUpdate() && outputFile.exists() && outputFile.length() == tempFile.length()
+                    && MessageDigest.isEqual(hash, digestOf(outputFile)))) {
+                LOGGER.info("skipping unchanged file {}", filename);
+            } else if (!Files.exists(outputFile.toPath(), LinkOption.NOFOLLOW_LINKS)) {
+                LOGGER.info("writing file {}", filename);
+                Files.move(tempFile.toPath(), outputFile.toPath());
+            } else {
+                LOGGER.info("writing file {}", filename);
+                try (OutputStream out = Files.newOutputStream(outputFile.toPath())) {
+                    Files.copy(tempFile.toPath(), out);
+                }
+            }
+        } finally {
+            if (tempFile.exists()) {
+                try {
+                    Files.delete(tempFile.toPath());
+                } catch (Exception ex) {
+                    LOGGER.error("Error removing temporary file {}", tempFile, ex);
+                }
+            }
+        }
+        return outputFile;
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // every Java platform is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static byte[] digestOf(File file) throws IOException {
+        MessageDigest digest = newDigest();
+        try (InputStream is = new DigestInputStream(Files.newInputStream(file.toPath()), digest)) {
+            IOUtils.consume(is);
         }
+        return digest.digest();
+    }
 
+    private static void createParentDirectories(File output) {
         if (output.getParent() != null && !new File(output.getParent()).exists()) {
             File parent = Paths.get(output.getParent()).toFile();
             parent.mkdirs();
         }
-        Files.write(output.toPath(), contents);
+    }
 
-        return output;
+    @FunctionalInterface
+    private interface ContentWriter {
+        void writeTo(Writer out) throws IOException;
     }
 
-    private boolean filesEqual(File file1, File file2) throws IOException {
-        return file1.exists() && file2.exists() && Arrays.equals(Files.readAllBytes(file1.toPath()), Files.readAllBytes(file2.toPath()));
+    private File writeToFileRaw(String filename, byte[] contents) throws IOException {
+        // Use Paths.get here to normalize path (for Windows file separator, space escaping on Linux/Mac, etc)
+        File output = Paths.get(filename).toFile();
+        if (this.options.isSkipOverwrite() && output.exists()) {
+            LOGGER.info("skip overwrite of file {}", filename);
+            return output;
+        }
+
+        createParentDirectories(output);
+        Files.write(output.toPath(), contents);
+
+        return output;
     }
 }
@@ -35,6 +35,7 @@ import org.openapitools.codegen.api.TemplateDefinition;
 import org.openapitools.codegen.api.TemplatingEngineAdapter;
 import org.openapitools.codegen.auth.AuthParser;
 import org.openapitools.codegen.utils.ModelUtils;
+import org.openapitools.codegen.utils.SpecIndex;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -64,6 +65,7 @@ public class CodegenConfigurator {
     private String inputSpec;
     private String templatingEngineName;
     private Map<String, String> globalProperties = new HashMap<>();
+    private ParsedSpecCache specCache = ParsedSpecCache.getInstance();
     private Map<String, String> instantiationTypes = new HashMap<>();
     private Map<String, String> typeMappings = new HashMap<>();
     private Map<String, Object> additionalProperties = new HashMap<>();
@@ -357,6 +359,61 @@ public class CodegenConfigurator {
         return this;
     }
 
+    public CodegenConfigurator setParallelism(int parallelism) {
+        workflowSettingsBuilder.withParallelism(parallelism);
+        return this;
+    }
+
+    public CodegenConfigurator setUseVirtualThreads(boolean useVirtualThreads) {
+        workflowSettingsBuilder.withUseVirtualThreads(useVirtualThreads);
+        return this;
+    }
+
+    public CodegenConfigurator setEnableIncrementalGeneration(boolean enableIncrementalGeneration) {
+        workflowSettingsBuilder.withEnableIncrementalGeneration(enableIncrementalGeneration);
+        return this;
+    }
+
+    public CodegenConfigurator setUseSpecCache(boolean useSpecCache) {
+        workflowSettingsBuilder.withUseSpecCache(useSpecCache);
+        return this;
+    }
+
+    /**
+     * Sets the cache used to parse the input spec when {@link WorkflowSettings#isUseSpecCache()} is enabled, instead of
+     * the cache shared by the JVM.
+     *
+     * @param specCache the cache
+     * @return a reference to this configurator
+     */
+    public CodegenConfigurator setSpecCache(ParsedSpecCache specCache) {
+        this.specCache = specCache;
+        return this;
+    }
+
+    /**
+     * Parses the input spec into the spec cache ahead of {@link #toContext()}, which then only copies it. A batch
+     * preloads its specs concurrently, so that fetching remote specs does not hold the threads generating code.
+     * Does nothing when the spec cache is not used.
+     */
+    public void preloadSpec() {
+        if (inputSpec != null && workflowSettingsBuilder.build().isUseSpecCache()) {
+            specCache.preload(inputSpec, AuthParser.parse(this.auth), parseOptions());
+        }
+    }
+
+    private static ParseOptions parseOptions() {
+        ParseOptions options = new ParseOptions();
+        options.setResolve(true);
+        options.setResolveResponses(true);
+        return options;
+    }
+
+    public CodegenConfigurator setProfileReport(String profileReport) {
+        workflowSettingsBuilder.withProfileReport(profileReport);
+        return this;
+    }
+
     public CodegenConfigurator setEnablePostProcessFile(boolean enablePostProcessFile) {
         workflowSettingsBuilder.withEnablePostProcessFile(enablePostProcessFile);
         return this;
@@ -383,6 +440,13 @@ public class CodegenConfigurator {
         return this;
     }
 
+    /**
+     * @return The name of the target generator, if set.
+     */
+    public String getGeneratorName() {
+        return generatorName;
+    }
+
     public CodegenConfigurator setGitRepoId(String gitRepoId) {
         if (StringUtils.isNotEmpty(gitRepoId)) {
             addAdditionalProperty(CodegenConstants.GIT_REPO_ID, gitRepoId);
@@ -488,6 +552,10 @@ public class CodegenConfigurator {
         return this;
     }
 
+    public String getInputSpec() {
+        return inputSpec;
+    }
+
     public CodegenConfigurator setInputSpec(String inputSpec) {
         this.inputSpec = inputSpec;
         workflowSettingsBuilder.withInputSpec(inputSpec);
@@ -681,10 +749,10 @@ public class CodegenConfigurator {
 
         // TODO: Support custom spec loader implementations (https://github.com/OpenAPITools/openapi-generator/issues/844)
         final List<AuthorizationValue> authorizationValues = AuthParser.parse(this.auth);
-        ParseOptions options = new ParseOptions();
-        options.setResolve(true);
-        options.setResolveResponses(true);
-        SwaggerParseResult result = new OpenAPIParser().readLocation(inputSpec, authorizationValues, options);
+        ParseOptions options = parseOptions();
+        SwaggerParseResult result = workflowSettings.isUseSpecCache()
+                ? specCache.parse(inputSpec, authorizationValues, options)
+                : new OpenAPIParser().readLocation(inputSpec, authorizationValues, options);
 
         // TODO: Move custom validations to a separate type as part of a "Workflow"
         Set<String> validationMessages = new HashSet<>(null != result.getMessages() ? result.getMessages() : new ArrayList<>());
@@ -702,7 +770,7 @@ public class CodegenConfigurator {
                 // Wrap the getUnusedSchemas() in try catch block so it catches the NPE
                 // when the input spec file is not correct
                 try {
-                    List<String> unusedModels = ModelUtils.getUnusedSchemas(specification);
+                    List<String> unusedModels = SpecIndex.of(specification).getUnusedSchemas();
                     if (unusedModels != null) {
                         unusedModels.forEach(name -> warnings.add("Unused model: " + name));
                     }
@@ -763,6 +831,10 @@ public class CodegenConfigurator {
         config.setSkipOperationExample(workflowSettings.isSkipOperationExample());
         config.setEnablePostProcessFile(workflowSettings.isEnablePostProcessFile());
         config.setEnableMinimalUpdate(workflowSettings.isEnableMinimalUpdate());
+        config.setParallelism(workflowSettings.getParallelism());
+        config.setUseVirtualThreads(workflowSettings.isUseVirtualThreads());
+        config.setEnableIncrementalGeneration(workflowSettings.isEnableIncrementalGeneration());
+        config.setProfileReport(workflowSettings.getProfileReport());
         config.setStrictSpecBehavior(workflowSettings.isStrictSpecBehavior());
 
         TemplatingEngineAdapter templatingEngine = TemplatingEngineLoader.byIdentifier(workflowSettings.getTemplatingEngineName());
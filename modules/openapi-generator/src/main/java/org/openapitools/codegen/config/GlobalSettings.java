@@ -22,6 +22,7 @@ import org.slf4j.LoggerFactory;
 import java.io.PrintWriter;
 import java.io.StringWriter;
 import java.util.Properties;
+import java.util.concurrent.Callable;
 
 /**
  * GlobalSettings encapsulates SystemProperties, since the codegen mechanism heavily relies on a stable,
@@ -57,6 +58,15 @@ public class GlobalSettings {
         return properties.get().getProperty(key);
     }
 
+    /**
+     * @return a copy of the properties of the executing thread
+     */
+    public static Properties getProperties() {
+        Properties copy = new Properties();
+        copy.putAll(properties.get());
+        return copy;
+    }
+
     public static void setProperty(String key, String value) {
         properties.get().setProperty(key, value);
     }
@@ -65,6 +75,28 @@ public class GlobalSettings {
         properties.get().remove(key);
     }
 
+    /**
+     * Wraps a task so that it runs with a copy of the properties of the calling thread, whichever thread runs it.
+     * A new thread shares the properties of the thread starting it, and a pooled thread keeps those of the thread
+     * which started it, so tasks handed to other threads must be wrapped.
+     *
+     * @param task the task
+     * @param <T>  the result type of the task
+     * @return the wrapped task
+     */
+    public static <T> Callable<T> propagate(Callable<T> task) {
+        Properties snapshot = getProperties();
+        return () -> {
+            Properties previous = properties.get();
+            properties.set(snapshot);
+            try {
+                return task.call();
+            } finally {
+                properties.set(previous);
+            }
+        };
+    }
+
     public static void reset() {
         properties.remove();
     }
@@ -0,0 +1,293 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.net.URI;
+import java.net.URL;
+import java.util.*;
+
+/**
+ * Deep copies an object graph, such as a parsed {@link io.swagger.v3.oas.models.OpenAPI} document, field by field.
+ * <p>
+ * Unlike a serialization round trip, the copy keeps the runtime class of every object, the values which are not
+ * serialized and the sharing of instances: an object referenced twice in the original is referenced twice in the
+ * copy, so that the copy behaves exactly as the original would when it is mutated.
+ * <p>
+ * Immutable values are shared, JSON nodes are deep copied, and JDK collections and maps are copied element by element
+ * into the same class, or into a view of the same kind for the unmodifiable ones. The objects of the swagger models
+ * are instantiated with their no-arg constructor and have the instance fields they declare copied; the fields of a
+ * JDK superclass are not accessible, so only the elements of a model extending a JDK map (e.g.
+ * {@link io.swagger.v3.oas.models.Paths}) are copied. Any other object is rejected rather than copied blindly.
+ */
+final class ObjectGraphCopier {
+    private static final Set<Class<?>> IMMUTABLE = new HashSet<>(Arrays.asList(
+            String.class, Boolean.class, Character.class, Byte.class, Short.class, Integer.class, Long.class,
+            Float.class, Double.class, BigDecimal.class, BigInteger.class, UUID.class, URI.class, URL.class,
+            Locale.class, Class.class));
+
+    private static final Set<Class<?>> UNMODIFIABLE = new HashSet<>(Arrays.asList(
+            Collections.emptyList().getClass(), Collections.emptySet().getClass(), Collections.emptyMap().getClass(),
+            Collections.singletonList(0).getClass(), Collections.singleton(0).getClass(),
+            Collections.singletonMap(0, 0).getClass(),
+            Collections.unmodifiableCollection(new ArrayList<>()).getClass(),
+            Collections.unmodifiableList(new ArrayList<>()).getClass(),
+            Collections.unmodifiableList(new LinkedList<>()).getClass(),
+            Collections.unmodifiableSet(new HashSet<>()).getClass(),
+            Collections.unmodifiableSortedSet(new TreeSet<>()).getClass(),
+            Collections.unmodifiableMap(new HashMap<>()).getClass(),
+            Collections.unmodifiableSortedMap(new TreeMap<>()).getClass(),
+            List.of().getClass(), List.of(0).getClass(), Set.of().getClass(), Set.of(0).getClass(),
+            Map.of().getClass(), Map.of(0, 0).getClass()));
+
+    private static final Class<?> FIXED_SIZE_LIST = Arrays.asList().getClass();
+
+    private static final ClassValue<Field[]> FIELDS = new ClassValue<>() {
+        @Override
+        protected Field[] computeValue(Class<?> type) {
+            List<Field> fields = new ArrayList<>();
+            for (Class<?> c = type; c != null && !isJdkType(c); c = c.getSuperclass()) {
+                for (Field field : c.getDeclaredFields()) {
+                    if (!Modifier.isStatic(field.getModifiers())) {
+                        field.setAccessible(true);
+                        fields.add(field);
+                    }
+                }
+            }
+            return fields.toArray(new Field[0]);
+        }
+    };
+
+    private static final ClassValue<Constructor<?>> CONSTRUCTORS = new ClassValue<>() {
+        @Override
+        protected Constructor<?> computeValue(Class<?> type) {
+            try {
+                Constructor<?> constructor = type.getDeclaredConstructor();
+                constructor.setAccessible(true);
+                return constructor;
+            } catch (NoSuchMethodException e) {
+                throw new IllegalArgumentException("Cannot copy " + type.getName() + " which has no no-arg constructor", e);
+            }
+        }
+    };
+
+    private final Map<Object, Object> copies = new IdentityHashMap<>();
+
+    private ObjectGraphCopier() {
+    }
+
+    /**
+     * Deep copies an object graph.
+     *
+     * @param original the root of the graph, may be null
+     * @param <T>      the type of the root
+     * @return the copy
+     * @throws IllegalArgumentException if the graph contains an object which cannot be copied
+     */
+    @SuppressWarnings("unchecked")
+    static <T> T copy(T original) {
+        return (T) new ObjectGraphCopier().copyObject(original);
+    }
+
+    private Object copyObject(Object original) {
+        if (original == null || isImmutable(original)) {
+            return original;
+        }
+        Object copy = copies.get(original);
+        if (copy != null) {
+            return copy;
+        }
+
+        Class<?> type = original.getClass();
+        if (original instanceof JsonNode) {
+            copy = ((JsonNode) original).deepCopy();
+            copies.put(original, copy);
+        } else if (type.isArray()) {
+            copy = copyArray(original);
+        } else if (isJdkType(type)) {
+            copy = copyJdkObject(original);
+        } else if (isModelType(type)) {
+            copy = copyFields(original);
+        } else {
+            throw new IllegalArgumentException("Cannot copy " + type.getName());
+        }
+        return copy;
+    }
+
+    private Object copyArray(Object original) {
+        int length = Array.getLength(original);
+        Object copy = Array.newInstance(original.getClass().getComponentType(), length);
+        copies.put(original, copy);
+        if (original.getClass().getComponentType().isPrimitive()) {
+            System.arraycopy(original, 0, copy, 0, length);
+        } else {
+            for (int i = 0; i < length; i++) {
+                Array.set(copy, i, copyObject(Array.get(original, i)));
+            }
+        }
+        return copy;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Object copyJdkObject(Object original) {
+        if (original instanceof Date) {
+            Object copy = ((Date) original).clone();
+            copies.put(original, copy);
+            return copy;
+        }
+        if (original instanceof Map) {
+            Map copy = newMap((Map) original);
+            copies.put(original, copy);
+            for (Map.Entry entry : ((Map<?, ?>) original).entrySet()) {
+                copy.put(copyObject(entry.getKey()), copyObject(entry.getValue()));
+            }
+            if (!UNMODIFIABLE.contains(original.getClass())) {
+                return copy;
+            }
+            if (copy instanceof SortedMap) return unmodifiable(original, Collections.unmodifiableSortedMap((SortedMap) copy));
+            return unmodifiable(original, Collections.unmodifiableMap(copy));
+        }
+        if (original.getClass() == FIXED_SIZE_LIST) {
+            Object[] elements = new Object[((List<?>) original).size()];
+            List copy = Arrays.asList(elements);
+            copies.put(original, copy);
+            for (int i = 0; i < elements.length; i++) {
+                elements[i] = copyObject(((List<?>) original).get(i));
+            }
+            return copy;
+        }
+        if (original instanceof Collection) {
+            Collection copy = newCollection((Collection) original);
+            copies.put(original, copy);
+            for (Object element : (Collection<?>) original) {
+                copy.add(copyObject(element));
+            }
+            if (!UNMODIFIABLE.contains(original.getClass())) {
+                return copy;
+            }
+            if (copy instanceof List) return unmodifiable(original, Collections.unmodifiableList((List) copy));
+            if (copy instanceof SortedSet) return unmodifiable(original, Collections.unmodifiableSortedSet((SortedSet) copy));
+            if (copy instanceof Set) return unmodifiable(original, Collections.unmodifiableSet((Set) copy));
+            return unmodifiable(original, Collections.unmodifiableCollection(copy));
+        }
+        throw new IllegalArgumentException("Cannot copy " + original.getClass().getName());
+    }
+
+    private Object unmodifiable(Object original, Object view) {
+        copies.put(original, view);
+        return view;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Object copyFields(Object original) {
+        Object copy;
+        try {
+            copy = CONSTRUCTORS.get(original.getClass()).newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalArgumentException("Cannot instantiate " + original.getClass().getName(), e);
+        }
+        copies.put(original, copy);
+        try {
+            for (Field field : FIELDS.get(original.getClass())) {
+                if (field.getType().isPrimitive()) {
+                    field.set(copy, field.get(original));
+                } else {
+                    field.set(copy, copyObject(field.get(original)));
+                }
+            }
+        } catch (IllegalAccessException | RuntimeException e) {
+            throw new IllegalArgumentException("Cannot copy " + original.getClass().getName(), e);
+        }
+        // the state of a JDK superclass, such as the entries of a Paths map, is copied through its API
+        if (original instanceof Map) {
+            for (Map.Entry entry : ((Map<?, ?>) original).entrySet()) {
+                ((Map) copy).put(copyObject(entry.getKey()), copyObject(entry.getValue()));
+            }
+        } else if (original instanceof Collection) {
+            for (Object element : (Collection<?>) original) {
+                ((Collection) copy).add(copyObject(element));
+            }
+        }
+        return copy;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Map newMap(Map original) {
+        if (original instanceof SortedMap) {
+            return new TreeMap(((SortedMap) original).comparator());
+        }
+        Map copy = (Map) newJdkInstance(original);
+        if (copy != null) return copy;
+        if (UNMODIFIABLE.contains(original.getClass())) return new LinkedHashMap(original.size());
+        throw new IllegalArgumentException("Cannot copy " + original.getClass().getName());
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Collection newCollection(Collection original) {
+        if (original instanceof SortedSet) {
+            return new TreeSet(((SortedSet) original).comparator());
+        }
+        Collection copy = (Collection) newJdkInstance(original);
+        if (copy != null) return copy;
+        if (!UNMODIFIABLE.contains(original.getClass())) {
+            throw new IllegalArgumentException("Cannot copy " + original.getClass().getName());
+        }
+        if (original instanceof Set) return new LinkedHashSet(original.size());
+        return new ArrayList(original.size());
+    }
+
+    /**
+     * Instantiates the class of a mutable JDK collection or map, such as {@link ArrayList} or {@link LinkedHashMap},
+     * through its public no-arg constructor.
+     *
+     * @return the new instance, or null if the class has no public no-arg constructor
+     */
+    private static Object newJdkInstance(Object original) {
+        if (!Modifier.isPublic(original.getClass().getModifiers())) {
+            return null;
+        }
+        try {
+            return original.getClass().getConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    private static boolean isImmutable(Object value) {
+        Class<?> type = value.getClass();
+        return IMMUTABLE.contains(type)
+                || value instanceof Enum
+                || type.getName().startsWith("java.time.")
+                || type.isSynthetic();
+    }
+
+    private static boolean isModelType(Class<?> type) {
+        return type.getName().startsWith("io.swagger.v3.");
+    }
+
+    private static boolean isJdkType(Class<?> type) {
+        String name = type.getName();
+        return name.startsWith("java.") || name.startsWith("javax.") || name.startsWith("jdk.") || name.startsWith("sun.");
+    }
+}
@@ -0,0 +1,296 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen.config;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import io.swagger.parser.OpenAPIParser;
+import io.swagger.v3.core.util.Json;
+import io.swagger.v3.parser.core.models.AuthorizationValue;
+import io.swagger.v3.parser.core.models.ParseOptions;
+import io.swagger.v3.parser.core.models.SwaggerParseResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystemNotFoundException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/**
+ * A cache of parsed specifications shared by all the generator runs of a JVM, such as the configurations of a batch
+ * or the executions of a Maven or Gradle build generating several clients from the same specification.
+ * <p>
+ * Parse results are keyed by the location and the SHA-256 digest of the content of the specification, the parse
+ * options and the authorization values. Every caller gets its own deep copy of the cached result, since the
+ * generators mutate the parsed document. Only local specifications without references to other documents are
+ * cached, as a change to a remote or referenced document could not be detected; other specifications are parsed
+ * every time.
+ * <p>
+ * The cache keeps the {@value #DEFAULT_MAXIMUM_SIZE} most recently used results by default, which can be changed
+ * with the {@value #MAXIMUM_SIZE_PROPERTY} system property; a size of 0 disables the cache.
+ */
+public final class ParsedSpecCache {
+    public static final String MAXIMUM_SIZE_PROPERTY = "openapi.generator.spec-cache.maximum-size";
+    public static final int DEFAULT_MAXIMUM_SIZE = 4;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ParsedSpecCache.class);
+
+    // a $ref whose value does not start with '#' points to another document
+    private static final Pattern EXTERNAL_REF = Pattern.compile("\\$ref[\"']?\\s*:\\s*[\"']?[^\\s\"'#]");
+
+    private static final ParsedSpecCache INSTANCE = new ParsedSpecCache(
+            maximumSize(System.getProperty(MAXIMUM_SIZE_PROPERTY)));
+
+    private final int maximumSize;
+    private final boolean documentsUnchanged;
+    private final Map<String, CompletableFuture<SwaggerParseResult>> results;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    ParsedSpecCache(int maximumSize) {
+        this(maximumSize, false);
+    }
+
+    private ParsedSpecCache(int maximumSize, boolean documentsUnchanged) {
+        this.maximumSize = maximumSize;
+        this.documentsUnchanged = documentsUnchanged;
+        this.results = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CompletableFuture<SwaggerParseResult>> eldest) {
+                return size() > ParsedSpecCache.this.maximumSize;
+            }
+        };
+    }
+
+    /**
+     * @param property the value of the {@value #MAXIMUM_SIZE_PROPERTY} system property, if set
+     * @return the size of the cache shared by the JVM, {@value #DEFAULT_MAXIMUM_SIZE} if the value is not a
+     * non-negative integer
+     */
+    static int maximumSize(String property) {
+        if (property == null) {
+            return DEFAULT_MAXIMUM_SIZE;
+        }
+        try {
+            int maximumSize = Integer.parseInt(property.trim());
+            if (maximumSize >= 0) {
+                return maximumSize;
+            }
+        } catch (NumberFormatException e) {
+            // reported below
+        }
+        LOGGER.warn("Invalid {} '{}', using the default size {}", MAXIMUM_SIZE_PROPERTY, property, DEFAULT_MAXIMUM_SIZE);
+        return DEFAULT_MAXIMUM_SIZE;
+    }
+
+    /**
+     * Gets the cache shared by the JVM.
+     *
+     * @return the cache
+     */
+    public static ParsedSpecCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Creates a cache for the runs of a batch, during which the specifications and the documents they reference are
+     * assumed not to change: unlike the cache shared by the JVM, it also caches remote specifications and
+     * specifications referencing other documents.
+     *
+     * @param maximumSize the number of parsed specifications to keep, usually the number of distinct specifications
+     *                    of the batch
+     * @return the cache
+     */
+    public static ParsedSpecCache forBatch(int maximumSize) {
+        return new ParsedSpecCache(maximumSize, true);
+    }
+
+    /**
+     * Parses a specification, or copies the result of a previous parse of the same specification.
+     *
+     * @param location            the location of the specification, as URL or file
+     * @param authorizationValues the authorization values used to fetch remote documents, may be null
+     * @param options             the parse options
+     * @return a parse result owned by the caller
+     */
+    public SwaggerParseResult parse(String location, List<AuthorizationValue> authorizationValues, ParseOptions options) {
+        String key = maximumSize > 0 ? key(location, authorizationValues, options) : null;
+        if (key == null) {
+            return new OpenAPIParser().readLocation(location, authorizationValues, options);
+        }
+
+        CompletableFuture<SwaggerParseResult> result = lookup(key, location, authorizationValues, options);
+        try {
+            return ObjectGraphCopier.copy(result.join());
+        } catch (CompletionException e) {
+            // another thread failed to parse the same specification; parse it again to report the failure here
+            return new OpenAPIParser().readLocation(location, authorizationValues, options);
+        } catch (IllegalArgumentException e) {
+            LOGGER.warn("Cannot copy the parsed specification {}, parsing it again: {}", location, e.getMessage());
+            synchronized (results) {
+                results.remove(key, result);
+            }
+            return new OpenAPIParser().readLocation(location, authorizationValues, options);
+        }
+    }
+
+    /**
+     * Parses a specification into the cache, unless it is cached already, so that a later {@link #parse} only copies
+     * the result. Parse failures are left to be reported by {@link #parse}.
+     *
+     * @param location            the location of the specification, as URL or file
+     * @param authorizationValues the authorization values used to fetch remote documents, may be null
+     * @param options             the parse options
+     */
+    void preload(String location, List<AuthorizationValue> authorizationValues, ParseOptions options) {
+        String key = maximumSize > 0 ? key(location, authorizationValues, options) : null;
+        if (key == null) {
+            return;
+        }
+        try {
+            lookup(key, location, authorizationValues, options);
+        } catch (RuntimeException e) {
+            LOGGER.debug("Unable to preload the specification {}: {}", location, e.getMessage());
+        }
+    }
+
+    /**
+     * Gets the cached parse result of a specification, parsing it on the calling thread when it is not cached yet.
+     */
+    private CompletableFuture<SwaggerParseResult> lookup(String key, String location, List<AuthorizationValue> authorizationValues, ParseOptions options) {
+        CompletableFuture<SwaggerParseResult> result;
+        boolean parse = false;
+        synchronized (results) {
+            result = results.get(key);
+            if (result == null) {
+                result = new CompletableFuture<>();
+                results.put(key, result);
+                parse = true;
+            }
+        }
+
+        if (parse) {
+            misses.incrementAndGet();
+            try {
+                result.complete(new OpenAPIParser().readLocation(location, authorizationValues, options));
+            } catch (RuntimeException | Error e) {
+                synchronized (results) {
+                    results.remove(key, result);
+                }
+                result.completeExceptionally(e);
+                throw e;
+            }
+        } else {
+            hits.incrementAndGet();
+            LOGGER.debug("Reusing the parsed specification {}", location);
+        }
+        return result;
+    }
+
+    /**
+     * Removes all the cached results.
+     */
+    public void clear() {
+        synchronized (results) {
+            results.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (results) {
+            return results.size();
+        }
+    }
+
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    /**
+     * Computes the cache key of a specification.
+     *
+     * @return the key, or null if the specification cannot be cached
+     */
+    private String key(String location, List<AuthorizationValue> authorizationValues, ParseOptions options) {
+        StringBuilder key = new StringBuilder();
+        Path path = localPath(location);
+        byte[] content = null;
+        if (path != null) {
+            try {
+                content = Files.readAllBytes(path);
+            } catch (IOException e) {
+                content = null;
+            }
+        }
+        if (content != null && (documentsUnchanged || !EXTERNAL_REF.matcher(new String(content, StandardCharsets.UTF_8)).find())) {
+            key.append(path.toAbsolutePath().normalize()).append('\n').append(digest(content)).append('\n');
+        } else if (documentsUnchanged) {
+            key.append(location).append('\n');
+        } else {
+            return null;
+        }
+        try {
+            key.append(Json.mapper().writeValueAsString(options));
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+        if (authorizationValues != null) {
+            for (AuthorizationValue value : authorizationValues) {
+                key.append('\n').append(value.getType()).append(':').append(value.getKeyName()).append('=').append(value.getValue());
+            }
+        }
+        return key.toString();
+    }
+
+    private static Path localPath(String location) {
+        try {
+            Path path = location.regionMatches(true, 0, "file:", 0, 5)
+                    ? Paths.get(URI.create(location))
+                    : Paths.get(location);
+            return Files.isRegularFile(path) ? path : null;
+        } catch (IllegalArgumentException | FileSystemNotFoundException e) {
+            return null;
+        }
+    }
+
+    private static String digest(byte[] content) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(content);
+            StringBuilder hex = new StringBuilder(hash.length * 2);
+            for (byte b : hash) {
+                hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
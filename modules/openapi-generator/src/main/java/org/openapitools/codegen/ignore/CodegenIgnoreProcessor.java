@@ -79,6 +79,18 @@ public class CodegenIgnoreProcessor {
         loadFromFile(targetIgnoreFile);
     }
 
+    /**
+     * Constructs an instance of {@link CodegenIgnoreProcessor} from the lines of an ignore file which is not on disk,
+     * e.g. one written to an {@link org.openapitools.codegen.api.OutputSink}.
+     *
+     * @param targetIgnoreFile The location of the ignore file, which the patterns are relative to.
+     * @param lines            The lines of the ignore file.
+     */
+    public CodegenIgnoreProcessor(final File targetIgnoreFile, final List<String> lines) {
+        lines.forEach(this::addRule);
+        this.ignoreFile = targetIgnoreFile;
+    }
+
     private void loadFromFile(File targetIgnoreFile) {
         if (targetIgnoreFile.exists() && targetIgnoreFile.isFile()) {
             try {
@@ -112,25 +124,28 @@ public class CodegenIgnoreProcessor {
              InputStreamReader inputStreamReader = new InputStreamReader(fileInputStream, StandardCharsets.UTF_8);
              BufferedReader reader = new BufferedReader(inputStreamReader)) {
             String line;
-
-            // NOTE: Comments that start with a : (e.g. //:) are pulled from git documentation for .gitignore
-            // see: https://github.com/git/git/blob/90f7b16b3adc78d4bbabbd426fb69aa78c714f71/Documentation/gitignore.txt
             while ((line = reader.readLine()) != null) {
-                if (
-                    //: A blank line matches no files, so it can serve as a separator for readability.
-                        line.length() == 0
-                ) continue;
-
-                Rule rule = Rule.create(line);
-
-                // rule could be null here if it's a COMMENT, for example
-                if (rule != null) {
-                    if (Boolean.TRUE.equals(rule.getNegated())) {
-                        inclusionRules.add(rule);
-                    } else {
-                        exclusionRules.add(rule);
-                    }
-                }
+                addRule(line);
+            }
+        }
+    }
+
+    private void addRule(String line) {
+        // NOTE: Comments that start with a : (e.g. //:) are pulled from git documentation for .gitignore
+        // see: https://github.com/git/git/blob/90f7b16b3adc78d4bbabbd426fb69aa78c714f71/Documentation/gitignore.txt
+        if (
+            //: A blank line matches no files, so it can serve as a separator for readability.
+                line.length() == 0
+        ) return;
+
+        Rule rule = Rule.create(line);
+
+        // rule could be null here if it's a COMMENT, for example
+        if (rule != null) {
+            if (Boolean.TRUE.equals(rule.getNegated())) {
+                inclusionRules.add(rule);
+            } else {
+                exclusionRules.add(rule);
             }
         }
     }
@@ -824,8 +824,9 @@ public abstract class AbstractPythonCodegen extends DefaultCodegen implements Co
         }
 
         // create circular import
+        ModelDependencyGraph modelImports = new ModelDependencyGraph(getModelImports(codegenModelMap));
         for (String m : codegenModelMap.keySet()) {
-            createImportMapOfSet(m, codegenModelMap);
+            circularImports.put(m, new HashSet<>(modelImports.getTransitiveDependencies(m)));
         }
 
         for (Map.Entry<String, ModelsMap> entry : processed.entrySet()) {
@@ -1104,39 +1105,41 @@ public abstract class AbstractPythonCodegen extends DefaultCodegen implements Co
     }
 
     /**
-     * Update circularImports with the model name (key) and its imports gathered recursively
+     * Returns the models each model imports directly: those of its oneOf or anyOf sub-schemas, or of its properties.
+     * The imports gathered recursively are those of {@link ModelDependencyGraph#getTransitiveDependencies(String)}.
      *
-     * @param modelName       model name
      * @param codegenModelMap a map of CodegenModel
+     * @return the names of the models imported by each model
      */
-    void createImportMapOfSet(String modelName, Map<String, CodegenModel> codegenModelMap) {
-        HashSet<String> imports = new HashSet<>();
-        circularImports.put(modelName, imports);
+    private Map<String, List<String>> getModelImports(Map<String, CodegenModel> codegenModelMap) {
+        Map<String, List<String>> modelImports = new HashMap<>();
+        for (Map.Entry<String, CodegenModel> entry : codegenModelMap.entrySet()) {
+            CodegenModel cm = entry.getValue();
+            List<String> imports = new ArrayList<>();
+            modelImports.put(entry.getKey(), imports);
 
-        CodegenModel cm = codegenModelMap.get(modelName);
-
-        if (cm == null) {
-            LOGGER.warn("Failed to lookup model in createImportMapOfSet: " + modelName);
-            return;
-        }
+            if (cm == null) {
+                LOGGER.warn("Failed to lookup model in getModelImports: " + entry.getKey());
+                continue;
+            }
 
-        List<CodegenProperty> codegenProperties = null;
-        if (cm.oneOf != null && !cm.oneOf.isEmpty()) { // oneOf
-            codegenProperties = cm.getComposedSchemas().getOneOf();
-        } else if (cm.anyOf != null && !cm.anyOf.isEmpty()) { // anyOF
-            codegenProperties = cm.getComposedSchemas().getAnyOf();
-        } else { // typical model
-            codegenProperties = cm.vars;
-        }
+            List<CodegenProperty> codegenProperties = null;
+            if (cm.oneOf != null && !cm.oneOf.isEmpty()) { // oneOf
+                codegenProperties = cm.getComposedSchemas().getOneOf();
+            } else if (cm.anyOf != null && !cm.anyOf.isEmpty()) { // anyOF
+                codegenProperties = cm.getComposedSchemas().getAnyOf();
+            } else { // typical model
+                codegenProperties = cm.vars;
+            }
 
-        for (CodegenProperty cp : codegenProperties) {
-            String modelNameFromDataType = getModelNameFromDataType(cp);
-            if (modelNameFromDataType != null) { // model
-                imports.add(modelNameFromDataType); // update import
-                // go through properties or sub-schemas of the model recursively to identify more (model) import if any
-                updateImportsFromCodegenModel(modelNameFromDataType, codegenModelMap.get(modelNameFromDataType), imports);
+            for (CodegenProperty cp : codegenProperties) {
+                String modelNameFromDataType = getModelNameFromDataType(cp);
+                if (modelNameFromDataType != null) { // model
+                    imports.add(modelNameFromDataType);
+                }
             }
         }
+        return modelImports;
     }
 
     /**
@@ -1164,10 +1167,13 @@ public abstract class AbstractPythonCodegen extends DefaultCodegen implements Co
      * @param modelName model name
      * @param cm        codegen model
      * @param imports   set of imports
+     * @deprecated no longer used: the imports of the models are gathered by {@link ModelDependencyGraph}. This
+     * method will be removed in a future release.
      */
+    @Deprecated
     public void updateImportsFromCodegenModel(String modelName, CodegenModel cm, Set<String> imports) {
         if (cm == null) {
-            LOGGER.warn("Failed to lookup model in createImportMapOfSet " + modelName);
+            LOGGER.warn("Failed to lookup model in updateImportsFromCodegenModel: " + modelName);
             return;
         }
 
@@ -0,0 +1,335 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen.templating;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.openapitools.codegen.api.OutputSink;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Streams generated files into a zip, tar or gzipped tar archive, by their path relative to the output directory.
+ * <p>
+ * Each file is added to the archive as soon as it is written, in write order, so that only the files being written
+ * are held in memory. A file written more than once is archived as last written, as it would be in the output
+ * directory: tar archives get the new version appended, which replaces the previous one when extracted, while the new
+ * versions of zip entries are spilled to a temporary directory and replace the previous ones once the archive is
+ * {@link #finish() finished}. Entries all have the same modification time, so that identical generations give
+ * identical archives.
+ * <p>
+ * The archive is written to a temporary file which then replaces the target, so that a failed generation, which
+ * closes the sink without finishing it, leaves no partial archive behind.
+ */
+public class ArchiveOutputSink implements OutputSink, Closeable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ArchiveOutputSink.class);
+
+    private static final int BLOCK = 512;
+    private static final int BUFFER_SIZE = 64 * 1024;
+    // the modification time of all entries, the earliest one a zip entry can have
+    private static final LocalDateTime ENTRY_TIME = LocalDateTime.of(1980, 1, 1, 0, 0);
+
+    public enum Format {
+        ZIP, TAR, TAR_GZ;
+
+        /**
+         * @param archive the archive file, whose name ends with .zip, .tar, .tar.gz or .tgz
+         * @return the format of the archive
+         * @throws IllegalArgumentException if the extension is not supported
+         */
+        public static Format of(Path archive) {
+            String name = archive.getFileName().toString().toLowerCase(Locale.ROOT);
+            if (name.endsWith(".zip")) {
+                return ZIP;
+            } else if (name.endsWith(".tar")) {
+                return TAR;
+            } else if (name.endsWith(".tar.gz") || name.endsWith(".tgz")) {
+                return TAR_GZ;
+            }
+            throw new IllegalArgumentException("Unsupported archive " + archive + ", expected a .zip, .tar, .tar.gz or .tgz file");
+        }
+    }
+
+    private final Path archive;
+    private final Path root;
+    private final Format format;
+    private final Path temp;
+    private final OutputStream out;
+    private final Set<String> written = new HashSet<>();
+    // the last version of the zip entries written more than once, by entry name
+    private final Map<String, Path> rewritten = new LinkedHashMap<>();
+    private Path spillDirectory;
+    private boolean closed;
+
+    private ArchiveOutputSink(Path archive, Format format, Path root, Path temp, OutputStream out) {
+        this.archive = archive;
+        this.root = root.toAbsolutePath().normalize();
+        this.format = format;
+        this.temp = temp;
+        this.out = out;
+    }
+
+    /**
+     * Prepares an archive file, in the format given by its extension.
+     *
+     * @param archive the archive file to create, replacing an existing one once {@link #finish() finished}
+     * @param root    the output directory of the generator, which the names of the entries are relative to
+     * @return the sink, to be finished once the generation is done, and closed in any case
+     * @throws IOException if the directory of the archive or the temporary archive cannot be created
+     */
+    public static ArchiveOutputSink open(Path archive, Path root) throws IOException {
+        Format format = Format.of(archive);
+        Path absolute = archive.toAbsolutePath();
+        if (absolute.getParent() != null) {
+            Files.createDirectories(absolute.getParent());
+        }
+        Path temp = Files.createTempFile(absolute.getParent(), absolute.getFileName().toString(), ".tmp");
+        try {
+            OutputStream file = new BufferedOutputStream(Files.newOutputStream(temp), BUFFER_SIZE);
+            OutputStream out;
+            if (format == Format.ZIP) {
+                out = new ZipOutputStream(file);
+            } else if (format == Format.TAR_GZ) {
+                out = new GZIPOutputStream(file, BUFFER_SIZE);
+            } else {
+                out = file;
+            }
+            return new ArchiveOutputSink(absolute, format, root, temp, out);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+    }
+
+    @Override
+    public OutputStream newOutputStream(Path path) {
+        String name = InMemoryOutputSink.relativeName(root, path).replaceFirst("^/+", "");
+        return new ByteArrayOutputStream() {
+            @Override
+            public void close() throws IOException {
+                add(name, toByteArray());
+            }
+        };
+    }
+
+    private synchronized void add(String name, byte[] contents) throws IOException {
+        if (closed) {
+            throw new IOException("The archive " + archive + " is already closed");
+        }
+        if (written.add(name)) {
+            writeEntry(name, contents);
+            return;
+        }
+        LOGGER.debug("{} was written more than once, the archive keeps the last version", name);
+        if (format != Format.ZIP) {
+            writeEntry(name, contents);
+            return;
+        }
+        // a zip archive can't hold the same entry twice, the previous one is replaced when the archive is finished
+        if (spillDirectory == null) {
+            spillDirectory = Files.createTempDirectory("codegen-archive");
+        }
+        Path spilled = rewritten.get(name);
+        if (spilled == null) {
+            spilled = spillDirectory.resolve(Integer.toString(rewritten.size()));
+            rewritten.put(name, spilled);
+        }
+        Files.write(spilled, contents);
+    }
+
+    private void writeEntry(String name, byte[] contents) throws IOException {
+        if (format == Format.ZIP) {
+            ZipOutputStream zip = (ZipOutputStream) out;
+            zip.putNextEntry(zipEntry(name));
+            zip.write(contents);
+            zip.closeEntry();
+        } else {
+            writeTarEntry(out, name, contents);
+        }
+    }
+
+    private static ZipEntry zipEntry(String name) {
+        ZipEntry entry = new ZipEntry(name);
+        entry.setTimeLocal(ENTRY_TIME);
+        return entry;
+    }
+
+    /**
+     * Completes the archive, replacing an existing one.
+     *
+     * @throws IOException if the archive cannot be written
+     */
+    public synchronized void finish() throws IOException {
+        if (closed) {
+            throw new IOException("The archive " + archive + " is already closed");
+        }
+        closed = true;
+        try {
+            if (format == Format.ZIP) {
+                out.close();
+                if (!rewritten.isEmpty()) {
+                    replaceRewrittenEntries();
+                }
+            } else {
+                // two empty blocks end a tar archive
+                out.write(new byte[2 * BLOCK]);
+                out.close();
+            }
+            Files.move(temp, archive, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            discard();
+        }
+    }
+
+    /**
+     * Copies the temporary zip archive without the entries written more than once, followed by their last version.
+     */
+    private void replaceRewrittenEntries() throws IOException {
+        Path copy = Files.createTempFile(archive.getParent(), archive.getFileName().toString(), ".tmp");
+        try {
+            try (ZipFile source = new ZipFile(temp.toFile());
+                 ZipOutputStream zip = new ZipOutputStream(new BufferedOutputStream(Files.newOutputStream(copy), BUFFER_SIZE))) {
+                Enumeration<? extends ZipEntry> entries = source.entries();
+                while (entries.hasMoreElements()) {
+                    ZipEntry entry = entries.nextElement();
+                    if (rewritten.containsKey(entry.getName())) {
+                        continue;
+                    }
+                    zip.putNextEntry(zipEntry(entry.getName()));
+                    try (InputStream contents = source.getInputStream(entry)) {
+                        IOUtils.copy(contents, zip);
+                    }
+                    zip.closeEntry();
+                }
+                for (Map.Entry<String, Path> entry : rewritten.entrySet()) {
+                    zip.putNextEntry(zipEntry(entry.getKey()));
+                    Files.copy(entry.getValue(), zip);
+                    zip.closeEntry();
+                }
+            }
+            Files.move(copy, temp, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(copy);
+        }
+    }
+
+    private static void writeTarEntry(OutputStream out, String name, byte[] contents) throws IOException {
+        byte[] encodedName = name.getBytes(StandardCharsets.UTF_8);
+        if (encodedName.length > 100) {
+            // longer names are given by a POSIX extended header
+            byte[] record = paxRecord("path", name);
+            out.write(tarHeader(truncate("PaxHeaders/" + name), record.length, 'x'));
+            writePadded(out, record);
+        }
+        out.write(tarHeader(truncate(name), contents.length, '0'));
+        writePadded(out, contents);
+    }
+
+    private static byte[] tarHeader(byte[] name, long size, char type) {
+        byte[] header = new byte[BLOCK];
+        System.arraycopy(name, 0, header, 0, name.length);
+        octal(header, 100, 8, 0644);
+        octal(header, 108, 8, 0);
+        octal(header, 116, 8, 0);
+        octal(header, 124, 12, size);
+        octal(header, 136, 12, ENTRY_TIME.toEpochSecond(ZoneOffset.UTC));
+        header[156] = (byte) type;
+        System.arraycopy("ustar\u000000".getBytes(StandardCharsets.US_ASCII), 0, header, 257, 8);
+        // the checksum is computed with its own field filled with spaces
+        for (int i = 148; i < 156; i++) {
+            header[i] = ' ';
+        }
+        long checksum = 0;
+        for (byte b : header) {
+            checksum += b & 0xff;
+        }
+        octal(header, 148, 7, checksum);
+        return header;
+    }
+
+    private static void writePadded(OutputStream out, byte[] contents) throws IOException {
+        out.write(contents);
+        int padding = (BLOCK - contents.length % BLOCK) % BLOCK;
+        out.write(new byte[padding]);
+    }
+
+    private static byte[] truncate(String name) {
+        byte[] encoded = name.getBytes(StandardCharsets.UTF_8);
+        byte[] truncated = new byte[Math.min(encoded.length, 100)];
+        System.arraycopy(encoded, 0, truncated, 0, truncated.length);
+        return truncated;
+    }
+
+    /**
+     * @return a record of an extended header, prefixed by its length in bytes, including the length itself
+     */
+    private static byte[] paxRecord(String key, String value) {
+        int length = (" " + key + "=" + value + "\n").getBytes(StandardCharsets.UTF_8).length;
+        int total = length + Integer.toString(length).length();
+        if (Integer.toString(total).length() > Integer.toString(length).length()) {
+            total++;
+        }
+        return (total + " " + key + "=" + value + "\n").getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Writes a zero-padded, NUL-terminated octal number.
+     */
+    private static void octal(byte[] header, int offset, int length, long value) {
+        String digits = String.format(Locale.ROOT, "%0" + (length - 1) + "o", value);
+        System.arraycopy(digits.getBytes(StandardCharsets.US_ASCII), 0, header, offset, length - 1);
+        header[offset + length - 1] = 0;
+    }
+
+    /**
+     * Discards an archive which was not {@link #finish() finished}, e.g. because the generation failed.
+     */
+    @Override
+    public synchronized void close() {
+        closed = true;
+        discard();
+    }
+
+    private void discard() {
+        IOUtils.closeQuietly(out);
+        FileUtils.deleteQuietly(temp.toFile());
+        if (spillDirectory != null) {
+            FileUtils.deleteQuietly(spillDirectory.toFile());
+            spillDirectory = null;
+        }
+        written.clear();
+        rewritten.clear();
+    }
+}
@@ -20,6 +20,8 @@ import com.github.jknack.handlebars.Context;
 import com.github.jknack.handlebars.Handlebars;
 import com.github.jknack.handlebars.Jackson2Helper;
 import com.github.jknack.handlebars.Template;
+import com.github.jknack.handlebars.ValueResolver;
+import com.github.jknack.handlebars.cache.ConcurrentMapTemplateCache;
 import com.github.jknack.handlebars.context.JavaBeanValueResolver;
 import com.github.jknack.handlebars.context.MapValueResolver;
 import com.github.jknack.handlebars.context.MethodValueResolver;
@@ -29,7 +31,6 @@ import com.github.jknack.handlebars.io.AbstractTemplateLoader;
 import com.github.jknack.handlebars.io.StringTemplateSource;
 import com.github.jknack.handlebars.io.TemplateLoader;
 import com.github.jknack.handlebars.io.TemplateSource;
-import lombok.Setter;
 import org.openapitools.codegen.api.AbstractTemplatingEngineAdapter;
 import org.openapitools.codegen.api.TemplatingExecutor;
 import org.openapitools.codegen.templating.handlebars.AccessAwareFieldValueResolver;
@@ -37,9 +38,11 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.io.Writer;
 import java.util.Arrays;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class HandlebarsEngineAdapter extends AbstractTemplatingEngineAdapter {
     final Logger LOGGER = LoggerFactory.getLogger(HandlebarsEngineAdapter.class);
@@ -47,8 +50,21 @@ public class HandlebarsEngineAdapter extends AbstractTemplatingEngineAdapter {
 
     // We use this as a simple lookup for valid file name extensions. This adapter will inspect .mustache (built-in) and infer the relevant handlebars filename
     private final String[] canCompileFromExtensions = {".handlebars", ".hbs", ".mustache"};
+    // resolvers are stateless (or cache internally), so the same chain is shared by every rendered context
+    private static final ValueResolver[] VALUE_RESOLVERS = {
+            MapValueResolver.INSTANCE,
+            JavaBeanValueResolver.INSTANCE,
+            MethodValueResolver.INSTANCE,
+            AccessAwareFieldValueResolver.INSTANCE
+    };
+
     private boolean infiniteLoops = false;
-    @Setter private boolean prettyPrint = false;
+    private boolean prettyPrint = false;
+
+    // The configured engine (helpers, template cache, loaded template sources) is built once per executor,
+    // i.e. once per generation run, and rebuilt whenever the executor or an engine setting changes.
+    private Handlebars handlebars;
+    private TemplatingExecutor handlebarsOwner;
 
     /**
      * Provides an identifier used to load the adapter. This could be a name, uuid, or any other string.
@@ -63,35 +79,54 @@ public class HandlebarsEngineAdapter extends AbstractTemplatingEngineAdapter {
     @Override
     public String compileTemplate(TemplatingExecutor executor,
                                   Map<String, Object> bundle, String templateFile) throws IOException {
+        Template tmpl = getHandlebars(executor).compile(templateFile);
+        return tmpl.apply(newContext(bundle));
+    }
+
+    @Override
+    public void compileTemplate(TemplatingExecutor executor,
+                                Map<String, Object> bundle, String templateFile, Writer out) throws IOException {
+        Template tmpl = getHandlebars(executor).compile(templateFile);
+        tmpl.apply(newContext(bundle), out);
+    }
+
+    private static Context newContext(Map<String, Object> bundle) {
+        return Context
+                .newBuilder(bundle)
+                .resolver(VALUE_RESOLVERS)
+                .build();
+    }
+
+    private synchronized Handlebars getHandlebars(TemplatingExecutor executor) {
+        if (handlebars != null && handlebarsOwner == executor) {
+            return handlebars;
+        }
+
+        // sources are kept for the lifetime of the engine, so each template and partial is read only once and
+        // the template cache (keyed by source) hands back the already compiled template on subsequent lookups
+        Map<String, TemplateSource> sources = new ConcurrentHashMap<>();
         TemplateLoader loader = new AbstractTemplateLoader() {
             @Override
             public TemplateSource sourceAt(String location) {
-                return findTemplate(executor, location);
+                return sources.computeIfAbsent(location, l -> findTemplate(executor, l));
             }
         };
 
-        Context context = Context
-                .newBuilder(bundle)
-                .resolver(
-                        MapValueResolver.INSTANCE,
-                        JavaBeanValueResolver.INSTANCE,
-                        MethodValueResolver.INSTANCE,
-                        AccessAwareFieldValueResolver.INSTANCE)
-                .build();
-
-        Handlebars handlebars = new Handlebars(loader);
-        handlebars.registerHelperMissing((obj, options) -> {
+        Handlebars engine = new Handlebars(loader).with(new ConcurrentMapTemplateCache());
+        engine.registerHelperMissing((obj, options) -> {
             LOGGER.warn(String.format(Locale.ROOT, "Unregistered helper name '%s', processing template:%n%s", options.helperName, options.fn.text()));
             return "";
         });
-        handlebars.registerHelper("json", Jackson2Helper.INSTANCE);
-        StringHelpers.register(handlebars);
-        handlebars.registerHelpers(ConditionalHelpers.class);
-        handlebars.registerHelpers(org.openapitools.codegen.templating.handlebars.StringHelpers.class);
-        handlebars.setInfiniteLoops(infiniteLoops);
-        handlebars.setPrettyPrint(prettyPrint);
-        Template tmpl = handlebars.compile(templateFile);
-        return tmpl.apply(context);
+        engine.registerHelper("json", Jackson2Helper.INSTANCE);
+        StringHelpers.register(engine);
+        engine.registerHelpers(ConditionalHelpers.class);
+        engine.registerHelpers(org.openapitools.codegen.templating.handlebars.StringHelpers.class);
+        engine.setInfiniteLoops(infiniteLoops);
+        engine.setPrettyPrint(prettyPrint);
+
+        handlebars = engine;
+        handlebarsOwner = executor;
+        return handlebars;
     }
 
     @SuppressWarnings("java:S108")
@@ -136,10 +171,21 @@ public class HandlebarsEngineAdapter extends AbstractTemplatingEngineAdapter {
      * @param infiniteLoops Whether to enable (true) or disable (false)
      * @return this object
      */
-    public HandlebarsEngineAdapter infiniteLoops(boolean infiniteLoops) {
+    public synchronized HandlebarsEngineAdapter infiniteLoops(boolean infiniteLoops) {
         this.infiniteLoops = infiniteLoops;
+        this.handlebars = null;
         return this;
     }
 
+    /**
+     * Enable/disable prettyPrint setting for the Handlebars engine.
+     *
+     * @param prettyPrint Whether to enable (true) or disable (false)
+     */
+    public synchronized void setPrettyPrint(boolean prettyPrint) {
+        this.prettyPrint = prettyPrint;
+        this.handlebars = null;
+    }
+
 }
 
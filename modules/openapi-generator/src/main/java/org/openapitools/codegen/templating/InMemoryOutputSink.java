@@ -0,0 +1,89 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen.templating;
+
+import org.openapitools.codegen.api.OutputSink;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Keeps generated files in memory, by their path relative to the output directory, for instance to compile them in
+ * process or to check them in tests without writing to disk.
+ */
+public class InMemoryOutputSink implements OutputSink {
+    private final Path root;
+    private final Map<String, byte[]> files = new ConcurrentSkipListMap<>();
+
+    /**
+     * @param root the output directory of the generator, which the names of the files are relative to
+     */
+    public InMemoryOutputSink(Path root) {
+        this.root = root.toAbsolutePath().normalize();
+    }
+
+    @Override
+    public OutputStream newOutputStream(Path path) {
+        String name = relativeName(root, path);
+        return new ByteArrayOutputStream() {
+            @Override
+            public void close() {
+                files.put(name, toByteArray());
+            }
+        };
+    }
+
+    /**
+     * @return the contents of the generated files, by their path relative to the output directory, using '/' as the
+     * separator, in lexicographic order
+     */
+    public Map<String, byte[]> getFiles() {
+        return Collections.unmodifiableMap(files);
+    }
+
+    /**
+     * @param name the path of a file relative to the output directory, using '/' as the separator
+     * @return the contents of the file, or null if it was not generated
+     */
+    public byte[] getContents(String name) {
+        return files.get(name);
+    }
+
+    /**
+     * @param name the path of a file relative to the output directory, using '/' as the separator
+     * @return the contents of the file decoded as UTF-8, or null if it was not generated
+     */
+    public String getContentsAsString(String name) {
+        byte[] contents = files.get(name);
+        return contents == null ? null : new String(contents, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @return the path of a file relative to the root, or its absolute path if it is not under the root, using '/'
+     * as the separator
+     */
+    static String relativeName(Path root, Path path) {
+        Path absolute = path.toAbsolutePath().normalize();
+        Path name = absolute.startsWith(root) ? root.relativize(absolute) : absolute;
+        return name.toString().replace('\\', '/');
+    }
+}
@@ -19,18 +19,21 @@ package org.openapitools.codegen.templating;
 import com.samskivert.mustache.Mustache;
 import com.samskivert.mustache.Template;
 import lombok.Getter;
-import lombok.Setter;
 import org.openapitools.codegen.CodegenConstants;
 import org.openapitools.codegen.api.TemplatingEngineAdapter;
 import org.openapitools.codegen.api.TemplatingExecutor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.Reader;
 import java.io.StringReader;
 import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.file.Path;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 
 public class MustacheEngineAdapter implements TemplatingEngineAdapter {
@@ -48,9 +51,34 @@ public class MustacheEngineAdapter implements TemplatingEngineAdapter {
     }
 
     private final String[] extensions = {"mustache"};
-    @Getter @Setter
+    @Getter
     Mustache.Compiler compiler = Mustache.compiler();
 
+    // Compiled templates and raw template sources, keyed by resolved template location. Both are scoped to a single
+    // executor (i.e. one generation run) and are dropped whenever the executor or the compiler changes.
+    private final Map<String, CachedTemplate> templateCache = new ConcurrentHashMap<>();
+    private final Map<String, CachedSource> sourceCache = new ConcurrentHashMap<>();
+    private TemplatingExecutor cacheOwner;
+
+    /**
+     * Sets the compiler used for all subsequent compilations, discarding any previously compiled templates.
+     *
+     * @param compiler The mustache compiler
+     */
+    public void setCompiler(Mustache.Compiler compiler) {
+        this.compiler = compiler;
+        clearTemplateCache();
+    }
+
+    /**
+     * Discards all compiled templates and cached template sources.
+     */
+    public synchronized void clearTemplateCache() {
+        templateCache.clear();
+        sourceCache.clear();
+        cacheOwner = null;
+    }
+
     /**
      * Compiles a template into a string
      *
@@ -62,11 +90,23 @@ public class MustacheEngineAdapter implements TemplatingEngineAdapter {
      */
     @Override
     public String compileTemplate(TemplatingExecutor executor, Map<String, Object> bundle, String templateFile) throws IOException {
-        Template tmpl = compiler
-                .withLoader(name -> findTemplate(executor, name))
-                .defaultValue("")
-                .compile(executor.getFullTemplateContents(templateFile));
         StringWriter out = new StringWriter();
+        compileTemplate(executor, bundle, templateFile, out);
+        return out.toString();
+    }
+
+    /**
+     * Compiles a template and writes the result to the provided writer
+     *
+     * @param executor     From where we can fetch the templates content (e.g. an instance of DefaultGenerator)
+     * @param bundle       The map of values to pass to the template
+     * @param templateFile The name of the template (e.g. model.mustache )
+     * @param out          The writer receiving the processed template result
+     * @throws IOException an error occurred in the template processing
+     */
+    @Override
+    public void compileTemplate(TemplatingExecutor executor, Map<String, Object> bundle, String templateFile, Writer out) throws IOException {
+        Template tmpl = getCompiledTemplate(executor, templateFile);
 
         // the value of bundle[MUSTACHE_PARENT_CONTEXT] is used a parent content in mustache.
         // See description in https://mustache.github.io/mustache.5.html#Variables
@@ -78,15 +118,19 @@ public class MustacheEngineAdapter implements TemplatingEngineAdapter {
             parent = new Object();
         }
         tmpl.execute(bundle, parent, out);
-        return out.toString();
     }
 
     @SuppressWarnings("java:S108") // catch-all is expected, and is later thrown
     public Reader findTemplate(TemplatingExecutor generator, String name) {
+        return findTemplate(generator, name, null);
+    }
+
+    @SuppressWarnings("java:S108") // catch-all is expected, and is later thrown
+    private Reader findTemplate(TemplatingExecutor generator, String name, CachedTemplate dependent) {
         for (String extension : extensions) {
             final String templateName = name + "." + extension;
             try {
-                return new StringReader(generator.getFullTemplateContents(templateName));
+                return new StringReader(readSource(generator, templateName, dependent));
             } catch (Exception exception) {
                 LOGGER.error("Failed to read full template {}, {}", templateName, exception.getMessage());
             }
@@ -95,6 +139,87 @@ public class MustacheEngineAdapter implements TemplatingEngineAdapter {
         throw new TemplateNotFoundException(name);
     }
 
+    /**
+     * Returns the compiled template for the given name, compiling it only when it has not been compiled during the
+     * current run or when one of its user-supplied template files (including partials) has been modified since.
+     */
+    private Template getCompiledTemplate(TemplatingExecutor executor, String templateFile) {
+        ensureCacheOwner(executor);
+        String location = resolveLocation(executor, templateFile);
+        CachedTemplate cached = templateCache.get(location);
+        if (cached != null && cached.isUpToDate()) {
+            return cached.template;
+        }
+
+        CachedTemplate compiled = new CachedTemplate();
+        // partials are loaded lazily by jmustache (on first execution) and kept on the compiled template afterward,
+        // so they are recorded as dependencies of the template which included them.
+        compiled.template = compiler
+                .withLoader(name -> findTemplate(executor, name, compiled))
+                .defaultValue("")
+                .compile(readSource(executor, templateFile, compiled));
+        templateCache.put(location, compiled);
+        return compiled.template;
+    }
+
+    private String readSource(TemplatingExecutor executor, String templateName, CachedTemplate dependent) {
+        ensureCacheOwner(executor);
+        String location = resolveLocation(executor, templateName);
+        long lastModified = lastModified(location);
+        CachedSource source = sourceCache.get(location);
+        if (source == null || source.lastModified != lastModified) {
+            source = new CachedSource(executor.getFullTemplateContents(templateName), lastModified);
+            sourceCache.put(location, source);
+        }
+        if (dependent != null && source.lastModified != 0L) {
+            dependent.dependencies.put(location, source.lastModified);
+        }
+        return source.contents;
+    }
+
+    private synchronized void ensureCacheOwner(TemplatingExecutor executor) {
+        if (cacheOwner != executor) {
+            templateCache.clear();
+            sourceCache.clear();
+            cacheOwner = executor;
+        }
+    }
+
+    private static String resolveLocation(TemplatingExecutor executor, String templateName) {
+        Path path = executor.getFullTemplatePath(templateName);
+        return path == null ? templateName : path.toString();
+    }
+
+    private static long lastModified(String location) {
+        // embedded (classpath) templates can't change during a run; only user-supplied files are checked
+        File file = new File(location);
+        return file.isFile() ? file.lastModified() : 0L;
+    }
+
+    private static class CachedTemplate {
+        private final Map<String, Long> dependencies = new ConcurrentHashMap<>();
+        private Template template;
+
+        private boolean isUpToDate() {
+            for (Map.Entry<String, Long> dependency : dependencies.entrySet()) {
+                if (lastModified(dependency.getKey()) != dependency.getValue()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    private static class CachedSource {
+        private final String contents;
+        private final long lastModified;
+
+        private CachedSource(String contents, long lastModified) {
+            this.contents = contents;
+            this.lastModified = lastModified;
+        }
+    }
+
     @Override
     public String[] getFileExtensions() {
         return extensions;
@@ -1,6 +1,8 @@
 package org.openapitools.codegen.templating;
 
 import lombok.Getter;
+import org.openapitools.codegen.GenerationManifest;
+import org.openapitools.codegen.api.OutputSink;
 
 /**
  * Holds the options relevant to template management and execution.
@@ -20,6 +22,18 @@ public class TemplateManagerOptions {
      * evaluates whether the file exists.
      */
     private final boolean skipOverwrite;
+    /**
+     * -- GETTER --
+     * The manifest of the previous generation run, if incremental generation is enabled. Files whose rendered contents
+     * are unchanged since that run are not written.
+     */
+    private final GenerationManifest manifest;
+    /**
+     * -- GETTER --
+     * The sink receiving the written files in place of the file system, or null to write to the file system. Minimal
+     * updates, skipped overwrites and incremental generation only apply to the file system.
+     */
+    private final OutputSink outputSink;
 
     /**
      * Constructs a new instance of {@link TemplateManagerOptions}
@@ -28,8 +42,33 @@ public class TemplateManagerOptions {
      * @param skipOverwrite Skip overwrite
      */
     public TemplateManagerOptions(boolean minimalUpdate, boolean skipOverwrite) {
+        this(minimalUpdate, skipOverwrite, null);
+    }
+
+    /**
+     * Constructs a new instance of {@link TemplateManagerOptions}
+     *
+     * @param minimalUpdate Minimal update
+     * @param skipOverwrite Skip overwrite
+     * @param manifest      The manifest of the previous generation run, or null
+     */
+    public TemplateManagerOptions(boolean minimalUpdate, boolean skipOverwrite, GenerationManifest manifest) {
+        this(minimalUpdate, skipOverwrite, manifest, null);
+    }
+
+    /**
+     * Constructs a new instance of {@link TemplateManagerOptions}
+     *
+     * @param minimalUpdate Minimal update
+     * @param skipOverwrite Skip overwrite
+     * @param manifest      The manifest of the previous generation run, or null
+     * @param outputSink    The sink receiving the written files, or null to write to the file system
+     */
+    public TemplateManagerOptions(boolean minimalUpdate, boolean skipOverwrite, GenerationManifest manifest, OutputSink outputSink) {
         this.minimalUpdate = minimalUpdate;
         this.skipOverwrite = skipOverwrite;
+        this.manifest = manifest;
+        this.outputSink = outputSink;
     }
 
 }
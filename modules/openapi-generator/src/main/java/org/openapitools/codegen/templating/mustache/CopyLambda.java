@@ -16,7 +16,6 @@
 
 package org.openapitools.codegen.templating.mustache;
 
-import com.samskivert.mustache.Mustache;
 import com.samskivert.mustache.Template.Fragment;
 
 import java.io.IOException;
@@ -35,7 +34,7 @@ import java.io.Writer;
  * {{#copy}}{{name}}{{/copy}}
  * </pre>
  */
-public class CopyLambda implements Mustache.Lambda {
+public class CopyLambda implements StatefulLambda {
     public static class CopyContent {
         public String content;
     }
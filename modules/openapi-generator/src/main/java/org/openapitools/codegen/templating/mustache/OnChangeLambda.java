@@ -1,6 +1,5 @@
 package org.openapitools.codegen.templating.mustache;
 
-import com.samskivert.mustache.Mustache;
 import com.samskivert.mustache.Template;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -22,7 +21,7 @@ import java.io.Writer;
  * {{#onchange}}{{name}}{{/onchange}}
  * </pre>
  */
-public class OnChangeLambda implements Mustache.Lambda {
+public class OnChangeLambda implements StatefulLambda {
     private final Logger LOGGER = LoggerFactory.getLogger(OnChangeLambda.class);
 
     private String lastVal = null;
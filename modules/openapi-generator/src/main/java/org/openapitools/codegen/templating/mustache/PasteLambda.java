@@ -16,7 +16,6 @@
 
 package org.openapitools.codegen.templating.mustache;
 
-import com.samskivert.mustache.Mustache;
 import com.samskivert.mustache.Template.Fragment;
 import org.openapitools.codegen.templating.mustache.CopyLambda.CopyContent;
 
@@ -36,7 +35,7 @@ import java.io.Writer;
  * {{#paste}}{{/paste}}
  * </pre>
  */
-public class PasteLambda implements Mustache.Lambda {
+public class PasteLambda implements StatefulLambda {
     private final CopyContent copyContent;
     private final Boolean clear;
 
@@ -0,0 +1,13 @@
+package org.openapitools.codegen.templating.mustache;
+
+import com.samskivert.mustache.Mustache;
+
+/**
+ * A lambda keeping state from one execution to the next, possibly across files, such as text copied to be pasted
+ * later or the last value written.
+ * <p>
+ * Files are rendered one at a time when a generator registers such a lambda, whatever the configured parallelism, so
+ * that the output does not depend on which thread renders which file.
+ */
+public interface StatefulLambda extends Mustache.Lambda {
+}
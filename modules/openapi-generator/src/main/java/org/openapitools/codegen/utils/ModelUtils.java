@@ -134,24 +134,7 @@ public class ModelUtils {
      * @return schemas a list of used schemas
      */
     public static List<String> getAllUsedSchemas(OpenAPI openAPI) {
-        Map<String, List<String>> childrenMap = getChildrenMap(openAPI);
-        List<String> allUsedSchemas = new ArrayList<String>();
-        visitOpenAPI(openAPI, (s, t) -> {
-            if (s.get$ref() != null) {
-                String ref = getSimpleRef(s.get$ref());
-                if (!allUsedSchemas.contains(ref)) {
-                    allUsedSchemas.add(ref);
-                }
-                if (childrenMap.containsKey(ref)) {
-                    for (String child : childrenMap.get(ref)) {
-                        if (!allUsedSchemas.contains(child)) {
-                            allUsedSchemas.add(child);
-                        }
-                    }
-                }
-            }
-        });
-        return allUsedSchemas;
+        return SpecIndex.of(openAPI).getUsedSchemas();
     }
 
     /**
@@ -161,35 +144,10 @@ public class ModelUtils {
      * @return schemas a list of unused schemas
      */
     public static List<String> getUnusedSchemas(OpenAPI openAPI) {
-        final Map<String, List<String>> childrenMap;
-        Map<String, List<String>> tmpChildrenMap;
-        try {
-            tmpChildrenMap = getChildrenMap(openAPI);
-        } catch (NullPointerException npe) {
-            // in rare cases, such as a spec document with only one top-level oneOf schema and multiple referenced schemas,
-            // the stream used in getChildrenMap will raise an NPE. Rather than modify getChildrenMap which is used by getAllUsedSchemas,
-            // we'll catch here as a workaround for this edge case.
-            tmpChildrenMap = new HashMap<>();
-        }
-
-        childrenMap = tmpChildrenMap;
-        List<String> unusedSchemas = new ArrayList<String>();
-
-        if (openAPI != null) {
-            Map<String, Schema> schemas = getSchemas(openAPI);
-            unusedSchemas.addAll(schemas.keySet());
-
-            visitOpenAPI(openAPI, (s, t) -> {
-                if (s.get$ref() != null) {
-                    String ref = getSimpleRef(s.get$ref());
-                    unusedSchemas.remove(ref);
-                    if (childrenMap.containsKey(ref)) {
-                        unusedSchemas.removeAll(childrenMap.get(ref));
-                    }
-                }
-            });
+        if (openAPI == null) {
+            return new ArrayList<>();
         }
-        return unusedSchemas;
+        return SpecIndex.of(openAPI).getUnusedSchemas();
     }
 
     /**
@@ -199,102 +157,94 @@ public class ModelUtils {
      * @return schemas a list of schemas
      */
     public static List<String> getSchemasUsedOnlyInFormParam(OpenAPI openAPI) {
-        List<String> schemasUsedInFormParam = new ArrayList<String>();
-        List<String> schemasUsedInOtherCases = new ArrayList<String>();
-
-        visitOpenAPI(openAPI, (s, t) -> {
-            if (s != null && s.get$ref() != null) {
-                String ref = getSimpleRef(s.get$ref());
-                if ("application/x-www-form-urlencoded".equalsIgnoreCase(t) ||
-                        "multipart/form-data".equalsIgnoreCase(t)) {
-                    schemasUsedInFormParam.add(ref);
-                } else {
-                    schemasUsedInOtherCases.add(ref);
-                }
-            }
-        });
-        return schemasUsedInFormParam.stream().filter(n -> !schemasUsedInOtherCases.contains(n)).collect(Collectors.toList());
+        return SpecIndex.of(openAPI).getSchemasUsedOnlyInFormParam();
     }
 
+    // same order as PathItem.readOperations()
+    private static final PathItem.HttpMethod[] OPERATION_VISIT_ORDER = {PathItem.HttpMethod.GET, PathItem.HttpMethod.PUT,
+            PathItem.HttpMethod.HEAD, PathItem.HttpMethod.POST, PathItem.HttpMethod.DELETE, PathItem.HttpMethod.PATCH,
+            PathItem.HttpMethod.OPTIONS, PathItem.HttpMethod.TRACE};
+
     /**
-     * Private method used by several methods ({@link #getAllUsedSchemas(OpenAPI)},
-     * {@link #getUnusedSchemas(OpenAPI)},
-     * {@link #getSchemasUsedOnlyInFormParam(OpenAPI)}, ...) to traverse all paths of an
-     * OpenAPI instance and call the visitor functional interface when a schema is found.
+     * Traverses all paths of an OpenAPI instance and calls the visitor functional interface when a schema is found.
+     * Used by {@link SpecIndex} to index the schema references in a single pass.
      *
      * @param openAPI specification
      * @param visitor functional interface (can be defined as a lambda) called each time a schema is found.
      */
-    private static void visitOpenAPI(OpenAPI openAPI, OpenAPISchemaVisitor visitor) {
+    static void visitOpenAPI(OpenAPI openAPI, OpenAPISchemaVisitor visitor) {
         Map<String, PathItem> paths = openAPI.getPaths();
-        List<String> visitedSchemas = new ArrayList<>();
+        Set<String> visitedSchemas = new HashSet<>();
 
         if (paths != null) {
-            for (PathItem path : paths.values()) {
-                visitPathItem(path, openAPI, visitor, visitedSchemas);
+            for (Entry<String, PathItem> path : paths.entrySet()) {
+                visitPathItem(path.getKey(), path.getValue(), openAPI, visitor, visitedSchemas);
             }
         }
     }
 
-    private static void visitPathItem(PathItem pathItem, OpenAPI openAPI, OpenAPISchemaVisitor visitor, List<String> visitedSchemas) {
-        List<Operation> allOperations = pathItem.readOperations();
-        if (allOperations != null) {
-            for (Operation operation : allOperations) {
-                //Params:
-                visitParameters(openAPI, operation.getParameters(), visitor, visitedSchemas);
+    private static void visitPathItem(String path, PathItem pathItem, OpenAPI openAPI, OpenAPISchemaVisitor visitor, Set<String> visitedSchemas) {
+        Map<PathItem.HttpMethod, Operation> operations = pathItem.readOperationsMap();
+        for (PathItem.HttpMethod method : OPERATION_VISIT_ORDER) {
+            Operation operation = operations.get(method);
+            if (operation == null) {
+                continue;
+            }
+            String owner = method + " " + path;
+            //Params:
+            visitParameters(openAPI, operation.getParameters(), owner, visitor, visitedSchemas);
 
-                //RequestBody:
-                RequestBody requestBody = getReferencedRequestBody(openAPI, operation.getRequestBody());
-                if (requestBody != null) {
-                    visitContent(openAPI, requestBody.getContent(), visitor, visitedSchemas);
-                }
+            //RequestBody:
+            RequestBody requestBody = getReferencedRequestBody(openAPI, operation.getRequestBody());
+            if (requestBody != null) {
+                visitContent(openAPI, requestBody.getContent(), owner, visitor, visitedSchemas);
+            }
 
-                //Responses:
-                if (operation.getResponses() != null) {
-                    for (ApiResponse r : operation.getResponses().values()) {
-                        ApiResponse apiResponse = getReferencedApiResponse(openAPI, r);
-                        if (apiResponse != null) {
-                            visitContent(openAPI, apiResponse.getContent(), visitor, visitedSchemas);
-                            if (apiResponse.getHeaders() != null) {
-                                for (Entry<String, Header> e : apiResponse.getHeaders().entrySet()) {
-                                    Header header = getReferencedHeader(openAPI, e.getValue());
-                                    if (header.getSchema() != null) {
-                                        visitSchema(openAPI, header.getSchema(), e.getKey(), visitedSchemas, visitor);
-                                    }
-                                    visitContent(openAPI, header.getContent(), visitor, visitedSchemas);
+            //Responses:
+            if (operation.getResponses() != null) {
+                for (ApiResponse r : operation.getResponses().values()) {
+                    ApiResponse apiResponse = getReferencedApiResponse(openAPI, r);
+                    if (apiResponse != null) {
+                        visitContent(openAPI, apiResponse.getContent(), owner, visitor, visitedSchemas);
+                        if (apiResponse.getHeaders() != null) {
+                            for (Entry<String, Header> e : apiResponse.getHeaders().entrySet()) {
+                                Header header = getReferencedHeader(openAPI, e.getValue());
+                                if (header.getSchema() != null) {
+                                    visitSchema(openAPI, header.getSchema(), e.getKey(), owner, visitedSchemas, visitor);
                                 }
+                                visitContent(openAPI, header.getContent(), owner, visitor, visitedSchemas);
                             }
                         }
                     }
                 }
+            }
 
-                //Callbacks:
-                if (operation.getCallbacks() != null) {
-                    for (Callback c : operation.getCallbacks().values()) {
-                        Callback callback = getReferencedCallback(openAPI, c);
-                        if (callback != null) {
-                            for (PathItem p : callback.values()) {
-                                visitPathItem(p, openAPI, visitor, visitedSchemas);
-                            }
+            //Callbacks:
+            if (operation.getCallbacks() != null) {
+                for (Callback c : operation.getCallbacks().values()) {
+                    Callback callback = getReferencedCallback(openAPI, c);
+                    if (callback != null) {
+                        for (Entry<String, PathItem> p : callback.entrySet()) {
+                            visitPathItem(p.getKey(), p.getValue(), openAPI, visitor, visitedSchemas);
                         }
                     }
                 }
             }
         }
         //Params:
-        visitParameters(openAPI, pathItem.getParameters(), visitor, visitedSchemas);
+        visitParameters(openAPI, pathItem.getParameters(), path, visitor, visitedSchemas);
     }
 
-    private static void visitParameters(OpenAPI openAPI, List<Parameter> parameters, OpenAPISchemaVisitor visitor,
-                                        List<String> visitedSchemas) {
+    private static void visitParameters(OpenAPI openAPI, List<Parameter> parameters, String owner, OpenAPISchemaVisitor visitor,
+                                        Set<String> visitedSchemas) {
         if (parameters != null) {
             for (Parameter p : parameters) {
                 Parameter parameter = getReferencedParameter(openAPI, p);
                 if (parameter != null) {
                     if (parameter.getSchema() != null) {
-                        visitSchema(openAPI, parameter.getSchema(), null, visitedSchemas, visitor);
+                        visitSchema(openAPI, parameter.getSchema(), null, owner, visitedSchemas, visitor);
                     }
-                    visitContent(openAPI, parameter.getContent(), visitor, visitedSchemas);
+                    visitContent(openAPI, parameter.getContent(), owner, visitor, visitedSchemas);
                 } else {
                     once(LOGGER).warn("Unreferenced parameter(s) found.");
                 }
@@ -302,11 +252,11 @@ public class ModelUtils {
         }
     }
 
-    private static void visitContent(OpenAPI openAPI, Content content, OpenAPISchemaVisitor visitor, List<String> visitedSchemas) {
+    private static void visitContent(OpenAPI openAPI, Content content, String owner, OpenAPISchemaVisitor visitor, Set<String> visitedSchemas) {
         if (content != null) {
             for (Entry<String, MediaType> e : content.entrySet()) {
                 if (e.getValue().getSchema() != null) {
-                    visitSchema(openAPI, e.getValue().getSchema(), e.getKey(), visitedSchemas, visitor);
+                    visitSchema(openAPI, e.getValue().getSchema(), e.getKey(), owner, visitedSchemas, visitor);
                 }
             }
         }
@@ -321,22 +271,22 @@ public class ModelUtils {
      * @param openAPI        the OpenAPI document that contains schema objects.
      * @param schema         the root schema object to be visited.
      * @param mimeType       the mime type. TODO: does not seem to be used in a meaningful way.
-     * @param visitedSchemas the list of referenced schemas that have been visited.
+     * @param owner          the operation (e.g. "GET /pets"), path or component schema containing the schema.
+     * @param visitedSchemas the set of referenced schemas that have been visited.
      * @param visitor        the visitor function which is invoked for every visited schema.
      */
-    private static void visitSchema(OpenAPI openAPI, Schema schema, String mimeType, List<String> visitedSchemas, OpenAPISchemaVisitor visitor) {
+    private static void visitSchema(OpenAPI openAPI, Schema schema, String mimeType, String owner, Set<String> visitedSchemas, OpenAPISchemaVisitor visitor) {
         if (schema == null) {
             return;
         }
 
-        visitor.visit(schema, mimeType);
+        visitor.visit(schema, mimeType, owner);
         if (schema.get$ref() != null) {
             String ref = getSimpleRef(schema.get$ref());
-            if (!visitedSchemas.contains(ref)) {
-                visitedSchemas.add(ref);
+            if (visitedSchemas.add(ref)) {
                 Schema referencedSchema = getSchemas(openAPI).get(ref);
                 if (referencedSchema != null) {
-                    visitSchema(openAPI, referencedSchema, mimeType, visitedSchemas, visitor);
+                    visitSchema(openAPI, referencedSchema, mimeType, ref, visitedSchemas, visitor);
                 }
             }
         }
@@ -344,39 +294,39 @@ public class ModelUtils {
             List<Schema> oneOf = schema.getOneOf();
             if (oneOf != null) {
                 for (Schema s : oneOf) {
-                    visitSchema(openAPI, s, mimeType, visitedSchemas, visitor);
+                    visitSchema(openAPI, s, mimeType, owner, visitedSchemas, visitor);
                 }
             }
             List<Schema> allOf = schema.getAllOf();
             if (allOf != null) {
                 for (Schema s : allOf) {
-                    visitSchema(openAPI, s, mimeType, visitedSchemas, visitor);
+                    visitSchema(openAPI, s, mimeType, owner, visitedSchemas, visitor);
                 }
             }
             List<Schema> anyOf = schema.getAnyOf();
             if (anyOf != null) {
                 for (Schema s : anyOf) {
-                    visitSchema(openAPI, s, mimeType, visitedSchemas, visitor);
+                    visitSchema(openAPI, s, mimeType, owner, visitedSchemas, visitor);
                 }
             }
         } else if (ModelUtils.isArraySchema(schema)) {
             Schema itemsSchema = ModelUtils.getSchemaItems(schema);
             if (itemsSchema != null) {
-                visitSchema(openAPI, itemsSchema, mimeType, visitedSchemas, visitor);
+                visitSchema(openAPI, itemsSchema, mimeType, owner, visitedSchemas, visitor);
             }
         } else if (isMapSchema(schema)) {
             Object additionalProperties = schema.getAdditionalProperties();
             if (additionalProperties instanceof Schema) {
-                visitSchema(openAPI, (Schema) additionalProperties, mimeType, visitedSchemas, visitor);
+                visitSchema(openAPI, (Schema) additionalProperties, mimeType, owner, visitedSchemas, visitor);
             }
         }
         if (schema.getNot() != null) {
-            visitSchema(openAPI, schema.getNot(), mimeType, visitedSchemas, visitor);
+            visitSchema(openAPI, schema.getNot(), mimeType, owner, visitedSchemas, visitor);
         }
         Map<String, Schema> properties = schema.getProperties();
         if (properties != null) {
             for (Schema property : properties.values()) {
-                visitSchema(openAPI, property, null, visitedSchemas, visitor);
+                visitSchema(openAPI, property, null, owner, visitedSchemas, visitor);
             }
         }
     }
@@ -1078,11 +1028,11 @@ public class ModelUtils {
      */
     public static List<Schema> getAllSchemas(OpenAPI openAPI) {
         List<Schema> allSchemas = new ArrayList<Schema>();
-        List<String> refSchemas = new ArrayList<String>();
+        Set<String> refSchemas = new HashSet<>();
         getSchemas(openAPI).forEach((key, schema) -> {
             // Invoke visitSchema to recursively visit all schema objects, included inlined and composed schemas.
             // Use the OpenAPISchemaVisitor visitor function
-            visitSchema(openAPI, schema, null, refSchemas, (s, mimetype) -> {
+            visitSchema(openAPI, schema, null, key, refSchemas, (s, mimetype, owner) -> {
                 allSchemas.add(s);
             });
         });
@@ -1507,16 +1457,14 @@ public class ModelUtils {
         return null;
     }
 
+    /**
+     * Get the composed schemas of 'components/schemas' grouped by their parent, see {@link #getParentName(Schema, Map)}
+     *
+     * @param openAPI specification
+     * @return the children by parent name
+     */
     public static Map<String, List<String>> getChildrenMap(OpenAPI openAPI) {
-        Map<String, Schema> allSchemas = getSchemas(openAPI);
-
-        Map<String, List<Entry<String, Schema>>> groupedByParent = allSchemas.entrySet().stream()
-                .filter(entry -> isComposedSchema(entry.getValue()))
-                .filter(entry -> getParentName((Schema) entry.getValue(), allSchemas) != null)
-                .collect(Collectors.groupingBy(entry -> getParentName((Schema) entry.getValue(), allSchemas)));
-
-        return groupedByParent.entrySet().stream()
-                .collect(Collectors.toMap(entry -> entry.getKey(), entry -> entry.getValue().stream().map(e -> e.getKey()).collect(Collectors.toList())));
+        return SpecIndex.compositionsOf(openAPI).getChildrenMap();
     }
 
     /**
@@ -2488,9 +2436,9 @@ public class ModelUtils {
     }
 
     @FunctionalInterface
-    private interface OpenAPISchemaVisitor {
+    interface OpenAPISchemaVisitor {
 
-        void visit(Schema schema, String mimeType);
+        void visit(Schema schema, String mimeType, String owner);
     }
 
     private static final class SchemaValidations {
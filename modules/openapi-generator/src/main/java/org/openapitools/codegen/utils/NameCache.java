@@ -0,0 +1,163 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen.utils;
+
+import com.github.benmanes.caffeine.cache.Cache;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * A memo of the name transformations (e.g. {@link StringUtils#camelize(String)}) of a generation run. Unlike the
+ * bounded caches shared by all the runs, the memo evicts nothing until the run ends: on large specifications the same
+ * names are transformed many times, far apart.
+ * <p>
+ * A run opens its memo on the thread running it, the threads started by the run inherit it (as with
+ * {@link org.openapitools.codegen.config.GlobalSettings}), and the memo is closed at the end of the run. Without an open
+ * memo, e.g. when the transformations are used outside of a generation run, the bounded caches are used, see
+ * {@link StringUtils#NAME_CACHE_SIZE_PROPERTY}.
+ */
+public final class NameCache implements AutoCloseable {
+    private static final InheritableThreadLocal<NameCache> CURRENT = new InheritableThreadLocal<>();
+
+    private final Map<String, Region> regions = new ConcurrentHashMap<>();
+    private volatile boolean closed;
+
+    private NameCache() {
+    }
+
+    /**
+     * Opens the memo of a generation run on the current thread, replacing any memo previously opened on it.
+     *
+     * @return the memo, to be closed at the end of the run
+     */
+    public static NameCache open() {
+        NameCache nameCache = new NameCache();
+        CURRENT.set(nameCache);
+        return nameCache;
+    }
+
+    /**
+     * @return the open memo of the current thread, or null
+     */
+    public static NameCache current() {
+        NameCache nameCache = CURRENT.get();
+        return nameCache == null || nameCache.closed ? null : nameCache;
+    }
+
+    /**
+     * Looks up a transformed name in the memo of the current run, or in the fallback cache if there is no run.
+     *
+     * @param region   the kind of transformation, e.g. "camelizedWordsCache"
+     * @param key      the arguments of the transformation
+     * @param fallback the bounded cache used outside of a run
+     * @param compute  the transformation
+     * @param <K>      the type of the arguments
+     * @return the transformed name
+     */
+    public static <K> String get(String region, K key, Cache<K, String> fallback, Function<? super K, String> compute) {
+        NameCache nameCache = current();
+        if (nameCache == null) {
+            return fallback.get(key, compute);
+        }
+        return nameCache.regions.computeIfAbsent(region, k -> new Region()).get(key, compute);
+    }
+
+    /**
+     * @return the statistics of the memo, by kind of transformation
+     */
+    public Map<String, Stats> stats() {
+        Map<String, Stats> stats = new TreeMap<>();
+        regions.forEach((name, region) -> stats.put(name, new Stats(region.hits.sum(), region.misses.sum(), region.values.size())));
+        return stats;
+    }
+
+    /**
+     * Ends the run: the memo is emptied, and the threads which inherited it fall back to the bounded caches.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        regions.clear();
+        if (CURRENT.get() == this) {
+            CURRENT.remove();
+        }
+    }
+
+    private static class Region {
+        private final Map<Object, String> values = new ConcurrentHashMap<>();
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+
+        private <K> String get(K key, Function<? super K, String> compute) {
+            String value = values.get(key);
+            if (value != null) {
+                hits.increment();
+                return value;
+            }
+            misses.increment();
+            // computed outside of the map, a transformation may use other transformations of the same kind
+            value = compute.apply(key);
+            if (value != null) {
+                String previous = values.putIfAbsent(key, value);
+                return previous != null ? previous : value;
+            }
+            return null;
+        }
+    }
+
+    /**
+     * The hits, misses and size of a kind of transformation.
+     */
+    public static final class Stats {
+        private final long hitCount;
+        private final long missCount;
+        private final int size;
+
+        Stats(long hitCount, long missCount, int size) {
+            this.hitCount = hitCount;
+            this.missCount = missCount;
+            this.size = size;
+        }
+
+        public long hitCount() {
+            return hitCount;
+        }
+
+        public long missCount() {
+            return missCount;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public double hitRate() {
+            long requestCount = hitCount + missCount;
+            return requestCount == 0 ? 1.0 : (double) hitCount / requestCount;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "hits=%d, misses=%d, size=%d", hitCount, missCount, size);
+        }
+    }
+}
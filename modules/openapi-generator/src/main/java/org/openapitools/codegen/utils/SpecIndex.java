@@ -0,0 +1,274 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen.utils;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.media.Schema;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An index of the schema usages of a specification, built in a single traversal of its paths and component schemas:
+ * the schemas referenced by the operations (directly or through other schemas), the schemas referencing a schema, the
+ * schemas only used with form media types, and the parent and children of the composed schemas.
+ * <p>
+ * The index is a snapshot: it does not reflect later changes to the specification. A generation run caches the index
+ * of its specification with {@link #cache(OpenAPI)} once the specification is no longer modified, so that all the
+ * lookups of the run (see e.g. {@link ModelUtils#getUnusedSchemas(OpenAPI)}) share it, and releases it at the end of
+ * the run with {@link #release(OpenAPI)}. Outside of a generation run, {@link #of(OpenAPI)} builds a new index.
+ */
+public final class SpecIndex {
+    // weak keys are compared by identity, specifications are mutable and expensive to hash
+    private static final Cache<OpenAPI, SpecIndex> CACHE = Caffeine.newBuilder().weakKeys().build();
+
+    private final List<String> schemaNames;
+    private final Map<String, List<String>> children = new HashMap<>();
+    private final Map<String, String> parentNames = new HashMap<>();
+    private final Map<String, List<String>> allOfChildren = new HashMap<>();
+    private final Map<String, Set<String>> referrers = new HashMap<>();
+    private final Set<String> usedSchemas = new LinkedHashSet<>();
+    private final List<String> formParamReferences = new ArrayList<>();
+    private final Set<String> otherReferences = new HashSet<>();
+    private NullPointerException parentLookupFailure;
+
+    @SuppressWarnings("rawtypes")
+    private SpecIndex(OpenAPI openAPI, boolean indexUsages) {
+        Map<String, Schema> schemas = ModelUtils.getSchemas(openAPI);
+        this.schemaNames = new ArrayList<>(schemas.keySet());
+        indexCompositions(schemas);
+        if (indexUsages) {
+            ModelUtils.visitOpenAPI(openAPI, this::visit);
+        }
+    }
+
+    /**
+     * Returns the index of a specification: the one cached for the current generation run if any, a new one otherwise.
+     *
+     * @param openAPI specification
+     * @return the index
+     */
+    public static SpecIndex of(OpenAPI openAPI) {
+        SpecIndex index = CACHE.getIfPresent(openAPI);
+        return index != null ? index : new SpecIndex(openAPI, true);
+    }
+
+    /**
+     * Returns the index cached for the current generation run if any, otherwise a new index of the compositions of
+     * 'components/schemas' only, for the lookups which do not need the usages (see {@link #getChildrenMap()}).
+     *
+     * @param openAPI specification
+     * @return the index
+     */
+    static SpecIndex compositionsOf(OpenAPI openAPI) {
+        SpecIndex index = CACHE.getIfPresent(openAPI);
+        return index != null ? index : new SpecIndex(openAPI, false);
+    }
+
+    /**
+     * Builds the index of a specification and caches it until {@link #release(OpenAPI)}, for a generation run which
+     * no longer modifies the specification.
+     *
+     * @param openAPI specification
+     * @return the index
+     */
+    public static SpecIndex cache(OpenAPI openAPI) {
+        SpecIndex index = new SpecIndex(openAPI, true);
+        CACHE.put(openAPI, index);
+        return index;
+    }
+
+    /**
+     * Drops the cached index of a specification, if any.
+     *
+     * @param openAPI specification
+     */
+    public static void release(OpenAPI openAPI) {
+        CACHE.invalidate(openAPI);
+    }
+
+    @SuppressWarnings("rawtypes")
+    private void indexCompositions(Map<String, Schema> schemas) {
+        boolean parentLookupFailed = false;
+        for (Map.Entry<String, Schema> entry : schemas.entrySet()) {
+            Schema schema = entry.getValue();
+            if (!ModelUtils.isComposedSchema(schema)) {
+                continue;
+            }
+            if (schema.getAllOf() != null) {
+                for (Object item : schema.getAllOf()) {
+                    String ref = item instanceof Schema ? ((Schema) item).get$ref() : null;
+                    String allOfParent = ref != null ? ModelUtils.getSimpleRef(ref) : null;
+                    if (allOfParent != null) {
+                        List<String> siblings = allOfChildren.computeIfAbsent(allOfParent, k -> new ArrayList<>());
+                        // a schema listing the same parent twice is still a single child
+                        if (siblings.isEmpty() || !siblings.get(siblings.size() - 1).equals(entry.getKey())) {
+                            siblings.add(entry.getKey());
+                        }
+                    }
+                }
+            }
+            if (parentLookupFailed) {
+                continue;
+            }
+            try {
+                String parentName = ModelUtils.getParentName(schema, schemas);
+                if (parentName != null) {
+                    parentNames.put(entry.getKey(), parentName);
+                    children.computeIfAbsent(parentName, k -> new ArrayList<>()).add(entry.getKey());
+                }
+            } catch (NullPointerException npe) {
+                // in rare cases, such as a spec document with only one top-level oneOf schema and multiple referenced schemas,
+                // looking up the parents raises an NPE. Index no parent, so that the unused schemas can still be listed,
+                // and report the NPE to the lookups which depend on the parents.
+                parentLookupFailure = npe;
+                parentLookupFailed = true;
+            }
+        }
+        if (parentLookupFailed) {
+            children.clear();
+            parentNames.clear();
+        }
+    }
+
+    @SuppressWarnings("rawtypes")
+    private void visit(Schema schema, String mimeType, String owner) {
+        if (schema == null || schema.get$ref() == null) {
+            return;
+        }
+        String ref = ModelUtils.getSimpleRef(schema.get$ref());
+        referrers.computeIfAbsent(ref, k -> new LinkedHashSet<>()).add(owner);
+
+        usedSchemas.add(ref);
+        usedSchemas.addAll(children.getOrDefault(ref, Collections.emptyList()));
+
+        if ("application/x-www-form-urlencoded".equalsIgnoreCase(mimeType) ||
+                "multipart/form-data".equalsIgnoreCase(mimeType)) {
+            formParamReferences.add(ref);
+        } else {
+            otherReferences.add(ref);
+        }
+    }
+
+    /**
+     * @return the schemas used by the operations, directly or through other schemas, along with the children of the
+     * used parents (see {@link #getChildren(String)}), in the order they are found
+     */
+    public List<String> getUsedSchemas() {
+        checkParentLookup();
+        return new ArrayList<>(usedSchemas);
+    }
+
+    /**
+     * @return the schemas of 'components/schemas' which are not used, see {@link #getUsedSchemas()}
+     */
+    public List<String> getUnusedSchemas() {
+        List<String> unusedSchemas = new ArrayList<>();
+        for (String name : schemaNames) {
+            if (!usedSchemas.contains(name)) {
+                unusedSchemas.add(name);
+            }
+        }
+        return unusedSchemas;
+    }
+
+    /**
+     * @return the schemas only used in 'application/x-www-form-urlencoded' or 'multipart/form-data' media types
+     */
+    public List<String> getSchemasUsedOnlyInFormParam() {
+        List<String> schemas = new ArrayList<>();
+        for (String ref : formParamReferences) {
+            if (!otherReferences.contains(ref)) {
+                schemas.add(ref);
+            }
+        }
+        return schemas;
+    }
+
+    /**
+     * Returns what references a schema: the operations (e.g. "GET /pets"), paths (for path-level parameters) and
+     * component schemas.
+     *
+     * @param schemaName the name of the referenced schema
+     * @return the referrers, in the order they are found
+     */
+    public Set<String> getReferrers(String schemaName) {
+        return Collections.unmodifiableSet(referrers.getOrDefault(schemaName, Collections.emptySet()));
+    }
+
+    /**
+     * @param schemaName the name of a schema
+     * @return true if an operation uses the schema, see {@link #getUsedSchemas()}
+     */
+    public boolean isUsed(String schemaName) {
+        checkParentLookup();
+        return usedSchemas.contains(schemaName);
+    }
+
+    /**
+     * @param schemaName the name of a composed schema
+     * @return the parent of the schema, see {@link ModelUtils#getParentName(Schema, Map)}, or null
+     */
+    public String getParentName(String schemaName) {
+        checkParentLookup();
+        return parentNames.get(schemaName);
+    }
+
+    /**
+     * @param parentName the name of a schema
+     * @return the composed schemas having this schema as parent, see {@link ModelUtils#getParentName(Schema, Map)}
+     */
+    public List<String> getChildren(String parentName) {
+        checkParentLookup();
+        return Collections.unmodifiableList(children.getOrDefault(parentName, Collections.emptyList()));
+    }
+
+    /**
+     * @return the children of all parents, see {@link #getChildren(String)}
+     */
+    public Map<String, List<String>> getChildrenMap() {
+        checkParentLookup();
+        Map<String, List<String>> childrenMap = new HashMap<>();
+        children.forEach((parent, names) -> childrenMap.put(parent, new ArrayList<>(names)));
+        return childrenMap;
+    }
+
+    /**
+     * @param parentName the name of a schema
+     * @return the schemas referencing this schema in their allOf, whether or not it has a discriminator, in the
+     * order of 'components/schemas'
+     */
+    public List<String> getAllOfChildren(String parentName) {
+        return Collections.unmodifiableList(allOfChildren.getOrDefault(parentName, Collections.emptyList()));
+    }
+
+    private void checkParentLookup() {
+        if (parentLookupFailure != null) {
+            NullPointerException npe = new NullPointerException("Failed to look up the parents of the composed schemas");
+            npe.initCause(parentLookupFailure);
+            throw npe;
+        }
+    }
+}
@@ -3,6 +3,7 @@ package org.openapitools.codegen.utils;
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
 import com.github.benmanes.caffeine.cache.Ticker;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 import org.apache.commons.lang3.tuple.ImmutablePair;
 import org.apache.commons.lang3.tuple.Pair;
 import org.openapitools.codegen.config.GlobalSettings;
@@ -16,7 +17,8 @@ import static org.openapitools.codegen.utils.CamelizeOption.UPPERCASE_FIRST_CHAR
 
 public class StringUtils {
     /**
-     * Set the cache size (entry count) of the sanitizedNameCache, camelizedWordsCache and underscoreWordsCache.
+     * Set the cache size (entry count) of the sanitizedNameCache, camelizedWordsCache and underscoreWordsCache, used
+     * outside of a generation run (a run memoizes the names without eviction, see {@link NameCache}).
      */
     public static final String NAME_CACHE_SIZE_PROPERTY = "org.openapitools.codegen.utils.namecache.cachesize";
     /**
@@ -41,21 +43,38 @@ public class StringUtils {
                 .maximumSize(cacheSize)
                 .expireAfterAccess(cacheExpiry, TimeUnit.SECONDS)
                 .ticker(Ticker.systemTicker())
+                .recordStats()
                 .build();
 
         escapedWordsCache = Caffeine.newBuilder()
                 .maximumSize(cacheSize)
                 .expireAfterAccess(cacheExpiry, TimeUnit.SECONDS)
                 .ticker(Ticker.systemTicker())
+                .recordStats()
                 .build();
 
         underscoreWordsCache = Caffeine.newBuilder()
                 .maximumSize(cacheSize)
                 .expireAfterAccess(cacheExpiry, TimeUnit.SECONDS)
                 .ticker(Ticker.systemTicker())
+                .recordStats()
                 .build();
     }
 
+    /**
+     * The statistics of the bounded word caches, for reporting purposes. The names transformed during a generation run
+     * are reported by {@link NameCache#stats()}.
+     *
+     * @return the statistics of every cache, by cache name
+     */
+    public static Map<String, CacheStats> cacheStats() {
+        Map<String, CacheStats> stats = new LinkedHashMap<>();
+        stats.put("camelizedWordsCache", camelizedWordsCache.stats());
+        stats.put("underscoreWordsCache", underscoreWordsCache.stats());
+        stats.put("escapedWordsCache", escapedWordsCache.stats());
+        return stats;
+    }
+
     private static Pattern capitalLetterPattern = Pattern.compile("([A-Z]+)([A-Z][a-z][a-z]+)");
     private static Pattern lowercasePattern = Pattern.compile("([a-z\\d])([A-Z])");
     private static Pattern pkgSeparatorPattern = Pattern.compile("\\.");
@@ -70,7 +89,7 @@ public class StringUtils {
      * @return The underscored version of the word
      */
     public static String underscore(final String word) {
-        return underscoreWordsCache.get(word, wordToUnderscore -> {
+        return NameCache.get("underscoreWordsCache", word, underscoreWordsCache, wordToUnderscore -> {
             String result;
             String replacementPattern = "$1_$2";
             // Replace package separator with slash.
@@ -127,7 +146,7 @@ public class StringUtils {
     public static String camelize(final String inputWord, CamelizeOption camelizeOption) {
         Pair<String, CamelizeOption> key = new ImmutablePair<>(inputWord, camelizeOption);
 
-        return camelizedWordsCache.get(key, pair -> {
+        return NameCache.get("camelizedWordsCache", key, camelizedWordsCache, pair -> {
             String word = pair.getKey();
             CamelizeOption option = pair.getValue();
             // Replace all slashes with dots (package separator)
@@ -262,7 +281,7 @@ public class StringUtils {
     public static String escape(final String name, final Map<String, String> replacementMap,
                                 final List<String> charactersToAllow, final String appendToReplacement) {
         EscapedNameOptions ns = new EscapedNameOptions(name, replacementMap.keySet(), charactersToAllow, appendToReplacement);
-        return escapedWordsCache.get(ns, wordToEscape -> {
+        return NameCache.get("escapedWordsCache", ns, escapedWordsCache, wordToEscape -> {
             String result = name.chars().mapToObj(c -> {
                 String character = String.valueOf((char) c);
                 if (charactersToAllow != null && charactersToAllow.contains(character)) {
@@ -0,0 +1,187 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen.utils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Starts a thread per task, on virtual threads when the runtime supports them (Java 21 or later), for work which
+ * mostly waits, such as running external processes or writing files.
+ * <p>
+ * The generator is compiled for older runtimes, so the virtual thread API is looked up reflectively; on older
+ * runtimes, the tasks run on platform threads instead.
+ * <p>
+ * Threads started for a task do not inherit {@link org.openapitools.codegen.config.GlobalSettings} reliably, so tasks
+ * should be wrapped with {@link org.openapitools.codegen.config.GlobalSettings#propagate(java.util.concurrent.Callable)}.
+ */
+public final class VirtualThreads {
+    private static final Logger LOGGER = LoggerFactory.getLogger(VirtualThreads.class);
+
+    private static final Method OF_VIRTUAL;
+    private static final Method NAME;
+    private static final Method FACTORY;
+    private static final Method NEW_THREAD_PER_TASK_EXECUTOR;
+
+    static {
+        Method ofVirtual = null;
+        Method name = null;
+        Method factory = null;
+        Method newThreadPerTaskExecutor = null;
+        try {
+            ofVirtual = Thread.class.getMethod("ofVirtual");
+            Class<?> builder = Class.forName("java.lang.Thread$Builder");
+            name = builder.getMethod("name", String.class, long.class);
+            factory = builder.getMethod("factory");
+            newThreadPerTaskExecutor = Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+        } catch (ReflectiveOperationException e) {
+            ofVirtual = null;
+        }
+        OF_VIRTUAL = ofVirtual;
+        NAME = name;
+        FACTORY = factory;
+        NEW_THREAD_PER_TASK_EXECUTOR = newThreadPerTaskExecutor;
+    }
+
+    private VirtualThreads() {
+    }
+
+    /**
+     * @return true if the runtime supports virtual threads
+     */
+    public static boolean isSupported() {
+        return OF_VIRTUAL != null;
+    }
+
+    /**
+     * Creates an executor starting a new thread for each task: a virtual thread when supported, otherwise a daemon
+     * platform thread.
+     *
+     * @param namePrefix the prefix of the thread names, followed by a sequence number
+     * @return the executor, which should be shut down once its tasks are done
+     */
+    public static ExecutorService newThreadPerTaskExecutor(String namePrefix) {
+        if (isSupported()) {
+            try {
+                Object builder = NAME.invoke(OF_VIRTUAL.invoke(null), namePrefix, 0L);
+                return (ExecutorService) NEW_THREAD_PER_TASK_EXECUTOR.invoke(null, FACTORY.invoke(builder));
+            } catch (ReflectiveOperationException e) {
+                LOGGER.warn("Unable to start virtual threads, using platform threads: {}", e.getMessage());
+            }
+        }
+        return Executors.newCachedThreadPool(platformThreads(namePrefix));
+    }
+
+    /**
+     * Creates an executor running at most the given number of tasks at a time, for instance to bound the number of
+     * external processes started: each task gets a virtual thread, which waits for one of the running tasks to end,
+     * when supported, otherwise the tasks run on a fixed pool of daemon platform threads.
+     *
+     * @param namePrefix  the prefix of the thread names, followed by a sequence number
+     * @param parallelism the maximum number of tasks running at a time
+     * @return the executor, which should be shut down once its tasks are done
+     */
+    public static ExecutorService newBoundedExecutor(String namePrefix, int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be positive: " + parallelism);
+        }
+        if (isSupported()) {
+            return new BoundedExecutor(newThreadPerTaskExecutor(namePrefix), parallelism);
+        }
+        return Executors.newFixedThreadPool(parallelism, platformThreads(namePrefix));
+    }
+
+    private static ThreadFactory platformThreads(String namePrefix) {
+        AtomicLong counter = new AtomicLong();
+        return task -> {
+            Thread thread = new Thread(task, String.format(Locale.ROOT, "%s%d", namePrefix, counter.getAndIncrement()));
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Runs each task on a thread of another executor once a permit is available.
+     */
+    private static final class BoundedExecutor extends AbstractExecutorService {
+        private final ExecutorService delegate;
+        private final Semaphore permits;
+
+        private BoundedExecutor(ExecutorService delegate, int parallelism) {
+            this.delegate = delegate;
+            this.permits = new Semaphore(parallelism);
+        }
+
+        @Override
+        public void execute(Runnable command) {
+            delegate.execute(() -> {
+                try {
+                    permits.acquire();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    // the task never runs, so a submitted one is cancelled rather than left pending forever
+                    if (command instanceof Future) {
+                        ((Future<?>) command).cancel(false);
+                    }
+                    return;
+                }
+                try {
+                    command.run();
+                } finally {
+                    permits.release();
+                }
+            });
+        }
+
+        @Override
+        public void shutdown() {
+            delegate.shutdown();
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            return delegate.shutdownNow();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return delegate.isShutdown();
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return delegate.isTerminated();
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+            return delegate.awaitTermination(timeout, unit);
+        }
+    }
+}
@@ -8,9 +8,16 @@ import io.swagger.v3.oas.models.parameters.Parameter;
 import io.swagger.v3.oas.models.security.SecurityScheme;
 import io.swagger.v3.oas.models.tags.Tag;
 import org.openapitools.codegen.utils.ModelUtils;
+import org.openapitools.codegen.utils.SpecIndex;
 import org.openapitools.codegen.validation.*;
 
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
 
 /**
  * A validator which evaluates an OpenAPI 3.x specification document
@@ -45,15 +52,19 @@ public class OpenApiEvaluator implements Validator<OpenAPI> {
 
         if (ruleConfiguration.isEnableUnusedSchemasRecommendation()) {
             ValidationRule unusedSchema = ValidationRule.create(Severity.WARNING, "Unused schema", "A schema was determined to be unused.", s -> ValidationRule.Pass.empty());
-            ModelUtils.getUnusedSchemas(specification).forEach(schemaName -> validationResult.addResult(Validated.invalid(unusedSchema, "Unused model: " + schemaName)));
+            SpecIndex.of(specification).getUnusedSchemas().forEach(schemaName -> validationResult.addResult(Validated.invalid(unusedSchema, "Unused model: " + schemaName)));
         }
 
+        // Each schema, operation, security scheme and parameter is evaluated independently of the others, so the
+        // evaluations are collected first and may run on several threads; their results are then merged in document order.
+        List<Supplier<ValidationResult>> evaluations = new ArrayList<>();
+
         // Get list of all schemas under /components/schemas, including nested schemas defined inline and composed schema.
         // The validators must be able to validate every schema defined in the OAS document.
         List<Schema> schemas = ModelUtils.getAllSchemas(specification);
         schemas.forEach(schema -> {
             SchemaWrapper wrapper = new SchemaWrapper(specification, schema);
-            validationResult.consume(schemaValidations.validate(wrapper));
+            evaluations.add(() -> schemaValidations.validate(wrapper));
         });
 
         List<Parameter> parameters = new ArrayList<>(50);
@@ -73,7 +84,7 @@ public class OpenApiEvaluator implements Validator<OpenAPI> {
                         }
 
                         OperationWrapper wrapper = new OperationWrapper(specification, op, httpMethod);
-                        validationResult.consume(operationValidations.validate(wrapper));
+                        evaluations.add(() -> operationValidations.validate(wrapper));
                     }
                 });
             });
@@ -85,7 +96,7 @@ public class OpenApiEvaluator implements Validator<OpenAPI> {
             if (securitySchemes != null && !securitySchemes.isEmpty()) {
                 securitySchemes.values().forEach(securityScheme -> {
                     SecuritySchemeWrapper wrapper = new SecuritySchemeWrapper(specification, securityScheme);
-                    validationResult.consume(securitySchemeValidations.validate(wrapper));
+                    evaluations.add(() -> securitySchemeValidations.validate(wrapper));
                 });
             }
 
@@ -94,12 +105,30 @@ public class OpenApiEvaluator implements Validator<OpenAPI> {
             }
         }
 
+        // A parameter referenced from several operations resolves to the same instance, which is only evaluated once;
+        // its result is merged for every reference, as if it had been evaluated each time.
+        List<Integer> order = new ArrayList<>(evaluations.size() + parameters.size());
+        for (int i = 0; i < evaluations.size(); i++) {
+            order.add(i);
+        }
+        Map<Parameter, Integer> evaluatedParameters = new IdentityHashMap<>();
         parameters.forEach(parameter -> {
-            parameter = ModelUtils.getReferencedParameter(specification, parameter);
-            ParameterWrapper wrapper = new ParameterWrapper(specification, parameter);
-            validationResult.consume(parameterValidations.validate(wrapper));
+            Parameter resolved = ModelUtils.getReferencedParameter(specification, parameter);
+            order.add(evaluatedParameters.computeIfAbsent(resolved, p -> {
+                ParameterWrapper wrapper = new ParameterWrapper(specification, p);
+                evaluations.add(() -> parameterValidations.validate(wrapper));
+                return evaluations.size() - 1;
+            }));
         });
 
+        ValidationResult[] results = evaluate(evaluations);
+        for (int index : order) {
+            validationResult.consume(results[index]);
+            if (ruleConfiguration.isFailFast() && isFailure(results[index])) {
+                return validationResult;
+            }
+        }
+
         List<Tag> tags = specification.getTags();
         if (tags != null && tags.size() > 1) {
             Set<String> distinct = new HashSet<>();
@@ -123,4 +152,51 @@ public class OpenApiEvaluator implements Validator<OpenAPI> {
 
         return validationResult;
     }
+
+    /**
+     * Runs the evaluations on {@link RuleConfiguration#getParallelism()} threads. When {@link RuleConfiguration#isFailFast()}
+     * is enabled, evaluations following the first failing one are skipped and their result is <code>null</code>.
+     *
+     * @param evaluations The evaluations, in document order.
+     * @return The result of each evaluation, in the same order.
+     */
+    private ValidationResult[] evaluate(List<Supplier<ValidationResult>> evaluations) {
+        ValidationResult[] results = new ValidationResult[evaluations.size()];
+        AtomicInteger firstError = new AtomicInteger(Integer.MAX_VALUE);
+        IntConsumer evaluation = index -> {
+            if (index > firstError.get()) return;
+            results[index] = evaluations.get(index).get();
+            if (ruleConfiguration.isFailFast() && isFailure(results[index])) {
+                firstError.accumulateAndGet(index, Math::min);
+            }
+        };
+
+        int parallelism = ruleConfiguration.getParallelism();
+        if (parallelism <= 1 || evaluations.size() <= 1) {
+            for (int i = 0; i < results.length && i <= firstError.get(); i++) {
+                evaluation.accept(i);
+            }
+            return results;
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            pool.submit(() -> IntStream.range(0, results.length).parallel().forEach(evaluation)).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while evaluating the specification", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) throw (RuntimeException) e.getCause();
+            if (e.getCause() instanceof Error) throw (Error) e.getCause();
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+        return results;
+    }
+
+    private boolean isFailure(ValidationResult result) {
+        return !result.getErrors().isEmpty()
+                || (ruleConfiguration.isFailFastOnWarnings() && !result.getWarnings().isEmpty());
+    }
 }
@@ -2,6 +2,8 @@ package org.openapitools.codegen.validations.oas;
 
 import lombok.Getter;
 import lombok.Setter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * Allows for configuration of validation rules which will be applied to a specification.
@@ -10,6 +12,7 @@ import lombok.Setter;
 @Setter
 @SuppressWarnings({"WeakerAccess", "unused"})
 public class RuleConfiguration {
+    private static final Logger LOGGER = LoggerFactory.getLogger(RuleConfiguration.class);
     private static String propertyPrefix = "openapi.generator.rule";
     /**
      * -- GETTER --
@@ -139,10 +142,59 @@ public class RuleConfiguration {
      */
     private boolean enableApiRequestUriWithBodyRecommendation = defaultedBoolean(propertyPrefix + ".anti-patterns.uri-unexpected-body", true);
 
+    /**
+     * -- GETTER --
+     * Gets the number of threads used to evaluate the schemas, operations, security schemes and parameters of a specification.
+     *
+     * @return the number of threads, 1 or less evaluates on the calling thread
+     * -- SETTER --
+     * Sets the number of threads used to evaluate the schemas, operations, security schemes and parameters of a specification.
+     * The results are identical whatever the number of threads.
+     * @param parallelism the number of threads, 1 or less evaluates on the calling thread
+     */
+    private int parallelism = defaultedInt(propertyPrefix + ".parallelism", 1);
+
+    /**
+     * -- GETTER --
+     * Gets whether evaluation stops at the first schema, operation, security scheme or parameter having an error.
+     * The unused schema recommendations are always reported and the tag checks are skipped once evaluation stopped.
+     *
+     * @return <code>true</code> if enabled, <code>false</code> if disabled
+     * -- SETTER --
+     * Enable or Disable stopping evaluation at the first schema, operation, security scheme or parameter having an error.
+     * Results are kept up to and including that element, in document order.
+     * @param failFast <code>true</code> to enable, <code>false</code> to disable
+     */
+    private boolean failFast = defaultedBoolean(propertyPrefix + ".fail-fast", false);
+
+    /**
+     * -- GETTER --
+     * Gets whether a warning, in addition to an error, stops evaluation when {@link #isFailFast()} is enabled.
+     *
+     * @return <code>true</code> if enabled, <code>false</code> if disabled
+     * -- SETTER --
+     * Enable or Disable stopping evaluation at the first warning when {@link #isFailFast()} is enabled, for callers
+     * which treat warnings as errors.
+     * @param failFastOnWarnings <code>true</code> to enable, <code>false</code> to disable
+     */
+    private boolean failFastOnWarnings = defaultedBoolean(propertyPrefix + ".fail-fast-on-warnings", false);
+
     @SuppressWarnings("SameParameterValue")
     private static boolean defaultedBoolean(String key, boolean defaultValue) {
         String property = System.getProperty(key);
         if (property == null) return defaultValue;
         return Boolean.parseBoolean(property);
     }
+
+    @SuppressWarnings("SameParameterValue")
+    private static int defaultedInt(String key, int defaultValue) {
+        String property = System.getProperty(key);
+        if (property == null) return defaultValue;
+        try {
+            return Integer.parseInt(property.trim());
+        } catch (NumberFormatException e) {
+            LOGGER.warn("Invalid {} '{}', using the default {}", key, property, defaultValue);
+            return defaultValue;
+        }
+    }
 }
@@ -0,0 +1,154 @@
+package org.openapitools.codegen;
+
+import org.apache.commons.io.FileUtils;
+import org.openapitools.codegen.config.GlobalSettings;
+import org.testng.SkipException;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+public class BatchPostProcessorTest {
+    @AfterMethod
+    public void reset() {
+        GlobalSettings.reset();
+    }
+
+    private static void assumeUnix() {
+        if (System.getProperty("os.name").toLowerCase(Locale.ROOT).startsWith("windows")) {
+            throw new SkipException("requires a unix shell");
+        }
+    }
+
+    @Test
+    public void testBatchesAreGroupedByCommand() {
+        BatchPostProcessor processor = new BatchPostProcessor(1, 10, 1000);
+        processor.add(new String[]{"gofmt -w"}, "a.go");
+        processor.add(new String[]{"prettier", "--write"}, "a.ts");
+        processor.add(new String[]{"gofmt -w"}, "b.go");
+
+        List<List<String>> batches = processor.batches();
+
+        assertEquals(processor.size(), 3);
+        assertEquals(batches.size(), 2);
+        assertEquals(batches.get(0), Arrays.asList("gofmt", "-w", "a.go", "b.go"));
+        assertEquals(batches.get(1), Arrays.asList("prettier", "--write", "a.ts"));
+    }
+
+    @Test
+    public void testInvalidPropertiesFallBackToDefaults() {
+        GlobalSettings.setProperty(BatchPostProcessor.WORKERS_PROPERTY, "0");
+        GlobalSettings.setProperty(BatchPostProcessor.TIMEOUT_PROPERTY, "ten");
+        GlobalSettings.setProperty(BatchPostProcessor.MAX_COMMAND_LENGTH_PROPERTY, "-1");
+
+        assertEquals(BatchPostProcessor.positiveProperty(BatchPostProcessor.WORKERS_PROPERTY, 4, Integer.MAX_VALUE), 4);
+        assertEquals(BatchPostProcessor.positiveProperty(BatchPostProcessor.TIMEOUT_PROPERTY, 600, Long.MAX_VALUE), 600);
+        assertEquals(BatchPostProcessor.positiveProperty(BatchPostProcessor.MAX_COMMAND_LENGTH_PROPERTY, 30000, Integer.MAX_VALUE), 30000);
+
+        GlobalSettings.setProperty(BatchPostProcessor.MAX_COMMAND_LENGTH_PROPERTY, "3000000000");
+        assertEquals(BatchPostProcessor.positiveProperty(BatchPostProcessor.MAX_COMMAND_LENGTH_PROPERTY, 30000, Integer.MAX_VALUE), 30000);
+        GlobalSettings.setProperty(BatchPostProcessor.MAX_COMMAND_LENGTH_PROPERTY, " 8000 ");
+        assertEquals(BatchPostProcessor.positiveProperty(BatchPostProcessor.MAX_COMMAND_LENGTH_PROPERTY, 30000, Integer.MAX_VALUE), 8000);
+    }
+
+    @Test
+    public void testBatchesAreBoundedByCommandLength() {
+        // "fmt" plus two 5 character files fits into 15 characters, a third one does not
+        BatchPostProcessor processor = new BatchPostProcessor(1, 10, 15);
+        processor.add(new String[]{"fmt"}, "1.txt");
+        processor.add(new String[]{"fmt"}, "2.txt");
+        processor.add(new String[]{"fmt"}, "3.txt");
+        processor.add(new String[]{"fmt"}, "a-file-exceeding-the-limit.txt");
+
+        List<List<String>> batches = processor.batches();
+
+        assertEquals(batches.size(), 3);
+        assertEquals(batches.get(0), Arrays.asList("fmt", "1.txt", "2.txt"));
+        assertEquals(batches.get(1), Arrays.asList("fmt", "3.txt"));
+        assertEquals(batches.get(2), Arrays.asList("fmt", "a-file-exceeding-the-limit.txt"));
+    }
+
+    @Test
+    public void testExecuteRunsAllBatches() throws IOException {
+        assumeUnix();
+        Path dir = Files.createTempDirectory("test-batch-post-process");
+        try {
+            BatchPostProcessor processor = new BatchPostProcessor(2, 10, 200);
+            for (int i = 0; i < 20; i++) {
+                processor.add(new String[]{"touch"}, dir.resolve("file" + i + ".txt").toString());
+            }
+
+            assertTrue(processor.execute());
+
+            assertEquals(processor.size(), 0);
+            for (int i = 0; i < 20; i++) {
+                assertTrue(Files.exists(dir.resolve("file" + i + ".txt")));
+            }
+        } finally {
+            FileUtils.deleteDirectory(dir.toFile());
+        }
+    }
+
+    @Test
+    public void testExecuteReportsFailureAndTimeout() {
+        assumeUnix();
+        BatchPostProcessor failing = new BatchPostProcessor(1, 10, 200);
+        failing.add(new String[]{"false"}, "a.txt");
+        assertFalse(failing.execute());
+
+        BatchPostProcessor slow = new BatchPostProcessor(1, 1, 200);
+        slow.add(new String[]{"sleep"}, "30");
+        long start = System.nanoTime();
+        assertFalse(slow.execute());
+        assertTrue(System.nanoTime() - start < 20_000_000_000L);
+    }
+
+    @Test
+    public void testExecutePostProcessorQueuesFilesWhenBatchingIsEnabled() throws IOException {
+        assumeUnix();
+        Path dir = Files.createTempDirectory("test-batch-post-process");
+        try {
+            DefaultCodegen codegen = new DefaultCodegen();
+            File first = dir.resolve("first.txt").toFile();
+            File second = dir.resolve("second.txt").toFile();
+
+            GlobalSettings.setProperty(BatchPostProcessor.BATCH_PROPERTY, "true");
+            assertTrue(codegen.executePostProcessor(new String[]{"touch", first.toString()}));
+            assertTrue(codegen.executePostProcessor(new String[]{"touch", second.toString()}));
+            assertFalse(first.exists());
+            assertFalse(second.exists());
+
+            assertTrue(codegen.executeBatchedPostProcessors());
+            assertTrue(first.exists());
+            assertTrue(second.exists());
+        } finally {
+            FileUtils.deleteDirectory(dir.toFile());
+        }
+    }
+
+    @Test
+    public void testExecutePostProcessorRunsPerFileByDefault() throws IOException {
+        assumeUnix();
+        Path dir = Files.createTempDirectory("test-batch-post-process");
+        try {
+            DefaultCodegen codegen = new DefaultCodegen();
+            File file = dir.resolve("file.txt").toFile();
+
+            assertTrue(codegen.executePostProcessor(new String[]{"touch", file.toString()}));
+            assertTrue(file.exists());
+            assertTrue(codegen.executeBatchedPostProcessors());
+        } finally {
+            FileUtils.deleteDirectory(dir.toFile());
+        }
+    }
+}
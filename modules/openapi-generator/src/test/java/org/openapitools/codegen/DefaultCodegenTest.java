@@ -1396,6 +1396,47 @@ public class DefaultCodegenTest {
         Assertions.assertNull(cm.discriminator);
     }
 
+    @Test
+    public void testAllOfDescendantsWithSeveralParentsInTheHierarchy() {
+        OpenAPI openAPI = TestUtils.createOpenAPI();
+        openAPI.getComponents().addSchemas("Root", new ObjectSchema()
+                .addProperty("kind", new StringSchema())
+                .discriminator(new Discriminator().propertyName("kind")));
+        openAPI.getComponents().addSchemas("A", new ComposedSchema().addAllOfItem(new Schema().$ref("#/components/schemas/Root")));
+        openAPI.getComponents().addSchemas("B", new ComposedSchema().addAllOfItem(new Schema().$ref("#/components/schemas/Root")));
+        // inherits from Root through both A and B
+        openAPI.getComponents().addSchemas("C", new ComposedSchema()
+                .addAllOfItem(new Schema().$ref("#/components/schemas/A"))
+                .addAllOfItem(new Schema().$ref("#/components/schemas/B"))
+                .extensions(Collections.singletonMap("x-discriminator-value", "c")));
+        DefaultCodegen codegen = new DefaultCodegen();
+        codegen.setOpenAPI(openAPI);
+
+        assertEquals(codegen.getAllOfDescendants("Root"), Arrays.asList(
+                new CodegenDiscriminator.MappedModel("A", "A"),
+                new CodegenDiscriminator.MappedModel("B", "B"),
+                new CodegenDiscriminator.MappedModel("c", "C", true)));
+        assertEquals(codegen.getAllOfDescendants("B"), Collections.singletonList(new CodegenDiscriminator.MappedModel("c", "C", true)));
+        assertEquals(codegen.getAllOfDescendants("C"), Collections.emptyList());
+    }
+
+    @Test
+    public void testAllOfDescendantsWithInheritanceCycle() {
+        OpenAPI openAPI = TestUtils.createOpenAPI();
+        openAPI.getComponents().addSchemas("Root", new ObjectSchema()
+                .addProperty("kind", new StringSchema())
+                .discriminator(new Discriminator().propertyName("kind")));
+        openAPI.getComponents().addSchemas("X", new ComposedSchema()
+                .addAllOfItem(new Schema().$ref("#/components/schemas/Root"))
+                .addAllOfItem(new Schema().$ref("#/components/schemas/Y")));
+        openAPI.getComponents().addSchemas("Y", new ComposedSchema().addAllOfItem(new Schema().$ref("#/components/schemas/X")));
+        DefaultCodegen codegen = new DefaultCodegen();
+        codegen.setOpenAPI(openAPI);
+
+        RuntimeException e = assertThrows(RuntimeException.class, () -> codegen.getAllOfDescendants("Root"));
+        assertEquals(e.getMessage(), "Stack overflow hit when looking for Root an infinite loop starting and ending at X was seen");
+    }
+
     @Test
     public void testComposedSchemaOneOfDiscriminatorsInvalid() {
         final OpenAPI openAPI = TestUtils.parseFlattenSpec("src/test/resources/3_0/oneOfDiscriminator.yaml");
@@ -1942,6 +1983,66 @@ public class DefaultCodegenTest {
         assertTrue(property.isNullable);
     }
 
+    @Test
+    public void testFromPropertyCache() {
+        final DefaultCodegen codegen = new DefaultCodegen();
+        codegen.setOpenAPI(TestUtils.createOpenAPI());
+
+        Schema schema = new StringSchema().maxLength(10);
+        CodegenProperty property = codegen.fromProperty("name", schema);
+        assertSame(codegen.fromProperty("name", schema), property);
+        // equal schemas share the property
+        assertSame(codegen.fromProperty("name", new StringSchema().maxLength(10)), property);
+        assertNotSame(codegen.fromProperty("name", new StringSchema().maxLength(20)), property);
+        assertNotSame(codegen.fromProperty("name", schema, true), property);
+
+        // the cache is cleared when the document is set, e.g. after the schemas are modified
+        schema.setMaxLength(20);
+        codegen.setOpenAPI(TestUtils.createOpenAPI());
+        CodegenProperty modified = codegen.fromProperty("name", schema);
+        assertNotSame(modified, property);
+        assertEquals(modified.getMaxLength(), Integer.valueOf(20));
+    }
+
+    @Test
+    public void testPropertiesRedeclaredWithAnotherType() {
+        final DefaultCodegen codegen = new DefaultCodegen();
+
+        CodegenModel parent = new CodegenModel();
+        parent.name = "Parent";
+        parent.allVars = Arrays.asList(codegenProperty("id", "String"), codegenProperty("kind", "String"));
+        CodegenModel child = new CodegenModel();
+        child.name = "Child";
+        child.parentModel = parent;
+        child.allVars = Arrays.asList(codegenProperty("id", "Integer"), codegenProperty("kind", "String"),
+                codegenProperty("size", "Integer"));
+        child.vars = child.allVars;
+
+        Map<String, ModelsMap> objs = new HashMap<>();
+        for (CodegenModel model : Arrays.asList(parent, child)) {
+            ModelMap modelMap = new ModelMap();
+            modelMap.setModel(model);
+            ModelsMap modelsMap = new ModelsMap();
+            modelsMap.setModels(Collections.singletonList(modelMap));
+            objs.put(model.name, modelsMap);
+        }
+        codegen.postProcessAllModels(objs);
+
+        // only the properties of the parent which are redeclared with another type are new
+        assertTrue(child.allVars.get(0).isNew);
+        assertFalse(child.allVars.get(1).isNew);
+        assertFalse(child.allVars.get(2).isNew);
+        assertFalse(parent.allVars.get(0).isNew);
+    }
+
+    private static CodegenProperty codegenProperty(String name, String dataType) {
+        CodegenProperty property = new CodegenProperty();
+        property.name = name;
+        property.dataType = dataType;
+        property.datatypeWithEnum = dataType;
+        return property;
+    }
+
     @Test
     public void testDeprecatedModel() {
         final OpenAPI openAPI = TestUtils.parseFlattenSpec("src/test/resources/3_0/component-deprecated.yml");
@@ -15,7 +15,10 @@ import org.openapitools.codegen.config.CodegenConfigurator;
 import org.openapitools.codegen.config.GlobalSettings;
 import org.openapitools.codegen.model.ModelMap;
 import org.openapitools.codegen.model.OperationsMap;
+import org.openapitools.codegen.templating.InMemoryOutputSink;
+import org.openapitools.codegen.templating.mustache.OnChangeLambda;
 import org.openapitools.codegen.utils.ModelUtils;
+import org.openapitools.codegen.utils.SpecIndex;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
@@ -26,6 +29,8 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
 
 public class DefaultGeneratorTest {
 
@@ -115,6 +120,265 @@ public class DefaultGeneratorTest {
         }
     }
 
+    @Test
+    public void testParallelRenderingMatchesSequentialOutput() throws IOException {
+        Path sequentialTarget = Files.createTempDirectory("test-sequential");
+        Path parallelTarget = Files.createTempDirectory("test-parallel");
+        try {
+            List<File> sequentialFiles = generatePetstore(sequentialTarget, 1);
+            List<File> parallelFiles = generatePetstore(parallelTarget, 4);
+
+            Assert.assertEquals(parallelFiles.size(), sequentialFiles.size());
+            for (int i = 0; i < sequentialFiles.size(); i++) {
+                Path sequentialFile = sequentialFiles.get(i).toPath();
+                Path parallelFile = parallelFiles.get(i).toPath();
+                // same files, in the same order
+                Assert.assertEquals(parallelTarget.relativize(parallelFile), sequentialTarget.relativize(sequentialFile));
+                if (!sequentialFile.endsWith(Path.of(".openapi-generator", "FILES")) && !Files.isDirectory(sequentialFile)) {
+                    Assert.assertEquals(Files.readAllBytes(parallelFile), Files.readAllBytes(sequentialFile), sequentialFile.toString());
+                }
+            }
+            Assert.assertEquals(Files.readAllLines(parallelTarget.resolve(".openapi-generator/FILES")),
+                    Files.readAllLines(sequentialTarget.resolve(".openapi-generator/FILES")));
+        } finally {
+            sequentialTarget.toFile().deleteOnExit();
+            parallelTarget.toFile().deleteOnExit();
+        }
+    }
+
+    @Test
+    public void testStatefulLambdasRenderFilesOneAtATime() throws IOException {
+        Path target = Files.createTempDirectory("test-stateful-lambdas");
+        StatefulLambdaCodegen.RENDERING_THREADS.clear();
+        try {
+            final CodegenConfigurator configurator = new CodegenConfigurator()
+                    .setGeneratorName(StatefulLambdaCodegen.class.getName())
+                    .setInputSpec("src/test/resources/3_0/petstore.yaml")
+                    .setParallelism(4)
+                    .setEnablePostProcessFile(true)
+                    .setOutputDir(target.toAbsolutePath().toString());
+
+            new DefaultGenerator(false).opts(configurator.toClientOptInput()).generate();
+
+            // files are post-processed on the thread which rendered them
+            Assert.assertEquals(StatefulLambdaCodegen.RENDERING_THREADS, Collections.singleton(Thread.currentThread().getName()));
+        } finally {
+            target.toFile().deleteOnExit();
+        }
+    }
+
+    public static class StatefulLambdaCodegen extends org.openapitools.codegen.languages.JavaClientCodegen {
+        static final Set<String> RENDERING_THREADS = ConcurrentHashMap.newKeySet();
+
+        @Override
+        protected com.google.common.collect.ImmutableMap.Builder<String, com.samskivert.mustache.Mustache.Lambda> addMustacheLambdas() {
+            return super.addMustacheLambdas().put("onchange", new OnChangeLambda());
+        }
+
+        @Override
+        public void postProcessFile(File file, String fileType) {
+            RENDERING_THREADS.add(Thread.currentThread().getName());
+        }
+    }
+
+    @Test
+    public void testOutputSinkReceivesFilesInsteadOfOutputDirectory() throws IOException {
+        Path reference = Files.createTempDirectory("test-reference");
+        Path target = reference.resolveSibling(reference.getFileName() + "-sink");
+        InMemoryOutputSink sink = new InMemoryOutputSink(target);
+        try {
+            List<File> referenceFiles = generatePetstore(reference, 4);
+
+            DefaultGenerator generator = new DefaultGenerator(false);
+            generator.setOutputSink(sink);
+            List<File> files = generator.opts(new CodegenConfigurator()
+                    .setGeneratorName("java")
+                    .setInputSpec("src/test/resources/3_0/petstore.yaml")
+                    .setParallelism(4)
+                    .addAdditionalProperty(CodegenConstants.HIDE_GENERATION_TIMESTAMP, true)
+                    .setOutputDir(target.toAbsolutePath().toString())
+                    .toClientOptInput()).generate();
+
+            Assert.assertFalse(Files.exists(target));
+            Assert.assertEquals(files.size(), referenceFiles.size());
+            Set<String> referenceNames = new HashSet<>();
+            for (File file : referenceFiles) {
+                if (file.isFile()) {
+                    String relative = reference.relativize(file.toPath()).toString().replace(File.separatorChar, '/');
+                    referenceNames.add(relative);
+                    Assert.assertEquals(sink.getContents(relative), Files.readAllBytes(file.toPath()), relative);
+                }
+            }
+            Assert.assertEquals(sink.getFiles().keySet(), referenceNames);
+        } finally {
+            reference.toFile().deleteOnExit();
+        }
+    }
+
+    @Test
+    public void testOutputSinkReceivesIgnoreFile() throws IOException {
+        Path target = Files.createTempDirectory("test-sink-ignore").resolve("generated");
+        InMemoryOutputSink sink = new InMemoryOutputSink(target);
+
+        DefaultGenerator generator = new DefaultGenerator(false);
+        generator.setOutputSink(sink);
+        generator.opts(new CodegenConfigurator()
+                .setGeneratorName("java")
+                .setInputSpec("src/test/resources/3_0/petstore.yaml")
+                .addOpenapiGeneratorIgnoreList("pom.xml")
+                .setOutputDir(target.toAbsolutePath().toString())
+                .toClientOptInput()).generate();
+
+        // the ignore file is only written to the sink, and its entries still apply
+        Assert.assertFalse(Files.exists(target));
+        Assert.assertTrue(sink.getContentsAsString(".openapi-generator-ignore").endsWith("\npom.xml\n"));
+        Assert.assertNull(sink.getContents("pom.xml"));
+        Assert.assertNotNull(sink.getContents("build.gradle"));
+        target.getParent().toFile().deleteOnExit();
+    }
+
+    @Test
+    public void testVirtualThreadsPostProcessEveryFileWithCallerSettings() throws IOException {
+        Path target = Files.createTempDirectory("test-virtual-threads");
+        PostProcessRecordingCodegen.POST_PROCESSED.clear();
+        PostProcessRecordingCodegen.SETTINGS_SEEN.clear();
+        try {
+            final CodegenConfigurator configurator = new CodegenConfigurator()
+                    .setGeneratorName(PostProcessRecordingCodegen.class.getName())
+                    .setInputSpec("src/test/resources/3_0/petstore.yaml")
+                    .setParallelism(4)
+                    .setUseVirtualThreads(true)
+                    .setEnablePostProcessFile(true)
+                    .addGlobalProperty("postProcessMarker", "caller")
+                    .setOutputDir(target.toAbsolutePath().toString());
+
+            List<File> files = new DefaultGenerator(false).opts(configurator.toClientOptInput()).generate();
+
+            // every generated file but the list of generated files is post-processed
+            Set<String> expected = files.stream().filter(File::isFile).map(File::getAbsolutePath)
+                    .filter(path -> !path.endsWith("FILES")).collect(Collectors.toSet());
+            Assert.assertEquals(PostProcessRecordingCodegen.POST_PROCESSED, expected);
+            Assert.assertEquals(PostProcessRecordingCodegen.SETTINGS_SEEN, Collections.singleton("caller"));
+        } finally {
+            target.toFile().deleteOnExit();
+        }
+    }
+
+    public static class PostProcessRecordingCodegen extends org.openapitools.codegen.languages.JavaClientCodegen {
+        static final Set<String> POST_PROCESSED = ConcurrentHashMap.newKeySet();
+        static final Set<String> SETTINGS_SEEN = ConcurrentHashMap.newKeySet();
+
+        @Override
+        public void postProcessFile(File file, String fileType) {
+            POST_PROCESSED.add(file.getAbsolutePath());
+            SETTINGS_SEEN.add(String.valueOf(GlobalSettings.getProperty("postProcessMarker")));
+        }
+    }
+
+    @Test
+    public void testFailedGenerationReleasesRunState() throws IOException {
+        Path target = Files.createTempDirectory("test-failure");
+        try {
+            ClientOptInput input = new CodegenConfigurator()
+                    .setGeneratorName(FailingCodegen.class.getName())
+                    .setInputSpec("src/test/resources/3_0/ping.yaml")
+                    .addGlobalProperty("failureMarker", "run")
+                    .setOutputDir(target.toAbsolutePath().toString())
+                    .toClientOptInput();
+
+            Assert.assertThrows(IllegalStateException.class, () -> new DefaultGenerator(false).opts(input).generate());
+
+            Assert.assertNull(GlobalSettings.getProperty("failureMarker"));
+            // the index of the specification is no longer cached, so every lookup builds a new one
+            Assert.assertNotSame(SpecIndex.of(input.getOpenAPI()), SpecIndex.of(input.getOpenAPI()));
+        } finally {
+            target.toFile().deleteOnExit();
+        }
+    }
+
+    public static class FailingCodegen extends org.openapitools.codegen.languages.JavaClientCodegen {
+        @Override
+        public void postProcess() {
+            throw new IllegalStateException("post-processing failed");
+        }
+    }
+
+    private List<File> generatePetstore(Path target, int parallelism) {
+        final CodegenConfigurator configurator = new CodegenConfigurator()
+                .setGeneratorName("java")
+                .setInputSpec("src/test/resources/3_0/petstore.yaml")
+                .setParallelism(parallelism)
+                .addAdditionalProperty(CodegenConstants.HIDE_GENERATION_TIMESTAMP, true)
+                .setOutputDir(target.toAbsolutePath().toString());
+
+        DefaultGenerator generator = new DefaultGenerator(false);
+        return generator.opts(configurator.toClientOptInput()).generate();
+    }
+
+    @Test
+    public void testIncrementalGenerationSkipsUnchangedRun() throws IOException {
+        Path target = Files.createTempDirectory("test-incremental");
+        try {
+            List<File> firstRun = generatePetstoreIncrementally(target, "1.0.0");
+            Path manifest = target.resolve(".openapi-generator/MANIFEST.json");
+            Path model = target.resolve("src/main/java/org/openapitools/client/model/Pet.java");
+            Assert.assertTrue(Files.exists(manifest));
+            long modelModified = Files.getLastModifiedTime(model).toMillis();
+            long manifestModified = Files.getLastModifiedTime(manifest).toMillis();
+
+            List<File> secondRun = generatePetstoreIncrementally(target, "1.0.0");
+
+            // the files generated by the first run, as listed in FILES
+            Set<Path> firstRunFiles = firstRun.stream().map(f -> f.toPath().toAbsolutePath().normalize()).collect(Collectors.toSet());
+            Assert.assertTrue(secondRun.contains(model.toFile()));
+            for (String file : Files.readAllLines(target.resolve(".openapi-generator/FILES"))) {
+                Assert.assertTrue(secondRun.contains(target.resolve(file).toFile()), file);
+            }
+            for (File file : secondRun) {
+                Assert.assertTrue(firstRunFiles.contains(file.toPath()), file.toString());
+            }
+            Assert.assertEquals(Files.getLastModifiedTime(model).toMillis(), modelModified);
+            Assert.assertEquals(Files.getLastModifiedTime(manifest).toMillis(), manifestModified);
+        } finally {
+            target.toFile().deleteOnExit();
+        }
+    }
+
+    @Test
+    public void testIncrementalGenerationOnlyWritesChangedFiles() throws IOException {
+        Path target = Files.createTempDirectory("test-incremental");
+        try {
+            generatePetstoreIncrementally(target, "1.0.0");
+            Path pom = target.resolve("pom.xml");
+            Path model = target.resolve("src/main/java/org/openapitools/client/model/Pet.java");
+            Path api = target.resolve("src/main/java/org/openapitools/client/api/PetApi.java");
+            long modelModified = Files.getLastModifiedTime(model).toMillis();
+            Files.write(api, "modified by hand".getBytes(StandardCharsets.UTF_8));
+
+            generatePetstoreIncrementally(target, "2.0.0");
+
+            // the model is rendered identically, the pom references the new version, the api is restored
+            Assert.assertEquals(Files.getLastModifiedTime(model).toMillis(), modelModified);
+            TestUtils.assertFileContains(pom, "<version>2.0.0</version>");
+            TestUtils.assertFileContains(api, "public class PetApi");
+        } finally {
+            target.toFile().deleteOnExit();
+        }
+    }
+
+    private List<File> generatePetstoreIncrementally(Path target, String artifactVersion) {
+        final CodegenConfigurator configurator = new CodegenConfigurator()
+                .setGeneratorName("java")
+                .setInputSpec("src/test/resources/3_0/petstore.yaml")
+                .setEnableIncrementalGeneration(true)
+                .addAdditionalProperty(CodegenConstants.HIDE_GENERATION_TIMESTAMP, true)
+                .addAdditionalProperty(CodegenConstants.ARTIFACT_VERSION, artifactVersion)
+                .setOutputDir(target.toAbsolutePath().toString());
+
+        DefaultGenerator generator = new DefaultGenerator(false);
+        return generator.opts(configurator.toClientOptInput()).generate();
+    }
+
     @SuppressWarnings("ResultOfMethodCallIgnored")
     @Test
     public void testFilesAreNeverOverwritten() throws IOException {
@@ -0,0 +1,100 @@
+package org.openapitools.codegen;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.openapitools.codegen.config.CodegenConfigurator;
+import org.openapitools.codegen.utils.StringUtils;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+public class GenerationMetricsTest {
+    private static Set<String> names(JsonNode array) {
+        Set<String> names = new HashSet<>();
+        array.forEach(node -> names.add(node.path("name").asText()));
+        return names;
+    }
+
+    @Test
+    public void testReportAggregatesMeasurements() throws IOException {
+        Path dir = Files.createTempDirectory("test-metrics");
+        try {
+            String prefix = "metrics_test_" + System.nanoTime() + "_";
+            GenerationMetrics metrics = new GenerationMetrics(true);
+            try (GenerationMetrics.Measurement ignored = metrics.phase("generateModels")) {
+                for (int i = 0; i < 3; i++) {
+                    try (GenerationMetrics.Measurement ignored2 = metrics.model("Pet")) {
+                        StringUtils.camelize(prefix + i);
+                        StringUtils.camelize(prefix + i);
+                    }
+                }
+            }
+            File report = dir.resolve("nested/profile.json").toFile();
+            metrics.writeReport(report);
+
+            JsonNode root = new ObjectMapper().readTree(report);
+            assertEquals(root.path("phases").get(0).path("name").asText(), "generateModels");
+            assertEquals(root.path("phases").get(0).path("count").asLong(), 1);
+            assertEquals(root.path("models").get(0).path("name").asText(), "Pet");
+            assertEquals(root.path("models").get(0).path("count").asLong(), 3);
+            assertTrue(root.path("phases").get(0).path("wallMillis").asDouble() >= root.path("models").get(0).path("wallMillis").asDouble());
+            assertEquals(root.path("apis").size(), 0);
+            // the caches are shared by all runs, only the hits and misses of this run are reported
+            assertEquals(root.path("caches").path("camelizedWordsCache").path("hits").asLong(), 3);
+            assertEquals(root.path("caches").path("camelizedWordsCache").path("misses").asLong(), 3);
+            assertTrue(root.path("caches").has("sanitizedNameCache"));
+        } finally {
+            dir.toFile().deleteOnExit();
+        }
+    }
+
+    @Test
+    public void testGenerationWritesProfileReportAndJfrEvents() throws IOException {
+        Path dir = Files.createTempDirectory("test-metrics");
+        try (Recording recording = new Recording()) {
+            recording.enable("org.openapitools.codegen.Generation");
+            recording.start();
+
+            File report = dir.resolve("profile.json").toFile();
+            final CodegenConfigurator configurator = new CodegenConfigurator()
+                    .setGeneratorName("java")
+                    .setInputSpec("src/test/resources/3_0/petstore.yaml")
+                    .setProfileReport(report.getAbsolutePath())
+                    .setOutputDir(dir.resolve("out").toAbsolutePath().toString());
+            new DefaultGenerator().opts(configurator.toClientOptInput()).generate();
+
+            recording.stop();
+            Path jfr = dir.resolve("recording.jfr");
+            recording.dump(jfr);
+
+            JsonNode root = new ObjectMapper().readTree(report);
+            assertTrue(names(root.path("phases")).containsAll(List.of("configureGeneratorProperties", "generateModels",
+                    "updateAllModels", "postProcessAllModels", "generateApis", "generateSupportingFiles", "postProcess")));
+            assertTrue(names(root.path("models")).contains("Pet"));
+            assertTrue(names(root.path("apis")).contains("Pet"));
+            assertTrue(names(root.path("templates")).contains("model.mustache"));
+
+            Set<String> events = new HashSet<>();
+            for (RecordedEvent event : RecordingFile.readAllEvents(jfr)) {
+                events.add(event.getString("category") + ":" + event.getString("name"));
+            }
+            assertTrue(events.contains("phase:generateModels"), events.toString());
+            assertTrue(events.contains("model:Pet"), events.toString());
+            assertTrue(events.contains("api:Pet"), events.toString());
+        } finally {
+            dir.toFile().deleteOnExit();
+        }
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen;
+
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+public class ModelDependencyGraphTest {
+
+    private static ModelDependencyGraph graph() {
+        Map<String, List<String>> dependencies = new HashMap<>();
+        // A -> B -> C -> A, C -> D, D -> String, E -> E
+        dependencies.put("A", Arrays.asList("B", "String"));
+        dependencies.put("B", Collections.singletonList("C"));
+        dependencies.put("C", Arrays.asList("A", "D"));
+        dependencies.put("D", Collections.singletonList("String"));
+        dependencies.put("E", Arrays.asList("E", "D"));
+        return new ModelDependencyGraph(dependencies);
+    }
+
+    @Test
+    public void testCircularReferences() {
+        ModelDependencyGraph graph = graph();
+
+        assertTrue(graph.isCircularReference("A", "B"));
+        assertTrue(graph.isCircularReference("C", "A"));
+        assertFalse(graph.isCircularReference("C", "D"));
+        assertFalse(graph.isCircularReference("A", "String"));
+        assertTrue(graph.isCircularReference("E", "E"));
+        assertFalse(graph.isCircularReference("E", "D"));
+    }
+
+    @Test
+    public void testCycles() {
+        ModelDependencyGraph graph = graph();
+
+        assertEquals(graph.getCycle("B"), new HashSet<>(Arrays.asList("A", "B", "C")));
+        assertEquals(graph.getCycle("D"), Collections.emptySet());
+        assertEquals(graph.getCycle("E"), Collections.singleton("E"));
+        assertEquals(graph.getCycle("Unknown"), Collections.emptySet());
+    }
+
+    @Test
+    public void testTransitiveDependencies() {
+        ModelDependencyGraph graph = graph();
+
+        assertEquals(graph.getTransitiveDependencies("A"), new HashSet<>(Arrays.asList("A", "B", "C", "D", "String")));
+        assertEquals(graph.getTransitiveDependencies("D"), Collections.singleton("String"));
+        assertEquals(graph.getTransitiveDependencies("E"), new HashSet<>(Arrays.asList("E", "D", "String")));
+        assertEquals(graph.getTransitiveDependencies("String"), Collections.emptySet());
+    }
+
+    @Test
+    public void testLongDependencyChain() {
+        Map<String, List<String>> dependencies = new HashMap<>();
+        int length = 100_000;
+        for (int i = 0; i < length; i++) {
+            dependencies.put("M" + i, Collections.singletonList("M" + ((i + 1) % length)));
+        }
+        ModelDependencyGraph graph = new ModelDependencyGraph(dependencies);
+
+        assertTrue(graph.isCircularReference("M0", "M1"));
+        assertEquals(graph.getCycle("M42").size(), length);
+    }
+}
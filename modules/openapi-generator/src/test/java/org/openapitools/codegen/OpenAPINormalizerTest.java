@@ -1122,6 +1122,81 @@ public class OpenAPINormalizerTest {
         assertEquals(requiredProperties.getRequired(), null);
     }
 
+    @Test
+    public void testCustomRule() {
+        OpenAPI openAPI = TestUtils.parseSpec("src/test/resources/3_0/required-properties.yaml");
+        OpenAPINormalizer openAPINormalizer = new OpenAPINormalizer(openAPI, Collections.emptyMap());
+        openAPINormalizer.setCollectRuleTimings(true);
+        openAPINormalizer.addRule(new OpenAPINormalizerRule() {
+            @Override
+            public String getName() {
+                return "REMOVE_REQUIRED";
+            }
+
+            @Override
+            public void visitOperation(io.swagger.v3.oas.models.Operation operation) {
+                operation.addExtension("x-visited", true);
+            }
+
+            @Override
+            public Schema visitSchema(Schema schema) {
+                schema.setRequired(null);
+                return schema;
+            }
+        });
+        openAPINormalizer.normalize();
+
+        Schema requiredProperties = openAPI.getComponents().getSchemas().get("RequiredProperties");
+        assertNull(requiredProperties.getRequired());
+        openAPI.getPaths().values().stream().flatMap(path -> path.readOperations().stream())
+                .forEach(operation -> assertEquals(operation.getExtensions().get("x-visited"), true));
+
+        Map<String, OpenAPINormalizer.RuleTiming> ruleTimings = openAPINormalizer.getRuleTimings();
+        assertTrue(ruleTimings.get("REMOVE_REQUIRED").getCount() > 0);
+        // rules which are not enabled are not measured
+        assertFalse(ruleTimings.containsKey("FIX_DUPLICATED_OPERATIONID"));
+    }
+
+    @Test
+    public void testRuleTimingsAreNotCollectedByDefault() {
+        OpenAPI openAPI = TestUtils.parseSpec("src/test/resources/3_0/required-properties.yaml");
+        OpenAPINormalizer openAPINormalizer = new OpenAPINormalizer(openAPI, Collections.emptyMap());
+        openAPINormalizer.normalize();
+
+        assertTrue(openAPINormalizer.getRuleTimings().isEmpty());
+    }
+
+    @Test
+    public void testSchemaModifiedInPlaceIsNormalizedAgain() {
+        OpenAPI openAPI = TestUtils.parseSpec("src/test/resources/3_0/required-properties.yaml");
+        Map<String, String> inputRules = new HashMap<>();
+        inputRules.put("REMOVE_ANYOF_ONEOF_AND_KEEP_PROPERTIES_ONLY", "true");
+        OpenAPINormalizer openAPINormalizer = new OpenAPINormalizer(openAPI, inputRules);
+        List<Schema> visited = new ArrayList<>();
+        openAPINormalizer.addRule(new OpenAPINormalizerRule() {
+            @Override
+            public String getName() {
+                return "RECORD_VISITS";
+            }
+
+            @Override
+            public Schema visitSchema(Schema schema) {
+                visited.add(schema);
+                return schema;
+            }
+        });
+        Schema composed = new ObjectSchema()
+                .addProperty("name", new StringSchema())
+                .oneOf(Arrays.asList(new Schema().$ref("#/components/schemas/RequiredProperties")));
+        openAPI.getComponents().addSchemas("WithOneOfAndProperties", composed);
+
+        openAPINormalizer.normalize();
+
+        assertNull(composed.getOneOf());
+        // visited with its oneOf, then again once the rule removed it
+        assertEquals(visited.stream().filter(schema -> schema == composed).count(), 2L);
+    }
+
     public static class RemoveRequiredNormalizer extends OpenAPINormalizer {
 
         public RemoveRequiredNormalizer(OpenAPI openAPI, Map<String, String> inputRules) {
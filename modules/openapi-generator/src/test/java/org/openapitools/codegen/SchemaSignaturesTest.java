@@ -0,0 +1,69 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen;
+
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.swagger.v3.core.util.Json;
+import io.swagger.v3.oas.models.media.IntegerSchema;
+import io.swagger.v3.oas.models.media.ObjectSchema;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.media.StringSchema;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+
+public class SchemaSignaturesTest {
+
+    private static SchemaSignatures signatures() {
+        ObjectMapper mapper = Json.mapper().copy();
+        mapper.configure(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY, true);
+        return new SchemaSignatures(mapper);
+    }
+
+    private static Schema object() {
+        return new ObjectSchema()
+                .addProperty("name", new StringSchema())
+                .addProperty("count", new IntegerSchema());
+    }
+
+    @Test
+    public void testSameStructure() throws Exception {
+        SchemaSignatures signatures = signatures();
+        assertNull(signatures.find(object()));
+
+        signatures.add("Object1", object());
+        assertEquals(signatures.find(object()), "Object1");
+        assertNull(signatures.find(object().addProperty("other", new StringSchema())));
+
+        // the last generated schema with the same structure wins
+        signatures.add("Object2", object());
+        assertEquals(signatures.find(object()), "Object2");
+    }
+
+    @Test
+    public void testStructureIsRecordedWhenAdded() throws Exception {
+        SchemaSignatures signatures = signatures();
+        Schema schema = object();
+        signatures.add("Object1", schema);
+        schema.addProperty("other", new StringSchema());
+
+        assertNull(signatures.find(schema));
+        assertEquals(signatures.find(object()), "Object1");
+    }
+}
@@ -1,9 +1,12 @@
 package org.openapitools.codegen;
 
+import org.apache.commons.io.FileUtils;
 import org.openapitools.codegen.api.TemplatePathLocator;
 import org.openapitools.codegen.templating.HandlebarsEngineAdapter;
+import org.openapitools.codegen.templating.InMemoryOutputSink;
 import org.openapitools.codegen.templating.MustacheEngineAdapter;
 import org.openapitools.codegen.templating.TemplateManagerOptions;
+import org.openapitools.codegen.templating.TemplateNotFoundException;
 import org.testng.annotations.Test;
 
 import java.io.File;
@@ -16,6 +19,7 @@ import java.nio.file.Paths;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.testng.Assert.*;
 
@@ -47,6 +51,52 @@ public class TemplateManagerTest {
         assertEquals(manager.getFullTemplateContents("simple.mustache"), "{{name}} and {{age}}");
     }
 
+    @Test
+    public void resolvesTemplateLocationOncePerName() {
+        AtomicInteger lookups = new AtomicInteger();
+        TemplatePathLocator countingLocator = relativeTemplateFile -> {
+            lookups.incrementAndGet();
+            return "missing.mustache".equals(relativeTemplateFile) ? null : locator.getFullTemplatePath(relativeTemplateFile);
+        };
+        TemplateManagerOptions opts = new TemplateManagerOptions(false, false);
+        TemplateManager manager = new TemplateManager(opts, mustacheEngineAdapter, new TemplatePathLocator[]{countingLocator});
+
+        assertEquals(manager.getFullTemplateContents("simple.mustache"), "{{name}} and {{age}}");
+        assertEquals(manager.getFullTemplateContents("simple.mustache"), "{{name}} and {{age}}");
+        assertEquals(manager.getFullTemplatePath("simple.mustache"), Paths.get("templating/templates/simple.mustache"));
+        for (int i = 0; i < 2; i++) {
+            try {
+                manager.getFullTemplateContents("missing.mustache");
+                fail("Expected an exception that did not occur");
+            } catch (TemplateNotFoundException expected) {
+                // expected
+            }
+        }
+
+        assertEquals(lookups.get(), 2);
+    }
+
+    @Test
+    public void readsModifiedTemplateFileAgain() throws IOException {
+        Path templates = Files.createTempDirectory("templates");
+        try {
+            File template = templates.resolve("edited.mustache").toFile();
+            Files.write(template.toPath(), "{{name}}".getBytes(StandardCharsets.UTF_8));
+            TemplatePathLocator fileLocator = relativeTemplateFile -> templates.resolve(relativeTemplateFile).toString();
+            TemplateManagerOptions opts = new TemplateManagerOptions(false, false);
+            TemplateManager manager = new TemplateManager(opts, mustacheEngineAdapter, new TemplatePathLocator[]{fileLocator});
+
+            assertEquals(manager.getFullTemplateContents("edited.mustache"), "{{name}}");
+
+            Files.write(template.toPath(), "{{age}}".getBytes(StandardCharsets.UTF_8));
+            template.setLastModified(template.lastModified() + 2000);
+
+            assertEquals(manager.getFullTemplateContents("edited.mustache"), "{{age}}");
+        } finally {
+            FileUtils.deleteDirectory(templates.toFile());
+        }
+    }
+
     @Test(expectedExceptions = IllegalArgumentException.class, expectedExceptionsMessageRegExp = "Template location must be constrained to template directory\\.")
     public void loadTemplateContentsThrowsForEscapingTemplates() {
         TemplateManagerOptions opts = new TemplateManagerOptions(false, false);
@@ -109,6 +159,77 @@ public class TemplateManagerTest {
         }
     }
 
+    @Test
+    public void failedRenderingKeepsExistingFile() throws IOException {
+        TemplateManagerOptions opts = new TemplateManagerOptions(false, false);
+        TemplateManager manager = new TemplateManager(opts, mustacheEngineAdapter, new TemplatePathLocator[]{locator});
+        Map<String, Object> data = new HashMap<>();
+        data.put("name", "Teddy");
+        data.put("age", new Object() {
+            @Override
+            public String toString() {
+                throw new IllegalStateException("cannot render age");
+            }
+        });
+
+        Path target = Files.createTempDirectory("test-templatemanager");
+        try {
+            File output = new File(target.toFile(), "simple.txt");
+            Files.write(output.toPath(), "previous".getBytes(StandardCharsets.UTF_8));
+
+            expectThrows(RuntimeException.class, () -> manager.write(data, "simple.mustache", output));
+
+            assertEquals(new String(Files.readAllBytes(output.toPath()), StandardCharsets.UTF_8), "previous");
+            assertEquals(target.toFile().list(), new String[]{"simple.txt"});
+        } finally {
+            FileUtils.deleteDirectory(target.toFile());
+        }
+    }
+
+    @Test
+    public void failedRenderingWritesNothingToOutputSink() {
+        Path root = Paths.get("build", "generated").toAbsolutePath();
+        InMemoryOutputSink sink = new InMemoryOutputSink(root);
+        TemplateManagerOptions opts = new TemplateManagerOptions(false, false, null, sink);
+        TemplateManager manager = new TemplateManager(opts, mustacheEngineAdapter, new TemplatePathLocator[]{locator});
+        Map<String, Object> data = new HashMap<>();
+        data.put("name", "Teddy");
+        data.put("age", new Object() {
+            @Override
+            public String toString() {
+                throw new IllegalStateException("cannot render age");
+            }
+        });
+
+        expectThrows(RuntimeException.class, () -> manager.write(data, "simple.mustache", root.resolve("simple.txt").toFile()));
+
+        assertTrue(sink.getFiles().isEmpty());
+    }
+
+    @Test
+    public void updatingKeepsPermissionsOfExistingFile() throws IOException {
+        TemplateManagerOptions opts = new TemplateManagerOptions(false, false);
+        TemplateManager manager = new TemplateManager(opts, mustacheEngineAdapter, new TemplatePathLocator[]{locator});
+        Map<String, Object> data = new HashMap<>();
+        data.put("name", "Teddy");
+        data.put("age", "3");
+
+        Path target = Files.createTempDirectory("test-templatemanager");
+        try {
+            File output = new File(target.toFile(), "simple.txt");
+            Files.write(output.toPath(), "previous".getBytes(StandardCharsets.UTF_8));
+            assertTrue(output.setExecutable(true));
+
+            manager.write(data, "simple.mustache", output);
+
+            assertNotEquals(new String(Files.readAllBytes(output.toPath()), StandardCharsets.UTF_8), "previous");
+            assertTrue(output.canExecute());
+            assertEquals(target.toFile().list(), new String[]{"simple.txt"});
+        } finally {
+            FileUtils.deleteDirectory(target.toFile());
+        }
+    }
+
     @Test(enabled = false)
     public void writeUsingMustacheAdapterSkipsNonMustache() throws IOException {
         TemplateManagerOptions opts = new TemplateManagerOptions(false, false);
@@ -186,6 +307,29 @@ public class TemplateManagerTest {
         }
     }
 
+    @Test
+    public void minimalUpdateLeavesNoTemporaryFiles() throws IOException {
+        TemplateManagerOptions opts = new TemplateManagerOptions(true, false);
+        TemplateManager manager = new TemplateManager(opts, mustacheEngineAdapter, new TemplatePathLocator[]{locator});
+        Map<String, Object> data = new HashMap<>();
+        data.put("name", "Teddy");
+        data.put("age", "3");
+
+        Path target = Files.createTempDirectory("test-templatemanager");
+        try {
+            File output = new File(target.toFile(), "nested/simple.txt");
+
+            // first write creates the file (and its parent directory), second write finds it unchanged
+            manager.write(data, "simple.mustache", output);
+            File written = manager.write(data, "simple.mustache", output);
+
+            assertEquals(Files.readAllLines(written.toPath()).get(0), "Teddy and 3");
+            assertEquals(output.getParentFile().list(), new String[]{"simple.txt"});
+        } finally {
+            FileUtils.deleteDirectory(target.toFile());
+        }
+    }
+
     @Test
     public void overwritesWhenSkipOverwriteFalse() throws IOException {
         TemplateManagerOptions opts = new TemplateManagerOptions(false, false);
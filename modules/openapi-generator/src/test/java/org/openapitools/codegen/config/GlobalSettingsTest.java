@@ -4,6 +4,8 @@ import ch.qos.logback.classic.Level;
 import ch.qos.logback.classic.Logger;
 
 import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatNoException;
@@ -38,4 +40,28 @@ public class GlobalSettingsTest {
         assertThatNoException().isThrownBy(GlobalSettings::log);
     }
 
+    @Test
+    public void testPropagateRunsTasksWithCopyOfCallerProperties() throws Exception {
+        GlobalSettings.reset();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            // the pooled thread is started before the caller has properties, so it does not share them
+            executor.submit(() -> GlobalSettings.getProperty("propagated")).get();
+            GlobalSettings.setProperty("propagated", "caller");
+
+            String seen = executor.submit(GlobalSettings.propagate(() -> {
+                String value = GlobalSettings.getProperty("propagated");
+                GlobalSettings.setProperty("propagated", "task");
+                return value;
+            })).get();
+
+            assertThat(seen).isEqualTo("caller");
+            assertThat(GlobalSettings.getProperty("propagated")).isEqualTo("caller");
+            assertThat(executor.submit(() -> GlobalSettings.getProperty("propagated")).get()).isNull();
+        } finally {
+            executor.shutdown();
+            GlobalSettings.reset();
+        }
+    }
+
 }
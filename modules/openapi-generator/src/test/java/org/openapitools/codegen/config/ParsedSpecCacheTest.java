@@ -0,0 +1,205 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen.config;
+
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.swagger.v3.core.util.Json;
+import io.swagger.v3.oas.models.Components;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.PathItem;
+import io.swagger.v3.oas.models.Paths;
+import io.swagger.v3.oas.models.callbacks.Callback;
+import io.swagger.v3.oas.models.media.Content;
+import io.swagger.v3.oas.models.media.MediaType;
+import io.swagger.v3.oas.models.media.ObjectSchema;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.responses.ApiResponse;
+import io.swagger.v3.oas.models.responses.ApiResponses;
+import io.swagger.v3.parser.core.models.ParseOptions;
+import io.swagger.v3.parser.core.models.SwaggerParseResult;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+public class ParsedSpecCacheTest {
+    private static final String PETSTORE = "src/test/resources/3_0/petstore-with-fake-endpoints-models-for-testing.yaml";
+    private static final String SPEC_CACHE_COPY = "src/test/resources/3_0/spec_cache_copy.yaml";
+
+    @Test
+    public void reusesParsedSpecificationAsIndependentCopies() throws Exception {
+        ParsedSpecCache cache = new ParsedSpecCache(4);
+
+        SwaggerParseResult first = cache.parse(PETSTORE, null, options());
+        SwaggerParseResult second = cache.parse(PETSTORE, null, options());
+
+        Assert.assertEquals(cache.getMissCount(), 1);
+        Assert.assertEquals(cache.getHitCount(), 1);
+        Assert.assertNotSame(second.getOpenAPI(), first.getOpenAPI());
+        Assert.assertEquals(Json.mapper().writeValueAsString(second.getOpenAPI()), Json.mapper().writeValueAsString(first.getOpenAPI()));
+        Assert.assertEquals(second.getMessages(), first.getMessages());
+
+        first.getOpenAPI().getComponents().getSchemas().remove("Pet");
+        Assert.assertTrue(cache.parse(PETSTORE, null, options()).getOpenAPI().getComponents().getSchemas().containsKey("Pet"));
+    }
+
+    @Test
+    public void keysResultsByContentAndOptions() throws IOException {
+        ParsedSpecCache cache = new ParsedSpecCache(4);
+        File spec = File.createTempFile("spec", ".yaml");
+        spec.deleteOnExit();
+        Files.copy(new File(PETSTORE).toPath(), spec.toPath(), StandardCopyOption.REPLACE_EXISTING);
+
+        cache.parse(spec.getAbsolutePath(), null, options());
+        ParseOptions flatten = options();
+        flatten.setFlatten(true);
+        cache.parse(spec.getAbsolutePath(), null, flatten);
+        Assert.assertEquals(cache.getMissCount(), 2);
+
+        String content = new String(Files.readAllBytes(spec.toPath()), StandardCharsets.UTF_8);
+        Files.write(spec.toPath(), content.replace("title: OpenAPI Petstore", "title: Changed").getBytes(StandardCharsets.UTF_8));
+        SwaggerParseResult changed = cache.parse(spec.getAbsolutePath(), null, options());
+
+        Assert.assertEquals(cache.getMissCount(), 3);
+        Assert.assertEquals(changed.getOpenAPI().getInfo().getTitle(), "Changed");
+    }
+
+    @Test
+    public void skipsSpecificationsReferencingOtherDocuments() {
+        ParsedSpecCache cache = new ParsedSpecCache(4);
+
+        cache.parse("src/test/resources/3_0/issue_16223.yaml", null, options());
+
+        Assert.assertEquals(cache.size(), 0);
+        Assert.assertEquals(cache.getMissCount(), 0);
+    }
+
+    @Test
+    public void batchCacheKeepsSpecificationsReferencingOtherDocuments() {
+        ParsedSpecCache cache = ParsedSpecCache.forBatch(4);
+
+        cache.parse("src/test/resources/3_0/issue_16223.yaml", null, options());
+        cache.parse("src/test/resources/3_0/issue_16223.yaml", null, options());
+
+        Assert.assertEquals(cache.getMissCount(), 1);
+        Assert.assertEquals(cache.getHitCount(), 1);
+    }
+
+    @Test
+    public void keepsMostRecentlyUsedResults() throws IOException {
+        ParsedSpecCache cache = new ParsedSpecCache(1);
+        Path other = Files.createTempFile("spec", ".yaml");
+        other.toFile().deleteOnExit();
+        Files.copy(new File("src/test/resources/3_0/ping.yaml").toPath(), other, StandardCopyOption.REPLACE_EXISTING);
+
+        cache.parse(PETSTORE, null, options());
+        cache.parse(other.toString(), null, options());
+        cache.parse(PETSTORE, null, options());
+
+        Assert.assertEquals(cache.size(), 1);
+        Assert.assertEquals(cache.getMissCount(), 3);
+    }
+
+    @Test
+    public void invalidMaximumSizeFallsBackToDefault() {
+        Assert.assertEquals(ParsedSpecCache.maximumSize(null), ParsedSpecCache.DEFAULT_MAXIMUM_SIZE);
+        Assert.assertEquals(ParsedSpecCache.maximumSize(" 0 "), 0);
+        Assert.assertEquals(ParsedSpecCache.maximumSize("ten"), ParsedSpecCache.DEFAULT_MAXIMUM_SIZE);
+        Assert.assertEquals(ParsedSpecCache.maximumSize("-1"), ParsedSpecCache.DEFAULT_MAXIMUM_SIZE);
+    }
+
+    @Test
+    @SuppressWarnings("rawtypes")
+    public void copyKeepsClassesAndSharedInstances() {
+        Schema shared = new Schema().type("string");
+        OpenAPI openAPI = new OpenAPI()
+                .components(new Components()
+                        .addSchemas("A", new ObjectSchema().addProperty("x", shared))
+                        .addSchemas("B", shared));
+
+        OpenAPI copy = ObjectGraphCopier.copy(openAPI);
+
+        Schema a = copy.getComponents().getSchemas().get("A");
+        Assert.assertEquals(a.getClass(), ObjectSchema.class);
+        Assert.assertSame(a.getProperties().get("x"), copy.getComponents().getSchemas().get("B"));
+        Assert.assertNotSame(copy.getComponents().getSchemas().get("B"), shared);
+    }
+
+    @Test
+    public void mutatingCopiesLeavesCachedResultUnchanged() throws Exception {
+        ParsedSpecCache cache = new ParsedSpecCache(1);
+        String expected = Json.mapper().writeValueAsString(cache.parse(SPEC_CACHE_COPY, null, options()).getOpenAPI());
+
+        OpenAPI copy = cache.parse(SPEC_CACHE_COPY, null, options()).getOpenAPI();
+        Operation subscribe = copy.getPaths().get("/subscriptions").getPost();
+        Assert.assertEquals(copy.getPaths().getClass(), Paths.class);
+        Assert.assertEquals(subscribe.getResponses().getClass(), ApiResponses.class);
+        Assert.assertEquals(subscribe.getRequestBody().getContent().getClass(), Content.class);
+        Assert.assertEquals(subscribe.getCallbacks().get("onEvent").getClass(), Callback.class);
+
+        copy.getPaths().addPathItem("/other", new PathItem());
+        subscribe.getResponses().addApiResponse("400", new ApiResponse().description("invalid"));
+        subscribe.getRequestBody().getContent().addMediaType("application/xml", new MediaType());
+        subscribe.getCallbacks().get("onEvent").addPathItem("{$request.body#/otherUrl}", new PathItem());
+        ObjectNode example = (ObjectNode) subscribe.getRequestBody().getContent().get("application/json").getExample();
+        example.put("callbackUrl", "https://example.com/changed");
+        ((ArrayNode) example.get("tags")).add("c");
+        ((ObjectNode) copy.getComponents().getSchemas().get("Subscription").getExample()).remove("callbackUrl");
+
+        Assert.assertEquals(Json.mapper().writeValueAsString(cache.parse(SPEC_CACHE_COPY, null, options()).getOpenAPI()), expected);
+        Assert.assertEquals(cache.getMissCount(), 1);
+    }
+
+    @Test
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    public void copyKeepsUnmodifiableCollectionsAndRejectsUnknownTypes() {
+        Schema schema = new Schema()
+                .addExtension("x-list", List.of("a"))
+                .addExtension("x-sorted", Collections.unmodifiableSortedMap(new TreeMap<>(Map.of("a", 1))))
+                .addExtension("x-fixed", Arrays.asList("a", "b"));
+
+        Map<String, Object> extensions = ObjectGraphCopier.copy(schema).getExtensions();
+
+        Assert.assertThrows(UnsupportedOperationException.class, () -> ((List) extensions.get("x-list")).add("b"));
+        Assert.assertThrows(UnsupportedOperationException.class, () -> ((Map) extensions.get("x-sorted")).put("b", 2));
+        Assert.assertTrue(extensions.get("x-sorted") instanceof SortedMap);
+        ((List) extensions.get("x-fixed")).set(0, "c");
+        Assert.assertEquals(schema.getExtensions().get("x-fixed"), List.of("a", "b"));
+        Assert.assertThrows(IllegalArgumentException.class,
+                () -> ObjectGraphCopier.copy(new Schema().addExtension("x-other", new StringBuilder("a"))));
+    }
+
+    private static ParseOptions options() {
+        ParseOptions options = new ParseOptions();
+        options.setResolve(true);
+        options.setResolveResponses(true);
+        return options;
+    }
+}
@@ -54,6 +54,43 @@ public class HandlebarsEngineAdapterTest {
         assertEquals(generatedFile, "Contents: 'Specific contents'");
     }
 
+    @Test(description = "templates and partials are loaded and compiled once per run")
+    public void testTemplatesCompiledOncePerRun() throws IOException {
+        // Given
+        HandlebarsEngineAdapter adapter = new HandlebarsEngineAdapter();
+        TemplatingExecutor executorMock = Mockito.mock(TemplatingExecutor.class);
+        Mockito.when(executorMock.getFullTemplateContents("outerTemplate.hbs")).thenReturn("Contents: {{>innerTemplate}}");
+        Mockito.when(executorMock.getFullTemplateContents("innerTemplate.hbs")).thenReturn("{{name}}");
+
+        // When
+        String first = adapter.compileTemplate(executorMock, Map.of("name", "first"), "outerTemplate.hbs");
+        String second = adapter.compileTemplate(executorMock, Map.of("name", "second"), "outerTemplate.hbs");
+
+        // Then
+        assertEquals(first, "Contents: first");
+        assertEquals(second, "Contents: second");
+        Mockito.verify(executorMock, Mockito.times(1)).getFullTemplateContents("outerTemplate.hbs");
+        Mockito.verify(executorMock, Mockito.times(1)).getFullTemplateContents("innerTemplate.hbs");
+    }
+
+    @Test(description = "a new executor (i.e. a new generation run) gets its own engine and template cache")
+    public void testTemplatesNotSharedAcrossRuns() throws IOException {
+        // Given
+        HandlebarsEngineAdapter adapter = new HandlebarsEngineAdapter();
+        TemplatingExecutor firstRun = Mockito.mock(TemplatingExecutor.class);
+        Mockito.when(firstRun.getFullTemplateContents("model.hbs")).thenReturn("first {{name}}");
+        TemplatingExecutor secondRun = Mockito.mock(TemplatingExecutor.class);
+        Mockito.when(secondRun.getFullTemplateContents("model.hbs")).thenReturn("second {{name}}");
+
+        // When
+        String first = adapter.compileTemplate(firstRun, Map.of("name", "Teddy"), "model.hbs");
+        String second = adapter.compileTemplate(secondRun, Map.of("name", "Teddy"), "model.hbs");
+
+        // Then
+        assertEquals(first, "first Teddy");
+        assertEquals(second, "second Teddy");
+    }
+
     @Test(description = "should prioritize public getters over breaking encapsulation")
     public void testResolverPriority() throws IOException {
         // Given
@@ -0,0 +1,99 @@
+package org.openapitools.codegen.templating;
+
+import org.apache.commons.io.FileUtils;
+import org.mockito.Mockito;
+import org.openapitools.codegen.CodegenConstants;
+import org.openapitools.codegen.api.TemplatingExecutor;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.testng.Assert.assertEquals;
+
+public class MustacheEngineAdapterTest {
+    private static Map<String, Object> bundle(String name) {
+        Map<String, Object> bundle = new HashMap<>();
+        bundle.put(CodegenConstants.MUSTACHE_PARENT_CONTEXT, new Object());
+        bundle.put("name", name);
+        return bundle;
+    }
+
+    @Test(description = "templates and partials are read and compiled once per run")
+    public void testCompiledTemplateIsReused() throws IOException {
+        // Given
+        MustacheEngineAdapter adapter = new MustacheEngineAdapter();
+        TemplatingExecutor executorMock = Mockito.mock(TemplatingExecutor.class);
+        Mockito.when(executorMock.getFullTemplatePath("outer.mustache")).thenReturn(Paths.get("embedded", "outer.mustache"));
+        Mockito.when(executorMock.getFullTemplatePath("inner.mustache")).thenReturn(Paths.get("embedded", "inner.mustache"));
+        Mockito.when(executorMock.getFullTemplateContents("outer.mustache")).thenReturn("Hello {{>inner}}");
+        Mockito.when(executorMock.getFullTemplateContents("inner.mustache")).thenReturn("{{name}}!");
+
+        // When
+        String first = adapter.compileTemplate(executorMock, bundle("Teddy"), "outer.mustache");
+        String second = adapter.compileTemplate(executorMock, bundle("Bear"), "outer.mustache");
+
+        // Then
+        assertEquals(first, "Hello Teddy!");
+        assertEquals(second, "Hello Bear!");
+        verify(executorMock, times(1)).getFullTemplateContents("outer.mustache");
+        verify(executorMock, times(1)).getFullTemplateContents("inner.mustache");
+    }
+
+    @Test(description = "a new executor (i.e. a new generation run) does not reuse templates compiled for a previous one")
+    public void testCacheIsScopedToExecutor() throws IOException {
+        // Given
+        MustacheEngineAdapter adapter = new MustacheEngineAdapter();
+        TemplatingExecutor firstRun = Mockito.mock(TemplatingExecutor.class);
+        Mockito.when(firstRun.getFullTemplateContents("model.mustache")).thenReturn("first {{name}}");
+        TemplatingExecutor secondRun = Mockito.mock(TemplatingExecutor.class);
+        Mockito.when(secondRun.getFullTemplateContents("model.mustache")).thenReturn("second {{name}}");
+
+        // When
+        String first = adapter.compileTemplate(firstRun, bundle("Teddy"), "model.mustache");
+        String second = adapter.compileTemplate(secondRun, bundle("Teddy"), "model.mustache");
+
+        // Then
+        assertEquals(first, "first Teddy");
+        assertEquals(second, "second Teddy");
+    }
+
+    @Test(description = "modifying a user-supplied partial invalidates the templates which include it")
+    public void testModifiedTemplateFileIsRecompiled() throws IOException {
+        Path templateDir = Files.createTempDirectory("test-mustache-adapter");
+        try {
+            // Given
+            File outer = templateDir.resolve("outer.mustache").toFile();
+            File inner = templateDir.resolve("inner.mustache").toFile();
+            Files.write(outer.toPath(), "Hello {{>inner}}".getBytes(StandardCharsets.UTF_8));
+            Files.write(inner.toPath(), "{{name}}!".getBytes(StandardCharsets.UTF_8));
+
+            TemplatingExecutor executorMock = Mockito.mock(TemplatingExecutor.class);
+            Mockito.when(executorMock.getFullTemplatePath(Mockito.anyString()))
+                    .thenAnswer(invocation -> templateDir.resolve(invocation.<String>getArgument(0)));
+            Mockito.when(executorMock.getFullTemplateContents(Mockito.anyString()))
+                    .thenAnswer(invocation -> new String(Files.readAllBytes(templateDir.resolve(invocation.<String>getArgument(0))), StandardCharsets.UTF_8));
+            MustacheEngineAdapter adapter = new MustacheEngineAdapter();
+
+            // When
+            String first = adapter.compileTemplate(executorMock, bundle("Teddy"), "outer.mustache");
+            Files.write(inner.toPath(), "{{name}}?".getBytes(StandardCharsets.UTF_8));
+            inner.setLastModified(inner.lastModified() + 10_000);
+            String second = adapter.compileTemplate(executorMock, bundle("Teddy"), "outer.mustache");
+
+            // Then
+            assertEquals(first, "Hello Teddy!");
+            assertEquals(second, "Hello Teddy?");
+        } finally {
+            FileUtils.deleteDirectory(templateDir.toFile());
+        }
+    }
+}
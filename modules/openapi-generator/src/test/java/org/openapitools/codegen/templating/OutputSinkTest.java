@@ -0,0 +1,157 @@
+package org.openapitools.codegen.templating;
+
+import org.openapitools.codegen.api.OutputSink;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+public class OutputSinkTest {
+    private static final Path ROOT = Paths.get("build", "generated").toAbsolutePath();
+    private static final String LONG_NAME = "src/main/java/org/openapitools/client/model/"
+            + "AVeryLongModelNameWhichDoesNotFitInTheNameFieldOfATarHeader.java";
+
+    @Test
+    public void inMemorySinkKeepsFilesByRelativePath() throws IOException {
+        InMemoryOutputSink sink = new InMemoryOutputSink(ROOT);
+        write(sink, "README.md", "draft");
+        write(sink, "README.md", "# Petstore");
+        write(sink, "src/Pet.java", "class Pet {}");
+
+        Assert.assertEquals(sink.getFiles().keySet().toString(), "[README.md, src/Pet.java]");
+        Assert.assertEquals(sink.getContentsAsString("README.md"), "# Petstore");
+        Assert.assertNull(sink.getContents("missing"));
+    }
+
+    @Test
+    public void archiveSinkWritesZipEntries() throws IOException {
+        Path archive = Files.createTempFile("generated", ".zip");
+        try {
+            try (ArchiveOutputSink sink = ArchiveOutputSink.open(archive, ROOT)) {
+                write(sink, "README.md", "draft");
+                write(sink, LONG_NAME, "class Model {}");
+                write(sink, "README.md", "# Petstore");
+                sink.finish();
+            }
+
+            Map<String, String> entries = new LinkedHashMap<>();
+            try (ZipInputStream zip = new ZipInputStream(Files.newInputStream(archive))) {
+                for (ZipEntry entry = zip.getNextEntry(); entry != null; entry = zip.getNextEntry()) {
+                    Assert.assertEquals(entry.getTimeLocal(), LocalDateTime.of(1980, 1, 1, 0, 0));
+                    entries.put(entry.getName(), new String(zip.readAllBytes(), StandardCharsets.UTF_8));
+                }
+            }
+            // the rewritten entry comes last, with its last version
+            Assert.assertEquals(entries.toString(), "{" + LONG_NAME + "=class Model {}, README.md=# Petstore}");
+        } finally {
+            Files.deleteIfExists(archive);
+        }
+    }
+
+    @Test
+    public void archiveSinkWritesTarEntries() throws IOException {
+        Path archive = Files.createTempFile("generated", ".tar.gz");
+        try {
+            try (ArchiveOutputSink sink = ArchiveOutputSink.open(archive, ROOT)) {
+                write(sink, "README.md", "draft");
+                write(sink, LONG_NAME, "class Model {}");
+                write(sink, "empty.txt", "");
+                write(sink, "README.md", "# Petstore");
+                sink.finish();
+            }
+
+            Map<String, String> entries = readTar(new GZIPInputStream(Files.newInputStream(archive)));
+            // the rewritten entry is appended, so that its last version is extracted
+            Assert.assertEquals(entries.toString(), "{README.md=# Petstore, " + LONG_NAME + "=class Model {}, empty.txt=}");
+        } finally {
+            Files.deleteIfExists(archive);
+        }
+    }
+
+    @Test
+    public void archiveSinkKeepsExistingArchiveUnlessFinished() throws IOException {
+        Path directory = Files.createTempDirectory("generated");
+        Path archive = directory.resolve("generated.zip");
+        try {
+            Files.write(archive, "previous".getBytes(StandardCharsets.UTF_8));
+            try (ArchiveOutputSink sink = ArchiveOutputSink.open(archive, ROOT)) {
+                write(sink, "README.md", "# Petstore");
+            }
+
+            Assert.assertEquals(new String(Files.readAllBytes(archive), StandardCharsets.UTF_8), "previous");
+            try (Stream<Path> files = Files.list(directory)) {
+                Assert.assertEquals(files.count(), 1L);
+            }
+        } finally {
+            Files.deleteIfExists(archive);
+            Files.deleteIfExists(directory);
+        }
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void archiveSinkRejectsUnknownFormats() {
+        ArchiveOutputSink.Format.of(Paths.get("generated.rar"));
+    }
+
+    private static void write(OutputSink sink, String name, String contents) throws IOException {
+        try (OutputStream out = sink.newOutputStream(ROOT.resolve(name))) {
+            out.write(contents.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * Reads the regular files of a ustar archive, with names given by POSIX extended headers, checking the header
+     * checksums.
+     */
+    private static Map<String, String> readTar(InputStream in) throws IOException {
+        Map<String, String> entries = new LinkedHashMap<>();
+        try (DataInputStream tar = new DataInputStream(in)) {
+            String extendedName = null;
+            while (true) {
+                byte[] header = new byte[512];
+                tar.readFully(header);
+                if (header[0] == 0) {
+                    return entries;
+                }
+                Assert.assertEquals(new String(header, 257, 5, StandardCharsets.US_ASCII), "ustar");
+                long checksum = 0;
+                for (int i = 0; i < header.length; i++) {
+                    checksum += i >= 148 && i < 156 ? ' ' : header[i] & 0xff;
+                }
+                Assert.assertEquals(Long.parseLong(field(header, 148, 8), 8), checksum);
+
+                int size = Integer.parseInt(field(header, 124, 12), 8);
+                byte[] contents = new byte[size];
+                tar.readFully(contents);
+                tar.readFully(new byte[(512 - size % 512) % 512]);
+                String body = new String(contents, StandardCharsets.UTF_8);
+                if (header[156] == 'x') {
+                    Assert.assertEquals(Integer.parseInt(body.substring(0, body.indexOf(' '))), size);
+                    extendedName = body.substring(body.indexOf("path=") + 5, body.length() - 1);
+                } else {
+                    entries.put(extendedName != null ? extendedName : field(header, 0, 100), body);
+                    extendedName = null;
+                }
+            }
+        }
+    }
+
+    private static String field(byte[] header, int offset, int length) {
+        int end = offset;
+        while (end < offset + length && header[end] != 0) {
+            end++;
+        }
+        return new String(header, offset, end - offset, StandardCharsets.UTF_8).trim();
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen.utils;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class NameCacheTest {
+
+    @Test
+    public void testMemoOfARun() {
+        Assert.assertNull(NameCache.current());
+        try (NameCache nameCache = NameCache.open()) {
+            Assert.assertSame(NameCache.current(), nameCache);
+            Assert.assertEquals(StringUtils.camelize("name_cache_test_word"), "NameCacheTestWord");
+            Assert.assertEquals(StringUtils.camelize("name_cache_test_word"), "NameCacheTestWord");
+            Assert.assertEquals(StringUtils.underscore("NameCacheTestWord"), "name_cache_test_word");
+
+            NameCache.Stats camelized = nameCache.stats().get("camelizedWordsCache");
+            Assert.assertEquals(camelized.missCount(), 1);
+            Assert.assertEquals(camelized.hitCount(), 1);
+            Assert.assertEquals(camelized.size(), 1);
+            Assert.assertEquals(nameCache.stats().get("underscoreWordsCache").size(), 1);
+        }
+        Assert.assertNull(NameCache.current());
+        // outside of a run, the bounded caches are used
+        Assert.assertEquals(StringUtils.camelize("name_cache_test_word"), "NameCacheTestWord");
+    }
+
+    @Test
+    public void testThreadsOfARunShareItsMemo() throws Exception {
+        AtomicReference<NameCache> inherited = new AtomicReference<>();
+        AtomicReference<NameCache> afterClose = new AtomicReference<>();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch closed = new CountDownLatch(1);
+        Thread thread;
+        NameCache nameCache = NameCache.open();
+        try {
+            thread = new Thread(() -> {
+                inherited.set(NameCache.current());
+                started.countDown();
+                try {
+                    closed.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                afterClose.set(NameCache.current());
+            });
+            thread.start();
+            started.await(10, TimeUnit.SECONDS);
+        } finally {
+            nameCache.close();
+        }
+        closed.countDown();
+        thread.join(10_000);
+
+        Assert.assertSame(inherited.get(), nameCache);
+        // a closed memo is no longer used, even by the threads which inherited it
+        Assert.assertNull(afterClose.get());
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen.utils;
+
+import io.swagger.v3.oas.models.OpenAPI;
+import org.openapitools.codegen.TestUtils;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+
+public class SpecIndexTest {
+
+    @Test
+    public void testUsages() {
+        final OpenAPI openAPI = TestUtils.parseFlattenSpec("src/test/resources/3_0/unusedSchemas.yaml");
+        SpecIndex index = SpecIndex.of(openAPI);
+
+        Assert.assertEquals(index.getUsedSchemas(), ModelUtils.getAllUsedSchemas(openAPI));
+        Assert.assertTrue(index.isUsed("SomeObjShared"));
+        Assert.assertFalse(index.isUsed("UnusedObj1"));
+        Assert.assertTrue(index.getUnusedSchemas().containsAll(Arrays.asList("UnusedObj1", "Parent29", "AChild29")));
+        // used in both a form and a JSON request body
+        Assert.assertFalse(index.getSchemasUsedOnlyInFormParam().contains("SomeObjShared"));
+        Assert.assertTrue(index.getSchemasUsedOnlyInFormParam().contains("SomeObj2"));
+
+        Assert.assertEquals(index.getReferrers("SomeObjShared"), new LinkedHashSet<>(Arrays.asList("POST /some/p4", "POST /some/p5")));
+        Assert.assertEquals(index.getReferrers("UnusedObj1"), Collections.emptySet());
+    }
+
+    @Test
+    public void testCompositions() {
+        final OpenAPI openAPI = TestUtils.parseFlattenSpec("src/test/resources/3_0/unusedSchemas.yaml");
+        SpecIndex index = SpecIndex.of(openAPI);
+
+        Assert.assertEquals(index.getChildren("Parent30"), Arrays.asList("AChild30", "BChild30"));
+        Assert.assertEquals(index.getParentName("AChild30"), "Parent30");
+        Assert.assertNull(index.getParentName("Parent30"));
+        Assert.assertEquals(index.getAllOfChildren("Parent30"), Arrays.asList("AChild30", "BChild30"));
+        Assert.assertEquals(ModelUtils.getChildrenMap(openAPI).get("Parent30"), Arrays.asList("AChild30", "BChild30"));
+    }
+
+    @Test
+    public void testCacheIsScopedToTheSpecificationInstance() {
+        final OpenAPI openAPI = TestUtils.parseFlattenSpec("src/test/resources/3_0/unusedSchemas.yaml");
+        final OpenAPI other = TestUtils.parseFlattenSpec("src/test/resources/3_0/unusedSchemas.yaml");
+
+        Assert.assertNotSame(SpecIndex.of(openAPI), SpecIndex.of(openAPI));
+        SpecIndex cached = SpecIndex.cache(openAPI);
+        try {
+            Assert.assertSame(SpecIndex.of(openAPI), cached);
+            // equal but distinct specifications do not share the index
+            Assert.assertNotSame(SpecIndex.of(other), cached);
+        } finally {
+            SpecIndex.release(openAPI);
+        }
+        Assert.assertNotSame(SpecIndex.of(openAPI), cached);
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen.utils;
+
+import org.testng.Assert;
+import org.testng.SkipException;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class VirtualThreadsTest {
+
+    @Test
+    public void boundedExecutorLimitsRunningTasks() throws Exception {
+        ExecutorService executor = VirtualThreads.newBoundedExecutor("bounded-", 2);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maximum = new AtomicInteger();
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                results.add(executor.submit(() -> {
+                    maximum.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    Thread.sleep(5);
+                    running.decrementAndGet();
+                    return null;
+                }));
+            }
+            for (Future<?> result : results) {
+                result.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        Assert.assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        Assert.assertTrue(maximum.get() <= 2, "at most 2 tasks run at a time, but " + maximum.get() + " did");
+    }
+
+    @Test
+    public void boundedExecutorCancelsTasksInterruptedBeforeRunning() throws Exception {
+        if (!VirtualThreads.isSupported()) {
+            throw new SkipException("virtual threads are not supported");
+        }
+        ExecutorService executor = VirtualThreads.newBoundedExecutor("bounded-", 1);
+        CountDownLatch started = new CountDownLatch(1);
+        Future<?> running = executor.submit(() -> {
+            started.countDown();
+            Thread.sleep(TimeUnit.MINUTES.toMillis(1));
+            return null;
+        });
+        Future<?> waiting = executor.submit(() -> null);
+        Assert.assertTrue(started.await(10, TimeUnit.SECONDS));
+
+        executor.shutdownNow();
+
+        Assert.assertThrows(ExecutionException.class, () -> running.get(10, TimeUnit.SECONDS));
+        Assert.assertThrows(CancellationException.class, () -> waiting.get(10, TimeUnit.SECONDS));
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void boundedExecutorRequiresPositiveParallelism() {
+        VirtualThreads.newBoundedExecutor("bounded-", 0);
+    }
+}
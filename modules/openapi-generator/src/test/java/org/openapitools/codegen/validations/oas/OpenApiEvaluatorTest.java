@@ -0,0 +1,96 @@
+package org.openapitools.codegen.validations.oas;
+
+import io.swagger.v3.oas.models.Components;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.PathItem;
+import io.swagger.v3.oas.models.Paths;
+import io.swagger.v3.oas.models.media.Content;
+import io.swagger.v3.oas.models.media.MediaType;
+import io.swagger.v3.oas.models.media.ObjectSchema;
+import io.swagger.v3.oas.models.media.StringSchema;
+import io.swagger.v3.oas.models.parameters.HeaderParameter;
+import io.swagger.v3.oas.models.parameters.Parameter;
+import io.swagger.v3.oas.models.parameters.RequestBody;
+import org.openapitools.codegen.validation.ValidationResult;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class OpenApiEvaluatorTest {
+    @Test(description = "Evaluating on several threads gives the same results, in the same order, as on a single thread")
+    public void testParallelEvaluationIsDeterministic() {
+        OpenAPI openAPI = specification(200);
+
+        ValidationResult sequential = new OpenApiEvaluator(configuration(1, false)).validate(openAPI);
+        ValidationResult parallel = new OpenApiEvaluator(configuration(4, false)).validate(openAPI);
+
+        Assert.assertEquals(sequential.getWarnings().size(), 401);
+        Assert.assertEquals(warnings(parallel), warnings(sequential));
+        Assert.assertEquals(parallel.getValid().size(), sequential.getValid().size());
+    }
+
+    @Test(description = "Fail fast stops at the first failing element in document order")
+    public void testFailFast() {
+        OpenAPI openAPI = specification(200);
+
+        for (int parallelism : new int[]{1, 4}) {
+            RuleConfiguration config = configuration(parallelism, true);
+            config.setFailFastOnWarnings(true);
+            ValidationResult result = new OpenApiEvaluator(config).validate(openAPI);
+
+            Assert.assertEquals(result.getWarnings().size(), 1);
+            Assert.assertEquals(result.getWarnings().get(0).getDetails(), "GET op0 contains a request body and is considered an anti-pattern.");
+        }
+
+        ValidationResult result = new OpenApiEvaluator(configuration(4, true)).validate(openAPI);
+        Assert.assertEquals(result.getWarnings().size(), 401, "Warnings do not stop evaluation by default");
+    }
+
+    @Test(description = "A malformed parallelism property falls back to evaluating on the calling thread")
+    public void testMalformedParallelismProperty() {
+        System.setProperty("openapi.generator.rule.parallelism", "four");
+        try {
+            Assert.assertEquals(new RuleConfiguration().getParallelism(), 1);
+        } finally {
+            System.clearProperty("openapi.generator.rule.parallelism");
+        }
+    }
+
+    private static RuleConfiguration configuration(int parallelism, boolean failFast) {
+        RuleConfiguration config = new RuleConfiguration();
+        config.setEnableRecommendations(true);
+        config.setParallelism(parallelism);
+        config.setFailFast(failFast);
+        return config;
+    }
+
+    private static List<String> warnings(ValidationResult result) {
+        return result.getWarnings().stream()
+                .map(invalid -> invalid.getMessage() + ": " + invalid.getDetails())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Each operation is a GET with a request body and references a shared header parameter with an underscore, so
+     * that every operation has a warning and the shared parameter gives one warning per reference, plus one for its
+     * declaration.
+     */
+    private static OpenAPI specification(int operationCount) {
+        Parameter header = new HeaderParameter().name("x_trace").schema(new StringSchema());
+        OpenAPI openAPI = new OpenAPI()
+                .components(new Components().addParameters("trace", header))
+                .paths(new Paths());
+        for (int i = 0; i < operationCount; i++) {
+            Operation operation = new Operation()
+                    .operationId("op" + i)
+                    .addParametersItem(new Parameter().$ref("#/components/parameters/trace"))
+                    .requestBody(new RequestBody().content(new Content()
+                            .addMediaType("application/json", new MediaType().schema(new ObjectSchema()))));
+            openAPI.getPaths().addPathItem("/resource" + i, new PathItem().get(operation));
+        }
+        return openAPI;
+    }
+}